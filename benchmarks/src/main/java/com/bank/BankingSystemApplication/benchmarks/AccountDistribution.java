@@ -0,0 +1,70 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Escolha da conta de cada operação.
+ *
+ * - hot: todas as operações na mesma conta
+ * - zipf: P(k) proporcional a 1 / (k + 1)^s; com 1000 contas e s = 1,1 a
+ *   mais popular recebe cerca de 18% do tráfego
+ * - uniform: todas as contas com a mesma probabilidade
+ */
+enum AccountDistribution {
+
+    HOT("hot"),
+    ZIPF("zipf"),
+    UNIFORM("uniform");
+
+    final String key;
+
+    AccountDistribution(String key) {
+        this.key = key;
+    }
+
+    static AccountDistribution of(String key) {
+        for (AccountDistribution distribution : values()) {
+            if (distribution.key.equals(key)) {
+                return distribution;
+            }
+        }
+        throw new IllegalArgumentException("Unknown distribution " + key);
+    }
+
+    /** Sorteador de índices em [0, accounts); seguro para várias threads, cada uma com o seu random */
+    Sampler sampler(int accounts, double zipfExponent) {
+        switch (this) {
+            case HOT:
+                return random -> 0;
+            case UNIFORM:
+                return random -> random.nextInt(accounts);
+            case ZIPF:
+                double[] cumulative = zipfCumulative(accounts, zipfExponent);
+                return random -> {
+                    int index = Arrays.binarySearch(cumulative, random.nextDouble());
+                    return index >= 0 ? index : -index - 1;
+                };
+            default:
+                throw new IllegalStateException("Unknown distribution " + this);
+        }
+    }
+
+    private static double[] zipfCumulative(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        cumulative[n - 1] = 1.0;
+        return cumulative;
+    }
+
+    interface Sampler {
+        int sample(SplittableRandom random);
+    }
+}
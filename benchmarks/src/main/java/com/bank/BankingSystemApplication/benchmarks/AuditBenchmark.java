@@ -0,0 +1,80 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import com.bank.BankingSystemApplication.infrastructure.audit.AuditPipeline;
+import com.bank.BankingSystemApplication.infrastructure.audit.AuditRecord;
+import com.bank.BankingSystemApplication.infrastructure.audit.AuditRecordSerializer;
+import com.bank.BankingSystemApplication.infrastructure.audit.BankingAuditService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Auditoria nos dois lados do {@link AuditPipeline}: o custo na thread da
+ * requisição (preencher e publicar o registro) e a serialização em JSON
+ * feita pela thread escritora.
+ */
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AuditBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pipeline {
+        MeterRegistry meterRegistry;
+        AuditPipeline pipeline;
+        BankingAuditService auditService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            meterRegistry = Fixtures.meterRegistry();
+            pipeline = Fixtures.auditPipeline(meterRegistry);
+            auditService = new BankingAuditService(pipeline);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pipeline.stop();
+        }
+    }
+
+    /** Serializador e registro por thread, como na thread escritora */
+    @State(Scope.Thread)
+    public static class Serialization {
+        final AuditRecordSerializer serializer = new AuditRecordSerializer();
+        final AuditRecord record = new AuditRecord();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            record.begin(42L, "TRANSACTION", System.currentTimeMillis(),
+                            "6f1c2a9d3b7e4f10", "9a8b7c6d5e4f3a2b")
+                    .indexedBy(1234L, "0f8fad5b-d9cb-469f-a165-70867728950e")
+                    .put("transaction_type", "CREDIT")
+                    .put("account_id", 1234L)
+                    .put("amount", new BigDecimal("150.00"))
+                    .put("success", true)
+                    .put("details", "Balance: 1000.00 -> 1150.00")
+                    .put("correlation_id", "0f8fad5b-d9cb-469f-a165-70867728950e");
+        }
+    }
+
+    @Benchmark
+    public void auditTransaction(Pipeline state) {
+        state.auditService.auditTransaction("CREDIT", 1234L, BigDecimal.TEN,
+                BigDecimal.ONE, BigDecimal.TEN, "0f8fad5b-d9cb-469f-a165-70867728950e");
+    }
+
+    @Benchmark
+    public String serializeRecord(Serialization state) throws IOException {
+        return state.serializer.toJson(state.record);
+    }
+}
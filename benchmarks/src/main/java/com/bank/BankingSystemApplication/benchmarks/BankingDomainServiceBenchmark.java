@@ -0,0 +1,80 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
+import com.bank.BankingSystemApplication.domain.model.TransactionResponse;
+import com.bank.BankingSystemApplication.domain.service.BankingDomainService;
+import com.bank.BankingSystemApplication.infrastructure.audit.AuditPipeline;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Crédito e débito do {@link BankingDomainService} sobre persistência em
+ * memória: validação, métricas, auditoria (até o enfileiramento no
+ * pipeline) e montagem do evento, sem banco nem Kafka.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BankingDomainServiceBenchmark {
+
+    /** Uma conta (sempre a mesma linha) ou contas espalhadas */
+    @Param({"1", "1024"})
+    public int accounts;
+
+    private MeterRegistry meterRegistry;
+    private AuditPipeline pipeline;
+    private BankingDomainService service;
+    private BankingDomainService emptyAccountService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        meterRegistry = Fixtures.meterRegistry();
+        pipeline = Fixtures.auditPipeline(meterRegistry);
+        // Saldo suficiente para todos os débitos da execução
+        service = Fixtures.domainService(
+                new InMemoryAccountPersistencePort(accounts, new BigDecimal("1000000000000")), meterRegistry, pipeline);
+        emptyAccountService = Fixtures.domainService(
+                new InMemoryAccountPersistencePort(accounts, BigDecimal.ZERO), meterRegistry, pipeline);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.stop();
+    }
+
+    private TransactionRequest request() {
+        TransactionRequest request = new TransactionRequest();
+        request.setAccountId(accounts == 1 ? 1L : ThreadLocalRandom.current().nextLong(1, accounts + 1));
+        request.setAmount(BigDecimal.TEN);
+        return request;
+    }
+
+    @Benchmark
+    public TransactionResponse credit() {
+        return service.credit(request());
+    }
+
+    @Benchmark
+    public TransactionResponse debit() {
+        return service.debit(request());
+    }
+
+    /** Débito recusado: auditoria e evento de falha */
+    @Benchmark
+    public TransactionResponse debitInsufficientFunds() {
+        return emptyAccountService.debit(request());
+    }
+}
@@ -0,0 +1,47 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Executa o JMH gravando o resultado em JSON no arquivo dado.
+ *
+ * Uso: {@code BenchmarkRunner <arquivo.json> [argumentos do JMH]}; os
+ * argumentos seguem a linha de comando do {@code org.openjdk.jmh.Main}
+ * (regex de benchmarks, {@code -bm}, {@code -prof gc}, {@code -f}, ...).
+ * O diretório do arquivo é criado se necessário.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BenchmarkRunner <result.json> [JMH options]");
+            System.exit(2);
+        }
+        Path result = Paths.get(args[0]).toAbsolutePath();
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+
+        CommandLineOptions commandLine = new CommandLineOptions(Arrays.copyOfRange(args, 1, args.length));
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build()).run();
+        System.out.println("Results written to " + result);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+/**
+ * Estratégias de concorrência disponíveis para crédito e débito.
+ *
+ * Nas duas o código executado é o do {@code BankingDomainService}; muda só
+ * o que {@code findByIdForUpdate} faz no {@code AccountPersistencePort}.
+ */
+enum ConcurrencyStrategy {
+
+    /**
+     * O que roda em produção: {@code SELECT ... FOR UPDATE}
+     * ({@code PESSIMISTIC_WRITE}); as transações na mesma conta esperam o
+     * lock na leitura e nunca conflitam.
+     */
+    PESSIMISTIC("pessimistic", true),
+
+    /**
+     * Leitura sem lock e conflito detectado pelo {@code @Version} da conta
+     * no UPDATE do commit; a transação que perde é refeita do início, sem
+     * espera entre as tentativas.
+     */
+    OPTIMISTIC("optimistic", false);
+
+    final String key;
+    final boolean lockingRead;
+
+    ConcurrencyStrategy(String key, boolean lockingRead) {
+        this.key = key;
+        this.lockingRead = lockingRead;
+    }
+
+    static ConcurrencyStrategy of(String key) {
+        for (ConcurrencyStrategy strategy : values()) {
+            if (strategy.key.equals(key)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown strategy " + key);
+    }
+}
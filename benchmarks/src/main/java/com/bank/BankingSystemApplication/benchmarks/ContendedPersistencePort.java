@@ -0,0 +1,54 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import com.bank.BankingSystemApplication.domain.model.Account;
+import com.bank.BankingSystemApplication.domain.port.out.AccountPersistencePort;
+
+import java.util.Optional;
+
+/**
+ * {@link AccountPersistencePort} que aplica a {@link ConcurrencyStrategy}
+ * na leitura de {@code findByIdForUpdate} e mede o tempo dessa leitura por
+ * thread, onde fica a espera pelo lock na estratégia pessimista.
+ */
+final class ContendedPersistencePort implements AccountPersistencePort {
+
+    private static final ThreadLocal<long[]> LAST_READ_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final AccountPersistencePort delegate;
+    private final boolean lockingRead;
+
+    ContendedPersistencePort(AccountPersistencePort delegate, ConcurrencyStrategy strategy) {
+        this.delegate = delegate;
+        this.lockingRead = strategy.lockingRead;
+    }
+
+    /** Duração da última leitura da conta feita pela thread atual */
+    static long lastReadNanos() {
+        return LAST_READ_NANOS.get()[0];
+    }
+
+    @Override
+    public Account save(Account account) {
+        return delegate.save(account);
+    }
+
+    @Override
+    public Optional<Account> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<Account> findByCpf(String cpf) {
+        return delegate.findByCpf(cpf);
+    }
+
+    @Override
+    public Optional<Account> findByIdForUpdate(Long id) {
+        long start = System.nanoTime();
+        try {
+            return lockingRead ? delegate.findByIdForUpdate(id) : delegate.findById(id);
+        } finally {
+            LAST_READ_NANOS.get()[0] = System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import com.bank.BankingSystemApplication.domain.model.Status;
+import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
+import com.bank.BankingSystemApplication.domain.model.TransactionResponse;
+import com.bank.BankingSystemApplication.domain.service.BankingDomainService;
+import com.bank.BankingSystemApplication.infrastructure.audit.AuditPipeline;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.TransactionException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Crédito e débito concorrentes do {@link BankingDomainService} sobre o
+ * banco de verdade ({@link ContentionStore}), para cada estratégia de
+ * concorrência, distribuição de contas e número de threads.
+ *
+ * Uso: {@code ContentionBenchmark <resultado.json> [chave=valor ...]}
+ *
+ * - strategies (pessimistic,optimistic), distributions (hot,zipf,uniform),
+ *   threads (1,4,16,64), accounts (1000), zipf-exponent (1.1)
+ * - jit-warmup-seconds (90): limite da carga descartada no início de cada
+ *   estratégia, em rodadas de uma thread até a vazão variar menos de 5%
+ *   em duas rodadas seguidas; frio, o caminho de JPA e H2 chega a ser dez
+ *   vezes mais lento e distorceria a calibração e as primeiras combinações
+ * - warmup-seconds (3), duration-seconds (10), calibration-seconds (5)
+ * - max-attempts (10): tentativas da estratégia otimista por operação
+ * - jdbc-url, username, password: padrão H2 em memória no modo PostgreSQL
+ *
+ * Cada combinação é um laço fechado: cada thread faz uma operação atrás da
+ * outra (metade crédito, metade débito) em uma transação. Resultado por
+ * combinação: vazão, percentis de latência, retentativas, falhas e a
+ * parcela de espera por lock.
+ *
+ * Espera por lock: é o tempo total de leitura da conta
+ * ({@code findByIdForUpdate}) e de commit (onde o UPDATE espera o lock de
+ * linha da outra transação) além do custo sem disputa, mais o tempo
+ * inteiro das tentativas perdidas por conflito de versão. O custo sem
+ * disputa é a média de leitura e commit de uma execução de calibração com
+ * uma thread e contas uniformes, por estratégia; a comparação é feita nos
+ * totais e não operação a operação, para que a variação normal em torno
+ * da média não conte como espera. A parcela é a espera dividida pela soma
+ * das latências; o resto é trabalho útil e o próprio banco. Com mais threads
+ * que processadores a espera inclui a fila do escalonador, que a medição
+ * não separa da espera por lock: o relatório traz o número de
+ * processadores, e as combinações acima dele devem ser lidas com isso em
+ * mente.
+ */
+public final class ContentionBenchmark {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000000000");
+    private static final BigDecimal AMOUNT = BigDecimal.TEN;
+    // Até 10 minutos em microssegundos, 3 dígitos significativos
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final int JIT_ROUND_SECONDS = 3;
+    private static final double JIT_STABLE_CHANGE = 0.05;
+
+    private final Map<String, String> options;
+    private final int accounts;
+    private final double zipfExponent;
+    private final int jitWarmupSeconds;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int calibrationSeconds;
+    private final int maxAttempts;
+
+    private ContentionStore store;
+    private long[] accountIds;
+
+    private ContentionBenchmark(Map<String, String> options) {
+        this.options = options;
+        this.accounts = Integer.parseInt(options.getOrDefault("accounts", "1000"));
+        this.zipfExponent = Double.parseDouble(options.getOrDefault("zipf-exponent", "1.1"));
+        this.jitWarmupSeconds = Integer.parseInt(options.getOrDefault("jit-warmup-seconds", "90"));
+        this.warmupSeconds = Integer.parseInt(options.getOrDefault("warmup-seconds", "3"));
+        this.durationSeconds = Integer.parseInt(options.getOrDefault("duration-seconds", "10"));
+        this.calibrationSeconds = Integer.parseInt(options.getOrDefault("calibration-seconds", "5"));
+        this.maxAttempts = Integer.parseInt(options.getOrDefault("max-attempts", "10"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ContentionBenchmark <result.json> [key=value ...]");
+            System.exit(2);
+        }
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : Arrays.copyOfRange(args, 1, args.length)) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                System.err.println("Expected key=value, got " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        Path result = Paths.get(args[0]).toAbsolutePath();
+        Map<String, Object> report = new ContentionBenchmark(options).run();
+
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), report);
+        System.out.println("Results written to " + result);
+        // Threads do Hikari e do pipeline de auditoria
+        System.exit(0);
+    }
+
+    private Map<String, Object> run() throws InterruptedException, IOException {
+        List<ConcurrencyStrategy> strategies = list(options.getOrDefault("strategies", "pessimistic,optimistic"),
+                ConcurrencyStrategy::of);
+        List<AccountDistribution> distributions = list(options.getOrDefault("distributions", "hot,zipf,uniform"),
+                AccountDistribution::of);
+        List<Integer> threadCounts = list(options.getOrDefault("threads", "1,4,16,64"), Integer::valueOf);
+        String url = options.getOrDefault("jdbc-url", ContentionStore.DEFAULT_URL);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("store", url);
+        report.put("processors", Runtime.getRuntime().availableProcessors());
+        report.put("accounts", accounts);
+        report.put("zipfExponent", zipfExponent);
+        report.put("jitWarmupSeconds", jitWarmupSeconds);
+        report.put("warmupSeconds", warmupSeconds);
+        report.put("durationSeconds", durationSeconds);
+        report.put("maxAttempts", maxAttempts);
+        Map<String, Object> baselines = new LinkedHashMap<>();
+        List<Map<String, Object>> results = new ArrayList<>();
+        report.put("baselines", baselines);
+        report.put("results", results);
+
+        MeterRegistry meterRegistry = Fixtures.meterRegistry();
+        AuditPipeline pipeline = Fixtures.auditPipeline(meterRegistry);
+        int maxThreads = threadCounts.stream().mapToInt(Integer::intValue).max().orElse(1);
+        try (ContentionStore opened = ContentionStore.start(url, options.getOrDefault("username", "sa"),
+                options.getOrDefault("password", ""), maxThreads)) {
+            store = opened;
+            accountIds = store.createAccounts(accounts, INITIAL_BALANCE);
+            System.out.printf("Store ready: %s, %d accounts%n", url, accounts);
+            if (maxThreads > Runtime.getRuntime().availableProcessors()) {
+                System.out.printf("Note: up to %d threads on %d processors; lock wait above that includes "
+                        + "scheduler queueing%n", maxThreads, Runtime.getRuntime().availableProcessors());
+            }
+            printHeader();
+
+            for (ConcurrencyStrategy strategy : strategies) {
+                BankingDomainService service = Fixtures.domainService(
+                        new ContendedPersistencePort(store.persistence, strategy), meterRegistry, pipeline);
+                warmUpJit(service, strategy);
+                Cell calibration = runCell(service, strategy, AccountDistribution.UNIFORM, 1, warmupSeconds,
+                        calibrationSeconds);
+                Baseline baseline = new Baseline((double) calibration.readNanos / Math.max(1, calibration.attempts),
+                        (double) calibration.commitNanos / Math.max(1, calibration.attempts));
+                Map<String, Object> strategyBaseline = new LinkedHashMap<>();
+                strategyBaseline.put("readMs", baseline.readNanos / NANOS_PER_MILLI);
+                strategyBaseline.put("commitMs", baseline.commitNanos / NANOS_PER_MILLI);
+                baselines.put(strategy.key, strategyBaseline);
+
+                for (AccountDistribution distribution : distributions) {
+                    for (int threads : threadCounts) {
+                        Cell cell = runCell(service, strategy, distribution, threads, warmupSeconds,
+                                durationSeconds);
+                        Map<String, Object> row = cell.toReport(baseline);
+                        results.add(row);
+                        printRow(row);
+                    }
+                }
+            }
+        } finally {
+            pipeline.stop();
+        }
+        return report;
+    }
+
+    /** Rodadas de uma thread até a vazão estabilizar ou o limite de jit-warmup-seconds */
+    private void warmUpJit(BankingDomainService service, ConcurrencyStrategy strategy) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(jitWarmupSeconds);
+        double previous = 0;
+        int stableRounds = 0;
+        while (System.nanoTime() < deadline) {
+            double throughput = runCell(service, strategy, AccountDistribution.UNIFORM, 1, 0, JIT_ROUND_SECONDS)
+                    .throughput();
+            // Duas rodadas estáveis seguidas: a compilação avança aos saltos e uma só engana
+            stableRounds = previous > 0 && Math.abs(throughput - previous) <= previous * JIT_STABLE_CHANGE
+                    ? stableRounds + 1 : 0;
+            if (stableRounds == 2) {
+                return;
+            }
+            previous = throughput;
+        }
+        System.out.printf("Warning: %s throughput still changing after %ds of warmup%n", strategy.key,
+                jitWarmupSeconds);
+    }
+
+    private Cell runCell(BankingDomainService service, ConcurrencyStrategy strategy,
+                         AccountDistribution distribution, int threads, int warmup, int seconds)
+            throws InterruptedException {
+        AccountDistribution.Sampler sampler = distribution.sampler(accountIds.length, zipfExponent);
+        // A conta quente é sempre a primeira; no zipf a ordem de popularidade é a de criação
+        Cell cell = new Cell(strategy, distribution, threads);
+        Worker[] workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(service, sampler, new SplittableRandom(31L * i + 7));
+            workers[i].setName("contention-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmup));
+        long measureStart = System.nanoTime();
+        for (Worker worker : workers) {
+            worker.measuring = true;
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        for (Worker worker : workers) {
+            worker.measuring = false;
+            worker.running = false;
+        }
+        cell.measuredNanos = System.nanoTime() - measureStart;
+        for (Worker worker : workers) {
+            worker.join();
+            cell.add(worker);
+        }
+        return cell;
+    }
+
+    /** Custo médio sem disputa da leitura e do commit, em nanos */
+    private record Baseline(double readNanos, double commitNanos) {
+    }
+
+    /** Thread de carga; os acumuladores só são lidos depois do join */
+    private final class Worker extends Thread {
+
+        private final BankingDomainService service;
+        private final AccountDistribution.Sampler sampler;
+        private final SplittableRandom random;
+
+        volatile boolean running = true;
+        volatile boolean measuring;
+
+        final Histogram latencyMicros = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long operations;
+        long failures;
+        long retries;
+        long latencyNanos;
+        /** Tentativas que chegaram ao commit, com os tempos de leitura e commit */
+        long attempts;
+        long readNanos;
+        long commitNanos;
+        /** Tentativas perdidas por conflito, timeout de lock ou rollback */
+        long wastedNanos;
+
+        Worker(BankingDomainService service, AccountDistribution.Sampler sampler, SplittableRandom random) {
+            this.service = service;
+            this.sampler = sampler;
+            this.random = random;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                TransactionRequest request = new TransactionRequest();
+                request.setAccountId(accountIds[sampler.sample(random)]);
+                request.setAmount(AMOUNT);
+                boolean credit = random.nextBoolean();
+                boolean measured = measuring;
+                long start = System.nanoTime();
+                long read = 0;
+                long commit = 0;
+                long wasted = 0;
+                int timedAttempts = 0;
+                int attempt = 0;
+                boolean succeeded = false;
+                while (attempt++ < maxAttempts) {
+                    long attemptStart = System.nanoTime();
+                    try {
+                        long[] commitStart = new long[1];
+                        TransactionResponse response = store.transactions.execute(status -> {
+                            TransactionResponse outcome = credit ? service.credit(request) : service.debit(request);
+                            commitStart[0] = System.nanoTime();
+                            return outcome;
+                        });
+                        read += ContendedPersistencePort.lastReadNanos();
+                        commit += System.nanoTime() - commitStart[0];
+                        timedAttempts++;
+                        succeeded = response != null && response.getStatus() == Status.EFETUADO;
+                        break;
+                    } catch (OptimisticLockingFailureException e) {
+                        // Conflito de versão: a tentativa inteira foi espera
+                        wasted += System.nanoTime() - attemptStart;
+                        if (measured) {
+                            retries++;
+                        }
+                    } catch (TransactionException | DataAccessException e) {
+                        // Timeout de lock, deadlock ou rollback forçado
+                        wasted += System.nanoTime() - attemptStart;
+                        break;
+                    }
+                }
+                long elapsed = System.nanoTime() - start;
+                if (measured) {
+                    operations++;
+                    if (!succeeded) {
+                        failures++;
+                    }
+                    latencyNanos += elapsed;
+                    attempts += timedAttempts;
+                    readNanos += read;
+                    commitNanos += commit;
+                    wastedNanos += wasted;
+                    latencyMicros.recordValue(Math.min(toMicros(elapsed), HIGHEST_TRACKABLE_MICROS));
+                }
+            }
+        }
+    }
+
+    private static final class Cell {
+
+        final ConcurrencyStrategy strategy;
+        final AccountDistribution distribution;
+        final int threads;
+        final Histogram latencyMicros = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long measuredNanos;
+        long operations;
+        long failures;
+        long retries;
+        long latencyNanos;
+        long attempts;
+        long readNanos;
+        long commitNanos;
+        long wastedNanos;
+
+        Cell(ConcurrencyStrategy strategy, AccountDistribution distribution, int threads) {
+            this.strategy = strategy;
+            this.distribution = distribution;
+            this.threads = threads;
+        }
+
+        void add(Worker worker) {
+            latencyMicros.add(worker.latencyMicros);
+            operations += worker.operations;
+            failures += worker.failures;
+            retries += worker.retries;
+            latencyNanos += worker.latencyNanos;
+            attempts += worker.attempts;
+            readNanos += worker.readNanos;
+            commitNanos += worker.commitNanos;
+            wastedNanos += worker.wastedNanos;
+        }
+
+        double throughput() {
+            return operations / (measuredNanos / 1e9);
+        }
+
+        double lockWaitShare(Baseline baseline) {
+            if (latencyNanos == 0) {
+                return 0.0;
+            }
+            double uncontended = attempts * (baseline.readNanos + baseline.commitNanos);
+            double wait = Math.max(0, readNanos + commitNanos - uncontended) + wastedNanos;
+            return Math.min(1.0, wait / latencyNanos);
+        }
+
+        Map<String, Object> toReport(Baseline baseline) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("strategy", strategy.key);
+            row.put("distribution", distribution.key);
+            row.put("threads", threads);
+            row.put("operations", operations);
+            row.put("throughput", throughput());
+            row.put("failures", failures);
+            row.put("retriesPerOperation", operations > 0 ? (double) retries / operations : 0.0);
+            row.put("lockWaitShare", lockWaitShare(baseline));
+            Map<String, Object> latency = new LinkedHashMap<>();
+            if (latencyMicros.getTotalCount() > 0) {
+                latency.put("mean", latencyMicros.getMean() / MICROS_PER_MILLI);
+                latency.put("p50", latencyMicros.getValueAtPercentile(50) / MICROS_PER_MILLI);
+                latency.put("p90", latencyMicros.getValueAtPercentile(90) / MICROS_PER_MILLI);
+                latency.put("p99", latencyMicros.getValueAtPercentile(99) / MICROS_PER_MILLI);
+                latency.put("p999", latencyMicros.getValueAtPercentile(99.9) / MICROS_PER_MILLI);
+                latency.put("max", latencyMicros.getMaxValue() / MICROS_PER_MILLI);
+            }
+            row.put("latencyMs", latency);
+            return row;
+        }
+    }
+
+    private static void printHeader() {
+        System.out.printf("%-12s %-8s %7s %10s %9s %9s %9s %10s %8s%n", "Strategy", "Accounts", "Threads",
+                "Ops/s", "p50 ms", "p99 ms", "LockWait", "Retries/op", "Failures");
+    }
+
+    private static void printRow(Map<String, Object> row) {
+        Map<?, ?> latency = (Map<?, ?>) row.get("latencyMs");
+        System.out.printf("%-12s %-8s %7d %10.1f %9s %9s %8.1f%% %10.3f %8d%n", row.get("strategy"),
+                row.get("distribution"), row.get("threads"), row.get("throughput"), format(latency.get("p50")),
+                format(latency.get("p99")), 100 * (double) row.get("lockWaitShare"),
+                row.get("retriesPerOperation"), row.get("failures"));
+    }
+
+    private static String format(Object millis) {
+        return millis instanceof Number ? String.format("%.2f", ((Number) millis).doubleValue()) : "-";
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private interface Parser<T> {
+        T parse(String value);
+    }
+
+    private static <T> List<T> list(String values, Parser<T> parser) {
+        List<T> parsed = new ArrayList<>();
+        for (String value : values.split(",")) {
+            if (!value.isBlank()) {
+                parsed.add(parser.parse(value.trim()));
+            }
+        }
+        return parsed;
+    }
+}
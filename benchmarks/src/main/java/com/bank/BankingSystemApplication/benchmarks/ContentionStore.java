@@ -0,0 +1,126 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import com.bank.BankingSystemApplication.adapter.out.persistence.AccountPersistenceAdapter;
+import com.bank.BankingSystemApplication.domain.model.Account;
+import com.bank.BankingSystemApplication.domain.port.out.AccountPersistencePort;
+import com.bank.BankingSystemApplication.infrastructure.persistence.AccountRepository;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Banco das contas disputadas: só DataSource, JPA e transações da
+ * aplicação, com o {@link AccountRepository} e o
+ * {@link AccountPersistenceAdapter} de produção.
+ *
+ * O padrão é H2 em memória no modo PostgreSQL, com o esquema criado pelo
+ * Hibernate (as migrações Flyway usam PL/pgSQL) e LOCK_TIMEOUT alto para
+ * que a espera na conta quente não vire erro. Com jdbc-url apontando para
+ * um PostgreSQL o esquema precisa já existir (migrações aplicadas) e as
+ * contas do benchmark são inseridas nele: use um banco descartável.
+ */
+final class ContentionStore implements AutoCloseable {
+
+    static final String DEFAULT_URL =
+            "jdbc:h2:mem:contention;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=60000";
+
+    private static final long CPF_BASE = 10_000_000_000L;
+    private static final int INSERT_BATCH = 500;
+
+    private final ConfigurableApplicationContext context;
+    final AccountPersistencePort persistence;
+    final TransactionTemplate transactions;
+
+    private ContentionStore(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.persistence = context.getBean(AccountPersistencePort.class);
+        this.transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    /**
+     * @param maxConnections maior número de threads da varredura: o pool não
+     *                       pode ser o gargalo, senão a espera medida seria
+     *                       por conexão e não por lock
+     */
+    static ContentionStore start(String url, String username, String password, int maxConnections) {
+        boolean h2 = url.startsWith("jdbc:h2:");
+        List<String> args = new ArrayList<>();
+        args.add("--spring.datasource.url=" + url);
+        args.add("--spring.datasource.username=" + username);
+        args.add("--spring.datasource.password=" + password);
+        args.add("--spring.datasource.driver-class-name=" + (h2 ? "org.h2.Driver" : "org.postgresql.Driver"));
+        args.add("--spring.datasource.hikari.maximum-pool-size=" + (maxConnections + 2));
+        args.add("--spring.datasource.hikari.minimum-idle=" + (maxConnections + 2));
+        args.add("--spring.datasource.hikari.connection-timeout=60000");
+        args.add("--spring.jpa.database-platform="
+                + (h2 ? "org.hibernate.dialect.H2Dialect" : "org.hibernate.dialect.PostgreSQLDialect"));
+        args.add("--spring.jpa.hibernate.ddl-auto=" + (h2 ? "create" : "validate"));
+        args.add("--spring.jpa.open-in-view=false");
+        args.add("--logging.level.root=WARN");
+        args.add("--logging.level.com.bank=WARN");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(StoreConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(args.toArray(new String[0]));
+        return new ContentionStore(context);
+    }
+
+    /** Cria as contas com o saldo dado; devolve os ids na ordem de criação */
+    long[] createAccounts(int count, BigDecimal balance) {
+        long[] ids = new long[count];
+        // Contas de execuções anteriores no mesmo banco ficam com CPFs abaixo deste
+        long cpfOffset = CPF_BASE + System.currentTimeMillis() % 1_000_000L * 1000L;
+        for (int from = 0; from < count; from += INSERT_BATCH) {
+            int start = from;
+            int end = Math.min(count, from + INSERT_BATCH);
+            transactions.executeWithoutResult(status -> {
+                for (int i = start; i < end; i++) {
+                    Account account = new Account();
+                    account.setName("Contention " + i);
+                    account.setCpf(String.format(Locale.ROOT, "%011d", cpfOffset + i));
+                    account.setBirthDate(LocalDate.of(1990, 1, 15));
+                    account.setBalance(balance);
+                    ids[i] = persistence.save(account).getId();
+                }
+            });
+        }
+        return ids;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Account.class)
+    @EnableJpaRepositories(basePackageClasses = AccountRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = AccountRepository.class))
+    @ComponentScan(basePackageClasses = AccountPersistenceAdapter.class, useDefaultFilters = false,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = AccountPersistenceAdapter.class))
+    static class StoreConfiguration {
+    }
+}
@@ -0,0 +1,93 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import com.bank.BankingSystemApplication.domain.model.NotificationEvent;
+import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import com.bank.BankingSystemApplication.domain.port.out.AccountPersistencePort;
+import com.bank.BankingSystemApplication.domain.port.out.EventPublishingPort;
+import com.bank.BankingSystemApplication.domain.service.BankingDomainService;
+import com.bank.BankingSystemApplication.infrastructure.audit.AuditPipeline;
+import com.bank.BankingSystemApplication.infrastructure.audit.AuditSink;
+import com.bank.BankingSystemApplication.infrastructure.audit.BankingAuditService;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.BankingMetricsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Montagem dos componentes da aplicação sem o contexto Spring.
+ *
+ * As classes usam injeção por campo e {@code @Value}; aqui os campos são
+ * preenchidos por reflexão com os mesmos valores padrão do
+ * application.properties, e os métodos {@code @PostConstruct} são
+ * chamados explicitamente.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /** Registry usado em produção (Prometheus), com o custo real de histogramas */
+    static MeterRegistry meterRegistry() {
+        return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    }
+
+    /** Pipeline de auditoria iniciado, com um destino que descarta os registros já serializados */
+    static AuditPipeline auditPipeline(MeterRegistry meterRegistry) {
+        AuditSink discard = (record, json) -> { };
+        AuditPipeline pipeline = new AuditPipeline(meterRegistry, List.of(discard));
+        set(pipeline, "ringSize", 8192);
+        set(pipeline, "batchSize", 256);
+        set(pipeline, "overflowPolicy", AuditPipeline.OverflowPolicy.BLOCK);
+        try {
+            set(pipeline, "spillFilePath", Files.createTempDirectory("bench-audit").resolve("audit.spill").toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        pipeline.start();
+        return pipeline;
+    }
+
+    static BankingDomainService domainService(AccountPersistencePort persistence, MeterRegistry meterRegistry,
+                                              AuditPipeline pipeline) {
+        BankingDomainService service = new BankingDomainService();
+        set(service, "persistencePort", persistence);
+        set(service, "eventPort", new DiscardingEventPort());
+        set(service, "metricsService", new BankingMetricsService(meterRegistry));
+        set(service, "auditService", new BankingAuditService(pipeline));
+        return service;
+    }
+
+    static void set(Object target, String fieldName, Object value) {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // Campo declarado em uma superclasse
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException(target.getClass().getName() + " has no field " + fieldName);
+    }
+
+    /** Publicação de eventos sem Kafka; o custo de serialização é medido à parte */
+    static final class DiscardingEventPort implements EventPublishingPort {
+
+        @Override
+        public void publishTransactionEvent(TransactionEvent event) {
+        }
+
+        @Override
+        public void publishNotificationEvent(NotificationEvent event) {
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import com.bank.BankingSystemApplication.domain.model.Account;
+import com.bank.BankingSystemApplication.domain.port.out.AccountPersistencePort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link AccountPersistencePort} em memória, para medir o domínio sem
+ * banco. {@code findByIdForUpdate} não bloqueia: a contenção por conta é
+ * medida contra o banco, não aqui.
+ */
+final class InMemoryAccountPersistencePort implements AccountPersistencePort {
+
+    private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    /** Cria {@code count} contas com ids de 1 a count e o saldo dado */
+    InMemoryAccountPersistencePort(int count, BigDecimal initialBalance) {
+        for (int i = 0; i < count; i++) {
+            Account account = new Account("Conta " + i, String.format("%011d", i), LocalDate.of(1990, 1, 1));
+            account.setBalance(initialBalance);
+            account.setVersion(0L);
+            save(account);
+        }
+    }
+
+    @Override
+    public Account save(Account account) {
+        if (account.getId() == null) {
+            account.setId(ids.incrementAndGet());
+        }
+        accounts.put(account.getId(), account);
+        return account;
+    }
+
+    @Override
+    public Optional<Account> findById(Long id) {
+        return Optional.ofNullable(accounts.get(id));
+    }
+
+    @Override
+    public Optional<Account> findByCpf(String cpf) {
+        return accounts.values().stream().filter(account -> cpf.equals(account.getCpf())).findFirst();
+    }
+
+    @Override
+    public Optional<Account> findByIdForUpdate(Long id) {
+        return findById(id);
+    }
+}
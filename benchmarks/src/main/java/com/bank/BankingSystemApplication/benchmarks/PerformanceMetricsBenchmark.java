@@ -0,0 +1,78 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import com.bank.BankingSystemApplication.infrastructure.monitoring.ComponentLatencyModel;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.LatencyHistogramService;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.MeterHandleCache;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.PerformanceMetricsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+
+/**
+ * Registro de métricas feito pelo {@code PerformanceInterceptor} e pelo
+ * {@code PerformanceAspect} a cada requisição.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PerformanceMetricsBenchmark {
+
+    private static final String ENDPOINT = "/api/accounts/{id}/credit";
+    private static final Duration REQUEST_DURATION = Duration.ofMillis(12);
+    private static final Duration DATABASE_DURATION = Duration.ofMillis(3);
+
+    private LatencyHistogramService latencyHistograms;
+    private PerformanceMetricsService metrics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeterRegistry meterRegistry = Fixtures.meterRegistry();
+        latencyHistograms = new LatencyHistogramService();
+        Fixtures.set(latencyHistograms, "intervalSeconds", 10);
+        Fixtures.set(latencyHistograms, "windowIntervals", 6);
+        Fixtures.set(latencyHistograms, "significantDigits", 2);
+        Fixtures.set(latencyHistograms, "maxEndpoints", 200);
+        Fixtures.set(latencyHistograms, "sloMillis", new long[] {50, 100, 250, 500, 1000});
+        latencyHistograms.start();
+        // Sem init(): o tick do modelo não faz parte do caminho da requisição
+        ComponentLatencyModel componentModel = new ComponentLatencyModel(meterRegistry);
+        metrics = new PerformanceMetricsService(meterRegistry, new MeterHandleCache(meterRegistry, 500),
+                latencyHistograms, componentModel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        latencyHistograms.stop();
+    }
+
+    /** Tudo o que o interceptor registra em uma requisição */
+    @Benchmark
+    public void recordRequest() {
+        Timer.Sample sample = metrics.startResponseTimer();
+        metrics.recordRequest(ENDPOINT);
+        metrics.recordRequestDuration(ENDPOINT, REQUEST_DURATION);
+        metrics.recordResponseTime(sample, ENDPOINT, "success");
+        metrics.recordResponse(ENDPOINT, 256);
+    }
+
+    @Benchmark
+    public void recordDatabaseTime() {
+        metrics.recordDatabaseResponseTime(DATABASE_DURATION);
+    }
+
+    @Benchmark
+    public void recordBusinessLogicTime() {
+        metrics.recordBusinessLogicTime(REQUEST_DURATION, DATABASE_DURATION);
+    }
+}
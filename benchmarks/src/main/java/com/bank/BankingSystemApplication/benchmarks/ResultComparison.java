@@ -0,0 +1,105 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara dois resultados JSON do JMH (por exemplo, de duas versões).
+ *
+ * Para cada benchmark e combinação de {@code @Param} mostra o score das
+ * duas execuções com o erro (intervalo de 99,9%), a variação percentual e,
+ * quando presente, a alocação por operação ({@code gc.alloc.rate.norm}).
+ * Variações cujos intervalos se sobrepõem são marcadas como ruído.
+ *
+ * Uso: {@code ResultComparison <base.json> <novo.json>}
+ */
+public final class ResultComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private ResultComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ResultComparison <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = load(Paths.get(args[0]));
+        Map<String, JsonNode> candidate = load(Paths.get(args[1]));
+
+        System.out.printf("%-70s %22s %22s %9s  %s%n", "Benchmark", "Baseline", "Candidate", "Change", "");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode after = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode metric = after.path("primaryMetric");
+            String unit = metric.path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-70s %22s %22s %9s  %s%n", entry.getKey(), "-",
+                        format(metric.path("score").asDouble(), metric.path("scoreError").asDouble()), "", unit);
+                continue;
+            }
+            System.out.println(compare(entry.getKey(), before.path("primaryMetric"), metric, unit));
+
+            JsonNode allocationBefore = before.path("secondaryMetrics").path(ALLOCATION);
+            JsonNode allocationAfter = after.path("secondaryMetrics").path(ALLOCATION);
+            if (!allocationBefore.isMissingNode() && !allocationAfter.isMissingNode()) {
+                System.out.println(compare("  " + ALLOCATION, allocationBefore, allocationAfter,
+                        allocationAfter.path("scoreUnit").asText()));
+            }
+        }
+        for (String removed : baseline.keySet()) {
+            if (!candidate.containsKey(removed)) {
+                System.out.printf("%-70s %s%n", removed, "(removed)");
+            }
+        }
+    }
+
+    private static String compare(String name, JsonNode before, JsonNode after, String unit) {
+        double scoreBefore = before.path("score").asDouble();
+        double errorBefore = finite(before.path("scoreError").asDouble());
+        double scoreAfter = after.path("score").asDouble();
+        double errorAfter = finite(after.path("scoreError").asDouble());
+        double change = scoreBefore != 0 ? (scoreAfter - scoreBefore) / scoreBefore * 100 : 0;
+        boolean overlap = scoreAfter - errorAfter <= scoreBefore + errorBefore
+                && scoreBefore - errorBefore <= scoreAfter + errorAfter;
+        return String.format("%-70s %22s %22s %+8.1f%%  %s%s", name, format(scoreBefore, errorBefore),
+                format(scoreAfter, errorAfter), change, unit, overlap ? " (noise)" : "");
+    }
+
+    /** Chave: nome do benchmark, modo e parâmetros */
+    private static Map<String, JsonNode> load(Path file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(shortName(result.path("benchmark").asText()))
+                    .append(" [").append(result.path("mode").asText()).append(']');
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String shortName(String benchmark) {
+        String prefix = ResultComparison.class.getPackageName() + ".";
+        return benchmark.startsWith(prefix) ? benchmark.substring(prefix.length()) : benchmark;
+    }
+
+    private static String format(double score, double error) {
+        return String.format("%.3f ± %.3f", score, error);
+    }
+
+    private static double finite(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? 0 : value;
+    }
+}
@@ -0,0 +1,96 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
+import com.bank.BankingSystemApplication.domain.model.TransactionResponse;
+import com.bank.BankingSystemApplication.domain.port.in.BankingUseCase;
+import com.bank.BankingSystemApplication.domain.service.BankingDomainService;
+import com.bank.BankingSystemApplication.infrastructure.audit.AuditPipeline;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.DatadogTracingService;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.MeterHandleCache;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.TracingAspect;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.TracingSampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Custo do {@link TracingAspect} sobre um crédito.
+ *
+ * - direct: chamada ao serviço sem proxy
+ * - sampled: amostragem desabilitada, todas as chamadas viram span
+ * - unsampled: amostragem com taxa zero, só o caminho sem span
+ *
+ * A diferença entre os modos é o custo do aspecto (incluindo o proxy AOP)
+ * por chamada.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TracingAspectBenchmark {
+
+    @Param({"direct", "sampled", "unsampled"})
+    public String mode;
+
+    private AuditPipeline pipeline;
+    private BankingUseCase useCase;
+    private TransactionRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeterRegistry meterRegistry = Fixtures.meterRegistry();
+        pipeline = Fixtures.auditPipeline(meterRegistry);
+        BankingDomainService service = Fixtures.domainService(
+                new InMemoryAccountPersistencePort(1, new BigDecimal("1000000000000")), meterRegistry, pipeline);
+
+        if ("direct".equals(mode)) {
+            useCase = service;
+        } else {
+            TracingSampler sampler = new TracingSampler(meterRegistry);
+            Fixtures.set(sampler, "enabled", "unsampled".equals(mode));
+            Fixtures.set(sampler, "defaultRate", 0.0);
+            Fixtures.set(sampler, "operationRates", List.of());
+            Fixtures.set(sampler, "slowThresholdMs", 500L);
+            sampler.init();
+
+            DatadogTracingService tracingService = new DatadogTracingService(meterRegistry,
+                    new MeterHandleCache(meterRegistry, 500));
+            Fixtures.set(tracingService, "serviceName", "banking-system");
+            Fixtures.set(tracingService, "environment", "benchmark");
+
+            TracingAspect aspect = new TracingAspect();
+            Fixtures.set(aspect, "tracingService", tracingService);
+            Fixtures.set(aspect, "sampler", sampler);
+
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(service);
+            proxyFactory.addAspect(aspect);
+            useCase = proxyFactory.getProxy();
+        }
+
+        request = new TransactionRequest();
+        request.setAccountId(1L);
+        request.setAmount(BigDecimal.TEN);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pipeline.stop();
+    }
+
+    @Benchmark
+    public TransactionResponse credit() {
+        return useCase.credit(request);
+    }
+}
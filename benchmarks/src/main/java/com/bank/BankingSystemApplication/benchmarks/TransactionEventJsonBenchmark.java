@@ -0,0 +1,69 @@
+package com.bank.BankingSystemApplication.benchmarks;
+
+import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import com.bank.BankingSystemApplication.domain.model.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Codificação e decodificação de {@link TransactionEvent} com o
+ * serializador JSON configurado nos produtores e consumidores Kafka.
+ */
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TransactionEventJsonBenchmark {
+
+    private static final String TOPIC = "banking-transactions";
+
+    private JsonSerializer<TransactionEvent> serializer;
+    private JsonDeserializer<TransactionEvent> deserializer;
+    private TransactionEvent event;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+        deserializer = new JsonDeserializer<>(TransactionEvent.class, false);
+
+        event = new TransactionEvent();
+        event.setEventId("3f2c8e1a-6b4d-3c9e-8f7a-1d2e3f4a5b6c");
+        event.setAccountId(1234L);
+        event.setAmount(new BigDecimal("150.00"));
+        event.setType(TransactionType.CREDIT);
+        event.setSuccess(true);
+        event.setBalance(new BigDecimal("1150.00"));
+        event.setAccountVersion(42L);
+        event.setTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000));
+        encoded = serializer.serialize(TOPIC, event);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public TransactionEvent decode() {
+        return deserializer.deserialize(TOPIC, encoded);
+    }
+}
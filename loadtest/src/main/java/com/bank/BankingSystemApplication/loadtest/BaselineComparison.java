@@ -0,0 +1,116 @@
+package com.bank.BankingSystemApplication.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara o relatório de uma execução com o baseline do cenário.
+ *
+ * Regressões:
+ * - latência p50/p99 (geral) ou p99 de conclusão assíncrona acima do
+ *   baseline além da tolerância relativa do cenário; diferenças abaixo de
+ *   check.latency-floor-ms (check.completion-floor-ms na conclusão) são
+ *   ignoradas
+ * - taxa de erros ou de conclusões faltantes acima do baseline além da
+ *   tolerância absoluta
+ * - parcela roteada assíncrona ou rejeitada diferente do baseline além da
+ *   tolerância absoluta, nos dois sentidos: uma mudança de roteamento muda
+ *   o que as latências significam
+ * - operação do baseline que deixou de aparecer
+ *
+ * A taxa atendida abaixo de check.min-throughput-ratio da taxa alvo é
+ * verificada mesmo sem baseline.
+ */
+final class BaselineComparison {
+
+    private final Scenario scenario;
+    private final List<String> regressions = new ArrayList<>();
+
+    BaselineComparison(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    /** Regressões encontradas; vazia se a execução está dentro das tolerâncias */
+    List<String> compare(JsonNode baseline, JsonNode current) {
+        regressions.clear();
+        checkThroughput(current);
+        if (baseline == null) {
+            return List.copyOf(regressions);
+        }
+
+        JsonNode currentOperations = current.path("operations");
+        Iterator<Map.Entry<String, JsonNode>> operations = baseline.path("operations").fields();
+        while (operations.hasNext()) {
+            Map.Entry<String, JsonNode> entry = operations.next();
+            String name = entry.getKey();
+            JsonNode before = entry.getValue();
+            JsonNode after = currentOperations.path(name);
+            if (after.isMissingNode()) {
+                regressions.add(name + ": present in baseline but not in this run");
+                continue;
+            }
+            checkLatency(name + " p50", before.path("latencyMs").path("p50"), after.path("latencyMs").path("p50"),
+                    scenario.latencyTolerance, scenario.latencyFloorMs);
+            checkLatency(name + " p99", before.path("latencyMs").path("p99"), after.path("latencyMs").path("p99"),
+                    scenario.latencyTolerance, scenario.latencyFloorMs);
+            checkLatency(name + " completion p99", before.path("completion").path("latencyMs").path("p99"),
+                    after.path("completion").path("latencyMs").path("p99"), scenario.completionTolerance,
+                    scenario.completionFloorMs);
+            checkRate(name + " error rate", before.path("errorRate"), after.path("errorRate"));
+            checkRate(name + " missing completions", before.path("completion").path("missingRate"),
+                    after.path("completion").path("missingRate"));
+            checkShare(name + " async share", before.path("asyncShare"), after.path("asyncShare"));
+            checkShare(name + " reject share", before.path("rejectShare"), after.path("rejectShare"));
+        }
+        return List.copyOf(regressions);
+    }
+
+    private void checkThroughput(JsonNode current) {
+        double target = current.path("targetRate").asDouble();
+        double achieved = current.path("achievedRate").asDouble();
+        if (achieved < target * scenario.minThroughputRatio) {
+            regressions.add(String.format("throughput: %.1f req/s achieved, below %.0f%% of the %.1f req/s target",
+                    achieved, scenario.minThroughputRatio * 100, target));
+        }
+    }
+
+    private void checkLatency(String metric, JsonNode before, JsonNode after, double tolerance, double floorMs) {
+        if (!before.isNumber() || !after.isNumber()) {
+            return;
+        }
+        double baseline = before.asDouble();
+        double value = after.asDouble();
+        if (value > baseline * (1 + tolerance) && value - baseline > floorMs) {
+            regressions.add(String.format("%s: %.2f ms, baseline %.2f ms (+%.0f%%, tolerance %.0f%%)",
+                    metric, value, baseline, (value - baseline) / baseline * 100, tolerance * 100));
+        }
+    }
+
+    private void checkRate(String metric, JsonNode before, JsonNode after) {
+        if (!after.isNumber()) {
+            return;
+        }
+        double baseline = before.isNumber() ? before.asDouble() : 0.0;
+        double value = after.asDouble();
+        if (value > baseline + scenario.errorRateTolerance) {
+            regressions.add(String.format("%s: %.2f%%, baseline %.2f%% (tolerance +%.2f points)",
+                    metric, value * 100, baseline * 100, scenario.errorRateTolerance * 100));
+        }
+    }
+
+    private void checkShare(String metric, JsonNode before, JsonNode after) {
+        if (!before.isNumber() || !after.isNumber()) {
+            return;
+        }
+        double baseline = before.asDouble();
+        double value = after.asDouble();
+        if (Math.abs(value - baseline) > scenario.routingTolerance) {
+            regressions.add(String.format("%s: %.1f%%, baseline %.1f%% (tolerance ±%.1f points)",
+                    metric, value * 100, baseline * 100, scenario.routingTolerance * 100));
+        }
+    }
+}
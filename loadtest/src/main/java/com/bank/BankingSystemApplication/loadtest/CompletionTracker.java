@@ -0,0 +1,98 @@
+package com.bank.BankingSystemApplication.loadtest;
+
+import com.bank.BankingSystemApplication.application.config.KafkaConfig;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.KafkaLatencyHeaders;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instante em que cada requisição roteada para os workers foi concluída.
+ *
+ * O id enviado em X-Request-Id vai para o MDC da requisição e segue, pelo
+ * header de origem dos registros Kafka ({@link KafkaLatencyHeaders}), até
+ * o que o worker publica ao terminar: o evento de transação, a conta
+ * criada ou o registro no DLT do tópico do worker. Este consumidor lê esses
+ * tópicos e guarda o primeiro instante visto para cada id; só os headers
+ * são lidos.
+ */
+final class CompletionTracker implements AutoCloseable {
+
+    static final List<String> COMPLETION_TOPICS = List.of(
+            KafkaConfig.TRANSACTION_TOPIC,
+            KafkaConfig.ACCOUNT_CREATED_TOPIC,
+            KafkaConfig.ACCOUNT_CREATE_TOPIC + KafkaConfig.DLT_TOPIC_SUFFIX,
+            KafkaConfig.TRANSACTION_CREDIT_TOPIC + KafkaConfig.DLT_TOPIC_SUFFIX,
+            KafkaConfig.TRANSACTION_DEBIT_TOPIC + KafkaConfig.DLT_TOPIC_SUFFIX);
+
+    /** Conclusão de uma requisição: instante e se terminou no DLT */
+    static final class Completion {
+        final long epochMillis;
+        final boolean failed;
+
+        Completion(long epochMillis, boolean failed) {
+            this.epochMillis = epochMillis;
+            this.failed = failed;
+        }
+    }
+
+    private final Map<String, Completion> completions = new ConcurrentHashMap<>();
+    private final KafkaConsumer<byte[], byte[]> consumer;
+    private final Thread poller;
+    private volatile boolean running = true;
+
+    CompletionTracker(String bootstrapServers) {
+        consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, "banking-loadtest-" + UUID.randomUUID(),
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.METADATA_MAX_AGE_CONFIG, 1000),
+                new ByteArrayDeserializer(), new ByteArrayDeserializer());
+        poller = new Thread(this::poll, "loadtest-completions");
+        poller.setDaemon(true);
+    }
+
+    void start() {
+        consumer.subscribe(COMPLETION_TOPICS);
+        poller.start();
+    }
+
+    private void poll() {
+        try {
+            while (running) {
+                for (ConsumerRecord<byte[], byte[]> record : consumer.poll(Duration.ofMillis(100))) {
+                    String requestId = KafkaLatencyHeaders.originRequestId(record.headers());
+                    if (requestId != null) {
+                        completions.putIfAbsent(requestId, new Completion(System.currentTimeMillis(),
+                                record.topic().endsWith(KafkaConfig.DLT_TOPIC_SUFFIX)));
+                    }
+                }
+            }
+        } catch (WakeupException e) {
+            // close()
+        } finally {
+            consumer.close();
+        }
+    }
+
+    /** Conclusão da requisição, ou null se ainda não foi vista */
+    Completion get(String requestId) {
+        return completions.get(requestId);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        consumer.wakeup();
+        poller.join(5000);
+    }
+}
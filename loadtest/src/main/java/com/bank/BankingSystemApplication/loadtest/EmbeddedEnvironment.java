@@ -0,0 +1,118 @@
+package com.bank.BankingSystemApplication.loadtest;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.bank.BankingSystemApplication.BankingSystemApplication;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aplicação completa no mesmo processo, com Kafka embarcado
+ * (spring-kafka-test) e H2 em memória no modo PostgreSQL.
+ *
+ * As propriedades abaixo só trocam os serviços externos e os diretórios
+ * locais; roteamento, monitoramento, workers e auditoria seguem o
+ * application.properties, e o cenário pode sobrescrever qualquer uma.
+ * O esquema é criado pelo Hibernate: as migrações Flyway usam PL/pgSQL.
+ * A agregação Kafka Streams fica desligada, pois não participa do
+ * roteamento.
+ *
+ * O gerador de carga roda no mesmo processo, então a CPU medida pelo
+ * {@code SystemLoadMonitor} inclui a dele.
+ */
+final class EmbeddedEnvironment implements AutoCloseable {
+
+    private final EmbeddedKafkaBroker broker;
+    private final ConfigurableApplicationContext context;
+    private final Path workDirectory;
+
+    private EmbeddedEnvironment(EmbeddedKafkaBroker broker, ConfigurableApplicationContext context,
+                                Path workDirectory) {
+        this.broker = broker;
+        this.context = context;
+        this.workDirectory = workDirectory;
+    }
+
+    static EmbeddedEnvironment start(Map<String, String> overrides) throws IOException {
+        // O broker sobe antes do logback-spring.xml da aplicação, com o logback em DEBUG
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        Path workDirectory = Files.createTempDirectory("banking-loadtest");
+        EmbeddedKafkaBroker broker = new EmbeddedKafkaBroker(1, false, 3)
+                .kafkaPorts(0)
+                .brokerProperty("log.dir", workDirectory.resolve("kafka").toString());
+        broker.afterPropertiesSet();
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "-1");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("spring.kafka.bootstrap-servers", broker.getBrokersAsString());
+        properties.put("management.datadog.metrics.export.enabled", "false");
+        properties.put("management.metrics.export.datadog.enabled", "false");
+        properties.put("banking.streams.enabled", "false");
+        // A transferência (CQRS) tem rate limit de 100/min por padrão
+        properties.put("resilience4j.ratelimiter.instances.banking-api.limit-for-period", "1000000");
+        properties.put("audit.pipeline.spill-file", workDirectory.resolve("audit-spill/audit.spill").toString());
+        properties.put("audit.kafka.spool-file", workDirectory.resolve("audit-spill/kafka-audit.spool").toString());
+        properties.put("audit.store.directory", workDirectory.resolve("audit-store").toString());
+        properties.put("kafka.dedup.checkpoint.directory", workDirectory.resolve("checkpoints/dedup").toString());
+        properties.put("replay.snapshot.directory", workDirectory.resolve("snapshots").toString());
+        properties.put("performance.profiling.directory", workDirectory.resolve("profiles").toString());
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.bank", "WARN");
+        properties.putAll(overrides);
+
+        // Argumentos de linha de comando prevalecem sobre o application.properties
+        List<String> args = new ArrayList<>();
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+
+        ConfigurableApplicationContext context;
+        try {
+            context = new SpringApplicationBuilder(BankingSystemApplication.class)
+                    .bannerMode(Banner.Mode.OFF)
+                    .run(args.toArray(new String[0]));
+        } catch (RuntimeException e) {
+            broker.destroy();
+            throw e;
+        }
+        return new EmbeddedEnvironment(broker, context, workDirectory);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    String bootstrapServers() {
+        return broker.getBrokersAsString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            broker.destroy();
+            FileSystemUtils.deleteRecursively(workDirectory);
+        }
+    }
+}
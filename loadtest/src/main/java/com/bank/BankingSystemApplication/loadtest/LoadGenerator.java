@@ -0,0 +1,248 @@
+package com.bank.BankingSystemApplication.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga em modelo aberto: as chegadas seguem uma taxa constante
+ * independente das respostas, como clientes reais que não esperam uns
+ * pelos outros. Um sistema lento acumula requisições em andamento em vez
+ * de reduzir a carga.
+ *
+ * Cada chegada sorteia a operação pelos pesos do cenário e a conta pela
+ * distribuição de Zipf; a ordem de popularidade é embaralhada para que as
+ * contas quentes não fiquem todas na mesma faixa de ids.
+ */
+final class LoadGenerator {
+
+    private static final int SETUP_CONCURRENCY = 32;
+    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final long CPF_BASE = 10_000_000_000L;
+
+    private final Scenario scenario;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Operation[] operationTable;
+
+    private long[] accountIds;
+    private long nextCpf;
+
+    LoadGenerator(Scenario scenario, String baseUrl) {
+        this.scenario = scenario;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.operationTable = operationTable(scenario.mix);
+    }
+
+    /** Cria as contas da carga pelo endpoint síncrono, fora do gateway, e deposita o saldo inicial */
+    void setUp() throws Exception {
+        List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+        runConcurrently(scenario.accounts, i -> post("/api/sync/accounts", createAccountBody(nextCpf + i), null)
+                .thenAccept(response -> {
+                    requireOk(response, "account creation");
+                    ids.add(readId(response.body()));
+                }));
+        nextCpf += scenario.accounts;
+
+        runConcurrently(ids.size(), i -> post("/api/sync/transactions/credit",
+                transactionBody(ids.get(i), BigDecimal.valueOf(scenario.initialBalance)), null)
+                .thenAccept(response -> requireOk(response, "initial credit")));
+
+        List<Long> shuffled = new ArrayList<>(ids);
+        Collections.sort(shuffled);
+        Collections.shuffle(shuffled, new Random(scenario.seed));
+        accountIds = shuffled.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    LoadResults run() throws InterruptedException {
+        LoadResults results = new LoadResults(scenario.durationSeconds);
+        ZipfSampler popularity = new ZipfSampler(accountIds.length, scenario.zipfExponent);
+        SplittableRandom random = new SplittableRandom(scenario.seed);
+
+        long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long startEpochMillis = System.currentTimeMillis() + 100;
+        long measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(scenario.warmupSeconds);
+        long endNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(scenario.durationSeconds);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / scenario.rate;
+
+        for (long arrival = 0; ; arrival++) {
+            long intendedNanos = startNanos + (long) (arrival * intervalNanos);
+            if (intendedNanos >= endNanos) {
+                break;
+            }
+            long wait;
+            while ((wait = intendedNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = operationTable[random.nextInt(operationTable.length)];
+            boolean measured = intendedNanos >= measureFromNanos;
+            LoadResults.OperationStats stats = results.get(operation);
+            if (inFlight.get() >= scenario.maxInFlight) {
+                if (measured) {
+                    stats.clientDropped.incrementAndGet();
+                }
+                continue;
+            }
+
+            String requestId = "lt-" + arrival;
+            long intendedEpochMillis = startEpochMillis + TimeUnit.NANOSECONDS.toMillis(intendedNanos - startNanos);
+            inFlight.incrementAndGet();
+            send(operation, requestId, popularity, random).whenComplete((response, failure) -> {
+                inFlight.decrementAndGet();
+                if (!measured) {
+                    return;
+                }
+                long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos);
+                LoadResults.Outcome outcome = failure != null
+                        ? LoadResults.Outcome.ERROR : LoadResults.Outcome.of(response.statusCode());
+                stats.record(outcome, latencyMicros);
+                if (outcome == LoadResults.Outcome.ASYNC) {
+                    stats.pending.add(new LoadResults.PendingCompletion(requestId, intendedEpochMillis));
+                }
+            });
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(scenario.requestTimeoutSeconds + 5);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        return results;
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(Operation operation, String requestId,
+                                                        ZipfSampler popularity, SplittableRandom random) {
+        switch (operation) {
+            case CREATE:
+                return post(operation.path, createAccountBody(nextCpf++), requestId);
+            case CREDIT:
+                return post(operation.path, transactionBody(account(popularity, random), amount(random, 100)),
+                        requestId);
+            case DEBIT:
+                return post(operation.path, transactionBody(account(popularity, random), amount(random, 50)),
+                        requestId);
+            case TRANSFER:
+                long from = account(popularity, random);
+                long to = accountIds[random.nextInt(accountIds.length)];
+                if (to == from) {
+                    to = accountIds[(indexOf(from) + 1) % accountIds.length];
+                }
+                String query = String.format(Locale.ROOT, "?fromAccountId=%d&toAccountId=%d&amount=%s",
+                        from, to, amount(random, 50).toPlainString());
+                return client.sendAsync(request(operation.path + query, requestId)
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> post(String path, String body, String requestId) {
+        return client.sendAsync(request(path, requestId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String requestId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(scenario.requestTimeoutSeconds));
+        if (requestId != null) {
+            builder.header(REQUEST_ID_HEADER, requestId);
+        }
+        return builder;
+    }
+
+    private long account(ZipfSampler popularity, SplittableRandom random) {
+        return accountIds[popularity.sample(random)];
+    }
+
+    private int indexOf(long accountId) {
+        for (int i = 0; i < accountIds.length; i++) {
+            if (accountIds[i] == accountId) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /** Valor entre 1,00 e max com centavos */
+    private static BigDecimal amount(SplittableRandom random, int max) {
+        return BigDecimal.valueOf(random.nextInt(100, max * 100 + 1), 2);
+    }
+
+    private static String createAccountBody(long sequence) {
+        return String.format(Locale.ROOT,
+                "{\"name\":\"Load Test %d\",\"cpf\":\"%011d\",\"birthDate\":\"1990-01-15\",\"email\":\"lt%d@loadtest.local\"}",
+                sequence, CPF_BASE + sequence, sequence);
+    }
+
+    private static String transactionBody(long accountId, BigDecimal amount) {
+        return String.format(Locale.ROOT, "{\"accountId\":%d,\"amount\":%s}", accountId, amount.toPlainString());
+    }
+
+    private long readId(String body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).path("id");
+            if (!id.canConvertToLong()) {
+                throw new IllegalStateException("Account creation response without id: " + body);
+            }
+            return id.asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid account creation response: " + body, e);
+        }
+    }
+
+    private static void requireOk(HttpResponse<String> response, String step) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Setup " + step + " failed with HTTP " + response.statusCode()
+                    + ": " + response.body());
+        }
+    }
+
+    private interface IndexedCall {
+        CompletableFuture<?> call(int index);
+    }
+
+    private static void runConcurrently(int count, IndexedCall call) throws Exception {
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+        List<CompletableFuture<?>> calls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            permits.acquire();
+            calls.add(call.call(i).whenComplete((result, failure) -> permits.release()));
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).get();
+    }
+
+    /** Tabela com cada operação repetida tantas vezes quanto o seu peso */
+    private static Operation[] operationTable(Map<Operation, Integer> mix) {
+        List<Operation> table = new ArrayList<>();
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            table.addAll(Collections.nCopies(entry.getValue(), entry.getKey()));
+        }
+        return table.toArray(new Operation[0]);
+    }
+}
@@ -0,0 +1,156 @@
+package com.bank.BankingSystemApplication.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resultados da fase medida, por operação.
+ *
+ * Latências em microssegundos, contadas a partir do instante previsto da
+ * chegada e não do envio efetivo: atrasos do próprio gerador entram na
+ * medida em vez de esconder a fila (coordinated omission).
+ */
+final class LoadResults {
+
+    /** Como a requisição foi atendida, pelo status HTTP */
+    enum Outcome {
+        /** 2xx processado na própria requisição */
+        SYNC,
+        /** 202: enfileirada para os workers */
+        ASYNC,
+        /** 429: carga alta e backlog dos workers acima do limite */
+        REJECTED,
+        /** Demais 4xx (regra de negócio, validação) */
+        BUSINESS,
+        /** 5xx, 408, timeout ou falha de conexão */
+        ERROR;
+
+        static Outcome of(int status) {
+            if (status == 202) {
+                return ASYNC;
+            }
+            if (status == 429) {
+                return REJECTED;
+            }
+            if (status >= 200 && status < 300) {
+                return SYNC;
+            }
+            return status == 408 || status >= 500 ? ERROR : BUSINESS;
+        }
+    }
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    /** Requisição enfileirada cuja conclusão é esperada no Kafka */
+    static final class PendingCompletion {
+        final String requestId;
+        final long intendedEpochMillis;
+
+        PendingCompletion(String requestId, long intendedEpochMillis) {
+            this.requestId = requestId;
+            this.intendedEpochMillis = intendedEpochMillis;
+        }
+    }
+
+    static final class OperationStats {
+        final Histogram latency = histogram();
+        final Map<Outcome, Histogram> latencyByOutcome = new EnumMap<>(Outcome.class);
+        final AtomicLong clientDropped = new AtomicLong();
+        final Queue<PendingCompletion> pending = new ConcurrentLinkedQueue<>();
+
+        /** Preenchidos por {@link LoadResults#resolveCompletions} */
+        final Histogram completion = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long completionsFailed;
+        long completionsMissing;
+
+        OperationStats() {
+            for (Outcome outcome : Outcome.values()) {
+                latencyByOutcome.put(outcome, histogram());
+            }
+        }
+
+        void record(Outcome outcome, long latencyMicros) {
+            long value = clamp(latencyMicros);
+            latency.recordValue(value);
+            latencyByOutcome.get(outcome).recordValue(value);
+        }
+
+        long count(Outcome outcome) {
+            return latencyByOutcome.get(outcome).getTotalCount();
+        }
+
+        long requests() {
+            return latency.getTotalCount();
+        }
+
+        private static Histogram histogram() {
+            return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        }
+    }
+
+    final Map<Operation, OperationStats> operations = new EnumMap<>(Operation.class);
+    final double measuredSeconds;
+
+    LoadResults(double measuredSeconds) {
+        this.measuredSeconds = measuredSeconds;
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new OperationStats());
+        }
+    }
+
+    OperationStats get(Operation operation) {
+        return operations.get(operation);
+    }
+
+    long pendingCount() {
+        return operations.values().stream().mapToLong(stats -> stats.pending.size()).sum();
+    }
+
+    /**
+     * Espera as conclusões das requisições enfileiradas até o prazo e
+     * registra o tempo de ponta a ponta (chegada prevista até o worker
+     * publicar o resultado). As que não aparecem contam como faltantes.
+     */
+    void resolveCompletions(CompletionTracker tracker, long deadlineMillis) throws InterruptedException {
+        while (System.currentTimeMillis() < deadlineMillis && !allCompleted(tracker)) {
+            Thread.sleep(200);
+        }
+        for (OperationStats stats : operations.values()) {
+            for (PendingCompletion pending : stats.pending) {
+                CompletionTracker.Completion completion = tracker.get(pending.requestId);
+                if (completion == null) {
+                    stats.completionsMissing++;
+                    continue;
+                }
+                if (completion.failed) {
+                    stats.completionsFailed++;
+                }
+                stats.completion.recordValue(clamp(TimeUnit.MILLISECONDS.toMicros(
+                        Math.max(0, completion.epochMillis - pending.intendedEpochMillis))));
+            }
+        }
+    }
+
+    private boolean allCompleted(CompletionTracker tracker) {
+        for (OperationStats stats : operations.values()) {
+            for (PendingCompletion pending : stats.pending) {
+                if (tracker.get(pending.requestId) == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long clamp(long micros) {
+        return Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS);
+    }
+}
@@ -0,0 +1,176 @@
+package com.bank.BankingSystemApplication.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Relatório JSON da execução e histogramas HdrHistogram por operação.
+ *
+ * O JSON tem, por operação, as contagens por forma de atendimento, as
+ * parcelas roteadas assíncronas e rejeitadas, os percentis de latência
+ * (geral, síncrona e do aceite assíncrono) e os tempos de conclusão das
+ * enfileiradas; é o mesmo formato usado como baseline. Os arquivos .hgrm
+ * trazem a distribuição completa em milissegundos, no formato do
+ * HdrHistogram plotter.
+ */
+final class LoadTestReport {
+
+    static final String REPORT_FILE = "report.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private LoadTestReport() {
+    }
+
+    static Map<String, Object> build(Scenario scenario, LoadResults results) {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long requests = 0;
+        long answered = 0;
+        long async = 0;
+        long rejected = 0;
+        long errors = 0;
+        long dropped = 0;
+        for (Map.Entry<Operation, LoadResults.OperationStats> entry : results.operations.entrySet()) {
+            LoadResults.OperationStats stats = entry.getValue();
+            long count = stats.requests() + stats.clientDropped.get();
+            if (count == 0) {
+                continue;
+            }
+            operations.put(entry.getKey().key, operation(entry.getKey(), stats));
+            requests += count;
+            answered += stats.requests() - stats.count(LoadResults.Outcome.ERROR);
+            async += stats.count(LoadResults.Outcome.ASYNC);
+            rejected += stats.count(LoadResults.Outcome.REJECTED);
+            errors += stats.count(LoadResults.Outcome.ERROR);
+            dropped += stats.clientDropped.get();
+        }
+
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("requests", requests);
+        totals.put("asyncShare", share(async, requests));
+        totals.put("rejectShare", share(rejected, requests));
+        totals.put("errorRate", share(errors + dropped, requests));
+        totals.put("clientDropped", dropped);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario.name);
+        report.put("targetRate", scenario.rate);
+        report.put("achievedRate", answered / results.measuredSeconds);
+        report.put("durationSeconds", scenario.durationSeconds);
+        report.put("accounts", scenario.accounts);
+        report.put("zipfExponent", scenario.zipfExponent);
+        report.put("totals", totals);
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static Map<String, Object> operation(Operation operation, LoadResults.OperationStats stats) {
+        long requests = stats.requests() + stats.clientDropped.get();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", requests);
+        result.put("routedByGateway", operation.routed);
+        for (LoadResults.Outcome outcome : LoadResults.Outcome.values()) {
+            result.put(outcome.name().toLowerCase(), stats.count(outcome));
+        }
+        result.put("clientDropped", stats.clientDropped.get());
+        result.put("asyncShare", share(stats.count(LoadResults.Outcome.ASYNC), requests));
+        result.put("rejectShare", share(stats.count(LoadResults.Outcome.REJECTED), requests));
+        result.put("errorRate", share(stats.count(LoadResults.Outcome.ERROR) + stats.clientDropped.get(), requests));
+        result.put("latencyMs", percentiles(stats.latency));
+        result.put("syncLatencyMs", percentiles(stats.latencyByOutcome.get(LoadResults.Outcome.SYNC)));
+        result.put("asyncAckLatencyMs", percentiles(stats.latencyByOutcome.get(LoadResults.Outcome.ASYNC)));
+
+        long tracked = stats.pending.size();
+        if (tracked > 0) {
+            Map<String, Object> completion = new LinkedHashMap<>();
+            completion.put("tracked", tracked);
+            completion.put("failed", stats.completionsFailed);
+            completion.put("missing", stats.completionsMissing);
+            completion.put("missingRate", share(stats.completionsMissing, tracked));
+            completion.put("latencyMs", percentiles(stats.completion));
+            result.put("completion", completion);
+        }
+        return result;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("count", histogram.getTotalCount());
+        if (histogram.getTotalCount() == 0) {
+            return percentiles;
+        }
+        percentiles.put("mean", histogram.getMean() / MICROS_PER_MILLI);
+        percentiles.put("p50", millis(histogram, 50));
+        percentiles.put("p90", millis(histogram, 90));
+        percentiles.put("p99", millis(histogram, 99));
+        percentiles.put("p999", millis(histogram, 99.9));
+        percentiles.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+        return percentiles;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static double share(long part, long total) {
+        return total > 0 ? (double) part / total : 0.0;
+    }
+
+    static void write(Map<String, Object> report, LoadResults results, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        MAPPER.writeValue(directory.resolve(REPORT_FILE).toFile(), report);
+        for (Map.Entry<Operation, LoadResults.OperationStats> entry : results.operations.entrySet()) {
+            LoadResults.OperationStats stats = entry.getValue();
+            String operation = entry.getKey().key;
+            writeHistogram(stats.latency, directory.resolve(operation + "-latency.hgrm"));
+            writeHistogram(stats.latencyByOutcome.get(LoadResults.Outcome.SYNC),
+                    directory.resolve(operation + "-sync.hgrm"));
+            writeHistogram(stats.latencyByOutcome.get(LoadResults.Outcome.ASYNC),
+                    directory.resolve(operation + "-async-ack.hgrm"));
+            writeHistogram(stats.completion, directory.resolve(operation + "-completion.hgrm"));
+        }
+    }
+
+    private static void writeHistogram(Histogram histogram, Path file) throws IOException {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        try (OutputStream out = Files.newOutputStream(file); PrintStream print = new PrintStream(out)) {
+            histogram.outputPercentileDistribution(print, MICROS_PER_MILLI);
+        }
+    }
+
+    static void printSummary(Map<String, Object> report, PrintStream out) {
+        out.printf("Scenario %s: target %.1f req/s, achieved %.1f req/s%n",
+                report.get("scenario"), report.get("targetRate"), report.get("achievedRate"));
+        out.printf("%-9s %8s %7s %7s %7s %9s %9s %9s %12s %12s%n", "Operation", "Requests", "Async", "Reject",
+                "Errors", "p50 ms", "p99 ms", "p99.9 ms", "Done p50 ms", "Done p99 ms");
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> operations = (Map<String, Map<String, Object>>) report.get("operations");
+        for (Map.Entry<String, Map<String, Object>> entry : operations.entrySet()) {
+            Map<String, Object> operation = entry.getValue();
+            Map<?, ?> latency = (Map<?, ?>) operation.get("latencyMs");
+            Map<?, ?> completion = operation.containsKey("completion")
+                    ? (Map<?, ?>) ((Map<?, ?>) operation.get("completion")).get("latencyMs") : Map.of();
+            out.printf("%-9s %8d %6.1f%% %6.1f%% %6.2f%% %9s %9s %9s %12s %12s%n", entry.getKey(),
+                    operation.get("requests"), 100 * (double) operation.get("asyncShare"),
+                    100 * (double) operation.get("rejectShare"), 100 * (double) operation.get("errorRate"),
+                    format(latency.get("p50")), format(latency.get("p99")), format(latency.get("p999")),
+                    format(completion.get("p50")), format(completion.get("p99")));
+        }
+    }
+
+    private static String format(Object millis) {
+        return millis instanceof Number ? String.format("%.2f", ((Number) millis).doubleValue()) : "-";
+    }
+}
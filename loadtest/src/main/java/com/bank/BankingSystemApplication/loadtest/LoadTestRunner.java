@@ -0,0 +1,90 @@
+package com.bank.BankingSystemApplication.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executa um cenário de carga contra a aplicação embarcada.
+ *
+ * Uso: {@code LoadTestRunner <cenário> <baseline.json> <diretório do relatório> [atualizar baseline]}
+ *
+ * Sobe Kafka e aplicação, cria as contas, aplica a carga (aquecimento e
+ * fase medida), espera as conclusões assíncronas e grava o relatório.
+ * Sai com código 1 se houver regressão em relação ao baseline; sem
+ * baseline só a taxa atendida é verificada. Com o último argumento
+ * {@code true} o relatório substitui o baseline.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadTestRunner <scenario> <baseline.json> <report-dir> [update-baseline]");
+            System.exit(2);
+        }
+        Scenario scenario = Scenario.load(args[0]);
+        Path baselineFile = Paths.get(args[1]);
+        Path reportDirectory = Paths.get(args[2]);
+        boolean updateBaseline = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        System.out.printf("Scenario %s: %.1f req/s for %ds after %ds warmup, %d accounts, zipf exponent %.2f%n",
+                scenario.name, scenario.rate, scenario.durationSeconds, scenario.warmupSeconds,
+                scenario.accounts, scenario.zipfExponent);
+
+        Map<String, Object> report;
+        LoadResults results;
+        try (EmbeddedEnvironment environment = EmbeddedEnvironment.start(scenario.appProperties);
+             CompletionTracker tracker = new CompletionTracker(environment.bootstrapServers())) {
+            tracker.start();
+            LoadGenerator generator = new LoadGenerator(scenario, environment.baseUrl());
+            generator.setUp();
+            System.out.println("Accounts created, starting load");
+
+            results = generator.run();
+            System.out.printf("Load finished, waiting up to %ds for %d async completions%n",
+                    scenario.drainSeconds, results.pendingCount());
+            results.resolveCompletions(tracker,
+                    System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(scenario.drainSeconds));
+            report = LoadTestReport.build(scenario, results);
+        }
+
+        LoadTestReport.write(report, results, reportDirectory);
+        LoadTestReport.printSummary(report, System.out);
+        System.out.println("Report written to " + reportDirectory.toAbsolutePath());
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode current = mapper.valueToTree(report);
+        if (updateBaseline) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            Files.copy(reportDirectory.resolve(LoadTestReport.REPORT_FILE), baselineFile,
+                    StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baselineFile.toAbsolutePath());
+            System.exit(0);
+        }
+
+        JsonNode baseline = null;
+        if (Files.isRegularFile(baselineFile)) {
+            baseline = mapper.readTree(baselineFile.toFile());
+        } else {
+            System.out.println("No baseline at " + baselineFile.toAbsolutePath() + ", checking throughput only");
+        }
+        List<String> regressions = new BaselineComparison(scenario).compare(baseline, current);
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions");
+            System.exit(0);
+        }
+        System.out.println("Regressions:");
+        regressions.forEach(regression -> System.out.println("  " + regression));
+        System.exit(1);
+    }
+}
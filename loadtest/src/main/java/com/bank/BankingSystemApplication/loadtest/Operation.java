@@ -0,0 +1,37 @@
+package com.bank.BankingSystemApplication.loadtest;
+
+/**
+ * Operações da carga e os endpoints que as atendem.
+ *
+ * Criação, crédito e débito passam pelo {@code ApiGateway}, que decide
+ * entre processamento síncrono, assíncrono (202) ou rejeição (429). O
+ * gateway não tem transferência; ela vai para a Saga do controller CQRS,
+ * sempre síncrona, e entra na carga pela contenção que gera nas contas.
+ */
+enum Operation {
+
+    CREATE("create", "/api/gateway/accounts", true),
+    CREDIT("credit", "/api/gateway/transactions/credit", true),
+    DEBIT("debit", "/api/gateway/transactions/debit", true),
+    TRANSFER("transfer", "/api/v2/accounts/transfer", false);
+
+    final String key;
+    final String path;
+    /** Roteada pelo gateway (pode ser assíncrona ou rejeitada) */
+    final boolean routed;
+
+    Operation(String key, String path, boolean routed) {
+        this.key = key;
+        this.path = path;
+        this.routed = routed;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
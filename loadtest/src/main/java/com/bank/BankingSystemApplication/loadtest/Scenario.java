@@ -0,0 +1,151 @@
+package com.bank.BankingSystemApplication.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Cenário de carga lido de um arquivo .properties.
+ *
+ * - workload.*: taxa de chegada, duração, mistura de operações e
+ *   popularidade das contas
+ * - check.*: tolerâncias da comparação com o baseline
+ * - demais chaves: propriedades da aplicação embarcada (por exemplo
+ *   {@code app.load.tps-threshold}), aplicadas sobre o application.properties
+ *
+ * O nome é procurado em {@code scenarios/<nome>.properties} no classpath;
+ * se não houver, é tratado como caminho de arquivo.
+ */
+final class Scenario {
+
+    private static final String WORKLOAD = "workload.";
+    private static final String CHECK = "check.";
+
+    final String name;
+
+    /** Chegadas por segundo (modelo aberto: não depende das respostas) */
+    final double rate;
+    final int warmupSeconds;
+    final int durationSeconds;
+    /** Espera máxima, após a carga, pelas conclusões assíncronas pendentes */
+    final int drainSeconds;
+    final Map<Operation, Integer> mix;
+    final int accounts;
+    /** Expoente da distribuição de Zipf sobre as contas; 0 é uniforme */
+    final double zipfExponent;
+    final long initialBalance;
+    /** Acima disso as chegadas são descartadas no cliente e contadas como tal */
+    final int maxInFlight;
+    final int requestTimeoutSeconds;
+    final long seed;
+
+    /** Aumento relativo de latência tolerado, ignorado abaixo de latencyFloorMs */
+    final double latencyTolerance;
+    final double latencyFloorMs;
+    final double completionTolerance;
+    /** Piso da conclusão assíncrona, maior: ela soma duas entregas Kafka, mais ruidosas que o HTTP */
+    final double completionFloorMs;
+    /** Aumento absoluto tolerado nas taxas de erro e de conclusões faltantes */
+    final double errorRateTolerance;
+    /** Variação absoluta tolerada nas parcelas roteadas assíncronas e rejeitadas */
+    final double routingTolerance;
+    /** Fração mínima da taxa alvo efetivamente atendida */
+    final double minThroughputRatio;
+
+    final Map<String, String> appProperties;
+
+    private Scenario(String name, Properties properties) {
+        this.name = name;
+        this.rate = doubleValue(properties, "workload.rate", 200);
+        this.warmupSeconds = intValue(properties, "workload.warmup-seconds", 15);
+        this.durationSeconds = intValue(properties, "workload.duration-seconds", 60);
+        this.drainSeconds = intValue(properties, "workload.drain-seconds", 30);
+        this.mix = parseMix(properties.getProperty("workload.mix", "create:5,credit:45,debit:40,transfer:10"));
+        this.accounts = intValue(properties, "workload.accounts", 1000);
+        this.zipfExponent = doubleValue(properties, "workload.zipf-exponent", 0.0);
+        this.initialBalance = Long.parseLong(properties.getProperty("workload.initial-balance", "1000000"));
+        this.maxInFlight = intValue(properties, "workload.max-in-flight", 2000);
+        this.requestTimeoutSeconds = intValue(properties, "workload.request-timeout-seconds", 30);
+        this.seed = Long.parseLong(properties.getProperty("workload.seed", "42"));
+
+        this.latencyTolerance = doubleValue(properties, "check.latency-tolerance", 0.25);
+        this.latencyFloorMs = doubleValue(properties, "check.latency-floor-ms", 5);
+        this.completionTolerance = doubleValue(properties, "check.completion-tolerance", 0.25);
+        this.completionFloorMs = doubleValue(properties, "check.completion-floor-ms", 25);
+        this.errorRateTolerance = doubleValue(properties, "check.error-rate-tolerance", 0.01);
+        this.routingTolerance = doubleValue(properties, "check.routing-tolerance", 0.10);
+        this.minThroughputRatio = doubleValue(properties, "check.min-throughput-ratio", 0.95);
+
+        Map<String, String> app = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith(WORKLOAD) && !key.startsWith(CHECK)) {
+                app.put(key, properties.getProperty(key));
+            }
+        }
+        this.appProperties = Collections.unmodifiableMap(app);
+
+        if (rate <= 0 || durationSeconds <= 0 || accounts < 2) {
+            throw new IllegalArgumentException("Scenario " + name
+                    + ": workload.rate and workload.duration-seconds must be positive and workload.accounts at least 2");
+        }
+    }
+
+    static Scenario load(String nameOrPath) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream resource = Scenario.class.getClassLoader()
+                .getResourceAsStream("scenarios/" + nameOrPath + ".properties")) {
+            if (resource != null) {
+                properties.load(new InputStreamReader(resource, StandardCharsets.UTF_8));
+                return new Scenario(nameOrPath, properties);
+            }
+        }
+        Path file = Paths.get(nameOrPath);
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Unknown scenario: " + nameOrPath);
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        String fileName = file.getFileName().toString();
+        return new Scenario(fileName.endsWith(".properties")
+                ? fileName.substring(0, fileName.length() - ".properties".length()) : fileName, properties);
+    }
+
+    /** Formato {@code create:5,credit:45,...}; operações ausentes ficam com peso zero */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid workload.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in workload.mix: " + entry);
+            }
+            mix.put(Operation.fromKey(parts[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("workload.mix has no operation with positive weight");
+        }
+        return Collections.unmodifiableMap(mix);
+    }
+
+    private static int intValue(Properties properties, String key, int defaultValue) {
+        return Integer.parseInt(properties.getProperty(key, String.valueOf(defaultValue)).trim());
+    }
+
+    private static double doubleValue(Properties properties, String key, double defaultValue) {
+        return Double.parseDouble(properties.getProperty(key, String.valueOf(defaultValue)).trim());
+    }
+}
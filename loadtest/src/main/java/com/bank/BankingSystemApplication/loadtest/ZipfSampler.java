@@ -0,0 +1,44 @@
+package com.bank.BankingSystemApplication.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Sorteio de índices em [0, n) com distribuição de Zipf:
+ * P(k) proporcional a 1 / (k + 1)^s.
+ *
+ * Com s = 0 a distribuição é uniforme; com s perto de 1 poucas contas
+ * concentram boa parte do tráfego (com n = 1000 e s = 1,2 a mais popular
+ * recebe cerca de 20%). A função de distribuição acumulada é
+ * pré-calculada e o sorteio é uma busca binária.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        if (n <= 0 || exponent < 0) {
+            throw new IllegalArgumentException("n must be positive and exponent non-negative");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /** Probabilidade do índice, para o relatório */
+    double probability(int index) {
+        return index == 0 ? cumulative[0] : cumulative[index] - cumulative[index - 1];
+    }
+}
@@ -1,76 +1,184 @@
 package com.bank.BankingSystemApplication.adapter.in.messaging;
 
+import com.bank.BankingSystemApplication.application.config.KafkaConfig;
 import com.bank.BankingSystemApplication.domain.port.in.BankingUseCase;
 import com.bank.BankingSystemApplication.domain.model.AccountCreationRequest;
+import com.bank.BankingSystemApplication.domain.model.DeadLetterEvent;
+import com.bank.BankingSystemApplication.domain.model.EventIds;
 import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
 import com.bank.BankingSystemApplication.domain.model.TransactionResponse;
 import com.bank.BankingSystemApplication.domain.model.Account;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.stereotype.Component;
 
-@Component
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Worker que consome as solicitações roteadas para processamento assíncrono.
+ *
+ * Falhas não bloqueiam a partição: o registro é encaminhado para tópicos de
+ * retry com atraso crescente (1s, 10s, 60s por padrão) e, esgotadas as
+ * tentativas, para o dead-letter topic. Erros de regra de negócio vão direto
+ * para o DLT, pois repetir não muda o resultado. A política de retry fica em
+ * {@link KafkaConfig#workerRetryTopicConfiguration}.
+ */
+@Component(KafkaConfig.WORKER_BEAN)
 public class AsyncBankingWorker {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(AsyncBankingWorker.class);
-    
+
+    private static final int MAX_STACK_TRACE_LENGTH = 4000;
+
     @Autowired
     private BankingUseCase bankingUseCase;
-    
+
     @Autowired
     private KafkaTemplate<String, Object> kafkaTemplate;
-    
-    @KafkaListener(topics = "banking.account.create", groupId = "banking-worker")
+
+    @KafkaListener(topics = KafkaConfig.ACCOUNT_CREATE_TOPIC, groupId = KafkaConfig.WORKER_GROUP)
     public void processAccountCreation(AccountCreationRequest request) {
         logger.info("Worker: Processing async account creation");
-        
-        try {
-            Account account = bankingUseCase.createAccount(request);
-            logger.info("Worker: Account created successfully with ID: {}", account.getId());
-            
-            kafkaTemplate.send("banking.account.created", account);
-            
-        } catch (Exception e) {
-            logger.error("Worker: Failed to create account: {}", e.getMessage(), e);
-            kafkaTemplate.send("banking.account.failed", 
-                             String.format("Account creation failed: %s", e.getMessage()));
-        }
+
+        Account account = bankingUseCase.createAccount(request);
+        logger.info("Worker: Account created successfully with ID: {}", account.getId());
+
+        kafkaTemplate.send(KafkaConfig.ACCOUNT_CREATED_TOPIC, account);
     }
-    
-    @KafkaListener(topics = "banking.transaction.credit", groupId = "banking-worker")
+
+    @KafkaListener(topics = KafkaConfig.TRANSACTION_CREDIT_TOPIC, groupId = KafkaConfig.WORKER_GROUP)
     public void processCreditTransaction(TransactionRequest request) {
         logger.info("Worker: Processing async credit transaction");
-        
-        try {
-            TransactionResponse response = bankingUseCase.credit(request);
-            logger.info("Worker: Credit processed with status: {}", response.getStatus());
-            
-            kafkaTemplate.send("banking.transaction.processed", response);
-            
-        } catch (Exception e) {
-            logger.error("Worker: Failed to process credit: {}", e.getMessage(), e);
-            kafkaTemplate.send("banking.transaction.failed", 
-                             String.format("Credit failed: %s", e.getMessage()));
-        }
+
+        TransactionResponse response = bankingUseCase.credit(request);
+        logger.info("Worker: Credit processed with status: {}", response.getStatus());
+
+        kafkaTemplate.send(KafkaConfig.TRANSACTION_PROCESSED_TOPIC, response);
     }
-    
-    @KafkaListener(topics = "banking.transaction.debit", groupId = "banking-worker")
+
+    @KafkaListener(topics = KafkaConfig.TRANSACTION_DEBIT_TOPIC, groupId = KafkaConfig.WORKER_GROUP)
     public void processDebitTransaction(TransactionRequest request) {
         logger.info("Worker: Processing async debit transaction");
-        
-        try {
-            TransactionResponse response = bankingUseCase.debit(request);
-            logger.info("Worker: Debit processed with status: {}", response.getStatus());
-            
-            kafkaTemplate.send("banking.transaction.processed", response);
-            
-        } catch (Exception e) {
-            logger.error("Worker: Failed to process debit: {}", e.getMessage(), e);
-            kafkaTemplate.send("banking.transaction.failed", 
-                             String.format("Debit failed: %s", e.getMessage()));
+
+        TransactionResponse response = bankingUseCase.debit(request);
+        logger.info("Worker: Debit processed with status: {}", response.getStatus());
+
+        kafkaTemplate.send(KafkaConfig.TRANSACTION_PROCESSED_TOPIC, response);
+    }
+
+    /**
+     * Recebe os registros que esgotaram as tentativas (de qualquer um dos
+     * listeners acima) e publica um {@link DeadLetterEvent} no tópico de
+     * falhas correspondente. O registro original permanece no DLT para
+     * reprocessamento via {@code DeadLetterReplayService}. Registrado como
+     * handler do DLT em {@link KafkaConfig#workerRetryTopicConfiguration}.
+     */
+    public void handleDeadLetter(ConsumerRecord<String, Object> record) {
+        DeadLetterEvent event = toDeadLetterEvent(record);
+
+        logger.error("Worker: Message dead-lettered from topic {} (partition {}, offset {}) after {} attempt(s): {} - {}",
+                event.getOriginalTopic(), event.getOriginalPartition(), event.getOriginalOffset(),
+                event.getAttempts(), event.getExceptionClass(), event.getExceptionMessage());
+
+        String failedTopic = KafkaConfig.ACCOUNT_CREATE_TOPIC.equals(event.getOriginalTopic())
+                ? KafkaConfig.ACCOUNT_FAILED_TOPIC
+                : KafkaConfig.TRANSACTION_FAILED_TOPIC;
+
+        kafkaTemplate.send(failedTopic, event.getOriginalKey(), event);
+    }
+
+    DeadLetterEvent toDeadLetterEvent(ConsumerRecord<String, Object> record) {
+        Headers headers = record.headers();
+
+        DeadLetterEvent event = new DeadLetterEvent();
+        event.setOriginalTopic(firstString(headers, KafkaHeaders.DLT_ORIGINAL_TOPIC, baseTopic(record.topic())));
+        event.setOriginalPartition(firstInt(headers, KafkaHeaders.DLT_ORIGINAL_PARTITION, record.partition()));
+        event.setOriginalOffset(firstLong(headers, KafkaHeaders.DLT_ORIGINAL_OFFSET, record.offset()));
+        // Um registro reentregue do DLT gera o mesmo envelope
+        event.setEventId(EventIds.deadLetter(event.getOriginalTopic(), event.getOriginalPartition(),
+                event.getOriginalOffset()));
+        event.setOriginalKey(record.key());
+        event.setPayload(record.value());
+        event.setPayloadType(record.value() != null ? record.value().getClass().getName() : null);
+        event.setExceptionClass(lastString(headers, KafkaHeaders.DLT_EXCEPTION_FQCN));
+        event.setExceptionMessage(lastString(headers, KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+        event.setStackTrace(truncate(lastString(headers, KafkaHeaders.DLT_EXCEPTION_STACKTRACE)));
+        event.setAttempts(attempts(headers));
+        event.setDeadLetteredAt(LocalDateTime.now());
+        return event;
+    }
+
+    /**
+     * Os headers "original" são acrescentados a cada salto entre tópicos de
+     * retry; o primeiro valor corresponde ao tópico principal.
+     */
+    private String firstString(Headers headers, String name, String defaultValue) {
+        for (Header header : headers.headers(name)) {
+            return new String(header.value(), StandardCharsets.UTF_8);
+        }
+        return defaultValue;
+    }
+
+    private Integer firstInt(Headers headers, String name, int defaultValue) {
+        for (Header header : headers.headers(name)) {
+            if (header.value() != null && header.value().length == Integer.BYTES) {
+                return ByteBuffer.wrap(header.value()).getInt();
+            }
+        }
+        return defaultValue;
+    }
+
+    private Long firstLong(Headers headers, String name, long defaultValue) {
+        for (Header header : headers.headers(name)) {
+            if (header.value() != null && header.value().length == Long.BYTES) {
+                return ByteBuffer.wrap(header.value()).getLong();
+            }
+        }
+        return defaultValue;
+    }
+
+    private String lastString(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header != null && header.value() != null
+                ? new String(header.value(), StandardCharsets.UTF_8)
+                : null;
+    }
+
+    private int attempts(Headers headers) {
+        Header header = headers.lastHeader(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS);
+        if (header == null || header.value() == null) {
+            return 1;
+        }
+        // Gravado como inteiro big-endian; versões antigas usam o menor número de bytes possível
+        if (header.value().length > 0 && header.value().length <= Integer.BYTES) {
+            return new BigInteger(header.value()).intValue();
+        }
+        return 1;
+    }
+
+    private String baseTopic(String topic) {
+        int suffix = topic.indexOf(KafkaConfig.RETRY_TOPIC_SUFFIX);
+        if (suffix < 0) {
+            suffix = topic.indexOf(KafkaConfig.DLT_TOPIC_SUFFIX);
+        }
+        return suffix > 0 ? topic.substring(0, suffix) : topic;
+    }
+
+    private String truncate(String stackTrace) {
+        if (stackTrace == null || stackTrace.length() <= MAX_STACK_TRACE_LENGTH) {
+            return stackTrace;
         }
+        return stackTrace.substring(0, MAX_STACK_TRACE_LENGTH);
     }
-}
\ No newline at end of file
+}
@@ -8,6 +8,8 @@ import com.bank.BankingSystemApplication.domain.model.AccountCreationRequest;
 import com.bank.BankingSystemApplication.domain.model.Account;
 import com.bank.BankingSystemApplication.dto.response.SuccessResponse;
 import com.bank.BankingSystemApplication.dto.response.ErrorResponse;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.PerformanceMetricsService;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.RoutingDecision;
 import com.bank.BankingSystemApplication.infrastructure.monitoring.SystemLoadMonitor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,11 +18,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -53,6 +57,7 @@ public class ApiGateway {
         @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos"),
         @ApiResponse(responseCode = "409", description = "Conta já existe para o CPF informado"),
         @ApiResponse(responseCode = "422", description = "Erro de regra de negócio"),
+        @ApiResponse(responseCode = "429", description = "Sistema sobrecarregado e fila assíncrona cheia (ver Retry-After)"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<?> createAccount(@Valid @RequestBody AccountCreationRequest request) {
@@ -60,14 +65,19 @@ public class ApiGateway {
         
         try {
             // Fast path: check load without logging overhead in normal load scenarios
-            if (loadMonitor.shouldUseAsyncProcessing()) {
+            RoutingDecision routing = loadMonitor.decideRouting();
+            if (routing.getMode() == RoutingDecision.Mode.REJECT) {
+                return rejectForBacklog(routing, requestId, "createAccount");
+            }
+            if (routing.getMode() == RoutingDecision.Mode.ASYNC) {
                 logger.info("High load detected, routing to async processing - RequestId: {}", requestId);
                 CompletableFuture<String> asyncResult = asyncAdapter.createAccountAsync(request);
                 
                 Map<String, String> asyncInfo = Map.of(
                     "requestId", requestId,
                     "status", "PROCESSING",
-                    "estimatedTime", "30-60 seconds"
+                    "estimatedTime", formatEstimatedTime(routing.getEstimatedCompletionSeconds()),
+                    "estimatedCompletionTime", estimatedCompletionTime(routing.getEstimatedCompletionSeconds())
                 );
                 
                 SuccessResponse<Map<String, String>> response = SuccessResponse.created(
@@ -123,23 +133,30 @@ public class ApiGateway {
         @ApiResponse(responseCode = "202", description = "Solicitação aceita para processamento assíncrono"),
         @ApiResponse(responseCode = "404", description = "Conta não encontrada"),
         @ApiResponse(responseCode = "422", description = "Erro de regra de negócio"),
+        @ApiResponse(responseCode = "429", description = "Sistema sobrecarregado e fila assíncrona cheia (ver Retry-After)"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<?> credit(@Valid @RequestBody TransactionRequest request) {
         String requestId = generateRequestId();
-        logger.info("Gateway routing credit transaction request - RequestId: {} - Account: {} - Amount: {}", 
+        logger.debug("Gateway routing credit transaction request - RequestId: {} - Account: {} - Amount: {}", 
             requestId, request.getAccountId(), request.getAmount());
         
         try {
-            if (loadMonitor.shouldUseAsyncProcessing()) {
-                logger.info("High load detected, routing to async processing - RequestId: {}", requestId);
+            RoutingDecision routing = loadMonitor.decideRouting(request.getAccountId());
+            if (routing.getMode() == RoutingDecision.Mode.REJECT) {
+                return rejectForBacklog(routing, requestId, "credit");
+            }
+            if (routing.getMode() == RoutingDecision.Mode.ASYNC) {
+                logger.debug("High load detected, routing to async processing - RequestId: {}", requestId);
                 CompletableFuture<String> asyncResult = asyncAdapter.processCreditAsync(request);
                 
                 Map<String, Object> asyncInfo = Map.of(
                     "requestId", requestId,
                     "accountId", request.getAccountId(),
                     "amount", request.getAmount(),
-                    "status", "PROCESSING"
+                    "status", "PROCESSING",
+                    "estimatedTime", formatEstimatedTime(routing.getEstimatedCompletionSeconds()),
+                    "estimatedCompletionTime", estimatedCompletionTime(routing.getEstimatedCompletionSeconds())
                 );
                 
                 SuccessResponse<Map<String, Object>> response = SuccessResponse.ok(
@@ -150,7 +167,7 @@ public class ApiGateway {
                 
                 return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
             } else {
-                logger.info("Normal load, routing to sync processing - RequestId: {}", requestId);
+                logger.debug("Normal load, routing to sync processing - RequestId: {}", requestId);
                 ResponseEntity<?> syncResponse = executeWithTimeout(() -> syncController.credit(request), 5, requestId);
                 
                 if (syncResponse.getStatusCode() == HttpStatus.OK) {
@@ -195,23 +212,30 @@ public class ApiGateway {
         @ApiResponse(responseCode = "202", description = "Solicitação aceita para processamento assíncrono"),
         @ApiResponse(responseCode = "404", description = "Conta não encontrada"),
         @ApiResponse(responseCode = "422", description = "Saldo insuficiente ou erro de regra de negócio"),
+        @ApiResponse(responseCode = "429", description = "Sistema sobrecarregado e fila assíncrona cheia (ver Retry-After)"),
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<?> debit(@Valid @RequestBody TransactionRequest request) {
         String requestId = generateRequestId();
-        logger.info("Gateway routing debit transaction request - RequestId: {} - Account: {} - Amount: {}", 
+        logger.debug("Gateway routing debit transaction request - RequestId: {} - Account: {} - Amount: {}", 
             requestId, request.getAccountId(), request.getAmount());
         
         try {
-            if (loadMonitor.shouldUseAsyncProcessing()) {
-                logger.info("High load detected, routing to async processing - RequestId: {}", requestId);
+            RoutingDecision routing = loadMonitor.decideRouting(request.getAccountId());
+            if (routing.getMode() == RoutingDecision.Mode.REJECT) {
+                return rejectForBacklog(routing, requestId, "debit");
+            }
+            if (routing.getMode() == RoutingDecision.Mode.ASYNC) {
+                logger.debug("High load detected, routing to async processing - RequestId: {}", requestId);
                 CompletableFuture<String> asyncResult = asyncAdapter.processDebitAsync(request);
                 
                 Map<String, Object> asyncInfo = Map.of(
                     "requestId", requestId,
                     "accountId", request.getAccountId(),
                     "amount", request.getAmount(),
-                    "status", "PROCESSING"
+                    "status", "PROCESSING",
+                    "estimatedTime", formatEstimatedTime(routing.getEstimatedCompletionSeconds()),
+                    "estimatedCompletionTime", estimatedCompletionTime(routing.getEstimatedCompletionSeconds())
                 );
                 
                 SuccessResponse<Map<String, Object>> response = SuccessResponse.ok(
@@ -222,7 +246,7 @@ public class ApiGateway {
                 
                 return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
             } else {
-                logger.info("Normal load, routing to sync processing - RequestId: {}", requestId);
+                logger.debug("Normal load, routing to sync processing - RequestId: {}", requestId);
                 ResponseEntity<?> syncResponse = executeWithTimeout(() -> syncController.debit(request), 5, requestId);
                 
                 if (syncResponse.getStatusCode() == HttpStatus.OK) {
@@ -269,7 +293,7 @@ public class ApiGateway {
     })
     public ResponseEntity<SuccessResponse<Account>> getAccount(@PathVariable Long id) {
         String requestId = generateRequestId();
-        logger.info("Gateway routing account query request - RequestId: {} - AccountId: {}", requestId, id);
+        logger.debug("Gateway routing account query request - RequestId: {} - AccountId: {}", requestId, id);
         
         ResponseEntity<Account> syncResponse = syncController.getAccount(id);
         
@@ -293,12 +317,25 @@ public class ApiGateway {
         String requestId = generateRequestId();
         double cpuUsage = loadMonitor.getCurrentCpuUsage();
         int activeConnections = loadMonitor.getActiveConnections();
-        boolean useAsync = loadMonitor.shouldUseAsyncProcessing();
+        RoutingDecision routing = loadMonitor.decideRouting();
+        boolean lagAvailable = loadMonitor.getLagMonitor() != null && loadMonitor.getLagMonitor().isAvailable();
+        PerformanceMetricsService.ThroughputStats throughput = loadMonitor.getThroughput();
         
         Map<String, Object> loadInfo = Map.of(
             "cpuUsage", cpuUsage,
             "activeConnections", activeConnections,
-            "processingMode", useAsync ? "ASYNC" : "SYNC",
+            "throughput", throughput != null
+                ? Map.of(
+                    "tps1s", throughput.rate1s,
+                    "tps10s", throughput.rate10s,
+                    "tps60s", throughput.rate60s,
+                    "peakTps", throughput.peakPerSecond)
+                : "unknown",
+            "processingMode", routing.getMode().name(),
+            "consumerLag", lagAvailable ? loadMonitor.getLagMonitor().getTotalLag() : -1L,
+            "estimatedAsyncCompletion", lagAvailable
+                ? formatEstimatedTime(loadMonitor.getLagMonitor().getEstimatedCompletionSeconds())
+                : "unknown",
             "timestamp", java.time.LocalDateTime.now()
         );
         
@@ -311,6 +348,43 @@ public class ApiGateway {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Resposta 429 quando a carga está alta e a fila dos workers já passou do limite.
+     */
+    private ResponseEntity<ErrorResponse> rejectForBacklog(RoutingDecision routing, String requestId, String operation) {
+        long retryAfter = routing.getRetryAfterSeconds();
+        logger.warn("High load and worker backlog above limit, rejecting - RequestId: {} - Operation: {} - RetryAfter: {}s",
+            requestId, operation, retryAfter);
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "TOO_MANY_REQUESTS",
+            "Sistema sobrecarregado e fila de processamento assíncrono acima do limite",
+            String.format("Tente novamente em %d segundos", retryAfter),
+            requestId,
+            Map.of(
+                "retryAfterSeconds", String.valueOf(retryAfter),
+                "estimatedCompletionTime", estimatedCompletionTime(routing.getEstimatedCompletionSeconds())
+            )
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+            .body(errorResponse);
+    }
+    
+    private String formatEstimatedTime(double seconds) {
+        if (Double.isNaN(seconds) || Double.isInfinite(seconds)) {
+            return "unknown";
+        }
+        return String.format("%d seconds", Math.max(1, (long) Math.ceil(seconds)));
+    }
+    
+    private String estimatedCompletionTime(double seconds) {
+        if (Double.isNaN(seconds) || Double.isInfinite(seconds)) {
+            return "unknown";
+        }
+        return LocalDateTime.now().plusSeconds(Math.max(1, (long) Math.ceil(seconds))).toString();
+    }
+    
     /**
      * Executa uma operação com timeout para evitar travamentos.
      */
@@ -0,0 +1,116 @@
+package com.bank.BankingSystemApplication.adapter.in.web;
+
+import com.bank.BankingSystemApplication.infrastructure.audit.store.AuditChainVerifier;
+import com.bank.BankingSystemApplication.infrastructure.audit.store.AuditSearchResult;
+import com.bank.BankingSystemApplication.infrastructure.audit.store.AuditSegmentStore;
+import com.bank.BankingSystemApplication.infrastructure.audit.store.AuditStoredRecord;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller para consulta e verificação do audit store
+ */
+@RestController
+@RequestMapping("/api/audit")
+@Tag(name = "Audit API", description = "API para verificação da trilha de auditoria")
+public class AuditController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private ObjectProvider<AuditSegmentStore> auditStoreProvider;
+
+    /**
+     * Busca indexada na trilha de auditoria
+     */
+    @GetMapping
+    @Operation(summary = "Buscar auditoria",
+               description = "Busca registros por conta, correlationId/sagaId e intervalo de tempo usando os índices dos segmentos")
+    public ResponseEntity<Object> search(
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) String correlationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "limit deve estar entre 1 e " + MAX_LIMIT);
+            return ResponseEntity.badRequest().body(response);
+        }
+        AuditSegmentStore store = auditStoreProvider.getIfAvailable();
+        if (store == null) {
+            return unavailable("Audit store desabilitado");
+        }
+
+        long start = System.nanoTime();
+        try {
+            ZoneId zone = ZoneId.systemDefault();
+            AuditSearchResult result = store.search(accountId, correlationId,
+                    from != null ? from.atZone(zone).toInstant().toEpochMilli() : Long.MIN_VALUE,
+                    to != null ? to.atZone(zone).toInstant().toEpochMilli() : Long.MAX_VALUE,
+                    limit);
+
+            List<JsonNode> records = new ArrayList<>(result.getRecords().size());
+            for (AuditStoredRecord record : result.getRecords()) {
+                records.add(objectMapper.readTree(record.getPayload()));
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("count", records.size());
+            response.put("truncated", result.isTruncated());
+            response.put("segmentsSearched", result.getSegmentsSearched());
+            response.put("segmentsSkipped", result.getSegmentsSkipped());
+            response.put("elapsedMillis", (System.nanoTime() - start) / 1_000_000.0);
+            response.put("records", records);
+            return ResponseEntity.ok(response);
+        } catch (IOException e) {
+            return unavailable("Falha ao ler o audit store: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Verificação da cadeia de hashes de todos os segmentos
+     */
+    @GetMapping("/verify")
+    @Operation(summary = "Verificar trilha de auditoria",
+               description = "Recalcula em paralelo a cadeia SHA-256 de todos os segmentos do audit store")
+    public ResponseEntity<Object> verify() {
+        AuditSegmentStore store = auditStoreProvider.getIfAvailable();
+        if (store == null) {
+            return unavailable("Audit store desabilitado");
+        }
+        try {
+            AuditChainVerifier.VerificationReport report = store.verify();
+            return report.isValid() ? ResponseEntity.ok(report) : ResponseEntity.status(409).body(report);
+        } catch (IOException e) {
+            return unavailable("Falha ao ler o audit store: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<Object> unavailable(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", message);
+        return ResponseEntity.status(503).body(response);
+    }
+}
@@ -0,0 +1,107 @@
+package com.bank.BankingSystemApplication.adapter.in.web;
+
+import com.bank.BankingSystemApplication.application.service.replay.BalanceDiffReport;
+import com.bank.BankingSystemApplication.application.service.replay.BalanceReplayJob;
+import com.bank.BankingSystemApplication.application.service.replay.BalanceReplayService;
+import com.bank.BankingSystemApplication.application.service.replay.BalanceSnapshotStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller para reconstrução de saldos a partir do tópico de transações
+ */
+@RestController
+@RequestMapping("/api/replay/balances")
+@Tag(name = "Balance Replay API", description = "API para reconstrução de saldos via replay de eventos")
+public class BalanceReplayController {
+
+    @Autowired
+    private BalanceReplayService replayService;
+
+    @Autowired
+    private BalanceSnapshotStore snapshotStore;
+
+    /**
+     * Inicia o replay em segundo plano
+     */
+    @PostMapping
+    @Operation(summary = "Iniciar replay", description = "Reconstrói os saldos a partir do início do tópico, do último snapshot ou de offsets informados")
+    public ResponseEntity<Object> start(
+            @RequestParam(defaultValue = "SNAPSHOT") BalanceReplayService.Mode mode,
+            @RequestParam(defaultValue = "true") boolean diff,
+            @RequestBody(required = false) Map<Integer, Long> offsets) {
+
+        if (mode == BalanceReplayService.Mode.OFFSETS && (offsets == null || offsets.isEmpty())) {
+            return error(HttpStatus.BAD_REQUEST, "Informe os offsets por partição no corpo da requisição");
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(replayService.start(mode, offsets, diff));
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Progresso do replay atual ou do último executado
+     */
+    @GetMapping("/status")
+    @Operation(summary = "Status do replay", description = "Retorna o progresso do replay atual ou do último executado")
+    public ResponseEntity<BalanceReplayJob> status() {
+        BalanceReplayJob job = replayService.getCurrentJob();
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Compara o último resultado com a tabela accounts
+     */
+    @PostMapping("/diff")
+    @Operation(summary = "Comparar saldos", description = "Compara os saldos reconstruídos com a tabela accounts")
+    public ResponseEntity<Object> diff() {
+        try {
+            BalanceDiffReport report = replayService.diffLatest();
+            return ResponseEntity.ok(report);
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Snapshots disponíveis em disco
+     */
+    @GetMapping("/snapshots")
+    @Operation(summary = "Listar snapshots", description = "Lista os snapshots de saldos gravados, do mais recente ao mais antigo")
+    public ResponseEntity<List<Map<String, Object>>> snapshots() throws IOException {
+        List<Map<String, Object>> snapshots = new ArrayList<>();
+        for (Path path : snapshotStore.list()) {
+            Map<String, Object> info = new HashMap<>();
+            info.put("file", path.getFileName().toString());
+            info.put("sizeBytes", Files.size(path));
+            info.put("lastModified", Files.getLastModifiedTime(path).toInstant());
+            snapshots.add(info);
+        }
+        return ResponseEntity.ok(snapshots);
+    }
+
+    private ResponseEntity<Object> error(HttpStatus status, String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", message);
+        return ResponseEntity.status(status).body(body);
+    }
+}
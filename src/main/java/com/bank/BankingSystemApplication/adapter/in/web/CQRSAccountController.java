@@ -3,6 +3,7 @@ package com.bank.BankingSystemApplication.adapter.in.web;
 import com.bank.BankingSystemApplication.application.cqrs.command.CreateAccountCommand;
 import com.bank.BankingSystemApplication.application.cqrs.command.CreditCommand;
 import com.bank.BankingSystemApplication.application.cqrs.command.DebitCommand;
+import com.bank.BankingSystemApplication.application.cqrs.handler.AccountAggregatesQueryHandler;
 import com.bank.BankingSystemApplication.application.cqrs.handler.AccountCommandHandler;
 import com.bank.BankingSystemApplication.application.cqrs.handler.AccountQueryHandler;
 import com.bank.BankingSystemApplication.application.cqrs.query.AccountQuery;
@@ -11,6 +12,7 @@ import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
 import com.bank.BankingSystemApplication.domain.model.TransactionResponse;
 import com.bank.BankingSystemApplication.domain.model.Account;
 import com.bank.BankingSystemApplication.application.saga.TransferSaga;
+import com.bank.BankingSystemApplication.application.streams.AccountAggregates;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,6 +25,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -41,6 +45,9 @@ public class CQRSAccountController {
     @Autowired
     private AccountQueryHandler queryHandler;
     
+    @Autowired
+    private AccountAggregatesQueryHandler aggregatesQueryHandler;
+    
     @Autowired
     private TransferSaga transferSaga;
     
@@ -73,7 +80,7 @@ public class CQRSAccountController {
     @Operation(summary = "Creditar conta usando CQRS", description = "Realiza operação de crédito usando padrão CQRS")
     @RateLimiter(name = "banking-api")
     public ResponseEntity<TransactionResponse> creditAccount(@Valid @RequestBody TransactionRequest request) {
-        logger.info("Recebido comando de crédito via CQRS para conta: {}", request.getAccountId());
+        logger.debug("Recebido comando de crédito via CQRS para conta: {}", request.getAccountId());
         
         try {
             CreditCommand command = new CreditCommand(request);
@@ -100,7 +107,7 @@ public class CQRSAccountController {
     @Operation(summary = "Debitar conta usando CQRS", description = "Realiza operação de débito usando padrão CQRS")
     @RateLimiter(name = "banking-api")
     public ResponseEntity<TransactionResponse> debitAccount(@Valid @RequestBody TransactionRequest request) {
-        logger.info("Recebido comando de débito via CQRS para conta: {}", request.getAccountId());
+        logger.debug("Recebido comando de débito via CQRS para conta: {}", request.getAccountId());
         
         try {
             DebitCommand command = new DebitCommand(request);
@@ -126,7 +133,7 @@ public class CQRSAccountController {
     @GetMapping("/{id}")
     @Operation(summary = "Consultar conta usando CQRS", description = "Consulta informações de uma conta usando padrão CQRS")
     public ResponseEntity<Account> getAccount(@PathVariable Long id) {
-        logger.info("Recebida query de consulta via CQRS para conta: {}", id);
+        logger.debug("Recebida query de consulta via CQRS para conta: {}", id);
         
         try {
             AccountQuery query = new AccountQuery(id);
@@ -143,6 +150,28 @@ public class CQRSAccountController {
         }
     }
     
+    /**
+     * Query: Agregados de movimentação da conta (consulta interativa ao Kafka Streams)
+     */
+    @GetMapping("/{id}/aggregates")
+    @Operation(summary = "Agregados da conta", description = "Totais diários de débito, contagens e volume móvel de 1h/24h da conta")
+    public ResponseEntity<AccountAggregates> getAccountAggregates(@PathVariable Long id) {
+        try {
+            Optional<String> owner = aggregatesQueryHandler.remoteOwner(id);
+            if (owner.isPresent()) {
+                // Os state stores dessa conta estão em outra instância
+                return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT)
+                        .location(URI.create("http://" + owner.get() + "/api/v2/accounts/" + id + "/aggregates"))
+                        .build();
+            }
+            return ResponseEntity.ok(aggregatesQueryHandler.handle(new AccountQuery(id)));
+            
+        } catch (IllegalStateException e) {
+            logger.warn("Agregados indisponíveis para conta {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
     /**
      * Comando: Transferência usando Saga Pattern
      */
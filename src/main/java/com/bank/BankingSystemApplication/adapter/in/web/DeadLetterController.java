@@ -0,0 +1,64 @@
+package com.bank.BankingSystemApplication.adapter.in.web;
+
+import com.bank.BankingSystemApplication.application.service.kafka.DeadLetterReplayService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller para inspeção e reprocessamento dos dead-letter topics
+ */
+@RestController
+@RequestMapping("/api/dead-letters")
+@Tag(name = "Dead Letter API", description = "API para reprocessamento de mensagens que esgotaram as tentativas")
+public class DeadLetterController {
+
+    @Autowired
+    private DeadLetterReplayService deadLetterReplayService;
+
+    /**
+     * Tópicos com DLT reprocessável
+     */
+    @GetMapping("/topics")
+    @Operation(summary = "Tópicos reprocessáveis", description = "Lista os tópicos principais cujos DLTs podem ser reprocessados")
+    public ResponseEntity<List<String>> getReplayableTopics() {
+        return ResponseEntity.ok(DeadLetterReplayService.REPLAYABLE_TOPICS);
+    }
+
+    /**
+     * Reprocessamento em lote do DLT
+     */
+    @PostMapping("/replay")
+    @Operation(summary = "Reprocessar DLT", description = "Republica no tópico de origem os registros parados no DLT")
+    public ResponseEntity<Map<String, Object>> replay(
+            @RequestParam(required = false) List<String> topic,
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        Map<String, Object> response = new HashMap<>();
+        if (limit <= 0) {
+            response.put("error", "limit deve ser maior que zero");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        try {
+            response.put("results", deadLetterReplayService.replay(topic, limit));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IllegalStateException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(503).body(response);
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package com.bank.BankingSystemApplication.adapter.in.web;
 
+import com.bank.BankingSystemApplication.infrastructure.monitoring.MetricsSnapshotService;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import io.github.resilience4j.retry.RetryRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -18,6 +22,9 @@ import java.util.Map;
 
 /**
  * Controller para observabilidade e métricas do sistema
+ *
+ * As respostas vêm de snapshots do {@link MetricsSnapshotService},
+ * atualizados a cada {@code observability.snapshot.interval-ms}.
  */
 @RestController
 @RequestMapping("/api/observability")
@@ -33,12 +40,29 @@ public class ObservabilityController {
     @Autowired
     private RetryRegistry retryRegistry;
     
+    @Autowired
+    private MetricsSnapshotService snapshots;
+    
+    @PostConstruct
+    public void registerSnapshots() {
+        snapshots.register("observability.circuit-breakers", this::buildCircuitBreakersStatus);
+        snapshots.register("observability.rate-limiters", this::buildRateLimitersStatus);
+        snapshots.register("observability.retries", this::buildRetriesStatus);
+        snapshots.register("observability.health", this::buildBankingHealth);
+        snapshots.register("observability.metrics-summary", this::buildMetricsSummary);
+    }
+    
     /**
      * Status dos Circuit Breakers
      */
     @GetMapping("/circuit-breakers")
     @Operation(summary = "Status dos Circuit Breakers", description = "Retorna o status atual de todos os circuit breakers")
-    public ResponseEntity<Map<String, Object>> getCircuitBreakersStatus() {
+    public ResponseEntity<byte[]> getCircuitBreakersStatus(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshots.get("observability.circuit-breakers").toResponse(ifNoneMatch, snapshots.getIntervalMs());
+    }
+    
+    private Map<String, Object> buildCircuitBreakersStatus() {
         Map<String, Object> status = new HashMap<>();
         
         circuitBreakerRegistry.getAllCircuitBreakers().forEach(circuitBreaker -> {
@@ -52,7 +76,7 @@ public class ObservabilityController {
             status.put(circuitBreaker.getName(), cbInfo);
         });
         
-        return ResponseEntity.ok(status);
+        return status;
     }
     
     /**
@@ -60,7 +84,12 @@ public class ObservabilityController {
      */
     @GetMapping("/rate-limiters")
     @Operation(summary = "Status dos Rate Limiters", description = "Retorna o status atual de todos os rate limiters")
-    public ResponseEntity<Map<String, Object>> getRateLimitersStatus() {
+    public ResponseEntity<byte[]> getRateLimitersStatus(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshots.get("observability.rate-limiters").toResponse(ifNoneMatch, snapshots.getIntervalMs());
+    }
+    
+    private Map<String, Object> buildRateLimitersStatus() {
         Map<String, Object> status = new HashMap<>();
         
         rateLimiterRegistry.getAllRateLimiters().forEach(rateLimiter -> {
@@ -71,7 +100,7 @@ public class ObservabilityController {
             status.put(rateLimiter.getName(), rlInfo);
         });
         
-        return ResponseEntity.ok(status);
+        return status;
     }
     
     /**
@@ -79,7 +108,12 @@ public class ObservabilityController {
      */
     @GetMapping("/retries")
     @Operation(summary = "Status dos Retries", description = "Retorna o status atual de todos os retries")
-    public ResponseEntity<Map<String, Object>> getRetriesStatus() {
+    public ResponseEntity<byte[]> getRetriesStatus(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshots.get("observability.retries").toResponse(ifNoneMatch, snapshots.getIntervalMs());
+    }
+    
+    private Map<String, Object> buildRetriesStatus() {
         Map<String, Object> status = new HashMap<>();
         
         retryRegistry.getAllRetries().forEach(retry -> {
@@ -96,7 +130,7 @@ public class ObservabilityController {
             status.put(retry.getName(), retryInfo);
         });
         
-        return ResponseEntity.ok(status);
+        return status;
     }
     
     /**
@@ -104,7 +138,12 @@ public class ObservabilityController {
      */
     @GetMapping("/health/banking")
     @Operation(summary = "Health Check Bancário", description = "Verifica a saúde específica dos componentes bancários")
-    public ResponseEntity<Map<String, Object>> getBankingHealth() {
+    public ResponseEntity<byte[]> getBankingHealth(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshots.get("observability.health").toResponse(ifNoneMatch, snapshots.getIntervalMs());
+    }
+    
+    private Map<String, Object> buildBankingHealth() {
         Map<String, Object> health = new HashMap<>();
         
         // Verificar Circuit Breakers
@@ -126,7 +165,7 @@ public class ObservabilityController {
         health.put("status", overallHealthy ? "UP" : "DEGRADED");
         health.put("timestamp", System.currentTimeMillis());
         
-        return ResponseEntity.ok(health);
+        return health;
     }
     
     /**
@@ -134,7 +173,12 @@ public class ObservabilityController {
      */
     @GetMapping("/metrics/summary")
     @Operation(summary = "Resumo de Métricas", description = "Retorna um resumo das principais métricas do sistema")
-    public ResponseEntity<Map<String, Object>> getMetricsSummary() {
+    public ResponseEntity<byte[]> getMetricsSummary(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshots.get("observability.metrics-summary").toResponse(ifNoneMatch, snapshots.getIntervalMs());
+    }
+    
+    private Map<String, Object> buildMetricsSummary() {
         Map<String, Object> metrics = new HashMap<>();
         
         // Métricas de Circuit Breakers
@@ -165,6 +209,6 @@ public class ObservabilityController {
         
         metrics.put("timestamp", System.currentTimeMillis());
         
-        return ResponseEntity.ok(metrics);
+        return metrics;
     }
 }
\ No newline at end of file
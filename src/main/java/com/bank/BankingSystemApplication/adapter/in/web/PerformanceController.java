@@ -1,18 +1,48 @@
 package com.bank.BankingSystemApplication.adapter.in.web;
 
+import com.bank.BankingSystemApplication.infrastructure.monitoring.HotKeyTracker;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.JfrEventAggregator;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.JfrProfilingService;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.LatencyHistogramService;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.LatencyRecorder;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.LockContentionMonitor;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.MetricsSnapshotService;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.MetricsStreamService;
 import com.bank.BankingSystemApplication.infrastructure.monitoring.PerformanceMetricsService;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.PgLockSampler;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.ProfileRun;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
+/**
+ * Endpoints de performance. As consultas de métricas vêm de snapshots do
+ * {@link MetricsSnapshotService}, atualizados em background e servidos já
+ * serializados, com ETag; as operações de profiling são atendidas na hora.
+ */
 @RestController
 @RequestMapping("/api/performance")
 @Tag(name = "Performance Monitoring API", description = "API para monitoramento de performance, vazão, tempo de resposta e gargalos")
@@ -22,56 +52,290 @@ public class PerformanceController {
     @Autowired
     private PerformanceMetricsService performanceMetricsService;
     
+    @Autowired
+    private LatencyHistogramService latencyHistogramService;
+    
+    @Autowired
+    private JfrProfilingService jfrProfilingService;
+    
+    @Autowired
+    private LockContentionMonitor lockContentionMonitor;
+    
+    @Autowired
+    private PgLockSampler pgLockSampler;
+    
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+    
+    @Autowired
+    private MetricsSnapshotService snapshots;
+    
+    @Autowired
+    private MetricsStreamService metricsStream;
+    
+    @Value("${performance.alerts.tps-warning-threshold:800}")
+    private double tpsWarningThreshold;
+    
+    @Value("${performance.alerts.tps-critical-threshold:1000}")
+    private double tpsCriticalThreshold;
+    
+    private static final int DEFAULT_LOCK_CONTENTION_LIMIT = 20;
+    
+    @PostConstruct
+    public void registerSnapshots() {
+        snapshots.register("performance.stats", performanceMetricsService::getPerformanceStats);
+        snapshots.register("performance.throughput", this::buildThroughputMetrics);
+        snapshots.register("performance.response-time", this::buildResponseTimeMetrics);
+        snapshots.register("performance.latency-histograms", this::buildLatencyHistograms);
+        snapshots.register("performance.lock-contention", () -> buildLockContention(DEFAULT_LOCK_CONTENTION_LIMIT));
+        snapshots.register("performance.hot-accounts", this::buildHotAccounts);
+        snapshots.register("performance.bottlenecks", this::buildBottleneckAnalysis);
+        snapshots.register("performance.health", this::buildPerformanceHealth);
+        snapshots.register("performance.dashboard", this::buildPerformanceDashboard);
+    }
+    
+    private ResponseEntity<byte[]> snapshot(String view, String ifNoneMatch) {
+        return snapshots.get(view).toResponse(ifNoneMatch, snapshots.getIntervalMs());
+    }
+    
     @GetMapping("/stats")
     @Operation(summary = "Estatísticas Completas de Performance", 
                description = "Retorna todas as métricas de performance incluindo vazão, tempo de resposta e gargalos")
-    public ResponseEntity<PerformanceMetricsService.PerformanceStats> getPerformanceStats() {
-        PerformanceMetricsService.PerformanceStats stats = performanceMetricsService.getPerformanceStats();
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<byte[]> getPerformanceStats(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshot("performance.stats", ifNoneMatch);
     }
     
     @GetMapping("/throughput")
     @Operation(summary = "Métricas de Vazão (Throughput)", 
-               description = "Retorna TPS (Transactions Per Second) e QPS (Queries Per Second) atuais")
-    public ResponseEntity<Map<String, Object>> getThroughputMetrics() {
+               description = "Retorna TPS (Transactions Per Second) e QPS (Queries Per Second) em janelas de 1s, 10s e 60s, pico e taxas por endpoint e operação")
+    public ResponseEntity<byte[]> getThroughputMetrics(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshot("performance.throughput", ifNoneMatch);
+    }
+    
+    private Map<String, Object> buildThroughputMetrics() {
         Map<String, Object> throughput = new HashMap<>();
+        PerformanceMetricsService.ThroughputStats requests = performanceMetricsService.getRequestThroughput();
         
-        throughput.put("currentTPS", performanceMetricsService.getCurrentTPS());
+        throughput.put("currentTPS", requests.rate10s);
         throughput.put("currentTransactionTPS", performanceMetricsService.getCurrentTransactionTPS());
+        throughput.put("requests", requests);
+        throughput.put("responses", performanceMetricsService.getResponseThroughput());
+        throughput.put("peakTPS", requests.peakPerSecond);
+        throughput.put("endpoints", performanceMetricsService.getEndpointThroughput());
+        throughput.put("operations", performanceMetricsService.getOperationThroughput());
         throughput.put("description", Map.of(
-            "currentTPS", "Requisições por segundo",
-            "currentTransactionTPS", "Transações por segundo"
+            "currentTPS", "Requisições por segundo (últimos 10 segundos completos)",
+            "currentTransactionTPS", "Transações por segundo (últimos 10 segundos completos)",
+            "rate1s/rate10s/rate60s", "Taxa média nas janelas de 1, 10 e 60 segundos",
+            "peakTPS", "Maior número de requisições em um único segundo"
         ));
         throughput.put("timestamp", System.currentTimeMillis());
         
-        return ResponseEntity.ok(throughput);
+        return throughput;
     }
     
     @GetMapping("/response-time")
     @Operation(summary = "Métricas de Tempo de Resposta", 
-               description = "Retorna estatísticas detalhadas de tempo de resposta incluindo percentis")
-    public ResponseEntity<Map<String, Object>> getResponseTimeMetrics() {
-        PerformanceMetricsService.PerformanceStats stats = performanceMetricsService.getPerformanceStats();
+               description = "Retorna estatísticas detalhadas de tempo de resposta incluindo percentis por endpoint e por estágio (DB, espera por lock, Kafka, auditoria)")
+    public ResponseEntity<byte[]> getResponseTimeMetrics(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshot("performance.response-time", ifNoneMatch);
+    }
+    
+    private Map<String, Object> buildResponseTimeMetrics() {
+        LatencyRecorder.Snapshot latency = latencyHistogramService.getRequestLatency();
         
         Map<String, Object> responseTime = new HashMap<>();
-        responseTime.put("averageResponseTime", stats.averageResponseTime);
-        responseTime.put("p95ResponseTime", stats.p95ResponseTime);
-        responseTime.put("p99ResponseTime", stats.p99ResponseTime);
+        responseTime.put("averageResponseTime", latency.mean);
+        responseTime.put("p95ResponseTime", latency.p95);
+        responseTime.put("p99ResponseTime", latency.p99);
+        responseTime.put("requests", latency);
+        responseTime.put("endpoints", latencyHistogramService.getEndpointLatencies(false));
+        responseTime.put("stages", latencyHistogramService.getStageLatencies(false));
         responseTime.put("unit", "milliseconds");
         responseTime.put("description", Map.of(
             "averageResponseTime", "Tempo médio de resposta",
             "p95ResponseTime", "95% das requisições são atendidas em até",
-            "p99ResponseTime", "99% das requisições são atendidas em até"
+            "p99ResponseTime", "99% das requisições são atendidas em até",
+            "slo", "Fração das requisições atendidas dentro de cada limite de SLO",
+            "window", "Intervalos completos da janela deslizante dos histogramas"
         ));
         responseTime.put("timestamp", System.currentTimeMillis());
         
-        return ResponseEntity.ok(responseTime);
+        return responseTime;
+    }
+    
+    @GetMapping("/latency/histograms")
+    @Operation(summary = "Histogramas de Latência", 
+               description = "Exporta os histogramas HdrHistogram da janela atual (compactados, Base64, em microssegundos) para agregação entre nós")
+    public ResponseEntity<byte[]> getLatencyHistograms(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshot("performance.latency-histograms", ifNoneMatch);
+    }
+    
+    private Map<String, Object> buildLatencyHistograms() {
+        Map<String, Object> histograms = new HashMap<>();
+        histograms.put("histograms", latencyHistogramService.exportHistograms());
+        histograms.put("unit", "microseconds");
+        histograms.put("encoding", "hdrhistogram-compressed-base64");
+        histograms.put("sloMs", latencyHistogramService.getSloMillis());
+        histograms.put("timestamp", System.currentTimeMillis());
+        
+        return histograms;
+    }
+    
+    @GetMapping("/lock-contention")
+    @Operation(summary = "Contenção de Locks de Conta", 
+               description = "Lista as contas com maior espera por lock de linha (SELECT ... FOR UPDATE), a espera por faixa de conta e as cadeias de bloqueio amostradas do pg_locks")
+    public ResponseEntity<?> getLockContention(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Só o limite padrão tem snapshot; outros limites são montados na hora
+        if (limit == DEFAULT_LOCK_CONTENTION_LIMIT) {
+            return snapshot("performance.lock-contention", ifNoneMatch);
+        }
+        return ResponseEntity.ok(buildLockContention(limit));
+    }
+    
+    private Map<String, Object> buildLockContention(int limit) {
+        Map<String, Object> contention = new HashMap<>();
+        contention.put("accounts", lockContentionMonitor.getMostContendedAccounts(limit));
+        contention.put("buckets", lockContentionMonitor.getBucketStats());
+        contention.put("executionBaselineMs", lockContentionMonitor.getExecutionBaselineMs());
+        contention.put("executionBaselineSource", lockContentionMonitor.getExecutionBaselineSource());
+        contention.put("untrackedAccountEvents", lockContentionMonitor.getDroppedAccounts());
+        contention.put("windowSeconds", lockContentionMonitor.getWindowSeconds());
+        
+        Map<String, Object> sampler = new HashMap<>();
+        sampler.put("available", pgLockSampler.isAvailable());
+        if (pgLockSampler.isAvailable()) {
+            sampler.put("lastSample", pgLockSampler.getLastSample());
+            sampler.put("contendedSampleRatio", pgLockSampler.getContendedSampleRatio());
+            sampler.put("topRootBlockers", pgLockSampler.getTopRootBlockers(limit));
+        }
+        contention.put("database", sampler);
+        contention.put("description", Map.of(
+            "accounts", "Contas ordenadas pelo tempo total de espera por lock nas duas últimas janelas",
+            "buckets", "Espera por lock agrupada por id da conta módulo o número de faixas",
+            "executionBaselineMs", "Execução estimada da consulta sem contenção, descontada do tempo de espera",
+            "executionBaselineSource", "findById: mediana das leituras sem lock; locking-reads: quantil inferior "
+                    + "das próprias leituras com lock, que subestima a espera quando quase toda leitura espera",
+            "database", "Sessões esperando por lock e cadeias de bloqueio vistas pelo PostgreSQL"
+        ));
+        contention.put("timestamp", System.currentTimeMillis());
+        
+        return contention;
+    }
+    
+    @GetMapping("/hot-accounts")
+    @Operation(summary = "Contas e Endpoints Mais Acessados", 
+               description = "Heavy hitters da última janela (Count-Min Sketch com top-K): contas com mais créditos, débitos, transferências e consultas e endpoints mais requisitados")
+    public ResponseEntity<byte[]> getHotAccounts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshot("performance.hot-accounts", ifNoneMatch);
+    }
+    
+    private Map<String, Object> buildHotAccounts() {
+        Map<String, Object> hot = new HashMap<>();
+        hot.put("accounts", hotKeyTracker.getHotAccounts());
+        hot.put("endpoints", hotKeyTracker.getHotEndpoints());
+        hot.put("currentWindow", hotKeyTracker.getCurrentAccounts());
+        hot.put("windowSeconds", hotKeyTracker.getWindowSeconds());
+        hot.put("description", Map.of(
+            "count", "Contagem estimada na janela; limite superior da contagem real",
+            "share", "Fração das operações da janela",
+            "currentWindow", "Ranking parcial da janela em andamento",
+            "routing", "Contas quentes têm as escritas enviadas aos workers (app.load.hot-account-async)"
+        ));
+        hot.put("timestamp", System.currentTimeMillis());
+        
+        return hot;
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream de Métricas ao Vivo (SSE)", 
+               description = "Server-Sent Events com um quadro por segundo: TPS, p50/p99, requisições em andamento, índice de carga, lag dos consumidores, gargalo e contas quentes. Eventos 'full' trazem todos os campos; eventos 'delta' só os que mudaram desde o quadro anterior. Clientes lentos perdem quadros e recebem um 'full' em seguida")
+    public ResponseEntity<?> streamMetrics() {
+        try {
+            return ResponseEntity.ok(metricsStream.subscribe());
+        } catch (IllegalStateException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(error);
+        }
+    }
+    
+    @PostMapping("/profile")
+    @Operation(summary = "Iniciar Profiling (JFR)", 
+               description = "Inicia uma gravação do JDK Flight Recorder limitada no tempo (CPU, alocação, contenção de locks e I/O); o resumo fica disponível ao final")
+    public ResponseEntity<Map<String, Object>> startProfile(
+            @RequestParam(defaultValue = "0") int durationSeconds) throws IOException {
+        try {
+            ProfileRun run = jfrProfilingService.start(durationSeconds);
+            Map<String, Object> response = new HashMap<>();
+            response.put("id", run.getId());
+            response.put("state", run.getState());
+            response.put("durationSeconds", run.getDurationSeconds());
+            response.put("summaryUrl", "/api/performance/profile/" + run.getId());
+            response.put("downloadUrl", "/api/performance/profile/" + run.getId() + "/recording");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalStateException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        }
+    }
+    
+    @GetMapping("/profile/continuous")
+    @Operation(summary = "Profiling Contínuo (JFR)", 
+               description = "Retorna o resumo da última janela do modo contínuo (métodos quentes, alocação, locks, pausas de GC e I/O)")
+    public ResponseEntity<Map<String, Object>> getContinuousProfile() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("enabled", jfrProfilingService.isStreamingEnabled());
+        JfrEventAggregator.Summary summary = jfrProfilingService.getLatestStreamingSummary();
+        if (summary != null) {
+            response.put("summary", summary);
+        }
+        response.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/profile/{id}")
+    @Operation(summary = "Resultado do Profiling (JFR)", 
+               description = "Retorna o estado da gravação e, quando concluída, os métodos mais quentes, locais de alocação, locks disputados, pausas de GC e I/O")
+    public ResponseEntity<ProfileRun> getProfile(@PathVariable String id) {
+        return jfrProfilingService.getRun(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/profile/{id}/recording")
+    @Operation(summary = "Download da Gravação (JFR)", 
+               description = "Baixa o arquivo .jfr de uma gravação concluída, para análise no JDK Mission Control")
+    public ResponseEntity<Resource> downloadProfile(@PathVariable String id) {
+        Optional<Path> file = jfrProfilingService.getRecordingFile(id);
+        if (file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.get().getFileName() + "\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(new FileSystemResource(file.get()));
     }
     
     @GetMapping("/bottlenecks")
     @Operation(summary = "Detecção de Gargalos", 
                description = "Identifica e retorna informações sobre gargalos de performance no sistema")
-    public ResponseEntity<Map<String, Object>> getBottleneckAnalysis() {
+    public ResponseEntity<byte[]> getBottleneckAnalysis(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshot("performance.bottlenecks", ifNoneMatch);
+    }
+    
+    private Map<String, Object> buildBottleneckAnalysis() {
         PerformanceMetricsService.PerformanceStats stats = performanceMetricsService.getPerformanceStats();
         PerformanceMetricsService.BottleneckInfo bottlenecks = stats.bottleneckInfo;
         PerformanceMetricsService.SlowestOperationInfo slowest = stats.slowestOperation;
@@ -95,6 +359,8 @@ public class PerformanceController {
         
         analysis.put("componentPerformance", componentTimes);
         analysis.put("currentBottleneck", bottlenecks.currentBottleneck);
+        // Ranking do modelo de médias móveis: status, confiança e última mudança de patamar
+        analysis.put("ranking", performanceMetricsService.getRankedBottlenecks());
         analysis.put("slowestOperation", Map.of(
             "operation", slowest.operation,
             "timeMs", slowest.timeMs
@@ -104,26 +370,31 @@ public class PerformanceController {
         analysis.put("recommendations", generateRecommendations(bottlenecks));
         analysis.put("timestamp", System.currentTimeMillis());
         
-        return ResponseEntity.ok(analysis);
+        return analysis;
     }
     
     @GetMapping("/health/performance")
     @Operation(summary = "Health Check de Performance", 
                description = "Verifica se a performance do sistema está dentro dos limites aceitáveis")
-    public ResponseEntity<Map<String, Object>> getPerformanceHealth() {
+    public ResponseEntity<byte[]> getPerformanceHealth(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshot("performance.health", ifNoneMatch);
+    }
+    
+    private Map<String, Object> buildPerformanceHealth() {
         PerformanceMetricsService.PerformanceStats stats = performanceMetricsService.getPerformanceStats();
         
         Map<String, Object> health = new HashMap<>();
         
         // Critérios de saúde
-        boolean tpsHealthy = stats.currentTPS < 1000; // Limite de 1000 TPS
+        boolean tpsHealthy = stats.currentTPS < tpsCriticalThreshold;
         boolean responseTimeHealthy = stats.averageResponseTime < 500; // Limite de 500ms
         boolean bottleneckHealthy = stats.bottleneckInfo.currentBottleneck.equals("none");
         
         health.put("tps", Map.of(
             "status", tpsHealthy ? "healthy" : "warning",
             "value", stats.currentTPS,
-            "limit", 1000
+            "limit", tpsCriticalThreshold
         ));
         
         health.put("responseTime", Map.of(
@@ -146,13 +417,18 @@ public class PerformanceController {
         
         health.put("timestamp", System.currentTimeMillis());
         
-        return ResponseEntity.ok(health);
+        return health;
     }
     
     @GetMapping("/dashboard")
     @Operation(summary = "Dashboard de Performance", 
                description = "Retorna um resumo completo para dashboard de monitoramento")
-    public ResponseEntity<Map<String, Object>> getPerformanceDashboard() {
+    public ResponseEntity<byte[]> getPerformanceDashboard(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshot("performance.dashboard", ifNoneMatch);
+    }
+    
+    private Map<String, Object> buildPerformanceDashboard() {
         PerformanceMetricsService.PerformanceStats stats = performanceMetricsService.getPerformanceStats();
         
         Map<String, Object> dashboard = new HashMap<>();
@@ -180,8 +456,9 @@ public class PerformanceController {
         
         dashboard.put("timestamp", System.currentTimeMillis());
         dashboard.put("refreshInterval", 30); // segundos
+        dashboard.put("liveStream", "/api/performance/stream");
         
-        return ResponseEntity.ok(dashboard);
+        return dashboard;
     }
     
     private Map<String, String> generateRecommendations(PerformanceMetricsService.BottleneckInfo bottlenecks) {
@@ -225,8 +502,10 @@ public class PerformanceController {
     private Map<String, Object> generateAlerts(PerformanceMetricsService.PerformanceStats stats) {
         Map<String, Object> alerts = new HashMap<>();
         
-        if (stats.currentTPS > 800) {
-            alerts.put("highTPS", "TPS aproximando do limite (1000)");
+        if (stats.currentTPS > tpsCriticalThreshold) {
+            alerts.put("criticalTPS", String.format("TPS acima do limite (%.0f)", tpsCriticalThreshold));
+        } else if (stats.currentTPS > tpsWarningThreshold) {
+            alerts.put("highTPS", String.format("TPS aproximando do limite (%.0f)", tpsCriticalThreshold));
         }
         
         if (stats.averageResponseTime > 400) {
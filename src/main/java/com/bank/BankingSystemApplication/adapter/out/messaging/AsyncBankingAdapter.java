@@ -1,5 +1,6 @@
 package com.bank.BankingSystemApplication.adapter.out.messaging;
 
+import com.bank.BankingSystemApplication.application.config.KafkaConfig;
 import com.bank.BankingSystemApplication.domain.model.AccountCreationRequest;
 import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
 import org.slf4j.Logger;
@@ -21,7 +22,7 @@ public class AsyncBankingAdapter {
     public CompletableFuture<String> createAccountAsync(AccountCreationRequest request) {
         logger.info("Adapter: Sending async account creation request");
         
-        return kafkaTemplate.send("banking.account.create", request)
+        return kafkaTemplate.send(KafkaConfig.ACCOUNT_CREATE_TOPIC, request)
                 .thenApply(result -> {
                     logger.info("Account creation request sent successfully");
                     return "ACCEPTED";
@@ -35,7 +36,7 @@ public class AsyncBankingAdapter {
     public CompletableFuture<String> processCreditAsync(TransactionRequest request) {
         logger.info("Adapter: Sending async credit request");
         
-        return kafkaTemplate.send("banking.transaction.credit", request)
+        return kafkaTemplate.send(KafkaConfig.TRANSACTION_CREDIT_TOPIC, accountKey(request), request)
                 .thenApply(result -> {
                     logger.info("Credit request sent successfully");
                     return "ACCEPTED";
@@ -49,7 +50,7 @@ public class AsyncBankingAdapter {
     public CompletableFuture<String> processDebitAsync(TransactionRequest request) {
         logger.info("Adapter: Sending async debit request");
         
-        return kafkaTemplate.send("banking.transaction.debit", request)
+        return kafkaTemplate.send(KafkaConfig.TRANSACTION_DEBIT_TOPIC, accountKey(request), request)
                 .thenApply(result -> {
                     logger.info("Debit request sent successfully");
                     return "ACCEPTED";
@@ -59,4 +60,12 @@ public class AsyncBankingAdapter {
                     return "FAILED";
                 });
     }
-}
\ No newline at end of file
+    
+    /**
+     * Chave de partição: as operações de uma conta ficam na mesma partição
+     * e são aplicadas em ordem por um único consumidor.
+     */
+    private String accountKey(TransactionRequest request) {
+        return request.getAccountId() != null ? String.valueOf(request.getAccountId()) : null;
+    }
+}
@@ -23,13 +23,13 @@ public class EventPublishingAdapter implements EventPublishingPort {
     
     @Override
     public void publishTransactionEvent(TransactionEvent event) {
-        logger.info("Adapter: Publishing transaction event for account: {}", event.getAccountId());
+        logger.debug("Adapter: Publishing transaction event for account: {}", event.getAccountId());
         transactionEventProducer.sendTransactionEvent(event);
     }
     
     @Override
     public void publishNotificationEvent(NotificationEvent event) {
-        logger.info("Adapter: Publishing notification event for account: {}", event.getAccountId());
+        logger.debug("Adapter: Publishing notification event for account: {}", event.getAccountId());
         
         // Send asynchronously to avoid blocking the HTTP request
         kafkaTemplate.send("banking.notifications", event)
@@ -1,9 +1,24 @@
 package com.bank.BankingSystemApplication.application.config;
 
+import com.bank.BankingSystemApplication.exception.BusinessException;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.retrytopic.RetryTopicSchedulerWrapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.List;
 
 /**
  * Configuração do Apache Kafka para o sistema bancário.
@@ -17,10 +32,18 @@ import org.springframework.kafka.config.TopicBuilder;
  * - 3 partições por tópico para paralelismo
  * - 1 réplica (adequado para desenvolvimento/teste)
  * - Criação automática dos tópicos na inicialização
+ * - Timestamp do broker (LogAppendTime), referência comum para medir a
+ *   latência ponta a ponta entre nós com relógios diferentes
  * 
  * Os tópicos seguem o padrão de nomenclatura 'banking-*' 
  * para identificação clara no cluster Kafka.
  * 
+ * Tratamento de falhas:
+ * - Workers assíncronos usam tópicos de retry com atraso (sufixo '-retry')
+ *   e dead-letter topic (sufixo '-dlt'), sem bloquear a partição
+ * - Demais listeners tentam novamente por pouco tempo e então publicam
+ *   o registro no DLT do tópico de origem
+ * 
  * @author Sistema Bancário
  * @version 1.0
  * @since 1.0
@@ -37,6 +60,35 @@ public class KafkaConfig {
     /** Nome do tópico para eventos de auditoria */
     public static final String AUDIT_TOPIC = "banking-audit";
     
+    /** Tópicos de solicitações roteadas para processamento assíncrono pelo gateway */
+    public static final String ACCOUNT_CREATE_TOPIC = "banking.account.create";
+    public static final String ACCOUNT_CREATED_TOPIC = "banking.account.created";
+    public static final String ACCOUNT_FAILED_TOPIC = "banking.account.failed";
+    public static final String TRANSACTION_CREDIT_TOPIC = "banking.transaction.credit";
+    public static final String TRANSACTION_DEBIT_TOPIC = "banking.transaction.debit";
+    public static final String TRANSACTION_PROCESSED_TOPIC = "banking.transaction.processed";
+    public static final String TRANSACTION_FAILED_TOPIC = "banking.transaction.failed";
+    
+    /** Grupo de consumo dos workers assíncronos */
+    public static final String WORKER_GROUP = "banking-worker";
+    
+    /** Bean e método que recebem os registros esgotados dos workers */
+    public static final String WORKER_BEAN = "asyncBankingWorker";
+    public static final String WORKER_DLT_HANDLER = "handleDeadLetter";
+    
+    /** Timestamp gravado pelo broker no append, em vez do relógio do produtor */
+    private static final String LOG_APPEND_TIME = "LogAppendTime";
+    
+    /** Sufixos dos tópicos de retry e dead-letter */
+    public static final String RETRY_TOPIC_SUFFIX = "-retry";
+    public static final String DLT_TOPIC_SUFFIX = "-dlt";
+    
+    @Value("${kafka.error-handler.retry-interval-ms:500}")
+    private long errorHandlerRetryInterval;
+    
+    @Value("${kafka.error-handler.max-retries:2}")
+    private long errorHandlerMaxRetries;
+    
     /**
      * Configura o tópico para eventos de transações.
      * 
@@ -47,6 +99,7 @@ public class KafkaConfig {
         return TopicBuilder.name(TRANSACTION_TOPIC)
                 .partitions(3)
                 .replicas(1)
+                .config(TopicConfig.MESSAGE_TIMESTAMP_TYPE_CONFIG, LOG_APPEND_TIME)
                 .build();
     }
     
@@ -60,6 +113,7 @@ public class KafkaConfig {
         return TopicBuilder.name(NOTIFICATION_TOPIC)
                 .partitions(3)
                 .replicas(1)
+                .config(TopicConfig.MESSAGE_TIMESTAMP_TYPE_CONFIG, LOG_APPEND_TIME)
                 .build();
     }
     
@@ -73,6 +127,103 @@ public class KafkaConfig {
         return TopicBuilder.name(AUDIT_TOPIC)
                 .partitions(3)
                 .replicas(1)
+                .config(TopicConfig.MESSAGE_TIMESTAMP_TYPE_CONFIG, LOG_APPEND_TIME)
+                .build();
+    }
+    
+    /**
+     * Configura os tópicos de solicitações dos workers assíncronos.
+     * 
+     * Declarados aqui só para usar LogAppendTime; prevalecem sobre os
+     * criados pela configuração de retry, com o mesmo número de partições dos
+     * tópicos de retry.
+     * 
+     * @return NewTopic configurado para criação de contas
+     */
+    @Bean
+    public NewTopic accountCreateTopic(@Value("${kafka.retry.partitions:3}") int partitions) {
+        return workerTopic(ACCOUNT_CREATE_TOPIC, partitions);
+    }
+    
+    @Bean
+    public NewTopic transactionCreditTopic(@Value("${kafka.retry.partitions:3}") int partitions) {
+        return workerTopic(TRANSACTION_CREDIT_TOPIC, partitions);
+    }
+    
+    @Bean
+    public NewTopic transactionDebitTopic(@Value("${kafka.retry.partitions:3}") int partitions) {
+        return workerTopic(TRANSACTION_DEBIT_TOPIC, partitions);
+    }
+    
+    private NewTopic workerTopic(String name, int partitions) {
+        return TopicBuilder.name(name)
+                .partitions(partitions)
+                .replicas(1)
+                .config(TopicConfig.MESSAGE_TIMESTAMP_TYPE_CONFIG, LOG_APPEND_TIME)
                 .build();
     }
-}
\ No newline at end of file
+    
+    /**
+     * Error handler padrão dos listeners sem tópicos de retry.
+     * 
+     * Após poucas tentativas rápidas o registro é publicado em
+     * '<tópico>-dlt' e o consumo segue, evitando que um registro
+     * envenenado bloqueie a partição indefinidamente.
+     * 
+     * @param kafkaTemplate template usado para publicar no DLT
+     * @return CommonErrorHandler aplicado pela auto-configuração do Spring Boot
+     */
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler(KafkaTemplate<String, Object> kafkaTemplate) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + DLT_TOPIC_SUFFIX, -1));
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(errorHandlerRetryInterval, errorHandlerMaxRetries));
+    }
+    
+    /**
+     * Tópicos de retry dos workers assíncronos.
+     * 
+     * Uma única configuração para os três tópicos de solicitação: falhas
+     * seguem para '<tópico>-retry-<atraso>' com backoff exponencial e,
+     * esgotadas as tentativas, para '<tópico>-dlt', tratado por
+     * AsyncBankingWorker.handleDeadLetter. Erros de regra de negócio não
+     * são repetidos, mesmo quando embrulhados em outra exceção.
+     * 
+     * @param kafkaTemplate template usado para publicar nos tópicos de retry e DLT
+     * @return RetryTopicConfiguration aplicada aos listeners dos workers
+     */
+    @Bean
+    public RetryTopicConfiguration workerRetryTopicConfiguration(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            @Value("${kafka.retry.attempts:4}") int attempts,
+            @Value("${kafka.retry.initial-delay-ms:1000}") long initialDelay,
+            @Value("${kafka.retry.multiplier:10}") double multiplier,
+            @Value("${kafka.retry.max-delay-ms:60000}") long maxDelay,
+            @Value("${kafka.retry.partitions:3}") int partitions) {
+        return RetryTopicConfigurationBuilder.newInstance()
+                .includeTopics(List.of(ACCOUNT_CREATE_TOPIC, TRANSACTION_CREDIT_TOPIC, TRANSACTION_DEBIT_TOPIC))
+                .maxAttempts(attempts)
+                .exponentialBackoff(initialDelay, multiplier, maxDelay)
+                .autoCreateTopicsWith(partitions, (short) 1)
+                .notRetryOn(List.of(IllegalArgumentException.class, BusinessException.class))
+                .traversingCauses()
+                .retryTopicSuffix(RETRY_TOPIC_SUFFIX)
+                .dltSuffix(DLT_TOPIC_SUFFIX)
+                .dltHandlerMethod(WORKER_BEAN, WORKER_DLT_HANDLER)
+                .create(kafkaTemplate);
+    }
+    
+    /**
+     * Scheduler usado pelos tópicos de retry para retomar as partições
+     * pausadas quando o atraso de cada tentativa expira.
+     * 
+     * @return RetryTopicSchedulerWrapper exigido pelo suporte a tópicos de retry
+     */
+    @Bean
+    public RetryTopicSchedulerWrapper retryTopicSchedulerWrapper() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("kafka-retry-");
+        scheduler.initialize();
+        return new RetryTopicSchedulerWrapper(scheduler);
+    }
+}
@@ -0,0 +1,102 @@
+package com.bank.BankingSystemApplication.application.config;
+
+import com.bank.BankingSystemApplication.application.streams.AccountAggregatesTopology;
+import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.LogAndContinueExceptionHandler;
+import org.apache.kafka.streams.kstream.KStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuração do Kafka Streams para os agregados por conta.
+ *
+ * Os state stores ficam em RocksDB no diretório local configurado e são
+ * reconstruídos a partir dos tópicos de changelog quando o diretório é
+ * perdido (novo container, por exemplo). Réplicas standby podem ser
+ * habilitadas para reduzir o tempo de restauração em failover.
+ *
+ * Republicações são descartadas pela topologia via eventId. Reprocessar
+ * após uma queda ainda pode contar um evento duas vezes com at_least_once;
+ * banking.streams.processing-guarantee=exactly_once_v2 elimina isso em
+ * brokers com suporte a transações.
+ *
+ * Pode ser desabilitado com banking.streams.enabled=false.
+ *
+ * @author Sistema Bancário
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "banking.streams.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaStreamsConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${banking.streams.application-id:banking-account-aggregates}")
+    private String applicationId;
+
+    @Value("${banking.streams.state-dir:/tmp/kafka-streams}")
+    private String stateDir;
+
+    @Value("${banking.streams.num-standby-replicas:0}")
+    private int standbyReplicas;
+
+    @Value("${banking.streams.replication-factor:1}")
+    private int replicationFactor;
+
+    @Value("${banking.streams.application-server:}")
+    private String applicationServer;
+
+    @Value("${banking.streams.processing-guarantee:at_least_once}")
+    private String processingGuarantee;
+
+    @Value("${banking.streams.grace-period-minutes:5}")
+    private long gracePeriodMinutes;
+
+    /**
+     * Configuração padrão usada pelo StreamsBuilderFactoryBean.
+     *
+     * @return KafkaStreamsConfiguration com state dir, standby e tratamento de erros
+     */
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration kafkaStreamsConfiguration() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        props.put(StreamsConfig.NUM_STANDBY_REPLICAS_CONFIG, standbyReplicas);
+        props.put(StreamsConfig.REPLICATION_FACTOR_CONFIG, replicationFactor);
+        props.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, processingGuarantee);
+        props.put(StreamsConfig.DEFAULT_DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG,
+                LogAndContinueExceptionHandler.class);
+        if (!applicationServer.isBlank()) {
+            // Necessário para localizar a instância dona de cada conta nas consultas
+            props.put(StreamsConfig.APPLICATION_SERVER_CONFIG, applicationServer);
+        }
+        return new KafkaStreamsConfiguration(props);
+    }
+
+    /**
+     * Topologia de agregados por conta sobre o tópico de transações.
+     *
+     * @param builder StreamsBuilder gerenciado pelo Spring
+     * @return stream de transações rechaveado por conta
+     */
+    @Bean
+    public KStream<Long, TransactionEvent> accountAggregatesStream(StreamsBuilder builder) {
+        return AccountAggregatesTopology.build(builder, Duration.ofMinutes(gracePeriodMinutes));
+    }
+}
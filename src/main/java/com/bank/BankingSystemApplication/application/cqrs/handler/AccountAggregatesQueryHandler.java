@@ -0,0 +1,122 @@
+package com.bank.BankingSystemApplication.application.cqrs.handler;
+
+import com.bank.BankingSystemApplication.application.cqrs.query.AccountQuery;
+import com.bank.BankingSystemApplication.application.streams.AccountActivity;
+import com.bank.BankingSystemApplication.application.streams.AccountAggregates;
+import com.bank.BankingSystemApplication.application.streams.AccountAggregatesTopology;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Handler para queries de agregados de conta seguindo o padrão CQRS.
+ * Lê diretamente dos state stores do Kafka Streams (consulta interativa),
+ * sem acessar o banco de dados.
+ */
+@Component
+public class AccountAggregatesQueryHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountAggregatesQueryHandler.class);
+
+    @Autowired
+    private ObjectProvider<StreamsBuilderFactoryBean> streamsBuilderProvider;
+
+    @Value("${banking.streams.application-server:}")
+    private String applicationServer;
+
+    /**
+     * Processa query de agregados da conta
+     *
+     * @throws IllegalStateException se o Kafka Streams estiver desabilitado ou
+     *                               ainda restaurando os state stores
+     */
+    public AccountAggregates handle(AccountQuery query) {
+        logger.debug("Processando query de agregados: {} para conta: {}",
+                    query.getQueryId(), query.getAccountId());
+
+        KafkaStreams streams = runningStreams();
+        Long accountId = query.getAccountId();
+        Instant now = Instant.now();
+        Instant dayStart = now.truncatedTo(ChronoUnit.DAYS);
+
+        try {
+            ReadOnlyWindowStore<Long, AccountActivity> dailyStore = streams.store(StoreQueryParameters
+                    .fromNameAndType(AccountAggregatesTopology.DAILY_STORE, QueryableStoreTypes.windowStore()));
+            ReadOnlyWindowStore<Long, AccountActivity> minuteStore = streams.store(StoreQueryParameters
+                    .fromNameAndType(AccountAggregatesTopology.MINUTE_STORE, QueryableStoreTypes.windowStore()));
+
+            AccountActivity daily = dailyStore.fetch(accountId, dayStart.toEpochMilli());
+            AccountActivity lastHour = sum(minuteStore, accountId, now.minus(Duration.ofHours(1)), now);
+            AccountActivity last24Hours = sum(minuteStore, accountId, now.minus(Duration.ofHours(24)), now);
+
+            return new AccountAggregates(accountId, LocalDate.ofInstant(dayStart, ZoneOffset.UTC),
+                    daily != null ? daily : new AccountActivity(), lastHour, last24Hours, now);
+
+        } catch (InvalidStateStoreException e) {
+            throw new IllegalStateException("State stores indisponíveis: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Instância que hospeda os agregados da conta, quando não é esta.
+     * Só é determinável com banking.streams.application-server configurado.
+     */
+    public Optional<String> remoteOwner(Long accountId) {
+        if (applicationServer.isBlank()) {
+            return Optional.empty();
+        }
+        KafkaStreams streams = runningStreams();
+        KeyQueryMetadata metadata = streams.queryMetadataForKey(
+                AccountAggregatesTopology.DAILY_STORE, accountId, Serdes.Long().serializer());
+        if (metadata == null || KeyQueryMetadata.NOT_AVAILABLE.equals(metadata)) {
+            return Optional.empty();
+        }
+        HostInfo owner = metadata.activeHost();
+        return owner.equals(HostInfo.buildFromEndpoint(applicationServer))
+                ? Optional.empty()
+                : Optional.of(owner.host() + ":" + owner.port());
+    }
+
+    private KafkaStreams runningStreams() {
+        StreamsBuilderFactoryBean factoryBean = streamsBuilderProvider.getIfAvailable();
+        KafkaStreams streams = factoryBean != null ? factoryBean.getKafkaStreams() : null;
+        if (streams == null) {
+            throw new IllegalStateException("Agregados em streaming desabilitados");
+        }
+        if (streams.state() != KafkaStreams.State.RUNNING) {
+            throw new IllegalStateException("Kafka Streams não está pronto: " + streams.state());
+        }
+        return streams;
+    }
+
+    private AccountActivity sum(ReadOnlyWindowStore<Long, AccountActivity> store, Long accountId,
+                                Instant from, Instant to) {
+        AccountActivity total = new AccountActivity();
+        try (WindowStoreIterator<AccountActivity> windows = store.fetch(accountId, from, to)) {
+            while (windows.hasNext()) {
+                total.merge(windows.next().value);
+            }
+        }
+        return total;
+    }
+}
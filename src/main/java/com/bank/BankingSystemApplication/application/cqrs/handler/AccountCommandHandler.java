@@ -53,7 +53,7 @@ public class AccountCommandHandler {
      * Processa comando de crédito
      */
     public TransactionResponse handle(CreditCommand command) {
-        logger.info("Processando comando de crédito: {}", command.getCommandId());
+        logger.debug("Processando comando de crédito: {}", command.getCommandId());
         
         try {
             TransactionRequest request = new TransactionRequest();
@@ -62,7 +62,7 @@ public class AccountCommandHandler {
             
             TransactionResponse response = resilientAccountService.creditResilient(request);
             
-            logger.info("Comando de crédito processado: {} com status: {}", 
+            logger.debug("Comando de crédito processado: {} com status: {}", 
                        command.getCommandId(), response.getStatus());
             
             return response;
@@ -77,7 +77,7 @@ public class AccountCommandHandler {
      * Processa comando de débito
      */
     public TransactionResponse handle(DebitCommand command) {
-        logger.info("Processando comando de débito: {}", command.getCommandId());
+        logger.debug("Processando comando de débito: {}", command.getCommandId());
         
         try {
             TransactionRequest request = new TransactionRequest();
@@ -86,7 +86,7 @@ public class AccountCommandHandler {
             
             TransactionResponse response = resilientAccountService.debitResilient(request);
             
-            logger.info("Comando de débito processado: {} com status: {}", 
+            logger.debug("Comando de débito processado: {} com status: {}", 
                        command.getCommandId(), response.getStatus());
             
             return response;
@@ -112,7 +112,10 @@ public class TransferSaga {
             
             return result;
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
+            MDC.remove("fromAccountId");
+            MDC.remove("toAccountId");
         }
     }
     
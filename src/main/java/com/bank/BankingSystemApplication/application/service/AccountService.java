@@ -6,6 +6,8 @@ import com.bank.BankingSystemApplication.domain.model.Status;
 import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
 import com.bank.BankingSystemApplication.domain.model.TransactionResponse;
 import com.bank.BankingSystemApplication.domain.model.Account;
+import com.bank.BankingSystemApplication.domain.model.EventIds;
+import com.bank.BankingSystemApplication.domain.model.TransactionType;
 import com.bank.BankingSystemApplication.infrastructure.monitoring.BankingMetricsService;
 import com.bank.BankingSystemApplication.infrastructure.persistence.AccountRepository;
 import io.micrometer.core.instrument.Timer;
@@ -118,7 +120,9 @@ public class AccountService {
             logger.error("Erro ao criar conta: {}", e.getMessage(), e);
             throw e;
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
+            MDC.remove("cpf");
         }
     }
     
@@ -143,7 +147,7 @@ public class AccountService {
         Timer.Sample sample = metricsService.startTransactionTimer();
         
         try {
-            logger.info("Iniciando operação de crédito para conta: {} no valor: {}", 
+            logger.debug("Iniciando operação de crédito para conta: {} no valor: {}", 
                        request.getAccountId(), request.getAmount());
             
             Account account = accountRepository.findByIdForUpdate(request.getAccountId())
@@ -160,13 +164,13 @@ public class AccountService {
             
             // Auditoria
             auditService.auditTransaction("CREDIT", request.getAccountId(), request.getAmount(), 
-                                        true, String.format("Saldo anterior: %s, Novo saldo: %s", 
-                                        previousBalance, account.getBalance()), correlationId);
+                                        previousBalance, account.getBalance(), correlationId);
             
-            logger.info("Crédito efetuado com sucesso. Conta: {}, Novo saldo: {}", 
+            logger.debug("Crédito efetuado com sucesso. Conta: {}, Novo saldo: {}", 
                        request.getAccountId(), account.getBalance());
             
-            return new TransactionResponse(Status.EFETUADO, "Crédito efetuado com sucesso");
+            return new TransactionResponse(Status.EFETUADO, "Crédito efetuado com sucesso")
+                    .withTransactionId(EventIds.transaction(account.getId(), resultingVersion(account), TransactionType.CREDIT));
             
         } catch (Exception e) {
             metricsService.incrementTransactionFailure();
@@ -177,9 +181,13 @@ public class AccountService {
             
             logger.error("Erro ao processar crédito: {}", e.getMessage(), e);
             
-            return new TransactionResponse(Status.RECUSADO, e.getMessage());
+            return new TransactionResponse(Status.RECUSADO, e.getMessage())
+                    .withTransactionId(EventIds.rejected(request.getAccountId(), TransactionType.CREDIT, correlationId));
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
+            MDC.remove("accountId");
+            MDC.remove("amount");
         }
     }
     
@@ -204,7 +212,7 @@ public class AccountService {
         Timer.Sample sample = metricsService.startTransactionTimer();
         
         try {
-            logger.info("Iniciando operação de débito para conta: {} no valor: {}", 
+            logger.debug("Iniciando operação de débito para conta: {} no valor: {}", 
                        request.getAccountId(), request.getAmount());
             
             Account account = accountRepository.findByIdForUpdate(request.getAccountId())
@@ -223,7 +231,8 @@ public class AccountService {
                 logger.warn("Débito recusado por saldo insuficiente. Conta: {}, Saldo atual: {}, Valor solicitado: {}", 
                            request.getAccountId(), previousBalance, request.getAmount());
                 
-                return new TransactionResponse(Status.RECUSADO, "Saldo insuficiente");
+                return new TransactionResponse(Status.RECUSADO, "Saldo insuficiente")
+                        .withTransactionId(EventIds.rejected(request.getAccountId(), TransactionType.DEBIT, correlationId));
             }
             
             account.setBalance(newBalance);
@@ -236,13 +245,13 @@ public class AccountService {
             
             // Auditoria
             auditService.auditTransaction("DEBIT", request.getAccountId(), request.getAmount(), 
-                                        true, String.format("Saldo anterior: %s, Novo saldo: %s", 
-                                        previousBalance, newBalance), correlationId);
+                                        previousBalance, newBalance, correlationId);
             
-            logger.info("Débito efetuado com sucesso. Conta: {}, Novo saldo: {}", 
+            logger.debug("Débito efetuado com sucesso. Conta: {}, Novo saldo: {}", 
                        request.getAccountId(), newBalance);
             
-            return new TransactionResponse(Status.EFETUADO, "Débito efetuado com sucesso");
+            return new TransactionResponse(Status.EFETUADO, "Débito efetuado com sucesso")
+                    .withTransactionId(EventIds.transaction(account.getId(), resultingVersion(account), TransactionType.DEBIT));
             
         } catch (Exception e) {
             metricsService.incrementTransactionFailure();
@@ -253,12 +262,24 @@ public class AccountService {
             
             logger.error("Erro ao processar débito: {}", e.getMessage(), e);
             
-            return new TransactionResponse(Status.RECUSADO, "Erro ao processar débito: " + e.getMessage());
+            return new TransactionResponse(Status.RECUSADO, "Erro ao processar débito: " + e.getMessage())
+                    .withTransactionId(EventIds.rejected(request.getAccountId(), TransactionType.DEBIT, correlationId));
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
+            MDC.remove("accountId");
+            MDC.remove("amount");
         }
     }
     
+    /**
+     * Versão que a conta terá após o commit: o @Version só é incrementado no
+     * flush, que acontece depois do retorno destes métodos.
+     */
+    private Long resultingVersion(Account account) {
+        return (account.getVersion() != null ? account.getVersion() : 0L) + 1;
+    }
+    
     /**
      * Valida se o titular tem idade mínima para abrir conta.
      * 
@@ -46,7 +46,7 @@ public class AsyncAccountService {
             Account account = accountService.createAccount(request);
             
             // Publicar eventos assíncronos
-            String eventId = UUID.randomUUID().toString();
+            String eventId = EventIds.accountCreated(account.getId());
             
             // Evento de auditoria
             TransactionEvent auditEvent = new TransactionEvent(
@@ -92,7 +92,8 @@ public class AsyncAccountService {
             logger.error("Erro ao criar conta de forma assíncrona: {}", e.getMessage(), e);
             throw e;
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
         }
     }
     
@@ -112,7 +113,7 @@ public class AsyncAccountService {
             TransactionResponse response = accountService.credit(request);
             
             // Publicar eventos assíncronos
-            String eventId = UUID.randomUUID().toString();
+            String eventId = eventIdFor(response, request, TransactionType.CREDIT, correlationId);
             
             TransactionEvent transactionEvent = new TransactionEvent(
                 eventId,
@@ -159,7 +160,9 @@ public class AsyncAccountService {
             logger.error("Erro ao processar crédito assíncrono: {}", e.getMessage(), e);
             throw e;
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
+            MDC.remove("accountId");
         }
     }
     
@@ -179,7 +182,7 @@ public class AsyncAccountService {
             TransactionResponse response = accountService.debit(request);
             
             // Publicar eventos assíncronos
-            String eventId = UUID.randomUUID().toString();
+            String eventId = eventIdFor(response, request, TransactionType.DEBIT, correlationId);
             
             TransactionEvent transactionEvent = new TransactionEvent(
                 eventId,
@@ -236,7 +239,21 @@ public class AsyncAccountService {
             logger.error("Erro ao processar débito assíncrono: {}", e.getMessage(), e);
             throw e;
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
+            MDC.remove("accountId");
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Id dos eventos de uma operação: o da transação informado pelo
+     * {@link AccountService}, para que uma nova publicação dos mesmos eventos
+     * seja reconhecida como duplicata; sem ele, o da própria operação.
+     */
+    private String eventIdFor(TransactionResponse response, TransactionRequest request,
+                              TransactionType type, String correlationId) {
+        return response.getTransactionId() != null
+                ? response.getTransactionId()
+                : EventIds.rejected(request.getAccountId(), type, correlationId);
+    }
+}
@@ -52,7 +52,7 @@ public class ResilientAccountService {
         
         logger.info("Tentando criar conta resiliente para CPF: {}", request.getCpf().substring(0, 3) + "***");
         
-        return CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<Account> future = CompletableFuture.supplyAsync(() -> {
             Timer.Sample sample = metricsService.startAccountCreationTimer();
             
             try {
@@ -79,10 +79,14 @@ public class ResilientAccountService {
                                                e.getMessage(), e.getStackTrace().toString(), correlationId);
                 logger.error("Erro na criação resiliente de conta: {}", e.getMessage());
                 throw e;
-            } finally {
-                MDC.clear();
             }
         });
+        
+        // O MDC é por thread: as chaves acima só existem na thread chamadora
+        MDC.remove("correlationId");
+        MDC.remove("operation");
+        MDC.remove("cpf");
+        return future;
     }
     
     /**
@@ -97,7 +101,7 @@ public class ResilientAccountService {
         MDC.put("operation", "creditResilient");
         MDC.put("accountId", String.valueOf(request.getAccountId()));
         
-        logger.info("Executando operação de crédito resiliente para conta: {}", request.getAccountId());
+        logger.debug("Executando operação de crédito resiliente para conta: {}", request.getAccountId());
         
         Timer.Sample sample = metricsService.startTransactionTimer();
         
@@ -116,7 +120,7 @@ public class ResilientAccountService {
             auditService.auditCircuitBreakerEvent("banking-service", "SUCCESS", 
                                                  "creditResilient", "Crédito executado com sucesso");
             
-            logger.info("Operação de crédito resiliente executada com sucesso");
+            logger.debug("Operação de crédito resiliente executada com sucesso");
             return response;
             
         } catch (Exception e) {
@@ -126,7 +130,9 @@ public class ResilientAccountService {
             logger.error("Erro na operação de crédito resiliente: {}", e.getMessage());
             throw e;
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
+            MDC.remove("accountId");
         }
     }
     
@@ -142,7 +148,7 @@ public class ResilientAccountService {
         MDC.put("operation", "debitResilient");
         MDC.put("accountId", String.valueOf(request.getAccountId()));
         
-        logger.info("Executando operação de débito resiliente para conta: {}", request.getAccountId());
+        logger.debug("Executando operação de débito resiliente para conta: {}", request.getAccountId());
         
         Timer.Sample sample = metricsService.startTransactionTimer();
         
@@ -161,7 +167,7 @@ public class ResilientAccountService {
             auditService.auditCircuitBreakerEvent("banking-service", "SUCCESS", 
                                                  "debitResilient", "Débito executado com sucesso");
             
-            logger.info("Operação de débito resiliente executada com sucesso");
+            logger.debug("Operação de débito resiliente executada com sucesso");
             return response;
             
         } catch (Exception e) {
@@ -171,7 +177,9 @@ public class ResilientAccountService {
             logger.error("Erro na operação de débito resiliente: {}", e.getMessage());
             throw e;
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
+            MDC.remove("accountId");
         }
     }
     
@@ -0,0 +1,119 @@
+package com.bank.BankingSystemApplication.application.service.kafka;
+
+import com.bank.BankingSystemApplication.application.config.KafkaConfig;
+import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import com.bank.BankingSystemApplication.infrastructure.audit.KafkaAuditSink;
+import com.bank.BankingSystemApplication.infrastructure.persistence.AuditEventRepository;
+import com.bank.BankingSystemApplication.infrastructure.persistence.AuditEventRepository.AuditEventRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumidor em lote do tópico banking-audit.
+ *
+ * Cada poll é convertido em linhas e gravado com um único JDBC batch,
+ * de modo que a persistência da auditoria escala pelo número de
+ * consumidores do grupo e não pelos nós da API. O tópico recebe dois
+ * formatos: registros do {@link KafkaAuditSink} (audit_id em header) e
+ * TransactionEvents publicados pelo AsyncAccountService.
+ *
+ * A idempotência vem da chave primária audit_id, dispensando o
+ * deduplicador por grupo usado nos demais listeners. Eventos sem eventId
+ * usam a posição no tópico (tópico, partição e offset) como audit_id, que
+ * é igualmente estável entre reentregas.
+ */
+@Service
+public class AuditEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventConsumer.class);
+
+    static final String TRANSACTION_EVENT_TYPE = "TRANSACTION_EVENT";
+
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+
+    @Autowired
+    private TransactionEventConsumer transactionEventConsumer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @KafkaListener(topics = KafkaConfig.AUDIT_TOPIC, groupId = TransactionEventConsumer.AUDIT_GROUP, batch = "true",
+            properties = {
+                    "spring.deserializer.value.delegate.class=org.apache.kafka.common.serialization.StringDeserializer",
+                    "max.poll.records=${audit.consumer.max-poll-records:500}"
+            })
+    public void onAuditBatch(List<ConsumerRecord<String, String>> records) {
+        List<AuditEventRow> rows = toRows(records);
+        if (rows.isEmpty()) {
+            return;
+        }
+        int inserted = auditEventRepository.saveAll(rows);
+        logger.debug("Lote de auditoria persistido: {} registros, {} novos", rows.size(), inserted);
+    }
+
+    /**
+     * Converte o lote em linhas, descartando registros ilegíveis sem
+     * interromper o restante do lote.
+     */
+    public List<AuditEventRow> toRows(List<ConsumerRecord<String, String>> records) {
+        List<AuditEventRow> rows = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            if (record.value() == null) {
+                continue;
+            }
+            try {
+                AuditEventRow row = header(record, KafkaAuditSink.HEADER_AUDIT_ID) != null
+                        ? fromAuditRecord(record)
+                        : fromTransactionEvent(record);
+                if (row != null) {
+                    rows.add(row);
+                }
+            } catch (Exception e) {
+                logger.warn("Registro de auditoria ignorado (partição {}, offset {}): {}",
+                           record.partition(), record.offset(), e.getMessage());
+            }
+        }
+        return rows;
+    }
+
+    private AuditEventRow fromAuditRecord(ConsumerRecord<String, String> record) {
+        Long accountId = record.key() != null ? Long.valueOf(record.key()) : null;
+        return new AuditEventRow(header(record, KafkaAuditSink.HEADER_AUDIT_ID),
+                header(record, KafkaAuditSink.HEADER_AUDIT_TYPE), accountId,
+                header(record, KafkaAuditSink.HEADER_CORRELATION_ID), record.timestamp(),
+                record.value(), record.partition(), record.offset());
+    }
+
+    private AuditEventRow fromTransactionEvent(ConsumerRecord<String, String> record) throws Exception {
+        TransactionEvent event = objectMapper.readValue(record.value(), TransactionEvent.class);
+        if (!transactionEventConsumer.handleAuditEvent(event)) {
+            return null;
+        }
+        return new AuditEventRow(auditIdFor(event, record), TRANSACTION_EVENT_TYPE, event.getAccountId(),
+                null, record.timestamp(), record.value(), record.partition(), record.offset());
+    }
+
+    static String auditIdFor(TransactionEvent event, ConsumerRecord<String, String> record) {
+        if (event.getEventId() == null || event.getEventId().isBlank()) {
+            // Sem eventId, todos colidiriam em "event-null" e o ON CONFLICT descartaria os seguintes
+            return "offset-" + record.topic() + "-" + record.partition() + "-" + record.offset();
+        }
+        return "event-" + event.getEventId();
+    }
+
+    private static String header(ConsumerRecord<String, String> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
@@ -0,0 +1,186 @@
+package com.bank.BankingSystemApplication.application.service.kafka;
+
+import com.bank.BankingSystemApplication.application.config.KafkaConfig;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reprocessa em lote os registros parados nos dead-letter topics dos workers.
+ *
+ * Cada registro do DLT é republicado no tópico principal de origem e o
+ * offset é confirmado no grupo de replay, de modo que chamadas sucessivas
+ * continuam de onde a anterior parou e nada é reenviado duas vezes.
+ * Registros que não puderam ser desserializados permanecem no DLT.
+ */
+@Service
+public class DeadLetterReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterReplayService.class);
+
+    static final String REPLAY_GROUP = "banking-dlt-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
+    /** Tópicos principais cujos DLTs podem ser reprocessados */
+    public static final List<String> REPLAYABLE_TOPICS = List.of(
+            KafkaConfig.ACCOUNT_CREATE_TOPIC,
+            KafkaConfig.TRANSACTION_CREDIT_TOPIC,
+            KafkaConfig.TRANSACTION_DEBIT_TOPIC
+    );
+
+    @Autowired
+    private ObjectProvider<ConsumerFactory<Object, Object>> consumerFactoryProvider;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    /**
+     * Republica até {@code limit} registros do DLT de cada tópico informado.
+     *
+     * @param topics tópicos principais (vazio para todos os reprocessáveis)
+     * @param limit  máximo de registros por tópico
+     * @return resumo por tópico
+     */
+    public Map<String, ReplayResult> replay(List<String> topics, int limit) {
+        ConsumerFactory<Object, Object> consumerFactory = consumerFactoryProvider.getIfAvailable();
+        if (consumerFactory == null) {
+            throw new IllegalStateException("Kafka consumer não configurado");
+        }
+
+        List<String> targets = topics == null || topics.isEmpty() ? REPLAYABLE_TOPICS : topics;
+        Map<String, ReplayResult> results = new LinkedHashMap<>();
+        for (String topic : targets) {
+            if (!REPLAYABLE_TOPICS.contains(topic)) {
+                throw new IllegalArgumentException("Tópico não reprocessável: " + topic);
+            }
+            results.put(topic, replayTopic(consumerFactory, topic, limit));
+        }
+        return results;
+    }
+
+    private ReplayResult replayTopic(ConsumerFactory<Object, Object> consumerFactory, String topic, int limit) {
+        String dltTopic = topic + KafkaConfig.DLT_TOPIC_SUFFIX;
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(Math.min(limit, 500)));
+
+        int replayed = 0;
+        int skipped = 0;
+
+        try (Consumer<Object, Object> consumer = consumerFactory.createConsumer(REPLAY_GROUP, null, "-" + topic, overrides)) {
+            List<TopicPartition> partitions = new ArrayList<>();
+            List<PartitionInfo> infos = consumer.partitionsFor(dltTopic);
+            if (infos == null || infos.isEmpty()) {
+                return new ReplayResult(dltTopic, 0, 0, 0);
+            }
+            for (PartitionInfo info : infos) {
+                partitions.add(new TopicPartition(dltTopic, info.partition()));
+            }
+            consumer.assign(partitions);
+
+            // Limita o replay ao que já estava no DLT no início da chamada
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+            for (TopicPartition partition : partitions) {
+                OffsetAndMetadata offset = committed.get(partition);
+                if (offset != null) {
+                    consumer.seek(partition, offset.offset());
+                } else {
+                    consumer.seekToBeginning(List.of(partition));
+                }
+            }
+
+            while (replayed + skipped < limit && !reachedEnd(consumer, endOffsets)) {
+                ConsumerRecords<Object, Object> records = consumer.poll(POLL_TIMEOUT);
+                Map<TopicPartition, OffsetAndMetadata> toCommit = new HashMap<>();
+                List<CompletableFuture<?>> sends = new ArrayList<>();
+
+                for (ConsumerRecord<Object, Object> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (replayed + skipped >= limit || record.offset() >= endOffsets.getOrDefault(partition, 0L)) {
+                        // Reposiciona para que o próximo replay comece exatamente aqui
+                        consumer.seek(partition, record.offset());
+                        continue;
+                    }
+                    if (record.value() == null) {
+                        skipped++;
+                    } else {
+                        String key = record.key() != null ? record.key().toString() : null;
+                        sends.add(kafkaTemplate.send(topic, key, record.value()));
+                        replayed++;
+                    }
+                    toCommit.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                }
+
+                CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0]))
+                        .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (!toCommit.isEmpty()) {
+                    consumer.commitSync(toCommit);
+                }
+            }
+
+            long remaining = 0;
+            for (TopicPartition partition : partitions) {
+                remaining += Math.max(0, endOffsets.getOrDefault(partition, 0L) - consumer.position(partition));
+            }
+
+            logger.info("DLT replay de {}: {} republicados, {} ignorados, {} restantes",
+                    dltTopic, replayed, skipped, remaining);
+            return new ReplayResult(dltTopic, replayed, skipped, remaining);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay interrompido para " + dltTopic, e);
+        } catch (Exception e) {
+            logger.error("Erro no replay do DLT {}: {}", dltTopic, e.getMessage(), e);
+            throw new IllegalStateException("Falha no replay do DLT " + dltTopic + ": " + e.getMessage(), e);
+        }
+    }
+
+    private boolean reachedEnd(Consumer<Object, Object> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> entry : endOffsets.entrySet()) {
+            if (consumer.position(entry.getKey()) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static class ReplayResult {
+        public final String deadLetterTopic;
+        public final int replayed;
+        public final int skipped;
+        public final long remaining;
+
+        public ReplayResult(String deadLetterTopic, int replayed, int skipped, long remaining) {
+            this.deadLetterTopic = deadLetterTopic;
+            this.replayed = replayed;
+            this.skipped = skipped;
+            this.remaining = remaining;
+        }
+    }
+}
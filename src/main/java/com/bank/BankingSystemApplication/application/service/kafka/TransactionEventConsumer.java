@@ -1,9 +1,12 @@
 package com.bank.BankingSystemApplication.application.service.kafka;
 
 import com.bank.BankingSystemApplication.application.config.KafkaConfig;
+import com.bank.BankingSystemApplication.application.service.kafka.dedup.EventDeduplicationService;
 import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
@@ -12,11 +15,32 @@ public class TransactionEventConsumer {
     
     private static final Logger logger = LoggerFactory.getLogger(TransactionEventConsumer.class);
     
-    @KafkaListener(topics = KafkaConfig.TRANSACTION_TOPIC, groupId = "banking-transaction-group")
-    public void handleTransactionEvent(TransactionEvent event) {
+    public static final String TRANSACTION_GROUP = "banking-transaction-group";
+    public static final String AUDIT_GROUP = "banking-audit-group";
+    
+    @Autowired
+    private EventDeduplicationService deduplicationService;
+    
+    @KafkaListener(topics = KafkaConfig.TRANSACTION_TOPIC, groupId = TRANSACTION_GROUP)
+    public void onTransactionEvent(ConsumerRecord<String, TransactionEvent> record) {
+        TransactionEvent event = record.value();
+        String eventId = event != null ? event.getEventId() : null;
+        
+        if (isDuplicate(TRANSACTION_GROUP, record, eventId)) {
+            return;
+        }
+        if (handleTransactionEvent(event)) {
+            markProcessed(TRANSACTION_GROUP, record, eventId);
+        }
+    }
+    
+    /**
+     * @return true se o evento foi processado com sucesso
+     */
+    public boolean handleTransactionEvent(TransactionEvent event) {
         if (event == null) {
             logger.warn("Evento de transação nulo recebido, ignorando");
-            return;
+            return false;
         }
         
         try {
@@ -30,18 +54,22 @@ public class TransactionEventConsumer {
             // - Análise de fraude
             
             logger.info("Evento de transação processado com sucesso: {}", event.getEventId());
+            return true;
             
         } catch (Exception e) {
             logger.error("Erro ao processar evento de transação {}: {}", 
                         event.getEventId(), e.getMessage(), e);
+            return false;
         }
     }
     
-    @KafkaListener(topics = KafkaConfig.AUDIT_TOPIC, groupId = "banking-audit-group")
-    public void handleAuditEvent(TransactionEvent event) {
+    /**
+     * @return true se a auditoria foi registrada com sucesso
+     */
+    public boolean handleAuditEvent(TransactionEvent event) {
         if (event == null) {
             logger.warn("Evento de auditoria nulo recebido, ignorando");
-            return;
+            return false;
         }
         
         try {
@@ -54,10 +82,27 @@ public class TransactionEventConsumer {
             // - Compliance e relatórios
             
             logger.info("Auditoria registrada para evento: {}", event.getEventId());
+            return true;
             
         } catch (Exception e) {
             logger.error("Erro ao processar auditoria do evento {}: {}", 
                         event.getEventId(), e.getMessage(), e);
+            return false;
+        }
+    }
+    
+    private boolean isDuplicate(String group, ConsumerRecord<String, TransactionEvent> record, String eventId) {
+        if (deduplicationService == null || !deduplicationService.isDuplicate(group, record, eventId)) {
+            return false;
+        }
+        logger.debug("Evento duplicado ignorado pelo grupo {}: {} (partição {}, offset {})", 
+                    group, eventId, record.partition(), record.offset());
+        return true;
+    }
+    
+    private void markProcessed(String group, ConsumerRecord<String, TransactionEvent> record, String eventId) {
+        if (deduplicationService != null) {
+            deduplicationService.markProcessed(group, record, eventId);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.bank.BankingSystemApplication.application.service.kafka.dedup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conjunto exato de ids com capacidade limitada; ao exceder a capacidade o
+ * id acessado há mais tempo é descartado. Não é thread-safe.
+ */
+public class BoundedLruSet {
+
+    private final int capacity;
+    private final LinkedHashMap<String, Boolean> entries;
+
+    public BoundedLruSet(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1 << 16), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > BoundedLruSet.this.capacity;
+            }
+        };
+    }
+
+    public void add(String id) {
+        entries.put(id, Boolean.TRUE);
+    }
+
+    public boolean contains(String id) {
+        return entries.get(id) != null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Ids do menos para o mais recentemente usado */
+    public List<String> snapshot() {
+        return new ArrayList<>(entries.keySet());
+    }
+}
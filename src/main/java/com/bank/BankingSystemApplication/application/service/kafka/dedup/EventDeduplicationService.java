@@ -0,0 +1,164 @@
+package com.bank.BankingSystemApplication.application.service.kafka.dedup;
+
+import com.bank.BankingSystemApplication.infrastructure.monitoring.MeterHandleCache;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.MeterHandleCache.MeterFamily;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém um {@link EventDeduplicator} por grupo de consumo e persiste
+ * periodicamente seus checkpoints em disco, para que a deduplicação
+ * sobreviva a reinícios sem consultar o banco a cada registro.
+ */
+@Service
+public class EventDeduplicationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventDeduplicationService.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EventDeduplicator> deduplicators = new ConcurrentHashMap<>();
+    private final MeterFamily<Counter> duplicateCounters;
+
+    @Value("${kafka.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${kafka.dedup.lru-capacity:100000}")
+    private int lruCapacity;
+
+    @Value("${kafka.dedup.bloom.buckets:6}")
+    private int bloomBuckets;
+
+    @Value("${kafka.dedup.bloom.bucket-minutes:10}")
+    private long bloomBucketMinutes;
+
+    @Value("${kafka.dedup.bloom.expected-per-bucket:200000}")
+    private int bloomExpectedPerBucket;
+
+    @Value("${kafka.dedup.bloom.false-positive-rate:0.01}")
+    private double bloomFalsePositiveRate;
+
+    @Value("${kafka.dedup.checkpoint.directory:./checkpoints/dedup}")
+    private String checkpointDirectory;
+
+    @Value("${kafka.dedup.checkpoint.interval-ms:10000}")
+    private long checkpointIntervalMs;
+
+    private ScheduledExecutorService checkpointScheduler;
+
+    public EventDeduplicationService(MeterRegistry meterRegistry, MeterHandleCache meterHandleCache) {
+        this.meterRegistry = meterRegistry;
+        this.duplicateCounters = meterHandleCache.counters("banking.kafka.dedup.duplicates",
+                "Registros descartados como duplicados", "group", "reason");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || checkpointIntervalMs <= 0) {
+            return;
+        }
+        checkpointScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dedup-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkpointScheduler.scheduleWithFixedDelay(this::checkpointAll,
+                checkpointIntervalMs, checkpointIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (checkpointScheduler != null) {
+            checkpointScheduler.shutdownNow();
+        }
+        checkpointAll();
+    }
+
+    /**
+     * Indica se o registro já foi processado pelo grupo.
+     */
+    public boolean isDuplicate(String group, ConsumerRecord<?, ?> record, String eventId) {
+        if (!enabled) {
+            return false;
+        }
+        EventDeduplicator.Result result = deduplicator(group)
+                .check(eventId, record.topic(), record.partition(), record.offset(), System.currentTimeMillis());
+        if (result == EventDeduplicator.Result.NEW) {
+            return false;
+        }
+        duplicateCounters.get(group, result == EventDeduplicator.Result.DUPLICATE_ID ? "event-id" : "offset")
+                .increment();
+        return true;
+    }
+
+    /**
+     * Registra o processamento bem-sucedido; deve ser chamado só após o
+     * efeito do evento, para que uma falha permita o reprocessamento.
+     */
+    public void markProcessed(String group, ConsumerRecord<?, ?> record, String eventId) {
+        if (!enabled) {
+            return;
+        }
+        deduplicator(group).markProcessed(eventId, record.topic(), record.partition(), record.offset(),
+                System.currentTimeMillis());
+    }
+
+    void checkpointAll() {
+        deduplicators.forEach((group, deduplicator) -> {
+            try {
+                deduplicator.writeCheckpoint(checkpointFile(group));
+            } catch (IOException e) {
+                logger.warn("Falha ao gravar checkpoint de deduplicação do grupo {}: {}", group, e.getMessage());
+            }
+        });
+    }
+
+    private EventDeduplicator deduplicator(String group) {
+        return deduplicators.computeIfAbsent(group, this::createDeduplicator);
+    }
+
+    private EventDeduplicator createDeduplicator(String group) {
+        EventDeduplicator deduplicator = new EventDeduplicator(
+                new TimeBucketedBloomFilter(bloomBuckets, TimeUnit.MINUTES.toMillis(bloomBucketMinutes),
+                        bloomExpectedPerBucket, bloomFalsePositiveRate),
+                new BoundedLruSet(lruCapacity));
+
+        Path checkpoint = checkpointFile(group);
+        if (Files.exists(checkpoint)) {
+            try {
+                deduplicator.loadCheckpoint(checkpoint, System.currentTimeMillis());
+                logger.info("Checkpoint de deduplicação restaurado para o grupo {}: {} ids, offsets {}",
+                        group, deduplicator.trackedIds(), deduplicator.processedOffsets());
+            } catch (IOException e) {
+                logger.warn("Checkpoint de deduplicação ignorado para o grupo {}: {}", group, e.getMessage());
+            }
+        }
+
+        Gauge.builder("banking.kafka.dedup.tracked.ids", deduplicator, EventDeduplicator::trackedIds)
+                .description("Ids mantidos no conjunto exato de deduplicação")
+                .tag("group", group)
+                .register(meterRegistry);
+        return deduplicator;
+    }
+
+    private Path checkpointFile(String group) {
+        return Paths.get(checkpointDirectory, group + ".dedup.gz");
+    }
+}
@@ -0,0 +1,137 @@
+package com.bank.BankingSystemApplication.application.service.kafka.dedup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Deduplicação de eventos de um grupo de consumo.
+ *
+ * Ordem das verificações, todas O(1) e em memória:
+ * 1. Bloom filter por baldes de tempo: se o id certamente não foi visto,
+ *    o evento é novo (caminho comum)
+ * 2. Conjunto LRU exato: confirma duplicatas recentes, como as geradas por
+ *    retry do produtor (mesmo id, offsets diferentes)
+ * 3. Checkpoint de offsets processados: cobre ids já descartados do LRU
+ *    quando o registro é uma reentrega (rebalance antes do commit)
+ *
+ * Um "talvez" do bloom sem confirmação no LRU nem no offset é tratado como
+ * falso positivo e o evento é processado.
+ */
+public class EventDeduplicator {
+
+    public enum Result { NEW, DUPLICATE_ID, DUPLICATE_OFFSET }
+
+    private static final int MAGIC = 0x44445550; // "DDUP"
+    private static final int FORMAT_VERSION = 1;
+
+    private final TimeBucketedBloomFilter bloomFilter;
+    private final BoundedLruSet recentIds;
+    private final Map<String, Long> processedOffsets = new HashMap<>();
+
+    public EventDeduplicator(TimeBucketedBloomFilter bloomFilter, BoundedLruSet recentIds) {
+        this.bloomFilter = bloomFilter;
+        this.recentIds = recentIds;
+    }
+
+    public synchronized Result check(String eventId, String topic, int partition, long offset, long nowMillis) {
+        if (eventId == null || !bloomFilter.mightContain(eventId, nowMillis)) {
+            return Result.NEW;
+        }
+        if (recentIds.contains(eventId)) {
+            return Result.DUPLICATE_ID;
+        }
+        Long processed = processedOffsets.get(key(topic, partition));
+        if (processed != null && offset >= 0 && offset <= processed) {
+            return Result.DUPLICATE_OFFSET;
+        }
+        return Result.NEW;
+    }
+
+    public synchronized void markProcessed(String eventId, String topic, int partition, long offset, long nowMillis) {
+        if (eventId != null) {
+            bloomFilter.put(eventId, nowMillis);
+            recentIds.add(eventId);
+        }
+        if (offset >= 0) {
+            processedOffsets.merge(key(topic, partition), offset, Math::max);
+        }
+    }
+
+    public synchronized int trackedIds() {
+        return recentIds.size();
+    }
+
+    public synchronized Map<String, Long> processedOffsets() {
+        return new HashMap<>(processedOffsets);
+    }
+
+    /**
+     * Grava offsets processados e ids recentes; escrita atômica via arquivo temporário.
+     */
+    public void writeCheckpoint(Path file) throws IOException {
+        Map<String, Long> offsets;
+        List<String> ids;
+        synchronized (this) {
+            offsets = new HashMap<>(processedOffsets);
+            ids = recentIds.snapshot();
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(offsets.size());
+            for (Map.Entry<String, Long> entry : offsets.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+            out.writeInt(ids.size());
+            for (String id : ids) {
+                out.writeUTF(id);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Restaura um checkpoint; os ids voltam ao LRU na ordem original e ao
+     * balde atual do bloom filter.
+     */
+    public void loadCheckpoint(Path file, long nowMillis) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Checkpoint de deduplicação inválido: " + file);
+            }
+            synchronized (this) {
+                int offsets = in.readInt();
+                for (int i = 0; i < offsets; i++) {
+                    processedOffsets.merge(in.readUTF(), in.readLong(), Math::max);
+                }
+                int ids = in.readInt();
+                for (int i = 0; i < ids; i++) {
+                    String id = in.readUTF();
+                    bloomFilter.put(id, nowMillis);
+                    recentIds.add(id);
+                }
+            }
+        }
+    }
+
+    private static String key(String topic, int partition) {
+        return topic + "-" + partition;
+    }
+}
@@ -0,0 +1,121 @@
+package com.bank.BankingSystemApplication.application.service.kafka.dedup;
+
+import java.util.Arrays;
+
+/**
+ * Bloom filter dividido em baldes de tempo.
+ *
+ * Inserções vão para o balde do período atual; consultas olham todos os
+ * baldes vivos. Ao entrar em um novo período o balde mais antigo é zerado
+ * e reaproveitado, então o filtro "esquece" ids mais velhos que
+ * {@code buckets * bucketMillis} sem que a taxa de falso positivo cresça
+ * indefinidamente.
+ */
+public class TimeBucketedBloomFilter {
+
+    private final long[][] bits;
+    private final long[] bucketEpochs;
+    private final long bucketMillis;
+    private final int bitCount;
+    private final int hashCount;
+
+    /**
+     * @param buckets           número de baldes mantidos
+     * @param bucketMillis      duração de cada balde
+     * @param expectedPerBucket inserções esperadas por balde
+     * @param falsePositiveRate taxa de falso positivo desejada por balde
+     */
+    public TimeBucketedBloomFilter(int buckets, long bucketMillis, int expectedPerBucket, double falsePositiveRate) {
+        if (buckets < 1 || bucketMillis < 1 || expectedPerBucket < 1
+                || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Parâmetros inválidos para o bloom filter");
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedPerBucket * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, optimalBits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedPerBucket * ln2));
+        this.bucketMillis = bucketMillis;
+        this.bits = new long[buckets][(bitCount + 63) >>> 6];
+        this.bucketEpochs = new long[buckets];
+        Arrays.fill(bucketEpochs, -1L);
+    }
+
+    public void put(String id, long nowMillis) {
+        long[] bucket = currentBucket(nowMillis);
+        long h1 = hash1(id);
+        long h2 = hash2(h1);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = index(h1, h2, i);
+            bucket[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(String id, long nowMillis) {
+        long currentEpoch = nowMillis / bucketMillis;
+        long oldestLive = currentEpoch - bits.length + 1;
+        long h1 = hash1(id);
+        long h2 = hash2(h1);
+
+        for (int b = 0; b < bits.length; b++) {
+            if (bucketEpochs[b] < oldestLive || bucketEpochs[b] > currentEpoch) {
+                continue;
+            }
+            long[] bucket = bits[b];
+            boolean all = true;
+            for (int i = 0; i < hashCount && all; i++) {
+                int bit = index(h1, h2, i);
+                all = (bucket[bit >>> 6] & (1L << bit)) != 0;
+            }
+            if (all) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private long[] currentBucket(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) Math.floorMod(epoch, (long) bits.length);
+        if (bucketEpochs[slot] != epoch) {
+            Arrays.fill(bits[slot], 0L);
+            bucketEpochs[slot] = epoch;
+        }
+        return bits[slot];
+    }
+
+    private int index(long h1, long h2, int i) {
+        long combined = h1 + i * h2;
+        return (int) ((combined & Long.MAX_VALUE) % bitCount);
+    }
+
+    /** FNV-1a 64 bits seguido do finalizador do MurmurHash3 */
+    private static long hash1(String id) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long hash2(long h1) {
+        return mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,94 @@
+package com.bank.BankingSystemApplication.application.service.replay;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resultado da comparação entre os saldos reconstruídos e a tabela accounts.
+ */
+public class BalanceDiffReport {
+
+    private final long accountsChecked;
+    private final long matched;
+    private final long mismatched;
+    private final long missingInReplay;
+    private final long missingInDatabase;
+    private final int chunks;
+    private final long durationMs;
+    private final List<Mismatch> samples;
+
+    public BalanceDiffReport(long accountsChecked, long matched, long mismatched, long missingInReplay,
+                             long missingInDatabase, int chunks, long durationMs, List<Mismatch> samples) {
+        this.accountsChecked = accountsChecked;
+        this.matched = matched;
+        this.mismatched = mismatched;
+        this.missingInReplay = missingInReplay;
+        this.missingInDatabase = missingInDatabase;
+        this.chunks = chunks;
+        this.durationMs = durationMs;
+        this.samples = samples;
+    }
+
+    public boolean isConsistent() {
+        return mismatched == 0 && missingInReplay == 0 && missingInDatabase == 0;
+    }
+
+    public long getAccountsChecked() {
+        return accountsChecked;
+    }
+
+    public long getMatched() {
+        return matched;
+    }
+
+    public long getMismatched() {
+        return mismatched;
+    }
+
+    public long getMissingInReplay() {
+        return missingInReplay;
+    }
+
+    public long getMissingInDatabase() {
+        return missingInDatabase;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public List<Mismatch> getSamples() {
+        return samples;
+    }
+
+    /**
+     * Divergência individual; saldo nulo indica ausência no respectivo lado.
+     */
+    public static class Mismatch {
+        private final long accountId;
+        private final BigDecimal databaseBalance;
+        private final BigDecimal replayedBalance;
+
+        public Mismatch(long accountId, BigDecimal databaseBalance, BigDecimal replayedBalance) {
+            this.accountId = accountId;
+            this.databaseBalance = databaseBalance;
+            this.replayedBalance = replayedBalance;
+        }
+
+        public long getAccountId() {
+            return accountId;
+        }
+
+        public BigDecimal getDatabaseBalance() {
+            return databaseBalance;
+        }
+
+        public BigDecimal getReplayedBalance() {
+            return replayedBalance;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.bank.BankingSystemApplication.application.service.replay;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Progresso de uma execução de replay, atualizado pela thread de replay e
+ * lido pelos endpoints de status.
+ */
+public class BalanceReplayJob {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String mode;
+    private final Instant startedAt = Instant.now();
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile long recordsRead;
+    private volatile long recordsSkipped;
+    private volatile long targetRecords;
+    private volatile int accounts;
+    private volatile int snapshotsWritten;
+    private volatile String lastSnapshot;
+    private volatile BalanceDiffReport diff;
+    private volatile String error;
+
+    public BalanceReplayJob(String mode) {
+        this.mode = mode;
+    }
+
+    void progress(long recordsRead, long recordsSkipped, int accounts) {
+        this.recordsRead = recordsRead;
+        this.recordsSkipped = recordsSkipped;
+        this.accounts = accounts;
+    }
+
+    void snapshotWritten(String file) {
+        this.snapshotsWritten++;
+        this.lastSnapshot = file;
+    }
+
+    void setTargetRecords(long targetRecords) {
+        this.targetRecords = targetRecords;
+    }
+
+    void setDiff(BalanceDiffReport diff) {
+        this.diff = diff;
+    }
+
+    void complete() {
+        this.finishedAt = Instant.now();
+        this.state = State.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = State.FAILED;
+    }
+
+    public boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    public double getEventsPerSecond() {
+        long elapsed = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+        return elapsed > 0 ? recordsRead * 1000.0 / elapsed : 0.0;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    public long getRecordsSkipped() {
+        return recordsSkipped;
+    }
+
+    public long getTargetRecords() {
+        return targetRecords;
+    }
+
+    public int getAccounts() {
+        return accounts;
+    }
+
+    public int getSnapshotsWritten() {
+        return snapshotsWritten;
+    }
+
+    public String getLastSnapshot() {
+        return lastSnapshot;
+    }
+
+    public BalanceDiffReport getDiff() {
+        return diff;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
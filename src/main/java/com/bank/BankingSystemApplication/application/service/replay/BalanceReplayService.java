@@ -0,0 +1,347 @@
+package com.bank.BankingSystemApplication.application.service.replay;
+
+import com.bank.BankingSystemApplication.application.config.KafkaConfig;
+import com.bank.BankingSystemApplication.infrastructure.persistence.AccountRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reconstrói os saldos das contas a partir do tópico de transações.
+ *
+ * O replay parte do início do tópico, do snapshot mais recente ou de
+ * offsets informados, e lê até os offsets finais capturados no início da
+ * execução. Os saldos ficam em um {@link LongLongHashMap} em centavos;
+ * snapshots comprimidos são gravados periodicamente e ao final, permitindo
+ * retomar de onde parou. Ao final os saldos podem ser comparados com a
+ * tabela accounts em faixas de id processadas em paralelo.
+ */
+@Service
+public class BalanceReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceReplayService.class);
+
+    private static final String REPLAY_GROUP = "banking-balance-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final int MAX_IDLE_POLLS = 30;
+    private static final int MAX_DIFF_SAMPLES = 100;
+
+    public enum Mode { BEGINNING, SNAPSHOT, OFFSETS }
+
+    @Autowired
+    private ObjectProvider<ConsumerFactory<Object, Object>> consumerFactoryProvider;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BalanceSnapshotStore snapshotStore;
+
+    @Value("${replay.snapshot.interval-events:1000000}")
+    private long snapshotIntervalEvents;
+
+    @Value("${replay.expected-accounts:1048576}")
+    private int expectedAccounts;
+
+    @Value("${replay.max-poll-records:5000}")
+    private int maxPollRecords;
+
+    @Value("${replay.diff.chunk-size:10000}")
+    private int diffChunkSize;
+
+    @Value("${replay.diff.parallelism:4}")
+    private int diffParallelism;
+
+    private final ExecutorService replayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "balance-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<BalanceReplayJob> currentJob = new AtomicReference<>();
+    private volatile BalanceSnapshot lastResult;
+
+    /**
+     * Inicia um replay em segundo plano.
+     *
+     * @param mode        ponto de partida
+     * @param fromOffsets offsets por partição (apenas para {@link Mode#OFFSETS})
+     * @param diff        se deve comparar com a tabela accounts ao final
+     * @throws IllegalStateException se já houver um replay em execução
+     */
+    public BalanceReplayJob start(Mode mode, Map<Integer, Long> fromOffsets, boolean diff) {
+        BalanceReplayJob job = new BalanceReplayJob(mode.name());
+        BalanceReplayJob previous = currentJob.get();
+        if (previous != null && previous.isRunning() || !currentJob.compareAndSet(previous, job)) {
+            throw new IllegalStateException("Já existe um replay de saldos em execução");
+        }
+
+        replayExecutor.submit(() -> {
+            try {
+                BalanceSnapshot result = replay(job, mode, fromOffsets);
+                lastResult = result;
+                if (diff) {
+                    job.setDiff(diff(result));
+                }
+                job.complete();
+            } catch (Exception e) {
+                logger.error("Replay de saldos falhou: {}", e.getMessage(), e);
+                job.fail(e.getMessage());
+            }
+        });
+        return job;
+    }
+
+    public BalanceReplayJob getCurrentJob() {
+        return currentJob.get();
+    }
+
+    /**
+     * Compara o resultado do último replay (ou, na falta dele, o snapshot
+     * mais recente) com a tabela accounts.
+     */
+    public BalanceDiffReport diffLatest() {
+        BalanceSnapshot snapshot = lastResult;
+        if (snapshot == null) {
+            snapshot = snapshotStore.readLatest()
+                    .orElseThrow(() -> new IllegalStateException("Nenhum replay ou snapshot disponível"));
+        }
+        return diff(snapshot);
+    }
+
+    BalanceSnapshot replay(BalanceReplayJob job, Mode mode, Map<Integer, Long> fromOffsets) {
+        ConsumerFactory<Object, Object> consumerFactory = consumerFactoryProvider.getIfAvailable();
+        if (consumerFactory == null) {
+            throw new IllegalStateException("Kafka consumer não configurado");
+        }
+
+        String topic = KafkaConfig.TRANSACTION_TOPIC;
+        BalanceSnapshot state = mode == Mode.SNAPSHOT
+                ? snapshotStore.readLatest().orElseGet(() -> new BalanceSnapshot(topic, expectedAccounts))
+                : new BalanceSnapshot(topic, expectedAccounts);
+        Map<Integer, Long> startOffsets = mode == Mode.SNAPSHOT ? state.getOffsets()
+                : mode == Mode.OFFSETS && fromOffsets != null ? fromOffsets
+                : Collections.emptyMap();
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+
+        long startTime = System.currentTimeMillis();
+        long read = 0;
+        long skipped = 0;
+        long sinceSnapshot = 0;
+        TransactionEventDecoder decoder = new TransactionEventDecoder();
+
+        try (Consumer<byte[], byte[]> consumer = createConsumer(consumerFactory, overrides)) {
+            List<TopicPartition> partitions = new ArrayList<>();
+            List<PartitionInfo> infos = consumer.partitionsFor(topic);
+            if (infos != null) {
+                for (PartitionInfo info : infos) {
+                    partitions.add(new TopicPartition(topic, info.partition()));
+                }
+            }
+            consumer.assign(partitions);
+
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            long target = 0;
+            for (TopicPartition partition : partitions) {
+                Long start = startOffsets.get(partition.partition());
+                if (start != null) {
+                    consumer.seek(partition, start);
+                } else {
+                    consumer.seekToBeginning(List.of(partition));
+                }
+                target += Math.max(0, endOffsets.get(partition) - consumer.position(partition));
+            }
+            job.setTargetRecords(target);
+            logger.info("Replay de saldos ({}): {} registros a ler em {} partições", mode, target, partitions.size());
+
+            int idlePolls = 0;
+            while (!reachedEnd(consumer, endOffsets) && idlePolls < MAX_IDLE_POLLS) {
+                ConsumerRecords<byte[], byte[]> records = consumer.poll(POLL_TIMEOUT);
+                idlePolls = records.isEmpty() ? idlePolls + 1 : 0;
+
+                for (ConsumerRecord<byte[], byte[]> record : records) {
+                    if (record.offset() >= endOffsets.get(new TopicPartition(record.topic(), record.partition()))) {
+                        continue;
+                    }
+                    read++;
+                    if (record.value() == null || !decodeQuietly(decoder, record.value())) {
+                        skipped++;
+                        continue;
+                    }
+                    state.apply(decoder.accountId(), decoder.balanceCents(), decoder.accountVersion());
+                    sinceSnapshot++;
+                }
+
+                job.progress(read, skipped, state.accountCount());
+                if (sinceSnapshot >= snapshotIntervalEvents) {
+                    recordPositions(consumer, partitions, endOffsets, state);
+                    job.snapshotWritten(snapshotStore.write(state).getFileName().toString());
+                    sinceSnapshot = 0;
+                }
+            }
+
+            recordPositions(consumer, partitions, endOffsets, state);
+            job.snapshotWritten(snapshotStore.write(state).getFileName().toString());
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+        logger.info("Replay de saldos concluído: {} registros, {} ignorados, {} contas em {} ms ({} eventos/s)",
+                read, skipped, state.accountCount(), elapsed, read * 1000 / elapsed);
+        return state;
+    }
+
+    /**
+     * Compara os saldos reconstruídos com a tabela accounts, dividindo o
+     * intervalo de ids em faixas consultadas em paralelo. Contas sem
+     * eventos e com saldo zero não são consideradas divergentes.
+     */
+    BalanceDiffReport diff(BalanceSnapshot snapshot) {
+        long startTime = System.currentTimeMillis();
+        Long minId = accountRepository.findMinId();
+        Long maxId = accountRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return new BalanceDiffReport(0, 0, 0, 0, snapshot.accountCount(), 0,
+                    System.currentTimeMillis() - startTime, List.of());
+        }
+
+        AtomicLong checked = new AtomicLong();
+        AtomicLong matched = new AtomicLong();
+        AtomicLong mismatched = new AtomicLong();
+        AtomicLong missingInReplay = new AtomicLong();
+        AtomicLong foundInReplay = new AtomicLong();
+        AtomicInteger sampleCount = new AtomicInteger();
+        ConcurrentLinkedQueue<BalanceDiffReport.Mismatch> samples = new ConcurrentLinkedQueue<>();
+
+        long chunkSize = Math.max(1, diffChunkSize);
+        List<long[]> ranges = new ArrayList<>();
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            ranges.add(new long[]{from, Math.min(maxId, from + chunkSize - 1)});
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, diffParallelism), runnable -> {
+            Thread thread = new Thread(runnable, "balance-diff");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(ranges.size());
+            for (long[] range : ranges) {
+                futures.add(pool.submit(() -> {
+                    for (Object[] row : accountRepository.findBalancesInRange(range[0], range[1])) {
+                        long accountId = ((Number) row[0]).longValue();
+                        BigDecimal dbBalance = row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO;
+                        long dbCents = dbBalance.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+                        checked.incrementAndGet();
+
+                        boolean replayed = snapshot.contains(accountId);
+                        if (replayed) {
+                            foundInReplay.incrementAndGet();
+                        }
+                        long replayedCents = snapshot.balanceCents(accountId, 0L);
+                        if (replayedCents == dbCents) {
+                            matched.incrementAndGet();
+                            continue;
+                        }
+                        if (replayed) {
+                            mismatched.incrementAndGet();
+                        } else {
+                            missingInReplay.incrementAndGet();
+                        }
+                        if (sampleCount.incrementAndGet() <= MAX_DIFF_SAMPLES) {
+                            samples.add(new BalanceDiffReport.Mismatch(accountId, dbBalance, snapshot.balance(accountId)));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Comparação de saldos interrompida", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha na comparação de saldos: " + e.getMessage(), e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        BalanceDiffReport report = new BalanceDiffReport(checked.get(), matched.get(), mismatched.get(),
+                missingInReplay.get(), snapshot.accountCount() - foundInReplay.get(), ranges.size(),
+                System.currentTimeMillis() - startTime, new ArrayList<>(samples));
+        logger.info("Comparação de saldos: {} contas, {} divergentes, {} ausentes no replay, {} ausentes no banco",
+                report.getAccountsChecked(), report.getMismatched(), report.getMissingInReplay(),
+                report.getMissingInDatabase());
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<byte[], byte[]> createConsumer(ConsumerFactory<Object, Object> consumerFactory, Properties overrides) {
+        // Os deserializers são sobrescritos para byte[]; o cast reflete isso
+        Consumer<?, ?> consumer = consumerFactory.createConsumer(REPLAY_GROUP, null, null, overrides);
+        return (Consumer<byte[], byte[]>) consumer;
+    }
+
+    private boolean decodeQuietly(TransactionEventDecoder decoder, byte[] value) {
+        try {
+            return decoder.decode(value);
+        } catch (Exception e) {
+            logger.debug("Evento de transação ignorado no replay: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void recordPositions(Consumer<byte[], byte[]> consumer, List<TopicPartition> partitions,
+                                 Map<TopicPartition, Long> endOffsets, BalanceSnapshot state) {
+        for (TopicPartition partition : partitions) {
+            state.setOffset(partition.partition(), Math.min(consumer.position(partition), endOffsets.get(partition)));
+        }
+    }
+
+    private boolean reachedEnd(Consumer<byte[], byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> entry : endOffsets.entrySet()) {
+            if (consumer.position(entry.getKey()) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replayExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,113 @@
+package com.bank.BankingSystemApplication.application.service.replay;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estado reconstruído dos saldos em um ponto do tópico de transações.
+ *
+ * Saldos são guardados em centavos e acompanhados da versão da conta que
+ * os produziu; {@link #apply} só aceita eventos de versão igual ou maior,
+ * então a ordem entre partições não altera o resultado. Os offsets indicam
+ * o próximo registro a ler em cada partição para continuar o replay.
+ */
+public class BalanceSnapshot {
+
+    /** Versão usada para eventos antigos, publicados sem accountVersion */
+    static final long UNVERSIONED = -1L;
+
+    private final String topic;
+    private final Map<Integer, Long> offsets;
+    private final LongLongHashMap balances;
+    private final LongLongHashMap versions;
+    private final Instant createdAt;
+    private long eventsApplied;
+
+    public BalanceSnapshot(String topic, int expectedAccounts) {
+        this(topic, new TreeMap<>(), new LongLongHashMap(expectedAccounts),
+                new LongLongHashMap(expectedAccounts), Instant.now(), 0L);
+    }
+
+    BalanceSnapshot(String topic, Map<Integer, Long> offsets, LongLongHashMap balances,
+                    LongLongHashMap versions, Instant createdAt, long eventsApplied) {
+        this.topic = topic;
+        this.offsets = offsets;
+        this.balances = balances;
+        this.versions = versions;
+        this.createdAt = createdAt;
+        this.eventsApplied = eventsApplied;
+    }
+
+    /**
+     * Aplica o saldo resultante de um evento.
+     *
+     * @return true se o saldo foi aceito, false se o evento é mais antigo
+     */
+    public boolean apply(long accountId, long balanceCents, long accountVersion) {
+        eventsApplied++;
+        long current = versions.get(accountId, Long.MIN_VALUE);
+        if (accountVersion == UNVERSIONED) {
+            // Sem versão só resta confiar na ordem de leitura
+            balances.put(accountId, balanceCents);
+            if (current == Long.MIN_VALUE) {
+                versions.put(accountId, UNVERSIONED);
+            }
+            return true;
+        }
+        if (accountVersion < current) {
+            return false;
+        }
+        balances.put(accountId, balanceCents);
+        versions.put(accountId, accountVersion);
+        return true;
+    }
+
+    public void setOffset(int partition, long nextOffset) {
+        offsets.put(partition, nextOffset);
+    }
+
+    public long balanceCents(long accountId, long defaultValue) {
+        return balances.get(accountId, defaultValue);
+    }
+
+    public BigDecimal balance(long accountId) {
+        return balances.containsKey(accountId)
+                ? BigDecimal.valueOf(balances.get(accountId, 0L), 2)
+                : null;
+    }
+
+    public boolean contains(long accountId) {
+        return balances.containsKey(accountId);
+    }
+
+    public int accountCount() {
+        return balances.size();
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public Map<Integer, Long> getOffsets() {
+        return Collections.unmodifiableMap(offsets);
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getEventsApplied() {
+        return eventsApplied;
+    }
+
+    LongLongHashMap balances() {
+        return balances;
+    }
+
+    LongLongHashMap versions() {
+        return versions;
+    }
+}
@@ -0,0 +1,194 @@
+package com.bank.BankingSystemApplication.application.service.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persiste snapshots de saldos em arquivos locais comprimidos com GZIP.
+ *
+ * Formato binário (big-endian): cabeçalho com magic, versão do formato,
+ * data de criação, eventos aplicados, tópico e offsets por partição,
+ * seguido de triplas (conta, saldo em centavos, versão). O arquivo é
+ * escrito em um temporário e movido atomicamente, então um snapshot
+ * parcial nunca é lido. Apenas os mais recentes são mantidos.
+ */
+@Component
+public class BalanceSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotStore.class);
+
+    private static final int MAGIC = 0x42534E50; // "BSNP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String PREFIX = "balances-";
+    private static final String SUFFIX = ".snap.gz";
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS").withZone(ZoneOffset.UTC);
+
+    private final Path directory;
+    private final int retain;
+
+    @Autowired
+    public BalanceSnapshotStore(@Value("${replay.snapshot.directory:./snapshots}") String directory,
+                                @Value("${replay.snapshot.retain:3}") int retain) {
+        this(Paths.get(directory), retain);
+    }
+
+    public BalanceSnapshotStore(Path directory, int retain) {
+        this.directory = directory;
+        this.retain = Math.max(retain, 1);
+    }
+
+    /**
+     * Grava o snapshot e remove os excedentes.
+     *
+     * @return caminho do arquivo gravado
+     */
+    public Path write(BalanceSnapshot snapshot) {
+        try {
+            Files.createDirectories(directory);
+            String name = PREFIX + FILE_TIMESTAMP.format(Instant.now()) + "-" + snapshot.getEventsApplied() + SUFFIX;
+            Path target = directory.resolve(name);
+            Path temp = directory.resolve(name + ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(snapshot.getCreatedAt().toEpochMilli());
+                out.writeLong(snapshot.getEventsApplied());
+                out.writeUTF(snapshot.getTopic());
+                out.writeInt(snapshot.getOffsets().size());
+                for (Map.Entry<Integer, Long> entry : snapshot.getOffsets().entrySet()) {
+                    out.writeInt(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+
+                LongLongHashMap versions = snapshot.versions();
+                out.writeInt(snapshot.accountCount());
+                IOException[] failure = new IOException[1];
+                snapshot.balances().forEach((accountId, cents) -> {
+                    if (failure[0] != null) {
+                        return;
+                    }
+                    try {
+                        out.writeLong(accountId);
+                        out.writeLong(cents);
+                        out.writeLong(versions.get(accountId, BalanceSnapshot.UNVERSIONED));
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                });
+                if (failure[0] != null) {
+                    throw failure[0];
+                }
+            }
+
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            logger.info("Snapshot de saldos gravado: {} ({} contas, {} eventos)",
+                    target.getFileName(), snapshot.accountCount(), snapshot.getEventsApplied());
+
+            prune();
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar snapshot de saldos", e);
+        }
+    }
+
+    public BalanceSnapshot read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Arquivo não é um snapshot de saldos: " + file);
+            }
+            int format = in.readInt();
+            if (format != FORMAT_VERSION) {
+                throw new IOException("Versão de snapshot não suportada: " + format);
+            }
+            Instant createdAt = Instant.ofEpochMilli(in.readLong());
+            long eventsApplied = in.readLong();
+            String topic = in.readUTF();
+
+            Map<Integer, Long> offsets = new TreeMap<>();
+            int partitions = in.readInt();
+            for (int i = 0; i < partitions; i++) {
+                offsets.put(in.readInt(), in.readLong());
+            }
+
+            int accounts = in.readInt();
+            LongLongHashMap balances = new LongLongHashMap(accounts);
+            LongLongHashMap versions = new LongLongHashMap(accounts);
+            for (int i = 0; i < accounts; i++) {
+                long accountId = in.readLong();
+                balances.put(accountId, in.readLong());
+                versions.put(accountId, in.readLong());
+            }
+            return new BalanceSnapshot(topic, offsets, balances, versions, createdAt, eventsApplied);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler snapshot " + file, e);
+        }
+    }
+
+    public Optional<BalanceSnapshot> readLatest() {
+        return list().stream().findFirst().map(this::read);
+    }
+
+    /**
+     * Snapshots disponíveis, do mais recente para o mais antigo.
+     */
+    public List<Path> list() {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao listar snapshots em " + directory, e);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private void prune() throws IOException {
+        List<Path> snapshots = list();
+        for (int i = retain; i < snapshots.size(); i++) {
+            Files.deleteIfExists(snapshots.get(i));
+            logger.debug("Snapshot antigo removido: {}", snapshots.get(i).getFileName());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.BankingSystemApplication.application.service.replay;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Extrai de um TransactionEvent serializado apenas os campos usados no
+ * replay, com o parser de streaming do Jackson. Evita materializar o evento
+ * completo (datas, enums, mensagens) para cada um dos milhões de registros.
+ */
+class TransactionEventDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private long accountId;
+    private long balanceCents;
+    private long accountVersion;
+
+    /**
+     * @return true se o registro contém conta e saldo
+     */
+    boolean decode(byte[] json) throws IOException {
+        boolean hasAccount = false;
+        boolean hasBalance = false;
+        accountVersion = BalanceSnapshot.UNVERSIONED;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "accountId":
+                        accountId = parser.getValueAsLong();
+                        hasAccount = true;
+                        break;
+                    case "balance":
+                        BigDecimal balance = value == JsonToken.VALUE_STRING
+                                ? new BigDecimal(parser.getText())
+                                : parser.getDecimalValue();
+                        balanceCents = balance.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+                        hasBalance = true;
+                        break;
+                    case "accountVersion":
+                        accountVersion = parser.getValueAsLong();
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+        return hasAccount && hasBalance;
+    }
+
+    long accountId() {
+        return accountId;
+    }
+
+    long balanceCents() {
+        return balanceCents;
+    }
+
+    long accountVersion() {
+        return accountVersion;
+    }
+}
@@ -0,0 +1,101 @@
+package com.bank.BankingSystemApplication.application.streams;
+
+import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import com.bank.BankingSystemApplication.domain.model.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Agregado de movimentação de uma conta em uma janela de tempo.
+ *
+ * Valores em centavos para manter o registro compacto no state store e
+ * somar sem criar BigDecimal a cada evento.
+ */
+public class AccountActivity {
+
+    private long debitCents;
+    private long creditCents;
+    private long debitCount;
+    private long creditCount;
+
+    public AccountActivity() {}
+
+    public AccountActivity add(TransactionEvent event) {
+        long cents = toCents(event.getAmount());
+        if (event.getType() == TransactionType.DEBIT) {
+            debitCents += cents;
+            debitCount++;
+        } else if (event.getType() == TransactionType.CREDIT) {
+            creditCents += cents;
+            creditCount++;
+        }
+        return this;
+    }
+
+    public AccountActivity merge(AccountActivity other) {
+        debitCents += other.debitCents;
+        creditCents += other.creditCents;
+        debitCount += other.debitCount;
+        creditCount += other.creditCount;
+        return this;
+    }
+
+    @JsonIgnore
+    public BigDecimal getDebitTotal() {
+        return BigDecimal.valueOf(debitCents, 2);
+    }
+
+    @JsonIgnore
+    public BigDecimal getCreditTotal() {
+        return BigDecimal.valueOf(creditCents, 2);
+    }
+
+    /** Volume movimentado (débitos + créditos) */
+    @JsonIgnore
+    public BigDecimal getVolume() {
+        return BigDecimal.valueOf(debitCents + creditCents, 2);
+    }
+
+    @JsonIgnore
+    public long getTransactionCount() {
+        return debitCount + creditCount;
+    }
+
+    public long getDebitCents() {
+        return debitCents;
+    }
+
+    public void setDebitCents(long debitCents) {
+        this.debitCents = debitCents;
+    }
+
+    public long getCreditCents() {
+        return creditCents;
+    }
+
+    public void setCreditCents(long creditCents) {
+        this.creditCents = creditCents;
+    }
+
+    public long getDebitCount() {
+        return debitCount;
+    }
+
+    public void setDebitCount(long debitCount) {
+        this.debitCount = debitCount;
+    }
+
+    public long getCreditCount() {
+        return creditCount;
+    }
+
+    public void setCreditCount(long creditCount) {
+        this.creditCount = creditCount;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
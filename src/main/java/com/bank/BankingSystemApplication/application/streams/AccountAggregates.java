@@ -0,0 +1,98 @@
+package com.bank.BankingSystemApplication.application.streams;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Visão consolidada dos agregados de uma conta, retornada pela API de
+ * consulta interativa.
+ */
+public class AccountAggregates {
+
+    private final Long accountId;
+    private final LocalDate date;
+    private final BigDecimal dailyDebitTotal;
+    private final BigDecimal dailyCreditTotal;
+    private final long dailyDebitCount;
+    private final long dailyTransactionCount;
+    private final Window lastHour;
+    private final Window last24Hours;
+    private final Instant asOf;
+
+    public AccountAggregates(Long accountId, LocalDate date, AccountActivity daily,
+                             AccountActivity lastHour, AccountActivity last24Hours, Instant asOf) {
+        this.accountId = accountId;
+        this.date = date;
+        this.dailyDebitTotal = daily.getDebitTotal();
+        this.dailyCreditTotal = daily.getCreditTotal();
+        this.dailyDebitCount = daily.getDebitCount();
+        this.dailyTransactionCount = daily.getTransactionCount();
+        this.lastHour = new Window(lastHour);
+        this.last24Hours = new Window(last24Hours);
+        this.asOf = asOf;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public BigDecimal getDailyDebitTotal() {
+        return dailyDebitTotal;
+    }
+
+    public BigDecimal getDailyCreditTotal() {
+        return dailyCreditTotal;
+    }
+
+    public long getDailyDebitCount() {
+        return dailyDebitCount;
+    }
+
+    public long getDailyTransactionCount() {
+        return dailyTransactionCount;
+    }
+
+    public Window getLastHour() {
+        return lastHour;
+    }
+
+    public Window getLast24Hours() {
+        return last24Hours;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * Volume e contagem em uma janela móvel
+     */
+    public static class Window {
+        private final BigDecimal volume;
+        private final BigDecimal debitTotal;
+        private final long transactionCount;
+
+        Window(AccountActivity activity) {
+            this.volume = activity.getVolume();
+            this.debitTotal = activity.getDebitTotal();
+            this.transactionCount = activity.getTransactionCount();
+        }
+
+        public BigDecimal getVolume() {
+            return volume;
+        }
+
+        public BigDecimal getDebitTotal() {
+            return debitTotal;
+        }
+
+        public long getTransactionCount() {
+            return transactionCount;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bank.BankingSystemApplication.application.streams;
+
+import com.bank.BankingSystemApplication.application.config.KafkaConfig;
+import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Repartitioned;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.time.Duration;
+
+/**
+ * Topologia que agrega o tópico de transações por conta em dois state
+ * stores de janelas (RocksDB, com changelog no Kafka):
+ *
+ * - {@link #DAILY_STORE}: janelas diárias (UTC) com totais e contagens,
+ *   usadas para limites diários
+ * - {@link #MINUTE_STORE}: janelas de um minuto, somadas na consulta para
+ *   obter o volume das últimas 1h e 24h com resolução de minuto
+ *
+ * Apenas operações efetivadas entram nos agregados. O tempo de evento é o
+ * timestamp do registro no Kafka. Eventos republicados com o mesmo eventId
+ * são descartados antes da agregação ({@link #DEDUP_STORE}), desde que a
+ * cópia chegue até {@link #DEDUP_RETENTION} depois do original.
+ */
+public final class AccountAggregatesTopology {
+
+    public static final String DAILY_STORE = "account-daily-activity";
+    public static final String MINUTE_STORE = "account-minute-activity";
+    public static final String DEDUP_STORE = "transaction-event-ids";
+
+    static final Duration DAILY_WINDOW = Duration.ofDays(1);
+    static final Duration MINUTE_WINDOW = Duration.ofMinutes(1);
+    static final Duration DAILY_RETENTION = Duration.ofDays(8);
+    static final Duration MINUTE_RETENTION = Duration.ofHours(25);
+    // Cobre a janela diária e o volume das últimas 24h
+    static final Duration DEDUP_RETENTION = Duration.ofHours(25);
+
+    private AccountAggregatesTopology() {}
+
+    public static KStream<Long, TransactionEvent> build(StreamsBuilder builder, Duration grace) {
+        JsonSerde<TransactionEvent> eventSerde = new JsonSerde<>(TransactionEvent.class).ignoreTypeHeaders().noTypeInfo();
+        JsonSerde<AccountActivity> activitySerde = new JsonSerde<>(AccountActivity.class).ignoreTypeHeaders().noTypeInfo();
+
+        KStream<Long, TransactionEvent> byAccount = builder
+                .stream(KafkaConfig.TRANSACTION_TOPIC, Consumed.with(Serdes.String(), eventSerde))
+                .filter((key, event) -> event != null && event.isSuccess()
+                        && event.getAccountId() != null && event.getAmount() != null && event.getType() != null)
+                .selectKey((key, event) -> event.getAccountId())
+                // Mesmo tópico de repartição do antigo Grouped "by-account"
+                .repartition(Repartitioned.with(Serdes.Long(), eventSerde).withName("by-account"));
+
+        builder.addStateStore(Stores.windowStoreBuilder(
+                Stores.persistentWindowStore(DEDUP_STORE, DEDUP_RETENTION, DEDUP_RETENTION, false),
+                Serdes.String(), Serdes.Long()));
+        KStream<Long, TransactionEvent> deduplicated = byAccount.processValues(
+                () -> new EventIdDeduplicationProcessor(DEDUP_STORE, DEDUP_RETENTION), DEDUP_STORE);
+
+        KGroupedStream<Long, TransactionEvent> grouped =
+                deduplicated.groupByKey(Grouped.with(Serdes.Long(), eventSerde));
+
+        grouped.windowedBy(TimeWindows.ofSizeAndGrace(DAILY_WINDOW, grace))
+                .aggregate(AccountActivity::new,
+                        (accountId, event, activity) -> activity.add(event),
+                        Materialized.<Long, AccountActivity, WindowStore<Bytes, byte[]>>as(DAILY_STORE)
+                                .withKeySerde(Serdes.Long())
+                                .withValueSerde(activitySerde)
+                                .withRetention(DAILY_RETENTION.plus(grace)));
+
+        grouped.windowedBy(TimeWindows.ofSizeAndGrace(MINUTE_WINDOW, grace))
+                .aggregate(AccountActivity::new,
+                        (accountId, event, activity) -> activity.add(event),
+                        Materialized.<Long, AccountActivity, WindowStore<Bytes, byte[]>>as(MINUTE_STORE)
+                                .withKeySerde(Serdes.Long())
+                                .withValueSerde(activitySerde)
+                                .withRetention(MINUTE_RETENTION.plus(grace)));
+
+        return deduplicated;
+    }
+}
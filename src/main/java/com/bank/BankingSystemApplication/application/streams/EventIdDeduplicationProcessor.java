@@ -0,0 +1,56 @@
+package com.bank.BankingSystemApplication.application.streams;
+
+import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessor;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessorContext;
+import org.apache.kafka.streams.processor.api.FixedKeyRecord;
+import org.apache.kafka.streams.state.WindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+
+import java.time.Duration;
+
+/**
+ * Descarta TransactionEvents cujo eventId já passou pela topologia, antes
+ * que entrem nos agregados de janela.
+ *
+ * Os ids vistos ficam em um window store (RocksDB, com changelog) indexado
+ * pelo timestamp do registro. Uma republicação chega com outro timestamp,
+ * então a busca cobre {@code lookback} para os dois lados. Como o stream já
+ * está particionado por conta, as cópias de um evento chegam sempre à mesma
+ * task. Eventos sem eventId passam sem verificação.
+ */
+final class EventIdDeduplicationProcessor implements FixedKeyProcessor<Long, TransactionEvent, TransactionEvent> {
+
+    private final String storeName;
+    private final long lookbackMillis;
+    private FixedKeyProcessorContext<Long, TransactionEvent> context;
+    private WindowStore<String, Long> seen;
+
+    EventIdDeduplicationProcessor(String storeName, Duration lookback) {
+        this.storeName = storeName;
+        this.lookbackMillis = lookback.toMillis();
+    }
+
+    @Override
+    public void init(FixedKeyProcessorContext<Long, TransactionEvent> context) {
+        this.context = context;
+        this.seen = context.getStateStore(storeName);
+    }
+
+    @Override
+    public void process(FixedKeyRecord<Long, TransactionEvent> record) {
+        String eventId = record.value().getEventId();
+        if (eventId == null || eventId.isBlank()) {
+            context.forward(record);
+            return;
+        }
+        long timestamp = record.timestamp();
+        try (WindowStoreIterator<Long> previous = seen.fetch(eventId, timestamp - lookbackMillis, timestamp + lookbackMillis)) {
+            if (previous.hasNext()) {
+                return;
+            }
+        }
+        context.forward(record);
+        seen.put(eventId, timestamp, timestamp);
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.BankingSystemApplication.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Envelope tipado publicado quando uma mensagem esgota as tentativas de
+ * processamento assíncrono e chega ao dead-letter topic.
+ *
+ * Carrega o payload original junto com os metadados da exceção e a
+ * posição de origem no Kafka, permitindo diagnóstico e reprocessamento
+ * sem precisar interpretar mensagens em texto livre.
+ */
+public class DeadLetterEvent {
+
+    private String eventId;
+    private String originalTopic;
+    private Integer originalPartition;
+    private Long originalOffset;
+    private String originalKey;
+    private String payloadType;
+    private Object payload;
+    private String exceptionClass;
+    private String exceptionMessage;
+    private String stackTrace;
+    private int attempts;
+    private LocalDateTime deadLetteredAt;
+
+    public DeadLetterEvent() {}
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getOriginalTopic() {
+        return originalTopic;
+    }
+
+    public void setOriginalTopic(String originalTopic) {
+        this.originalTopic = originalTopic;
+    }
+
+    public Integer getOriginalPartition() {
+        return originalPartition;
+    }
+
+    public void setOriginalPartition(Integer originalPartition) {
+        this.originalPartition = originalPartition;
+    }
+
+    public Long getOriginalOffset() {
+        return originalOffset;
+    }
+
+    public void setOriginalOffset(Long originalOffset) {
+        this.originalOffset = originalOffset;
+    }
+
+    public String getOriginalKey() {
+        return originalKey;
+    }
+
+    public void setOriginalKey(String originalKey) {
+        this.originalKey = originalKey;
+    }
+
+    public String getPayloadType() {
+        return payloadType;
+    }
+
+    public void setPayloadType(String payloadType) {
+        this.payloadType = payloadType;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Object payload) {
+        this.payload = payload;
+    }
+
+    public String getExceptionClass() {
+        return exceptionClass;
+    }
+
+    public void setExceptionClass(String exceptionClass) {
+        this.exceptionClass = exceptionClass;
+    }
+
+    public String getExceptionMessage() {
+        return exceptionMessage;
+    }
+
+    public void setExceptionMessage(String exceptionMessage) {
+        this.exceptionMessage = exceptionMessage;
+    }
+
+    public String getStackTrace() {
+        return stackTrace;
+    }
+
+    public void setStackTrace(String stackTrace) {
+        this.stackTrace = stackTrace;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getDeadLetteredAt() {
+        return deadLetteredAt;
+    }
+
+    public void setDeadLetteredAt(LocalDateTime deadLetteredAt) {
+        this.deadLetteredAt = deadLetteredAt;
+    }
+}
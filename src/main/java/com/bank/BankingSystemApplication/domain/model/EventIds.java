@@ -0,0 +1,47 @@
+package com.bank.BankingSystemApplication.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Ids determinísticos de eventos, derivados da transação que os origina.
+ *
+ * A mesma mudança de estado gera sempre o mesmo id, inclusive quando o
+ * evento é publicado de novo, o que permite aos consumidores descartar
+ * duplicatas (filtro de Bloom, LRU e checkpoint de offsets).
+ */
+public final class EventIds {
+
+    private EventIds() {
+    }
+
+    /**
+     * Operação efetivada: a versão da conta após o commit identifica a
+     * mudança, já que é gravada sob o lock da linha.
+     */
+    public static String transaction(Long accountId, Long accountVersion, TransactionType type) {
+        return nameUuid("txn:" + accountId + ":" + accountVersion + ":" + type);
+    }
+
+    /**
+     * Operação recusada: não muda a versão da conta, então é identificada
+     * pelo id da própria operação.
+     */
+    public static String rejected(Long accountId, TransactionType type, String operationId) {
+        return nameUuid("rejected:" + accountId + ":" + type + ":" + operationId);
+    }
+
+    /** Criação de conta: o id da conta só é atribuído uma vez */
+    public static String accountCreated(Long accountId) {
+        return nameUuid("created:" + accountId);
+    }
+
+    /** Registro que esgotou as tentativas: posição original no tópico */
+    public static String deadLetter(String topic, Integer partition, Long offset) {
+        return nameUuid("dlt:" + topic + ":" + partition + ":" + offset);
+    }
+
+    private static String nameUuid(String source) {
+        return UUID.nameUUIDFromBytes(source.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
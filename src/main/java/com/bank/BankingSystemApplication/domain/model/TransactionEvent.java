@@ -14,6 +14,7 @@ public class TransactionEvent {
     private LocalDateTime timestamp;
     private boolean success;
     private BigDecimal balance;
+    private Long accountVersion;
     
     public TransactionEvent() {}
     
@@ -99,4 +100,12 @@ public class TransactionEvent {
     public void setBalance(BigDecimal balance) {
         this.balance = balance;
     }
+    
+    public Long getAccountVersion() {
+        return accountVersion;
+    }
+    
+    public void setAccountVersion(Long accountVersion) {
+        this.accountVersion = accountVersion;
+    }
 }
\ No newline at end of file
@@ -1,10 +1,16 @@
 package com.bank.BankingSystemApplication.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class TransactionResponse {
 
     private Status status;
     private String message;
     
+    /** Id da transação ({@link EventIds}), usado nos eventos que ela origina; fora do JSON */
+    @JsonIgnore
+    private String transactionId;
+    
     public TransactionResponse() {}
     
     public TransactionResponse(Status status, String message) {
@@ -27,4 +33,17 @@ public class TransactionResponse {
     public void setMessage(String message) {
         this.message = message;
     }
+    
+    public String getTransactionId() {
+        return transactionId;
+    }
+    
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+    
+    public TransactionResponse withTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+        return this;
+    }
 }
\ No newline at end of file
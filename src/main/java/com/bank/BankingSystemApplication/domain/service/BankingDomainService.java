@@ -12,6 +12,8 @@ import com.bank.BankingSystemApplication.domain.model.TransactionType;
 import com.bank.BankingSystemApplication.domain.model.NotificationEvent;
 import com.bank.BankingSystemApplication.domain.model.NotificationType;
 import com.bank.BankingSystemApplication.domain.model.Account;
+import com.bank.BankingSystemApplication.domain.model.EventIds;
+import com.bank.BankingSystemApplication.exception.BusinessException;
 import com.bank.BankingSystemApplication.infrastructure.audit.BankingAuditService;
 import com.bank.BankingSystemApplication.infrastructure.monitoring.BankingMetricsService;
 import com.bank.BankingSystemApplication.infrastructure.async.AsyncNotificationService;
@@ -22,6 +24,8 @@ import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -104,7 +108,8 @@ public class BankingDomainService implements BankingUseCase {
             logger.error("Domain: Error creating account: {}", e.getMessage(), e);
             throw e;
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
         }
     }
     
@@ -118,7 +123,7 @@ public class BankingDomainService implements BankingUseCase {
         Timer.Sample sample = metricsService.startTransactionTimer();
         
         try {
-            logger.info("Domain: Processing credit for account: {} amount: {}", 
+            logger.debug("Domain: Processing credit for account: {} amount: {}", 
                        request.getAccountId(), request.getAmount());
             
             Account account = persistencePort.findByIdForUpdate(request.getAccountId())
@@ -133,22 +138,29 @@ public class BankingDomainService implements BankingUseCase {
             metricsService.recordTransactionTime(sample);
             
             auditService.auditTransaction("CREDIT", request.getAccountId(), request.getAmount(), 
-                                        true, String.format("Balance: %s -> %s", 
-                                        previousBalance, account.getBalance()), correlationId);
+                                        previousBalance, account.getBalance(), correlationId);
             
-            publishTransactionEvent(request, account, TransactionType.CREDIT, true);
+            publishTransactionEvent(request, account, TransactionType.CREDIT, true, correlationId);
             
-            logger.info("Domain: Credit processed successfully");
+            logger.debug("Domain: Credit processed successfully");
             
             return new TransactionResponse(Status.EFETUADO, "Crédito efetuado com sucesso");
             
+        } catch (IllegalArgumentException | BusinessException e) {
+            metricsService.incrementTransactionFailure();
+            metricsService.recordTransactionTime(sample);
+            logger.warn("Domain: Credit rejected: {}", e.getMessage());
+            return new TransactionResponse(Status.RECUSADO, e.getMessage());
         } catch (Exception e) {
+            // Falhas de infraestrutura (timeout, lock, conexão) sobem para que o
+            // chamador decida: o worker assíncrono encaminha para os tópicos de retry
             metricsService.incrementTransactionFailure();
             metricsService.recordTransactionTime(sample);
             logger.error("Domain: Error processing credit: {}", e.getMessage(), e);
-            return new TransactionResponse(Status.RECUSADO, e.getMessage());
+            throw e;
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
         }
     }
     
@@ -162,7 +174,7 @@ public class BankingDomainService implements BankingUseCase {
         Timer.Sample sample = metricsService.startTransactionTimer();
         
         try {
-            logger.info("Domain: Processing debit for account: {} amount: {}", 
+            logger.debug("Domain: Processing debit for account: {} amount: {}", 
                        request.getAccountId(), request.getAmount());
             
             Account account = persistencePort.findByIdForUpdate(request.getAccountId())
@@ -178,7 +190,7 @@ public class BankingDomainService implements BankingUseCase {
                 auditService.auditTransaction("DEBIT", request.getAccountId(), request.getAmount(), 
                                             false, "Saldo insuficiente", correlationId);
                 
-                publishTransactionEvent(request, account, TransactionType.DEBIT, false);
+                publishTransactionEvent(request, account, TransactionType.DEBIT, false, correlationId);
                 
                 logger.warn("Domain: Insufficient balance for debit");
                 return new TransactionResponse(Status.RECUSADO, "Saldo insuficiente");
@@ -192,22 +204,27 @@ public class BankingDomainService implements BankingUseCase {
             metricsService.recordTransactionTime(sample);
             
             auditService.auditTransaction("DEBIT", request.getAccountId(), request.getAmount(), 
-                                        true, String.format("Balance: %s -> %s", 
-                                        previousBalance, newBalance), correlationId);
+                                        previousBalance, newBalance, correlationId);
             
-            publishTransactionEvent(request, account, TransactionType.DEBIT, true);
+            publishTransactionEvent(request, account, TransactionType.DEBIT, true, correlationId);
             
-            logger.info("Domain: Debit processed successfully");
+            logger.debug("Domain: Debit processed successfully");
             
             return new TransactionResponse(Status.EFETUADO, "Débito efetuado com sucesso");
             
+        } catch (IllegalArgumentException | BusinessException e) {
+            metricsService.incrementTransactionFailure();
+            metricsService.recordTransactionTime(sample);
+            logger.warn("Domain: Debit rejected: {}", e.getMessage());
+            return new TransactionResponse(Status.RECUSADO, "Erro ao processar débito: " + e.getMessage());
         } catch (Exception e) {
             metricsService.incrementTransactionFailure();
             metricsService.recordTransactionTime(sample);
             logger.error("Domain: Error processing debit: {}", e.getMessage(), e);
-            return new TransactionResponse(Status.RECUSADO, "Erro ao processar débito: " + e.getMessage());
+            throw e;
         } finally {
-            MDC.clear();
+            MDC.remove("correlationId");
+            MDC.remove("operation");
         }
     }
     
@@ -225,16 +242,66 @@ public class BankingDomainService implements BankingUseCase {
     }
     
     private void publishTransactionEvent(TransactionRequest request, Account account, 
-                                       TransactionType type, boolean success) {
+                                       TransactionType type, boolean success, String correlationId) {
+        Long accountVersion = resultingVersion(account, success);
+        
         TransactionEvent event = new TransactionEvent();
+        event.setEventId(eventIdFor(request.getAccountId(), accountVersion, type, success, correlationId));
         event.setAccountId(request.getAccountId());
         event.setAmount(request.getAmount());
         event.setType(type);
         event.setSuccess(success);
         event.setBalance(account.getBalance());
+        event.setAccountVersion(accountVersion);
         event.setTimestamp(LocalDateTime.now());
         
-        eventPort.publishTransactionEvent(event);
+        publishAfterCommit(event);
+    }
+    
+    /**
+     * Publica o evento só depois do commit. Um evento enviado antes de um
+     * commit que falha anunciaria uma versão e um saldo que nunca existiram:
+     * o replay o aceitaria como estado mais recente e o deduplicador
+     * descartaria a operação real seguinte, que recebe a mesma versão e,
+     * portanto, o mesmo id. Em rollback o evento é simplesmente descartado.
+     */
+    private void publishAfterCommit(TransactionEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPort.publishTransactionEvent(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventPort.publishTransactionEvent(event);
+            }
+        });
+    }
+    
+    /**
+     * Versão que a conta terá após o commit. O @Version só é incrementado no
+     * flush, então operações efetivadas publicam a versão atual + 1; recusadas
+     * não alteram a conta. Permite que o replay resolva eventos de uma mesma
+     * conta espalhados entre partições.
+     */
+    private Long resultingVersion(Account account, boolean changed) {
+        long current = account.getVersion() != null ? account.getVersion() : 0L;
+        return changed ? current + 1 : current;
+    }
+    
+    /**
+     * Id determinístico derivado da transação: a mesma mudança de estado da
+     * conta gera sempre o mesmo id, inclusive em retries do produtor, o que
+     * permite aos consumidores descartar duplicatas. Só é único porque o
+     * evento sai após o commit, quando a versão já foi de fato gravada sob o
+     * lock da linha. Operações recusadas não mudam a versão e usam o
+     * correlationId da operação.
+     */
+    private String eventIdFor(Long accountId, Long accountVersion, TransactionType type, 
+                              boolean success, String correlationId) {
+        return success
+                ? EventIds.transaction(accountId, accountVersion, type)
+                : EventIds.rejected(accountId, type, correlationId);
     }
     
     private String maskCpf(String cpf) {
@@ -0,0 +1,296 @@
+package com.bank.BankingSystemApplication.infrastructure.audit;
+
+import com.bank.BankingSystemApplication.infrastructure.monitoring.LatencyHistogramService;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.RequestStageTimer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pipeline assíncrono de auditoria.
+ *
+ * As threads de requisição apenas reservam um registro pré-alocado no
+ * {@link AuditRingBuffer}, copiam referências para ele e o publicam. Uma
+ * thread escritora dedicada serializa os registros em JSON e os entrega
+ * aos {@link AuditSink} em lotes, fora da transação e dos locks de conta.
+ *
+ * Com o buffer cheio, a política de transbordo decide o comportamento:
+ * BLOCK espera por espaço (backpressure) e SPILL grava o registro em disco
+ * para ser reenviado quando o buffer esvaziar. Enquanto houver registros
+ * transbordados, os novos também vão para o disco: o buffer guarda só
+ * registros anteriores ao transbordo e os sinks recebem tudo na ordem de
+ * publicação.
+ *
+ * Com o pipeline parado, ou se o transbordo para disco falhar, o registro é
+ * entregue na thread do chamador. Toda entrega aos sinks, da thread
+ * escritora ou inline, acontece sob o mesmo lock: os sinks nunca são
+ * chamados por duas threads ao mesmo tempo.
+ *
+ * O tempo entre o claim e a entrega aos sinks é registrado como o estágio
+ * AUDIT dos histogramas de latência, quando o monitoramento está ativo.
+ */
+@Component
+public class AuditPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPipeline.class);
+
+    public enum OverflowPolicy { BLOCK, SPILL }
+
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
+    private final List<AuditSink> sinks;
+    private final AtomicLong auditSequence = new AtomicLong();
+    /** Mantido durante cada entrega aos sinks; sem escrita inline, nunca é disputado */
+    private final Object sinkLock = new Object();
+
+    @Autowired(required = false)
+    private LatencyHistogramService latencyHistograms;
+
+    @Value("${audit.pipeline.ring-size:8192}")
+    private int ringSize;
+
+    @Value("${audit.pipeline.batch-size:256}")
+    private int batchSize;
+
+    @Value("${audit.pipeline.overflow-policy:BLOCK}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${audit.pipeline.spill-file:./audit-spill/audit.spill}")
+    private String spillFilePath;
+
+    private AuditRingBuffer ringBuffer;
+    private AuditSpillFile spillFile;
+    private RecordWriter writer;
+    private RecordWriter inlineWriter;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private Counter spilledCounter;
+    private Counter blockedCounter;
+    private Counter sinkErrorCounter;
+
+    public AuditPipeline(MeterRegistry meterRegistry, List<AuditSink> sinks) {
+        this.meterRegistry = meterRegistry;
+        this.sinks = sinks;
+    }
+
+    @PostConstruct
+    public void start() {
+        ringBuffer = new AuditRingBuffer(ringSize);
+        spillFile = new AuditSpillFile(Paths.get(spillFilePath));
+        writer = new RecordWriter();
+        inlineWriter = new RecordWriter();
+
+        Gauge.builder("banking.audit.queue.depth", ringBuffer, AuditRingBuffer::size)
+                .description("Registros de auditoria aguardando a thread escritora")
+                .register(meterRegistry);
+        spilledCounter = Counter.builder("banking.audit.spilled")
+                .description("Registros de auditoria transbordados para disco")
+                .register(meterRegistry);
+        blockedCounter = Counter.builder("banking.audit.blocked")
+                .description("Produtores que esperaram por espaço no buffer de auditoria")
+                .register(meterRegistry);
+        sinkErrorCounter = Counter.builder("banking.audit.sink.errors")
+                .description("Falhas ao entregar registros de auditoria")
+                .register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        logger.info("Audit pipeline started: ring size {}, batch size {}, overflow policy {}",
+                ringSize, batchSize, overflowPolicy);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            spillFile.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close audit spill file: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reserva e inicializa um registro de auditoria. O chamador deve
+     * preenchê-lo e sempre chamar {@link #publish(AuditRecord)}.
+     */
+    public AuditRecord claim(String auditType) {
+        long claimNanos = System.nanoTime();
+        AuditRecord record = running && !spillPending() ? claimSlot() : null;
+        if (record == null) {
+            record = new AuditRecord();
+        }
+        record.claimNanos = claimNanos;
+        return record.begin(auditSequence.incrementAndGet(), auditType, System.currentTimeMillis(),
+                MDC.get("traceId"), MDC.get("spanId"));
+    }
+
+    public void publish(AuditRecord record) {
+        // Lido antes da publicação: depois dela o slot pode ser reaproveitado
+        long claimNanos = record.claimNanos;
+        if (record.slotSequence >= 0) {
+            ringBuffer.publish(record);
+        } else if (running && overflowPolicy == OverflowPolicy.SPILL) {
+            spill(record);
+        } else {
+            // Pipeline parado: grava na thread do chamador
+            writeInline(record);
+        }
+        // Tempo da auditoria na thread da requisição, incluindo espera por espaço no buffer
+        RequestStageTimer.record(RequestStageTimer.Stage.AUDIT, System.nanoTime() - claimNanos);
+    }
+
+    public int getQueueDepth() {
+        return ringBuffer.size();
+    }
+
+    public int getQueueCapacity() {
+        return ringBuffer.capacity();
+    }
+
+    private AuditRecord claimSlot() {
+        AuditRecord record = ringBuffer.tryClaim();
+        if (record != null || overflowPolicy == OverflowPolicy.SPILL) {
+            return record;
+        }
+        blockedCounter.increment();
+        while (record == null && running) {
+            LockSupport.parkNanos(50_000);
+            record = ringBuffer.tryClaim();
+        }
+        return record;
+    }
+
+    /** Com SPILL, novos registros seguem os já transbordados até a reposição */
+    private boolean spillPending() {
+        return overflowPolicy == OverflowPolicy.SPILL && spillFile.hasPending();
+    }
+
+    private void spill(AuditRecord record) {
+        try {
+            spillFile.append(record);
+            spilledCounter.increment();
+        } catch (IOException e) {
+            logger.error("Failed to spill audit record, writing inline: {}", e.getMessage());
+            writeInline(record);
+        }
+    }
+
+    private void writeInline(AuditRecord record) {
+        synchronized (sinkLock) {
+            inlineWriter.onRecord(record);
+            inlineWriter.onBatchEnd();
+        }
+    }
+
+    private int drainBatch(int maxRecords) {
+        synchronized (sinkLock) {
+            return ringBuffer.drain(writer, maxRecords);
+        }
+    }
+
+    private void runWriter() {
+        long parkNanos = 1_000;
+        while (running || ringBuffer.size() > 0) {
+            if (drainBatch(batchSize) > 0) {
+                parkNanos = 1_000;
+                continue;
+            }
+            if (spillFile.hasPending()) {
+                drainSpill();
+                continue;
+            }
+            LockSupport.parkNanos(parkNanos);
+            parkNanos = Math.min(parkNanos * 2, MAX_IDLE_PARK_NANOS);
+        }
+        // Produtores que reservaram um slot durante o desligamento
+        drainBatch(Integer.MAX_VALUE);
+        if (spillFile.hasPending()) {
+            drainSpill();
+        }
+    }
+
+    private void drainSpill() {
+        try {
+            long count;
+            synchronized (sinkLock) {
+                count = spillFile.drainTo(writer::onRecord);
+                writer.onBatchEnd();
+            }
+            if (count > 0) {
+                logger.info("Replayed {} spilled audit records", count);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to replay spilled audit records: {}", e.getMessage());
+            LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Serializa e entrega os registros aos sinks; uma instância por thread.
+     */
+    private class RecordWriter implements AuditRingBuffer.Handler {
+
+        private final AuditRecordSerializer serializer = new AuditRecordSerializer();
+
+        @Override
+        public void onRecord(AuditRecord record) {
+            String json;
+            try {
+                json = serializer.toJson(record);
+            } catch (Exception e) {
+                sinkErrorCounter.increment();
+                logger.error("Failed to serialize audit record: {}", e.getMessage(), e);
+                return;
+            }
+            for (AuditSink sink : sinks) {
+                try {
+                    sink.write(record, json);
+                } catch (Exception e) {
+                    sinkErrorCounter.increment();
+                    logger.error("Audit sink {} failed: {}", sink.getClass().getSimpleName(), e.getMessage());
+                }
+            }
+            if (latencyHistograms != null && record.claimNanos != 0) {
+                latencyHistograms.recordStage(LatencyHistogramService.Stage.AUDIT, System.nanoTime() - record.claimNanos);
+            }
+        }
+
+        @Override
+        public void onBatchEnd() {
+            for (AuditSink sink : sinks) {
+                try {
+                    sink.flush();
+                } catch (Exception e) {
+                    sinkErrorCounter.increment();
+                    logger.error("Audit sink {} flush failed: {}", sink.getClass().getSimpleName(), e.getMessage());
+                }
+            }
+        }
+    }
+}
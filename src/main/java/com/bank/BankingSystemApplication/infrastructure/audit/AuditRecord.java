@@ -0,0 +1,221 @@
+package com.bank.BankingSystemApplication.infrastructure.audit;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Registro de auditoria reutilizável.
+ *
+ * As instâncias vivem pré-alocadas nos slots do {@link AuditRingBuffer} e
+ * são preenchidas pela thread da requisição apenas com referências e
+ * primitivos; formatação e serialização ficam para a thread escritora.
+ * Atributos são pares chave/valor em arrays fixos, na ordem de inserção.
+ */
+public final class AuditRecord {
+
+    static final int MAX_ATTRIBUTES = 12;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_DECIMAL = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+
+    /** Sequência publicada no ring buffer; -1 enquanto o slot está livre */
+    volatile long published = -1;
+
+    /** Sequência de claim no ring buffer; -1 para registros fora do buffer */
+    long slotSequence = -1;
+
+    /** System.nanoTime() do claim; 0 para registros relidos do disco */
+    long claimNanos;
+
+    private long auditSequence;
+    private String auditType;
+    private long timestampMillis;
+    private String traceId;
+    private String spanId;
+    private Long accountId;
+    private String correlationId;
+
+    private final String[] keys = new String[MAX_ATTRIBUTES];
+    private final Object[] values = new Object[MAX_ATTRIBUTES];
+    private int attributeCount;
+
+    public AuditRecord begin(long auditSequence, String auditType, long timestampMillis,
+                             String traceId, String spanId) {
+        this.auditSequence = auditSequence;
+        this.auditType = auditType;
+        this.timestampMillis = timestampMillis;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        return this;
+    }
+
+    public AuditRecord put(String key, Object value) {
+        if (attributeCount == MAX_ATTRIBUTES) {
+            throw new IllegalStateException("Registro de auditoria excede " + MAX_ATTRIBUTES + " atributos");
+        }
+        keys[attributeCount] = key;
+        values[attributeCount] = value;
+        attributeCount++;
+        return this;
+    }
+
+    /**
+     * Chaves de pesquisa do registro: conta principal e id de correlação
+     * (ou de saga). Não são serializadas como atributos próprios.
+     */
+    public AuditRecord indexedBy(Long accountId, String correlationId) {
+        this.accountId = accountId;
+        this.correlationId = correlationId;
+        return this;
+    }
+
+    void clear() {
+        auditType = null;
+        traceId = null;
+        spanId = null;
+        accountId = null;
+        correlationId = null;
+        for (int i = 0; i < attributeCount; i++) {
+            keys[i] = null;
+            values[i] = null;
+        }
+        attributeCount = 0;
+    }
+
+    public long getAuditSequence() {
+        return auditSequence;
+    }
+
+    public String getAuditType() {
+        return auditType;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    public String key(int index) {
+        return keys[index];
+    }
+
+    public Object value(int index) {
+        return values[index];
+    }
+
+    /**
+     * Formato binário usado no spill em disco. Valores de tipos não
+     * primitivos são gravados pelo seu {@code toString()}.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(auditSequence);
+        writeNullableString(out, auditType);
+        out.writeLong(timestampMillis);
+        writeNullableString(out, traceId);
+        writeNullableString(out, spanId);
+        writeValue(out, accountId);
+        writeNullableString(out, correlationId);
+        out.writeByte(attributeCount);
+        for (int i = 0; i < attributeCount; i++) {
+            out.writeUTF(keys[i]);
+            writeValue(out, values[i]);
+        }
+    }
+
+    static AuditRecord readFrom(DataInput in) throws IOException {
+        AuditRecord record = new AuditRecord();
+        record.begin(in.readLong(), readNullableString(in), in.readLong(),
+                readNullableString(in), readNullableString(in));
+        Object accountId = readValue(in);
+        record.indexedBy(accountId instanceof Long ? (Long) accountId : null, readNullableString(in));
+        int count = in.readByte();
+        for (int i = 0; i < count; i++) {
+            record.put(in.readUTF(), readValue(in));
+        }
+        return record;
+    }
+
+    private static void writeValue(DataOutput out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof Long || value instanceof Integer) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeByte(TYPE_DECIMAL);
+            out.writeInt(decimal.scale());
+            byte[] unscaled = decimal.unscaledValue().toByteArray();
+            out.writeShort(unscaled.length);
+            out.write(unscaled);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else {
+            // writeUTF é limitado a 64KB; stack traces podem passar disso
+            byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+            out.writeByte(TYPE_STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static Object readValue(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_DECIMAL:
+                int scale = in.readInt();
+                byte[] unscaled = new byte[in.readShort()];
+                in.readFully(unscaled);
+                return new BigDecimal(new BigInteger(unscaled), scale);
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_STRING:
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            default:
+                throw new IOException("Tipo de valor de auditoria desconhecido: " + type);
+        }
+    }
+
+    private static void writeNullableString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
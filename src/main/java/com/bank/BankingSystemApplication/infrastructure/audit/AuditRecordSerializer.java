@@ -0,0 +1,63 @@
+package com.bank.BankingSystemApplication.infrastructure.audit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Serializa registros de auditoria em JSON reaproveitando o buffer de
+ * escrita. Não é thread-safe: cada thread escritora usa a sua instância.
+ */
+public class AuditRecordSerializer {
+
+    /** Prefixo único por execução, para que os audit_id não colidam entre reinícios */
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final StringWriter buffer = new StringWriter(512);
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public static String auditId(AuditRecord record) {
+        return RUN_ID + "-" + Long.toString(record.getAuditSequence(), 36);
+    }
+
+    public String toJson(AuditRecord record) throws IOException {
+        buffer.getBuffer().setLength(0);
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+            generator.writeStartObject();
+            generator.writeStringField("audit_id", auditId(record));
+            generator.writeStringField("audit_type", record.getAuditType());
+            generator.writeStringField("timestamp", LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(record.getTimestampMillis()), zone).toString());
+            generator.writeStringField("trace_id", record.getTraceId());
+            generator.writeStringField("span_id", record.getSpanId());
+            for (int i = 0; i < record.getAttributeCount(); i++) {
+                writeField(generator, record.key(i), record.value(i));
+            }
+            generator.writeEndObject();
+        }
+        return buffer.toString();
+    }
+
+    private void writeField(JsonGenerator generator, String key, Object value) throws IOException {
+        generator.writeFieldName(key);
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof Long || value instanceof Integer) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else {
+            // Valores derivados (ex.: detalhes de saldo) só são formatados aqui
+            generator.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.bank.BankingSystemApplication.infrastructure.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ring buffer de registros de auditoria com múltiplos produtores e um único
+ * consumidor.
+ *
+ * Os slots são pré-alocados e reaproveitados. Produtores reservam uma
+ * sequência por CAS, preenchem o slot e o publicam com uma escrita volátil;
+ * o consumidor lê as sequências em ordem e só libera os slots após
+ * processar o lote inteiro. Nenhuma operação usa locks.
+ */
+public class AuditRingBuffer {
+
+    /** Processamento dos registros drenados pela thread consumidora */
+    public interface Handler {
+
+        void onRecord(AuditRecord record);
+
+        /** Chamado ao final de cada lote, antes da liberação dos slots */
+        void onBatchEnd();
+    }
+
+    private final AuditRecord[] slots;
+    private final int mask;
+
+    /** Última sequência reservada por um produtor */
+    private final AtomicLong claimed = new AtomicLong(-1);
+
+    /** Última sequência liberada pelo consumidor */
+    private final AtomicLong released = new AtomicLong(-1);
+
+    public AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade deve ser potência de 2: " + capacity);
+        }
+        this.slots = new AuditRecord[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AuditRecord();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Reserva um slot para preenchimento.
+     *
+     * @return registro a ser preenchido e publicado, ou null se o buffer está cheio
+     */
+    public AuditRecord tryClaim() {
+        long current;
+        long next;
+        do {
+            current = claimed.get();
+            next = current + 1;
+            if (next - slots.length > released.get()) {
+                return null;
+            }
+        } while (!claimed.compareAndSet(current, next));
+
+        AuditRecord record = slots[(int) (next & mask)];
+        record.slotSequence = next;
+        return record;
+    }
+
+    /**
+     * Torna o registro visível para o consumidor. Todo slot reservado deve
+     * ser publicado, caso contrário o consumidor fica parado nele.
+     */
+    public void publish(AuditRecord record) {
+        record.published = record.slotSequence;
+    }
+
+    /**
+     * Processa até {@code maxBatch} registros publicados, em ordem. Deve ser
+     * chamado sempre pela mesma thread.
+     *
+     * @return quantidade de registros processados
+     */
+    public int drain(Handler handler, int maxBatch) {
+        long next = released.get() + 1;
+        int count = 0;
+        while (count < maxBatch) {
+            AuditRecord record = slots[(int) (next & mask)];
+            if (record.published != next) {
+                break;
+            }
+            handler.onRecord(record);
+            record.clear();
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            handler.onBatchEnd();
+            released.set(next - 1);
+        }
+        return count;
+    }
+
+    /**
+     * Registros reservados e ainda não liberados pelo consumidor.
+     */
+    public int size() {
+        return (int) (claimed.get() - released.get());
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
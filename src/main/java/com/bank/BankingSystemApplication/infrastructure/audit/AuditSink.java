@@ -0,0 +1,27 @@
+package com.bank.BankingSystemApplication.infrastructure.audit;
+
+import java.io.IOException;
+
+/**
+ * Destino dos registros de auditoria. Normalmente chamado pela thread
+ * escritora do {@link AuditPipeline}; com o pipeline parado ou falha no
+ * transbordo, pela thread do chamador. O pipeline serializa essas entregas,
+ * então uma implementação nunca é chamada por duas threads ao mesmo tempo.
+ *
+ * O registro só é válido durante a chamada: o slot é reaproveitado logo
+ * depois, então implementações não devem guardar a referência.
+ */
+public interface AuditSink {
+
+    /**
+     * @param record registro de auditoria
+     * @param json   registro já serializado em JSON
+     */
+    void write(AuditRecord record, String json) throws IOException;
+
+    /**
+     * Chamado ao final de cada lote; ponto para agrupar I/O.
+     */
+    default void flush() throws IOException {
+    }
+}
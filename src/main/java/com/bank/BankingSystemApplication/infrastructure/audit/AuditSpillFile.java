@@ -0,0 +1,111 @@
+package com.bank.BankingSystemApplication.infrastructure.audit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Arquivo de transbordo do pipeline de auditoria.
+ *
+ * Quando o ring buffer está cheio e a política é SPILL, os produtores
+ * gravam aqui em vez de esperar. A thread escritora devolve os registros
+ * aos sinks quando o buffer esvazia; um arquivo remanescente de uma
+ * execução anterior é drenado da mesma forma na inicialização.
+ *
+ * Cada registro é descarregado no arquivo ao ser gravado, para que uma
+ * queda do processo sem {@link #close()} não perca o que estava em buffer.
+ * {@link #hasPending()} é lido sem lock a cada claim do pipeline.
+ */
+public class AuditSpillFile {
+
+    private final Path file;
+    private final Path draining;
+    private DataOutputStream out;
+    private volatile long pending;
+    private volatile boolean leftover;
+
+    public AuditSpillFile(Path file) {
+        this.file = file;
+        this.draining = file.resolveSibling(file.getFileName() + ".draining");
+        this.leftover = Files.exists(file) || Files.exists(draining);
+    }
+
+    public synchronized void append(AuditRecord record) throws IOException {
+        if (out == null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        }
+        record.writeTo(out);
+        out.flush();
+        pending++;
+    }
+
+    public boolean hasPending() {
+        return pending > 0 || leftover;
+    }
+
+    /**
+     * Entrega os registros transbordados ao consumidor e remove o arquivo.
+     *
+     * @return quantidade de registros entregues
+     */
+    public long drainTo(Consumer<AuditRecord> consumer) throws IOException {
+        synchronized (this) {
+            if (!Files.exists(draining)) {
+                if (out != null) {
+                    out.close();
+                    out = null;
+                }
+                if (!Files.exists(file)) {
+                    pending = 0;
+                    leftover = false;
+                    return 0;
+                }
+                Files.move(file, draining, StandardCopyOption.ATOMIC_MOVE);
+                pending = 0;
+            }
+            leftover = false;
+        }
+
+        long count = 0;
+        try {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(draining)))) {
+                while (true) {
+                    AuditRecord record;
+                    try {
+                        record = AuditRecord.readFrom(in);
+                    } catch (EOFException e) {
+                        // Fim do arquivo, possivelmente com o último registro truncado
+                        break;
+                    }
+                    consumer.accept(record);
+                    count++;
+                }
+            }
+            Files.delete(draining);
+        } catch (IOException | RuntimeException e) {
+            // Mantém o arquivo para nova tentativa; registros já entregues serão repetidos
+            synchronized (this) {
+                leftover = true;
+            }
+            throw e;
+        }
+        return count;
+    }
+
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+}
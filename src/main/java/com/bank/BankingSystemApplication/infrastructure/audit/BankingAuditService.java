@@ -1,16 +1,8 @@
 package com.bank.BankingSystemApplication.infrastructure.audit;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
 
 /**
  * Serviço de auditoria para operações bancárias.
@@ -38,6 +30,10 @@ import java.util.UUID;
  * - Timestamps precisos
  * - Logging separado para auditoria
  * 
+ * Os registros são apenas enfileirados no {@link AuditPipeline}; montagem
+ * do JSON, formatação de detalhes e escrita acontecem na thread escritora,
+ * fora da transação e do lock da conta.
+ * 
  * @author Sistema Bancário
  * @version 1.0
  * @since 1.0
@@ -45,21 +41,27 @@ import java.util.UUID;
 @Service
 public class BankingAuditService {
     
-    private static final Logger auditLogger = LoggerFactory.getLogger("com.bank.BankingSystemApplication.audit");
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuditPipeline pipeline;
+    
+    public BankingAuditService(AuditPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
     
     /**
      * Audita criação de conta
      */
     public void auditAccountCreation(Long accountId, String cpf, String userName, boolean success, String details) {
-        Map<String, Object> auditData = createBaseAuditData("ACCOUNT_CREATION");
-        auditData.put("account_id", accountId);
-        auditData.put("cpf", maskCpf(cpf));
-        auditData.put("user_name", userName);
-        auditData.put("success", success);
-        auditData.put("details", details);
-        
-        logAuditEvent(auditData);
+        AuditRecord record = pipeline.claim("ACCOUNT_CREATION");
+        try {
+            record.indexedBy(accountId, null)
+                  .put("account_id", accountId)
+                  .put("cpf", maskCpf(cpf))
+                  .put("user_name", userName)
+                  .put("success", success)
+                  .put("details", details);
+        } finally {
+            pipeline.publish(record);
+        }
     }
     
     /**
@@ -67,15 +69,17 @@ public class BankingAuditService {
      */
     public void auditTransaction(String transactionType, Long accountId, BigDecimal amount, 
                                boolean success, String details, String correlationId) {
-        Map<String, Object> auditData = createBaseAuditData("TRANSACTION");
-        auditData.put("transaction_type", transactionType);
-        auditData.put("account_id", accountId);
-        auditData.put("amount", amount);
-        auditData.put("success", success);
-        auditData.put("details", details);
-        auditData.put("correlation_id", correlationId);
-        
-        logAuditEvent(auditData);
+        recordTransaction(transactionType, accountId, amount, success, details, correlationId);
+    }
+    
+    /**
+     * Audita operações de transação com a mudança de saldo; o texto
+     * "Balance: anterior -> novo" só é formatado pela thread escritora.
+     */
+    public void auditTransaction(String transactionType, Long accountId, BigDecimal amount, 
+                               BigDecimal previousBalance, BigDecimal newBalance, String correlationId) {
+        recordTransaction(transactionType, accountId, amount, true, 
+                         new BalanceChange(previousBalance, newBalance), correlationId);
     }
     
     /**
@@ -83,16 +87,19 @@ public class BankingAuditService {
      */
     public void auditSagaTransfer(String sagaId, Long fromAccountId, Long toAccountId, 
                                 BigDecimal amount, String status, String step, String details) {
-        Map<String, Object> auditData = createBaseAuditData("SAGA_TRANSFER");
-        auditData.put("saga_id", sagaId);
-        auditData.put("from_account_id", fromAccountId);
-        auditData.put("to_account_id", toAccountId);
-        auditData.put("amount", amount);
-        auditData.put("saga_status", status);
-        auditData.put("saga_step", step);
-        auditData.put("details", details);
-        
-        logAuditEvent(auditData);
+        AuditRecord record = pipeline.claim("SAGA_TRANSFER");
+        try {
+            record.indexedBy(fromAccountId, sagaId)
+                  .put("saga_id", sagaId)
+                  .put("from_account_id", fromAccountId)
+                  .put("to_account_id", toAccountId)
+                  .put("amount", amount)
+                  .put("saga_status", status)
+                  .put("saga_step", step)
+                  .put("details", details);
+        } finally {
+            pipeline.publish(record);
+        }
     }
     
     /**
@@ -100,14 +107,16 @@ public class BankingAuditService {
      */
     public void auditSecurityEvent(String eventType, String ipAddress, String userAgent, 
                                  String details, String severity) {
-        Map<String, Object> auditData = createBaseAuditData("SECURITY");
-        auditData.put("event_type", eventType);
-        auditData.put("ip_address", ipAddress);
-        auditData.put("user_agent", userAgent);
-        auditData.put("details", details);
-        auditData.put("severity", severity);
-        
-        logAuditEvent(auditData);
+        AuditRecord record = pipeline.claim("SECURITY");
+        try {
+            record.put("event_type", eventType)
+                  .put("ip_address", ipAddress)
+                  .put("user_agent", userAgent)
+                  .put("details", details)
+                  .put("severity", severity);
+        } finally {
+            pipeline.publish(record);
+        }
     }
     
     /**
@@ -115,14 +124,17 @@ public class BankingAuditService {
      */
     public void auditSystemFailure(String component, String operation, String errorMessage, 
                                  String stackTrace, String correlationId) {
-        Map<String, Object> auditData = createBaseAuditData("SYSTEM_FAILURE");
-        auditData.put("component", component);
-        auditData.put("operation", operation);
-        auditData.put("error_message", errorMessage);
-        auditData.put("stack_trace", stackTrace);
-        auditData.put("correlation_id", correlationId);
-        
-        logAuditEvent(auditData);
+        AuditRecord record = pipeline.claim("SYSTEM_FAILURE");
+        try {
+            record.indexedBy(null, correlationId)
+                  .put("component", component)
+                  .put("operation", operation)
+                  .put("error_message", errorMessage)
+                  .put("stack_trace", stackTrace)
+                  .put("correlation_id", correlationId);
+        } finally {
+            pipeline.publish(record);
+        }
     }
     
     /**
@@ -130,13 +142,15 @@ public class BankingAuditService {
      */
     public void auditCircuitBreakerEvent(String circuitBreakerName, String state, 
                                        String operation, String details) {
-        Map<String, Object> auditData = createBaseAuditData("CIRCUIT_BREAKER");
-        auditData.put("circuit_breaker_name", circuitBreakerName);
-        auditData.put("state", state);
-        auditData.put("operation", operation);
-        auditData.put("details", details);
-        
-        logAuditEvent(auditData);
+        AuditRecord record = pipeline.claim("CIRCUIT_BREAKER");
+        try {
+            record.put("circuit_breaker_name", circuitBreakerName)
+                  .put("state", state)
+                  .put("operation", operation)
+                  .put("details", details);
+        } finally {
+            pipeline.publish(record);
+        }
     }
     
     /**
@@ -144,48 +158,32 @@ public class BankingAuditService {
      */
     public void auditKafkaEvent(String topic, String eventType, String eventId, 
                               boolean success, String details) {
-        Map<String, Object> auditData = createBaseAuditData("KAFKA_EVENT");
-        auditData.put("topic", topic);
-        auditData.put("event_type", eventType);
-        auditData.put("event_id", eventId);
-        auditData.put("success", success);
-        auditData.put("details", details);
-        
-        logAuditEvent(auditData);
-    }
-    
-    /**
-     * Cria dados base para auditoria
-     */
-    private Map<String, Object> createBaseAuditData(String auditType) {
-        Map<String, Object> auditData = new HashMap<>();
-        auditData.put("audit_id", UUID.randomUUID().toString());
-        auditData.put("audit_type", auditType);
-        auditData.put("timestamp", LocalDateTime.now().toString());
-        auditData.put("trace_id", MDC.get("traceId"));
-        auditData.put("span_id", MDC.get("spanId"));
-        
-        return auditData;
+        AuditRecord record = pipeline.claim("KAFKA_EVENT");
+        try {
+            record.indexedBy(null, eventId)
+                  .put("topic", topic)
+                  .put("event_type", eventType)
+                  .put("event_id", eventId)
+                  .put("success", success)
+                  .put("details", details);
+        } finally {
+            pipeline.publish(record);
+        }
     }
     
-    /**
-     * Registra evento de auditoria no log
-     */
-    private void logAuditEvent(Map<String, Object> auditData) {
+    private void recordTransaction(String transactionType, Long accountId, BigDecimal amount, 
+                                   boolean success, Object details, String correlationId) {
+        AuditRecord record = pipeline.claim("TRANSACTION");
         try {
-            // Adicionar ao MDC para contexto estruturado
-            MDC.put("audit_id", (String) auditData.get("audit_id"));
-            MDC.put("audit_type", (String) auditData.get("audit_type"));
-            
-            String auditJson = objectMapper.writeValueAsString(auditData);
-            auditLogger.info("AUDIT_EVENT: {}", auditJson);
-            
-        } catch (Exception e) {
-            auditLogger.error("Erro ao serializar dados de auditoria: {}", e.getMessage(), e);
+            record.indexedBy(accountId, correlationId)
+                  .put("transaction_type", transactionType)
+                  .put("account_id", accountId)
+                  .put("amount", amount)
+                  .put("success", success)
+                  .put("details", details)
+                  .put("correlation_id", correlationId);
         } finally {
-            // Limpar MDC
-            MDC.remove("audit_id");
-            MDC.remove("audit_type");
+            pipeline.publish(record);
         }
     }
     
@@ -198,4 +196,15 @@ public class BankingAuditService {
         }
         return cpf.substring(0, 3) + "*****" + cpf.substring(8);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Detalhe de mudança de saldo formatado sob demanda
+     */
+    private record BalanceChange(BigDecimal previousBalance, BigDecimal newBalance) {
+        
+        @Override
+        public String toString() {
+            return "Balance: " + previousBalance + " -> " + newBalance;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.bank.BankingSystemApplication.infrastructure.audit;
+
+import com.bank.BankingSystemApplication.infrastructure.monitoring.KafkaLatencyProducerInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica os registros de auditoria no tópico banking-audit.
+ *
+ * Usa um produtor dedicado, separado do KafkaTemplate das transações, com
+ * micro-lotes limitados por linger.ms e batch.size e compressão. A chave é
+ * o id da conta, preservando a ordem por conta dentro da partição; o
+ * audit_id e o correlation id seguem em headers para o consumidor
+ * persistir sem reinterpretar o JSON.
+ *
+ * Se o broker fica indisponível, os registros passam a ir para um spool
+ * local ({@link KafkaAuditSpool}) e uma thread de reenvio os publica quando
+ * os metadados do tópico voltam a responder.
+ */
+@Component
+public class KafkaAuditSink implements AuditSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaAuditSink.class);
+
+    public static final String HEADER_AUDIT_ID = "audit-id";
+    public static final String HEADER_AUDIT_TYPE = "audit-type";
+    public static final String HEADER_CORRELATION_ID = "audit-correlation-id";
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong failures = new AtomicLong();
+
+    @Value("${spring.kafka.bootstrap-servers:}")
+    private String bootstrapServers;
+
+    @Value("${audit.kafka.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.kafka.topic:banking-audit}")
+    private String topic;
+
+    @Value("${audit.kafka.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${audit.kafka.batch-size-bytes:131072}")
+    private int batchSizeBytes;
+
+    @Value("${audit.kafka.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${audit.kafka.max-block-ms:500}")
+    private long maxBlockMs;
+
+    @Value("${audit.kafka.delivery-timeout-ms:30000}")
+    private int deliveryTimeoutMs;
+
+    @Value("${audit.kafka.spool-file:./audit-spill/kafka-audit.spool}")
+    private String spoolFilePath;
+
+    @Value("${audit.kafka.spool-fsync:true}")
+    private boolean spoolFsync;
+
+    @Value("${audit.kafka.retry-interval-ms:5000}")
+    private long retryIntervalMs;
+
+    private Producer<String, String> producer;
+    private KafkaAuditSpool spool;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean spooling;
+
+    private Counter sentCounter;
+    private Counter spooledCounter;
+    private Counter replayedCounter;
+
+    public KafkaAuditSink(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || bootstrapServers == null || bootstrapServers.isBlank()) {
+            logger.info("Kafka audit sink desabilitado");
+            return;
+        }
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.CLIENT_ID_CONFIG, "banking-audit-sink");
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSizeBytes);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        // Sem broker, send() não deve prender a thread escritora do pipeline
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        config.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+        config.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, Math.min(deliveryTimeoutMs - lingerMs, 15000));
+        config.put(ProducerConfig.INTERCEPTOR_CLASSES_CONFIG, KafkaLatencyProducerInterceptor.class.getName());
+        producer = new KafkaProducer<>(config, new StringSerializer(), new StringSerializer());
+        spool = new KafkaAuditSpool(Paths.get(spoolFilePath), spoolFsync);
+        spooling = spool.hasPending();
+
+        sentCounter = Counter.builder("banking.audit.kafka.sent")
+                .description("Registros de auditoria confirmados pelo broker")
+                .register(meterRegistry);
+        spooledCounter = Counter.builder("banking.audit.kafka.spooled")
+                .description("Registros de auditoria gravados no spool local")
+                .register(meterRegistry);
+        replayedCounter = Counter.builder("banking.audit.kafka.replayed")
+                .description("Registros de auditoria reenviados a partir do spool")
+                .register(meterRegistry);
+        Gauge.builder("banking.audit.kafka.spooling", this, sink -> sink.spooling ? 1 : 0)
+                .description("1 enquanto os registros de auditoria estão indo para o spool local")
+                .register(meterRegistry);
+
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-kafka-spool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        retryScheduler.scheduleWithFixedDelay(this::replaySpool, retryIntervalMs, retryIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Kafka audit sink started: topic {}, linger {} ms, batch {} bytes, compression {}",
+                topic, lingerMs, batchSizeBytes, compressionType);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (retryScheduler != null) {
+            retryScheduler.shutdownNow();
+        }
+        if (producer != null) {
+            // Envia os lotes pendentes; falhas na entrega caem no spool
+            producer.close(Duration.ofSeconds(5));
+        }
+        if (spool != null) {
+            try {
+                spool.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close Kafka audit spool: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void write(AuditRecord record, String json) throws IOException {
+        if (producer == null) {
+            return;
+        }
+        KafkaAuditSpool.Entry entry = new KafkaAuditSpool.Entry(AuditRecordSerializer.auditId(record),
+                record.getAuditType(), record.getAccountId(), record.getCorrelationId(),
+                record.getTimestampMillis(), json);
+        if (spooling) {
+            toSpool(entry);
+        } else {
+            send(entry, false);
+        }
+    }
+
+    public boolean isSpooling() {
+        return spooling;
+    }
+
+    private void send(KafkaAuditSpool.Entry entry, boolean replay) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(HEADER_AUDIT_ID, entry.auditId().getBytes(StandardCharsets.UTF_8));
+        headers.add(HEADER_AUDIT_TYPE, entry.auditType().getBytes(StandardCharsets.UTF_8));
+        if (entry.correlationId() != null) {
+            headers.add(HEADER_CORRELATION_ID, entry.correlationId().getBytes(StandardCharsets.UTF_8));
+        }
+        String key = entry.accountId() != null ? entry.accountId().toString() : null;
+        ProducerRecord<String, String> producerRecord = new ProducerRecord<>(topic, null,
+                entry.timestampMillis(), key, entry.json(), headers);
+        try {
+            producer.send(producerRecord, (metadata, exception) -> {
+                if (exception == null) {
+                    sentCounter.increment();
+                    if (replay) {
+                        replayedCounter.increment();
+                    }
+                } else {
+                    onSendFailure(entry, exception);
+                }
+            });
+        } catch (RuntimeException e) {
+            onSendFailure(entry, e);
+        }
+    }
+
+    private void onSendFailure(KafkaAuditSpool.Entry entry, Exception exception) {
+        failures.incrementAndGet();
+        if (!spooling) {
+            spooling = true;
+            logger.warn("Kafka audit sink switching to local spool: {}", exception.getMessage());
+        }
+        try {
+            toSpool(entry);
+        } catch (IOException e) {
+            logger.error("Failed to spool audit record {}: {}", entry.auditId(), e.getMessage());
+        }
+    }
+
+    private void toSpool(KafkaAuditSpool.Entry entry) throws IOException {
+        spool.append(entry);
+        spooledCounter.increment();
+    }
+
+    /**
+     * Reenvia o spool quando o broker volta a responder. Só sai do modo
+     * spool quando uma rodada inteira é confirmada sem falhas.
+     */
+    void replaySpool() {
+        if (!spooling && !spool.hasPending()) {
+            return;
+        }
+        try {
+            // Falha rápido (max.block.ms) enquanto os metadados do tópico não respondem
+            producer.partitionsFor(topic);
+
+            long failuresBefore = failures.get();
+            long replayed = 0;
+            while (spool.hasPending()) {
+                replayed += spool.drainTo(entry -> send(entry, true));
+                producer.flush();
+                if (failures.get() != failuresBefore) {
+                    return;
+                }
+            }
+            spooling = false;
+            if (replayed > 0) {
+                logger.info("Kafka audit sink recovered, replayed {} spooled records", replayed);
+            }
+        } catch (Exception e) {
+            logger.debug("Kafka audit broker still unavailable: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.bank.BankingSystemApplication.infrastructure.audit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
+
+/**
+ * Spool local do {@link KafkaAuditSink}.
+ *
+ * Enquanto o broker está indisponível os registros já serializados são
+ * gravados aqui; a thread de reenvio do sink os publica quando o broker
+ * volta. Como os slots do pipeline são reaproveitados, o spool guarda uma
+ * cópia imutável ({@link Entry}) e não o {@link AuditRecord}.
+ *
+ * Cada registro é descarregado no arquivo ao ser gravado (e, com
+ * {@code fsync}, forçado ao disco), já que o spool é a única cópia dos
+ * registros que o broker não confirmou e precisa sobreviver a uma queda
+ * do processo sem {@link #close()}.
+ */
+public class KafkaAuditSpool {
+
+    /** Registro pronto para publicação no tópico de auditoria */
+    public record Entry(String auditId, String auditType, Long accountId, String correlationId,
+                        long timestampMillis, String json) {
+    }
+
+    private final Path file;
+    private final Path draining;
+    private final boolean fsync;
+    private DataOutputStream out;
+    private FileChannel channel;
+    private long pending;
+    private boolean leftover;
+
+    public KafkaAuditSpool(Path file) {
+        this(file, true);
+    }
+
+    public KafkaAuditSpool(Path file, boolean fsync) {
+        this.file = file;
+        this.fsync = fsync;
+        this.draining = file.resolveSibling(file.getFileName() + ".draining");
+        this.leftover = Files.exists(file) || Files.exists(draining);
+    }
+
+    public synchronized void append(Entry entry) throws IOException {
+        if (out == null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            FileOutputStream stream = new FileOutputStream(file.toFile(), true);
+            channel = stream.getChannel();
+            out = new DataOutputStream(new BufferedOutputStream(stream));
+        }
+        writeString(out, entry.auditId());
+        writeString(out, entry.auditType());
+        out.writeBoolean(entry.accountId() != null);
+        if (entry.accountId() != null) {
+            out.writeLong(entry.accountId());
+        }
+        writeString(out, entry.correlationId());
+        out.writeLong(entry.timestampMillis());
+        writeString(out, entry.json());
+        out.flush();
+        if (fsync) {
+            channel.force(false);
+        }
+        pending++;
+    }
+
+    public synchronized boolean hasPending() {
+        return pending > 0 || leftover;
+    }
+
+    /**
+     * Entrega os registros do spool ao consumidor e remove o arquivo.
+     * Registros gravados durante a entrega ficam para a próxima chamada.
+     *
+     * @return quantidade de registros entregues
+     */
+    public long drainTo(Consumer<Entry> consumer) throws IOException {
+        synchronized (this) {
+            if (!Files.exists(draining)) {
+                if (out != null) {
+                    out.close();
+                    out = null;
+                    channel = null;
+                }
+                if (!Files.exists(file)) {
+                    pending = 0;
+                    leftover = false;
+                    return 0;
+                }
+                Files.move(file, draining, StandardCopyOption.ATOMIC_MOVE);
+                pending = 0;
+            }
+            leftover = false;
+        }
+
+        long count = 0;
+        try {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(draining)))) {
+                while (true) {
+                    Entry entry;
+                    try {
+                        entry = readEntry(in);
+                    } catch (EOFException e) {
+                        // Fim do arquivo, possivelmente com o último registro truncado
+                        break;
+                    }
+                    consumer.accept(entry);
+                    count++;
+                }
+            }
+            Files.delete(draining);
+        } catch (IOException | RuntimeException e) {
+            // Mantém o arquivo para nova tentativa; o consumidor final é idempotente por audit_id
+            synchronized (this) {
+                leftover = true;
+            }
+            throw e;
+        }
+        return count;
+    }
+
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+            channel = null;
+        }
+    }
+
+    private static Entry readEntry(DataInput in) throws IOException {
+        String auditId = readString(in);
+        String auditType = readString(in);
+        Long accountId = in.readBoolean() ? in.readLong() : null;
+        String correlationId = readString(in);
+        long timestamp = in.readLong();
+        String json = readString(in);
+        return new Entry(auditId, auditType, accountId, correlationId, timestamp, json);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,31 @@
+package com.bank.BankingSystemApplication.infrastructure.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grava os registros no logger de auditoria, direcionado ao arquivo
+ * banking-audit.log pelo logback.
+ */
+@Component
+public class LogAuditSink implements AuditSink {
+
+    private static final Logger auditLogger = LoggerFactory.getLogger("com.bank.BankingSystemApplication.audit");
+
+    @Override
+    public void write(AuditRecord record, String json) {
+        try {
+            // Adicionar ao MDC para contexto estruturado
+            MDC.put("audit_id", AuditRecordSerializer.auditId(record));
+            MDC.put("audit_type", record.getAuditType());
+
+            auditLogger.info("AUDIT_EVENT: {}", json);
+
+        } finally {
+            MDC.remove("audit_id");
+            MDC.remove("audit_type");
+        }
+    }
+}
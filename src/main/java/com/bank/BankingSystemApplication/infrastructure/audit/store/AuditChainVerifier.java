@@ -0,0 +1,220 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Verificação da cadeia de hashes do audit store.
+ *
+ * Cada segmento é verificado em paralelo a partir do hash de ligação
+ * gravado no seu cabeçalho; depois, em sequência, confere-se que esse hash
+ * e a primeira sequência de cada segmento continuam exatamente o segmento
+ * anterior. Uma alteração, remoção ou reordenação de registros quebra a
+ * cadeia no ponto adulterado.
+ */
+public final class AuditChainVerifier {
+
+    private AuditChainVerifier() {
+    }
+
+    public static VerificationReport verify(List<Path> segments, int parallelism) {
+        return verify(segments, null, -1, parallelism);
+    }
+
+    /**
+     * @param activeSegment segmento ainda em escrita, lido só até {@code activeLimit}
+     */
+    public static VerificationReport verify(List<Path> segments, Path activeSegment, int activeLimit,
+                                            int parallelism) {
+        long start = System.currentTimeMillis();
+        List<SegmentStatus> statuses = new ArrayList<>(segments.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, segments.size())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "audit-chain-verifier");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            List<Future<SegmentStatus>> futures = new ArrayList<>(segments.size());
+            for (Path segment : segments) {
+                int limit = segment.equals(activeSegment) ? activeLimit : -1;
+                futures.add(executor.submit(() -> verifySegment(segment, limit)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    statuses.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    statuses.add(SegmentStatus.failed(segments.get(i), e.getCause().getMessage()));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Verificação interrompida", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        statuses.sort(Comparator.comparingLong(SegmentStatus::getSegmentId));
+        List<String> problems = new ArrayList<>();
+        long records = 0;
+        SegmentStatus previous = null;
+        for (SegmentStatus status : statuses) {
+            records += status.getRecords();
+            if (status.getError() != null) {
+                problems.add(status.getFile() + ": " + status.getError());
+            }
+            if (previous == null) {
+                if (status.getSegmentId() == 0 && status.previousHash != null
+                        && !MessageDigest.isEqual(status.previousHash, AuditSegment.GENESIS_HASH)) {
+                    problems.add(status.getFile() + ": primeiro segmento não parte do hash inicial");
+                }
+            } else if (status.previousHash != null && previous.lastHash != null) {
+                if (status.getSegmentId() != previous.getSegmentId() + 1) {
+                    problems.add(status.getFile() + ": segmento " + (previous.getSegmentId() + 1) + " ausente");
+                } else if (!MessageDigest.isEqual(status.previousHash, previous.lastHash)) {
+                    problems.add(status.getFile() + ": hash de ligação não corresponde ao segmento anterior");
+                } else if (status.getFirstSequence() != previous.getLastSequence() + 1) {
+                    problems.add(status.getFile() + ": sequência inicial " + status.getFirstSequence()
+                            + " não continua " + previous.getLastSequence());
+                }
+            }
+            previous = status;
+        }
+
+        return new VerificationReport(problems.isEmpty(), statuses.size(), records,
+                System.currentTimeMillis() - start, problems, statuses);
+    }
+
+    static SegmentStatus verifySegment(Path path, int limit) throws Exception {
+        ByteBuffer buffer = AuditSegmentReader.load(path);
+        if (limit >= 0) {
+            buffer.limit(Math.min(limit, buffer.capacity()));
+        }
+        AuditSegmentReader.ScanResult scan = AuditSegmentReader.scan(buffer, sha256(), null);
+        AuditSegmentReader.Header header = scan.getHeader();
+        if (header == null) {
+            return SegmentStatus.failed(path, scan.getError());
+        }
+        long lastSequence = scan.getRecordCount() > 0 ? scan.getLastSequence() : header.getFirstSequence() - 1;
+        return new SegmentStatus(path.getFileName().toString(), header.getSegmentId(), header.getFirstSequence(),
+                lastSequence, scan.getRecordCount(), scan.getError(), header.getPreviousHash(), scan.getLastHash());
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    public static class SegmentStatus {
+
+        private final String file;
+        private final long segmentId;
+        private final long firstSequence;
+        private final long lastSequence;
+        private final long records;
+        private final String error;
+        private final byte[] previousHash;
+        private final byte[] lastHash;
+
+        SegmentStatus(String file, long segmentId, long firstSequence, long lastSequence, long records,
+                      String error, byte[] previousHash, byte[] lastHash) {
+            this.file = file;
+            this.segmentId = segmentId;
+            this.firstSequence = firstSequence;
+            this.lastSequence = lastSequence;
+            this.records = records;
+            this.error = error;
+            this.previousHash = previousHash;
+            this.lastHash = lastHash;
+        }
+
+        static SegmentStatus failed(Path path, String error) {
+            return new SegmentStatus(path.getFileName().toString(), Long.MAX_VALUE, -1, -1, 0, error, null, null);
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public long getSegmentId() {
+            return segmentId;
+        }
+
+        public long getFirstSequence() {
+            return firstSequence;
+        }
+
+        public long getLastSequence() {
+            return lastSequence;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+
+    public static class VerificationReport {
+
+        private final boolean valid;
+        private final int segments;
+        private final long records;
+        private final long elapsedMillis;
+        private final List<String> problems;
+        private final List<SegmentStatus> segmentStatuses;
+
+        VerificationReport(boolean valid, int segments, long records, long elapsedMillis,
+                           List<String> problems, List<SegmentStatus> segmentStatuses) {
+            this.valid = valid;
+            this.segments = segments;
+            this.records = records;
+            this.elapsedMillis = elapsedMillis;
+            this.problems = problems;
+            this.segmentStatuses = segmentStatuses;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        public int getSegments() {
+            return segments;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public List<String> getProblems() {
+            return problems;
+        }
+
+        public List<SegmentStatus> getSegmentStatuses() {
+            return segmentStatuses;
+        }
+    }
+}
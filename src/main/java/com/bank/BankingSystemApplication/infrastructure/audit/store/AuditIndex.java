@@ -0,0 +1,38 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Índices secundários de um segmento do audit store.
+ *
+ * Os offsets retornados para um correlationId são candidatos: colisões de
+ * hash são possíveis e o chamador deve conferir o registro lido.
+ */
+public interface AuditIndex {
+
+    int[] accountOffsets(long accountId);
+
+    int[] correlationOffsets(String correlationId);
+
+    int recordCount();
+
+    long minTimestamp();
+
+    long maxTimestamp();
+
+    /**
+     * Hash de 64 bits do correlationId (FNV-1a com mistura final); nunca zero,
+     * que marca slot vazio na tabela.
+     */
+    static long correlationHash(String correlationId) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : correlationId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+}
@@ -0,0 +1,138 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import java.util.Arrays;
+
+/**
+ * Índice do segmento ativo, montado incrementalmente a cada append.
+ *
+ * As entradas ficam em arrays na ordem de escrita e as consultas fazem
+ * varredura linear, suficiente para um único segmento. Ao selar o
+ * segmento, {@link #build()} gera a versão ordenada e compacta.
+ *
+ * Escritas vêm apenas da thread escritora; consultas concorrentes devem
+ * sincronizar com ela (o {@link AuditSegmentStore} faz isso).
+ */
+public class AuditIndexBuilder implements AuditIndex {
+
+    private long[] accounts = new long[1024];
+    private long[] correlations = new long[1024];
+    private int[] offsets = new int[1024];
+    private int size;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+
+    public void add(Long accountId, String correlationId, long timestampMillis, int offset) {
+        if (size == offsets.length) {
+            int capacity = size * 2;
+            accounts = Arrays.copyOf(accounts, capacity);
+            correlations = Arrays.copyOf(correlations, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+        }
+        accounts[size] = accountId != null ? accountId : AuditSegment.NO_ACCOUNT;
+        correlations[size] = correlationId != null ? AuditIndex.correlationHash(correlationId) : 0;
+        offsets[size] = offset;
+        size++;
+        minTimestamp = Math.min(minTimestamp, timestampMillis);
+        maxTimestamp = Math.max(maxTimestamp, timestampMillis);
+    }
+
+    @Override
+    public int[] accountOffsets(long accountId) {
+        return matching(accounts, accountId);
+    }
+
+    @Override
+    public int[] correlationOffsets(String correlationId) {
+        return matching(correlations, AuditIndex.correlationHash(correlationId));
+    }
+
+    @Override
+    public int recordCount() {
+        return size;
+    }
+
+    @Override
+    public long minTimestamp() {
+        return minTimestamp;
+    }
+
+    @Override
+    public long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    /**
+     * Gera o índice compacto: contas ordenadas para busca binária e tabela
+     * hash de endereçamento aberto para os correlationIds.
+     */
+    public AuditSegmentIndex build() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> accounts[a] != accounts[b]
+                ? Long.compare(accounts[a], accounts[b])
+                : Integer.compare(offsets[a], offsets[b]));
+
+        int accountEntries = 0;
+        for (int i = 0; i < size; i++) {
+            if (accounts[i] != AuditSegment.NO_ACCOUNT) {
+                accountEntries++;
+            }
+        }
+        long[] sortedAccounts = new long[accountEntries];
+        int[] accountOffsets = new int[accountEntries];
+        int cursor = 0;
+        for (Integer index : order) {
+            if (accounts[index] != AuditSegment.NO_ACCOUNT) {
+                sortedAccounts[cursor] = accounts[index];
+                accountOffsets[cursor] = offsets[index];
+                cursor++;
+            }
+        }
+
+        int correlationEntries = 0;
+        for (int i = 0; i < size; i++) {
+            if (correlations[i] != 0) {
+                correlationEntries++;
+            }
+        }
+        // Fator de carga de no máximo 0.5
+        int slots = Integer.highestOneBit(Math.max(2, correlationEntries * 2 - 1)) << 1;
+        long[] hashKeys = new long[slots];
+        int[] hashOffsets = new int[slots];
+        int mask = slots - 1;
+        for (int i = 0; i < size; i++) {
+            long hash = correlations[i];
+            if (hash == 0) {
+                continue;
+            }
+            int slot = (int) hash & mask;
+            while (hashKeys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            hashKeys[slot] = hash;
+            hashOffsets[slot] = offsets[i];
+        }
+
+        return AuditSegmentIndex.of(size, size > 0 ? minTimestamp : 0, size > 0 ? maxTimestamp : 0,
+                sortedAccounts, accountOffsets, hashKeys, hashOffsets);
+    }
+
+    private int[] matching(long[] keys, long key) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                count++;
+            }
+        }
+        int[] result = new int[count];
+        int cursor = 0;
+        for (int i = 0; i < size && cursor < count; i++) {
+            if (keys[i] == key) {
+                result[cursor++] = offsets[i];
+            }
+        }
+        return result;
+    }
+}
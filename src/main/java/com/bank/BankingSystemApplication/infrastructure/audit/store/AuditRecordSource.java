@@ -0,0 +1,17 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Acesso aleatório aos registros de um segmento pelo offset.
+ */
+public interface AuditRecordSource {
+
+    AuditStoredRecord readAt(int offset) throws IOException;
+
+    /**
+     * Conteúdo completo do segmento, para varreduras sem índice.
+     */
+    ByteBuffer contents() throws IOException;
+}
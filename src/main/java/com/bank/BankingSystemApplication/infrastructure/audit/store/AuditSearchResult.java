@@ -0,0 +1,47 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import java.util.List;
+
+/**
+ * Resultado de uma busca no audit store.
+ */
+public class AuditSearchResult {
+
+    private final List<AuditStoredRecord> records;
+    private final int segmentsSearched;
+    private final int segmentsSkipped;
+    private final boolean truncated;
+
+    public AuditSearchResult(List<AuditStoredRecord> records, int segmentsSearched, int segmentsSkipped,
+                             boolean truncated) {
+        this.records = records;
+        this.segmentsSearched = segmentsSearched;
+        this.segmentsSkipped = segmentsSkipped;
+        this.truncated = truncated;
+    }
+
+    /**
+     * Registros encontrados em ordem de sequência
+     */
+    public List<AuditStoredRecord> getRecords() {
+        return records;
+    }
+
+    public int getSegmentsSearched() {
+        return segmentsSearched;
+    }
+
+    /**
+     * Segmentos descartados pelo intervalo de tempo, sem leitura
+     */
+    public int getSegmentsSkipped() {
+        return segmentsSkipped;
+    }
+
+    /**
+     * Indica que havia mais registros do que o limite; foram mantidos os mais recentes
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,226 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Segmento do audit store: arquivo de tamanho fixo escrito via memória
+ * mapeada, somente em modo append.
+ *
+ * Formato:
+ * <pre>
+ * cabeçalho (64 bytes): magic, versão, id do segmento, primeira sequência,
+ *                       criação, hash do último registro do segmento anterior
+ * registro:             tamanho do corpo (int), corpo, SHA-256(hash anterior + corpo)
+ * corpo:                sequência, timestamp, conta, correlationId, JSON
+ * </pre>
+ * O tamanho do registro é gravado por último, depois do corpo e do hash,
+ * e um tamanho zero marca o fim dos dados. Como o cabeçalho guarda o hash
+ * de ligação com o segmento anterior, cada segmento pode ser verificado
+ * de forma independente.
+ *
+ * Não é thread-safe: o append vem sempre de uma entrega do
+ * {@code AuditPipeline} aos sinks, que acontece sob o lock dele.
+ */
+public class AuditSegment implements AuditRecordSource {
+
+    static final int MAGIC = 0x41554453; // "AUDS"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int HASH_SIZE = 32;
+    /** sequência + timestamp + conta + tamanho do correlationId */
+    static final int FIXED_BODY_SIZE = 8 + 8 + 8 + 2;
+    static final long NO_ACCOUNT = Long.MIN_VALUE;
+    static final int NO_CORRELATION = 0xFFFF;
+    static final byte[] GENESIS_HASH = new byte[HASH_SIZE];
+
+    private static final int PREV_HASH_OFFSET = 32;
+
+    private final Path path;
+    private final long segmentId;
+    private final long firstSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private int position;
+    private int syncedPosition;
+    private long nextSequence;
+    private long recordCount;
+    private byte[] lastHash;
+
+    private AuditSegment(Path path, long segmentId, long firstSequence, FileChannel channel,
+                         MappedByteBuffer buffer, int position, long nextSequence, long recordCount,
+                         byte[] lastHash) {
+        this.path = path;
+        this.segmentId = segmentId;
+        this.firstSequence = firstSequence;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.position = position;
+        this.syncedPosition = position;
+        this.nextSequence = nextSequence;
+        this.recordCount = recordCount;
+        this.lastHash = lastHash;
+    }
+
+    /**
+     * Cria um segmento novo, pré-alocado com {@code size} bytes.
+     */
+    public static AuditSegment create(Path path, long segmentId, long firstSequence, byte[] previousHash,
+                                      int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, segmentId);
+        buffer.putLong(16, firstSequence);
+        buffer.putLong(24, System.currentTimeMillis());
+        buffer.put(PREV_HASH_OFFSET, previousHash, 0, HASH_SIZE);
+        buffer.force(0, HEADER_SIZE);
+        return new AuditSegment(path, segmentId, firstSequence, channel, buffer, HEADER_SIZE,
+                firstSequence, 0, previousHash.clone());
+    }
+
+    /**
+     * Reabre o segmento ativo após reinício. Registros incompletos ou com
+     * hash inválido no final (escrita interrompida) são descartados.
+     */
+    public static AuditSegment openForAppend(Path path, MessageDigest digest) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        AuditSegmentReader.ScanResult scan = AuditSegmentReader.scan(buffer, digest, null);
+        if (scan.getHeader() == null) {
+            channel.close();
+            throw new IOException("Segmento de auditoria inválido: " + path);
+        }
+        int end = scan.getEndPosition();
+        // Marca o fim antes de qualquer resto de uma escrita interrompida
+        buffer.putInt(end, 0);
+        AuditSegmentReader.Header header = scan.getHeader();
+        return new AuditSegment(path, header.getSegmentId(), header.getFirstSequence(), channel, buffer, end,
+                scan.getRecordCount() > 0 ? scan.getLastSequence() + 1 : header.getFirstSequence(),
+                scan.getRecordCount(), scan.getLastHash());
+    }
+
+    /**
+     * Acrescenta um registro ao segmento.
+     *
+     * @return false se o registro não cabe no espaço restante
+     */
+    public boolean append(MessageDigest digest, long timestampMillis, Long accountId, String correlationId,
+                          byte[] payload) {
+        byte[] correlation = correlationId != null ? correlationId.getBytes(StandardCharsets.UTF_8) : null;
+        if (correlation != null && correlation.length >= NO_CORRELATION) {
+            correlation = Arrays.copyOf(correlation, NO_CORRELATION - 1);
+        }
+        int bodySize = FIXED_BODY_SIZE + (correlation != null ? correlation.length : 0) + payload.length;
+        int recordSize = 4 + bodySize + HASH_SIZE;
+        // Mantém espaço para o marcador de fim
+        if ((long) position + recordSize + 4 > buffer.capacity()) {
+            return false;
+        }
+
+        int bodyStart = position + 4;
+        int cursor = bodyStart;
+        buffer.putLong(cursor, nextSequence);
+        buffer.putLong(cursor + 8, timestampMillis);
+        buffer.putLong(cursor + 16, accountId != null ? accountId : NO_ACCOUNT);
+        buffer.putShort(cursor + 24, (short) (correlation != null ? correlation.length : NO_CORRELATION));
+        cursor += FIXED_BODY_SIZE;
+        if (correlation != null) {
+            buffer.put(cursor, correlation);
+            cursor += correlation.length;
+        }
+        buffer.put(cursor, payload);
+        cursor += payload.length;
+
+        byte[] hash = AuditSegmentReader.chainHash(digest, lastHash, buffer, bodyStart, bodySize);
+        buffer.put(cursor, hash);
+        buffer.putInt(cursor + HASH_SIZE, 0);
+        // Tamanho por último: o registro só fica visível quando completo
+        buffer.putInt(position, bodySize);
+
+        position += recordSize;
+        lastHash = hash;
+        nextSequence++;
+        recordCount++;
+        return true;
+    }
+
+    @Override
+    public AuditStoredRecord readAt(int offset) {
+        return AuditSegmentReader.readAt(buffer, offset);
+    }
+
+    /**
+     * Visão somente leitura dos bytes já escritos (sem o marcador de fim).
+     */
+    public ByteBuffer contents() {
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        view.limit(position).position(0);
+        return view;
+    }
+
+    /**
+     * Força para o disco os bytes escritos desde a última sincronização.
+     */
+    public void force() {
+        if (position > syncedPosition) {
+            buffer.force(syncedPosition, position + 4 - syncedPosition);
+            syncedPosition = position;
+        }
+    }
+
+    public boolean isDirty() {
+        return position > syncedPosition;
+    }
+
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSegmentId() {
+        return segmentId;
+    }
+
+    public long getFirstSequence() {
+        return firstSequence;
+    }
+
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public byte[] getLastHash() {
+        return lastHash.clone();
+    }
+
+    /**
+     * Bytes úteis do segmento, incluindo o marcador de fim
+     */
+    public int getUsedBytes() {
+        return position + 4;
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+}
@@ -0,0 +1,170 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Índice compacto e imutável de um segmento selado, persistido ao lado
+ * do segmento e lido via memória mapeada (não ocupa heap).
+ *
+ * Formato:
+ * <pre>
+ * cabeçalho (40 bytes): magic, versão, registros, entradas de conta,
+ *                       slots da tabela hash, timestamps mínimo e máximo
+ * long[] contas ordenadas | int[] offsets correspondentes
+ * long[] hashes de correlationId (0 = vazio) | int[] offsets correspondentes
+ * </pre>
+ */
+public class AuditSegmentIndex implements AuditIndex {
+
+    static final int MAGIC = 0x41554449; // "AUDI"
+    static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+
+    private final ByteBuffer buffer;
+    private final int recordCount;
+    private final int accountEntries;
+    private final int hashSlots;
+    private final long minTimestamp;
+    private final long maxTimestamp;
+    private final int accountOffsetsStart;
+    private final int hashKeysStart;
+    private final int hashOffsetsStart;
+
+    private AuditSegmentIndex(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Índice de auditoria inválido");
+        }
+        this.buffer = buffer;
+        this.recordCount = buffer.getInt(8);
+        this.accountEntries = buffer.getInt(12);
+        this.hashSlots = buffer.getInt(16);
+        this.minTimestamp = buffer.getLong(24);
+        this.maxTimestamp = buffer.getLong(32);
+        this.accountOffsetsStart = HEADER_SIZE + 8 * accountEntries;
+        this.hashKeysStart = accountOffsetsStart + 4 * accountEntries;
+        this.hashOffsetsStart = hashKeysStart + 8 * hashSlots;
+        if (Integer.bitCount(hashSlots) != 1 || hashOffsetsStart + 4L * hashSlots != buffer.capacity()) {
+            throw new IOException("Índice de auditoria com tamanho inconsistente");
+        }
+    }
+
+    static AuditSegmentIndex of(int recordCount, long minTimestamp, long maxTimestamp,
+                                long[] accounts, int[] accountOffsets, long[] hashKeys, int[] hashOffsets) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 12 * accounts.length + 12 * hashKeys.length);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(recordCount).putInt(accounts.length)
+                .putInt(hashKeys.length).putInt(0).putLong(minTimestamp).putLong(maxTimestamp);
+        for (long account : accounts) {
+            buffer.putLong(account);
+        }
+        for (int offset : accountOffsets) {
+            buffer.putInt(offset);
+        }
+        for (long key : hashKeys) {
+            buffer.putLong(key);
+        }
+        for (int offset : hashOffsets) {
+            buffer.putInt(offset);
+        }
+        buffer.flip();
+        try {
+            return new AuditSegmentIndex(buffer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static AuditSegmentIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new AuditSegmentIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Grava o índice com escrita atômica via arquivo temporário.
+     */
+    public void writeTo(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer data = buffer.duplicate();
+            data.clear();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public int[] accountOffsets(long accountId) {
+        // Primeira posição com conta >= accountId
+        int low = 0;
+        int high = accountEntries;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (account(middle) < accountId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int end = low;
+        while (end < accountEntries && account(end) == accountId) {
+            end++;
+        }
+        int[] result = new int[end - low];
+        for (int i = low; i < end; i++) {
+            result[i - low] = buffer.getInt(accountOffsetsStart + 4 * i);
+        }
+        return result;
+    }
+
+    @Override
+    public int[] correlationOffsets(String correlationId) {
+        long hash = AuditIndex.correlationHash(correlationId);
+        int mask = hashSlots - 1;
+        int[] result = new int[4];
+        int count = 0;
+        int slot = (int) hash & mask;
+        long key;
+        while ((key = buffer.getLong(hashKeysStart + 8 * slot)) != 0) {
+            if (key == hash) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count * 2);
+                }
+                result[count++] = buffer.getInt(hashOffsetsStart + 4 * slot);
+            }
+            slot = (slot + 1) & mask;
+        }
+        result = Arrays.copyOf(result, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Override
+    public int recordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public long minTimestamp() {
+        return minTimestamp;
+    }
+
+    @Override
+    public long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    private long account(int index) {
+        return buffer.getLong(HEADER_SIZE + 8 * index);
+    }
+}
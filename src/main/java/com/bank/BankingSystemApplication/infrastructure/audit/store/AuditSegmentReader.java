@@ -0,0 +1,227 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * Leitura sequencial de segmentos do audit store, ativos (mapeados) ou
+ * selados e comprimidos.
+ */
+public final class AuditSegmentReader {
+
+    public static final String ACTIVE_SUFFIX = ".seg";
+    public static final String SEALED_SUFFIX = ".segz";
+
+    /** Recebe cada registro lido e sua posição no segmento */
+    public interface Visitor {
+        void visit(AuditStoredRecord record, int offset);
+    }
+
+    private AuditSegmentReader() {
+    }
+
+    /**
+     * Carrega o conteúdo do segmento: mapeamento somente leitura para
+     * segmentos não comprimidos, descompressão em memória para os selados.
+     */
+    public static ByteBuffer load(Path path) throws IOException {
+        if (path.getFileName().toString().endsWith(ACTIVE_SUFFIX) && !Files.exists(path)) {
+            // Selado e comprimido depois da listagem
+            path = path.resolveSibling(path.getFileName() + "z");
+        }
+        if (path.getFileName().toString().endsWith(SEALED_SUFFIX)) {
+            return BlockCompressedSegment.open(path).readAll();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Percorre os registros do segmento até o marcador de fim ou até o
+     * primeiro registro inválido.
+     *
+     * O limite do buffer pode ser reduzido para ler só a parte já
+     * confirmada de um segmento que continua recebendo escritas.
+     *
+     * @param digest  se informado, recalcula e confere a cadeia de hashes
+     * @param visitor se informado, recebe cada registro válido
+     */
+    public static ScanResult scan(ByteBuffer buffer, MessageDigest digest, Visitor visitor) {
+        int limit = buffer.limit();
+        if (limit < AuditSegment.HEADER_SIZE || buffer.getInt(0) != AuditSegment.MAGIC) {
+            return new ScanResult(null, 0, 0, -1, null, "Cabeçalho inválido");
+        }
+        if (buffer.getInt(4) != AuditSegment.VERSION) {
+            return new ScanResult(null, 0, 0, -1, null, "Versão de segmento não suportada: " + buffer.getInt(4));
+        }
+        byte[] startHash = new byte[AuditSegment.HASH_SIZE];
+        buffer.get(32, startHash);
+        Header header = new Header(buffer.getLong(8), buffer.getLong(16), buffer.getLong(24), startHash);
+
+        byte[] previousHash = startHash;
+        long expectedSequence = header.getFirstSequence();
+        long records = 0;
+        int position = AuditSegment.HEADER_SIZE;
+        String error = null;
+
+        while (position + 4 <= limit) {
+            int bodySize = buffer.getInt(position);
+            if (bodySize == 0) {
+                break;
+            }
+            int bodyStart = position + 4;
+            if (bodySize < AuditSegment.FIXED_BODY_SIZE
+                    || (long) bodyStart + bodySize + AuditSegment.HASH_SIZE > limit) {
+                error = "Registro truncado na posição " + position;
+                break;
+            }
+            long sequence = buffer.getLong(bodyStart);
+            if (sequence != expectedSequence) {
+                error = "Sequência " + sequence + " fora de ordem, esperada " + expectedSequence;
+                break;
+            }
+
+            byte[] storedHash = new byte[AuditSegment.HASH_SIZE];
+            buffer.get(bodyStart + bodySize, storedHash);
+            if (digest != null) {
+                byte[] computed = chainHash(digest, previousHash, buffer, bodyStart, bodySize);
+                if (!MessageDigest.isEqual(computed, storedHash)) {
+                    error = "Hash inválido na sequência " + sequence;
+                    break;
+                }
+            }
+
+            if (visitor != null) {
+                visitor.visit(decode(buffer, bodyStart, bodySize), position);
+            }
+            previousHash = storedHash;
+            expectedSequence++;
+            records++;
+            position = bodyStart + bodySize + AuditSegment.HASH_SIZE;
+        }
+
+        return new ScanResult(header, position, records, expectedSequence - 1, previousHash, error);
+    }
+
+    /**
+     * Lê um único registro a partir da sua posição, sem verificar o hash.
+     */
+    public static AuditStoredRecord readAt(ByteBuffer buffer, int offset) {
+        return decode(buffer, offset + 4, buffer.getInt(offset));
+    }
+
+    static byte[] chainHash(MessageDigest digest, byte[] previousHash, ByteBuffer buffer, int offset, int length) {
+        digest.reset();
+        digest.update(previousHash);
+        ByteBuffer body = buffer.duplicate();
+        body.limit(offset + length).position(offset);
+        digest.update(body);
+        return digest.digest();
+    }
+
+    private static AuditStoredRecord decode(ByteBuffer buffer, int bodyStart, int bodySize) {
+        long sequence = buffer.getLong(bodyStart);
+        long timestamp = buffer.getLong(bodyStart + 8);
+        long account = buffer.getLong(bodyStart + 16);
+        int correlationLength = Short.toUnsignedInt(buffer.getShort(bodyStart + 24));
+        int cursor = bodyStart + AuditSegment.FIXED_BODY_SIZE;
+
+        String correlationId = null;
+        if (correlationLength != AuditSegment.NO_CORRELATION) {
+            byte[] correlation = new byte[correlationLength];
+            buffer.get(cursor, correlation);
+            correlationId = new String(correlation, StandardCharsets.UTF_8);
+            cursor += correlationLength;
+        }
+        byte[] payload = new byte[bodyStart + bodySize - cursor];
+        buffer.get(cursor, payload);
+        return new AuditStoredRecord(sequence, timestamp, account == AuditSegment.NO_ACCOUNT ? null : account,
+                correlationId, payload);
+    }
+
+    public static class Header {
+
+        private final long segmentId;
+        private final long firstSequence;
+        private final long createdAt;
+        private final byte[] previousHash;
+
+        Header(long segmentId, long firstSequence, long createdAt, byte[] previousHash) {
+            this.segmentId = segmentId;
+            this.firstSequence = firstSequence;
+            this.createdAt = createdAt;
+            this.previousHash = previousHash;
+        }
+
+        public long getSegmentId() {
+            return segmentId;
+        }
+
+        public long getFirstSequence() {
+            return firstSequence;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public byte[] getPreviousHash() {
+            return previousHash.clone();
+        }
+    }
+
+    public static class ScanResult {
+
+        private final Header header;
+        private final int endPosition;
+        private final long recordCount;
+        private final long lastSequence;
+        private final byte[] lastHash;
+        private final String error;
+
+        ScanResult(Header header, int endPosition, long recordCount, long lastSequence, byte[] lastHash,
+                   String error) {
+            this.header = header;
+            this.endPosition = endPosition;
+            this.recordCount = recordCount;
+            this.lastSequence = lastSequence;
+            this.lastHash = lastHash;
+            this.error = error;
+        }
+
+        public Header getHeader() {
+            return header;
+        }
+
+        public int getEndPosition() {
+            return endPosition;
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        public long getLastSequence() {
+            return lastSequence;
+        }
+
+        public byte[] getLastHash() {
+            return lastHash != null ? lastHash.clone() : null;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isClean() {
+            return header != null && error == null;
+        }
+    }
+}
@@ -0,0 +1,535 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import com.bank.BankingSystemApplication.infrastructure.audit.AuditRecord;
+import com.bank.BankingSystemApplication.infrastructure.audit.AuditSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento dedicado e append-only dos registros de auditoria.
+ *
+ * Os registros são gravados em segmentos de tamanho fixo via memória
+ * mapeada ({@link AuditSegment}), encadeados por SHA-256 para evidenciar
+ * adulteração. O fsync é feito em grupo, uma vez por lote da thread
+ * escritora (ou no máximo a cada audit.store.fsync-interval-ms). Com
+ * intervalo, um lote que chega antes do prazo fica pendente e é forçado
+ * pela thread de fsync assim que o intervalo vence, mesmo que nenhum outro
+ * lote chegue. Quando o segmento enche ele é selado e comprimido em blocos
+ * em segundo plano.
+ *
+ * Cada segmento tem índices secundários por conta e por correlationId
+ * ({@link AuditIndex}); os dos segmentos selados são persistidos em
+ * arquivos .idx e lidos via memória mapeada, o que permite buscas em
+ * milissegundos sobre meses de auditoria sem um cluster de busca externo.
+ *
+ * Pode ser desabilitado com audit.store.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.store.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditSegmentStore implements AuditSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditSegmentStore.class);
+
+    private static final String PREFIX = "audit-";
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final MeterRegistry meterRegistry;
+    private final Path root;
+    private final int segmentSize;
+
+    @Value("${audit.store.fsync-interval-ms:0}")
+    private long fsyncIntervalMs;
+
+    @Value("${audit.store.compress-sealed:true}")
+    private boolean compressSealed = true;
+
+    @Value("${audit.store.verify-parallelism:4}")
+    private int verifyParallelism = 4;
+
+    private MessageDigest digest;
+    private AuditSegment active;
+    private AuditIndexBuilder activeIndex;
+    private final ConcurrentNavigableMap<Long, SealedSegment> sealed = new ConcurrentSkipListMap<>();
+    private long lastSyncMillis;
+    private ExecutorService compressor;
+    private ScheduledExecutorService fsyncScheduler;
+
+    private Timer fsyncTimer;
+    private Counter sealedCounter;
+
+    @Autowired
+    public AuditSegmentStore(MeterRegistry meterRegistry,
+                             @Value("${audit.store.directory:./audit-store}") String directory,
+                             @Value("${audit.store.segment-size-mb:64}") int segmentSizeMb) {
+        this(meterRegistry, Paths.get(directory), (int) Math.min((long) segmentSizeMb << 20, Integer.MAX_VALUE));
+    }
+
+    public AuditSegmentStore(MeterRegistry meterRegistry, Path directory, int segmentSizeBytes) {
+        this.meterRegistry = meterRegistry;
+        this.root = directory;
+        this.segmentSize = segmentSizeBytes;
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(root);
+        digest = AuditChainVerifier.sha256();
+        compressor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-segment-compressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Path> segments = listSegments();
+        Path last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        for (Path path : segments) {
+            if (path != last || !isActive(path)) {
+                openSealed(path);
+            }
+        }
+
+        activeIndex = new AuditIndexBuilder();
+        if (last == null) {
+            active = AuditSegment.create(segmentPath(0), 0, 1, AuditSegment.GENESIS_HASH, segmentSize);
+        } else if (isActive(last)) {
+            active = AuditSegment.openForAppend(last, digest);
+            AuditSegmentReader.scan(active.contents(), null, (record, offset) ->
+                    activeIndex.add(record.getAccountId(), record.getCorrelationId(), record.getTimestampMillis(), offset));
+        } else {
+            AuditSegmentReader.ScanResult scan = AuditSegmentReader.scan(AuditSegmentReader.load(last), null, null);
+            AuditSegmentReader.Header header = scan.getHeader();
+            if (header == null) {
+                throw new IOException("Último segmento de auditoria ilegível: " + last);
+            }
+            long next = scan.getRecordCount() > 0 ? scan.getLastSequence() + 1 : header.getFirstSequence();
+            active = AuditSegment.create(segmentPath(header.getSegmentId() + 1), header.getSegmentId() + 1,
+                    next, scan.getLastHash(), segmentSize);
+        }
+        lastSyncMillis = System.currentTimeMillis();
+        if (fsyncIntervalMs > 0) {
+            fsyncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "audit-store-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            fsyncScheduler.scheduleWithFixedDelay(this::flushPending, fsyncIntervalMs, fsyncIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        fsyncTimer = Timer.builder("banking.audit.store.fsync")
+                .description("Duração do fsync em grupo do audit store")
+                .register(meterRegistry);
+        sealedCounter = Counter.builder("banking.audit.store.segments.sealed")
+                .description("Segmentos de auditoria selados")
+                .register(meterRegistry);
+        Gauge.builder("banking.audit.store.active.bytes", this, store -> store.activeUsedBytes())
+                .description("Bytes usados no segmento de auditoria ativo")
+                .register(meterRegistry);
+
+        logger.info("Audit store opened at {}: segment {}, next sequence {}",
+                root.toAbsolutePath(), active.getSegmentId(), active.getNextSequence());
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (fsyncScheduler != null) {
+            fsyncScheduler.shutdownNow();
+        }
+        try {
+            if (active != null) {
+                active.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to close audit segment: {}", e.getMessage());
+        }
+        if (compressor != null) {
+            compressor.shutdown();
+            try {
+                compressor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void write(AuditRecord record, String json) throws IOException {
+        byte[] payload = json.getBytes(StandardCharsets.UTF_8);
+        if (!append(record, payload)) {
+            roll();
+            if (!append(record, payload)) {
+                throw new IOException("Registro de auditoria com " + payload.length + " bytes excede o segmento");
+            }
+        }
+    }
+
+    /**
+     * Group commit: um único fsync para todos os registros do lote.
+     */
+    @Override
+    public synchronized void flush() {
+        if (!active.isDirty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (fsyncIntervalMs > 0 && now - lastSyncMillis < fsyncIntervalMs) {
+            return;
+        }
+        fsyncTimer.record(active::force);
+        lastSyncMillis = now;
+    }
+
+    /**
+     * Executado pela thread de fsync: força o lote adiado por
+     * {@link #flush()} quando o intervalo vence sem um novo lote.
+     */
+    private void flushPending() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Failed to fsync pending audit records: {}", e.getMessage());
+        }
+    }
+
+    /** Há registros gravados ainda não forçados ao disco */
+    synchronized boolean hasUnsyncedWrites() {
+        return active.isDirty();
+    }
+
+    /**
+     * Verifica a cadeia de hashes de todos os segmentos.
+     */
+    public AuditChainVerifier.VerificationReport verify() throws IOException {
+        Path activePath;
+        int activeLimit;
+        synchronized (this) {
+            activePath = active.getPath();
+            activeLimit = active.getUsedBytes() - 4;
+        }
+        return AuditChainVerifier.verify(listSegments(), activePath, activeLimit, verifyParallelism);
+    }
+
+    /**
+     * Busca registros por conta, correlationId (ou sagaId) e intervalo de
+     * tempo. Os segmentos são percorridos do mais recente para o mais
+     * antigo; segmentos fora do intervalo são descartados pelos timestamps
+     * do índice e, dentro de cada um, só os offsets indexados são lidos.
+     *
+     * @param accountId     conta, opcional
+     * @param correlationId correlationId ou sagaId, opcional
+     * @param fromMillis    início do intervalo (inclusive), ou {@link Long#MIN_VALUE}
+     * @param toMillis      fim do intervalo (inclusive), ou {@link Long#MAX_VALUE}
+     * @param limit         máximo de registros; mantém os mais recentes
+     */
+    public AuditSearchResult search(Long accountId, String correlationId, long fromMillis, long toMillis,
+                                    int limit) throws IOException {
+        List<AuditStoredRecord> found = new ArrayList<>();
+        int searched = 0;
+        int skipped = 0;
+        boolean truncated = false;
+
+        // O índice do segmento ativo muda a cada escrita; a consulta a ele é feita sob o lock
+        SegmentView activeView;
+        synchronized (this) {
+            activeView = new SegmentView(active, activeIndex, candidateOffsets(activeIndex, accountId, correlationId),
+                    accountId == null && correlationId == null ? active.contents() : null);
+        }
+
+        List<SegmentView> views = new ArrayList<>();
+        views.add(activeView);
+        for (SealedSegment segment : sealed.descendingMap().values()) {
+            views.add(new SegmentView(segment.source, segment.index,
+                    candidateOffsets(segment.index, accountId, correlationId), null));
+        }
+
+        for (SegmentView view : views) {
+            if (found.size() >= limit) {
+                truncated = true;
+                break;
+            }
+            AuditIndex index = view.index;
+            if (index.recordCount() == 0 || index.maxTimestamp() < fromMillis || index.minTimestamp() > toMillis) {
+                skipped++;
+                continue;
+            }
+            searched++;
+
+            List<AuditStoredRecord> matches = new ArrayList<>();
+            if (view.offsets != null) {
+                for (int offset : view.offsets) {
+                    AuditStoredRecord record = view.source.readAt(offset);
+                    if (matches(record, accountId, correlationId, fromMillis, toMillis)) {
+                        matches.add(record);
+                    }
+                }
+            } else {
+                ByteBuffer contents = view.contents != null ? view.contents : view.source.contents();
+                AuditSegmentReader.scan(contents, null, (record, offset) -> {
+                    if (matches(record, accountId, correlationId, fromMillis, toMillis)) {
+                        matches.add(record);
+                    }
+                });
+            }
+
+            // Mais recentes primeiro, até completar o limite
+            for (int i = matches.size() - 1; i >= 0; i--) {
+                if (found.size() >= limit) {
+                    truncated = true;
+                    break;
+                }
+                found.add(matches.get(i));
+            }
+        }
+
+        found.sort(Comparator.comparingLong(AuditStoredRecord::getSequence));
+        return new AuditSearchResult(found, searched, skipped, truncated);
+    }
+
+    /**
+     * Segmentos existentes em ordem, ativos (.seg) ou selados (.segz).
+     */
+    public List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(root)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && (name.endsWith(AuditSegmentReader.ACTIVE_SUFFIX)
+                        || name.endsWith(AuditSegmentReader.SEALED_SUFFIX));
+            }).forEach(segments::add);
+        }
+        // Se a compressão terminou mas o original não foi removido, vale a versão comprimida
+        segments.removeIf(path -> isActive(path)
+                && segments.contains(path.resolveSibling(path.getFileName() + "z")));
+        segments.sort(Comparator.comparingLong(AuditSegmentStore::segmentId));
+        return segments;
+    }
+
+    private boolean append(AuditRecord record, byte[] payload) {
+        int offset = active.getUsedBytes() - 4;
+        if (!active.append(digest, record.getTimestampMillis(), record.getAccountId(),
+                record.getCorrelationId(), payload)) {
+            return false;
+        }
+        activeIndex.add(record.getAccountId(), record.getCorrelationId(), record.getTimestampMillis(), offset);
+        return true;
+    }
+
+    private void roll() throws IOException {
+        AuditSegment previous = active;
+        AuditIndexBuilder previousIndex = activeIndex;
+        previous.close();
+        // Até a compressão terminar, o segmento selado é consultado pelo mapeamento e índice em memória
+        sealed.put(previous.getSegmentId(), new SealedSegment(previousIndex, previous));
+
+        active = AuditSegment.create(segmentPath(previous.getSegmentId() + 1), previous.getSegmentId() + 1,
+                previous.getNextSequence(), previous.getLastHash(), segmentSize);
+        activeIndex = new AuditIndexBuilder();
+        sealedCounter.increment();
+        logger.info("Audit segment {} sealed with {} records", previous.getSegmentId(), previous.getRecordCount());
+
+        long segmentId = previous.getSegmentId();
+        Path path = previous.getPath();
+        int used = previous.getUsedBytes();
+        compressor.submit(() -> seal(segmentId, path, used, previousIndex));
+    }
+
+    /**
+     * Abre um segmento selado na inicialização, reconstruindo o índice se
+     * o arquivo .idx não existir ou estiver corrompido.
+     */
+    private void openSealed(Path path) throws IOException {
+        long segmentId = segmentId(path);
+        Path indexPath = indexPath(segmentId);
+        AuditRecordSource source = isActive(path) ? new MappedSource(path) : BlockCompressedSegment.open(path);
+
+        if (isActive(path) && compressSealed) {
+            // Selado antes de uma parada, mas não chegou a ser comprimido
+            AuditIndexBuilder builder = rebuildIndex(source);
+            sealed.put(segmentId, new SealedSegment(builder, source));
+            compressor.submit(() -> seal(segmentId, path, -1, builder));
+            return;
+        }
+
+        AuditIndex index = null;
+        if (Files.exists(indexPath)) {
+            try {
+                index = AuditSegmentIndex.open(indexPath);
+            } catch (IOException e) {
+                logger.warn("Rebuilding corrupted audit index {}: {}", indexPath.getFileName(), e.getMessage());
+            }
+        }
+        if (index == null) {
+            AuditSegmentIndex built = rebuildIndex(source).build();
+            built.writeTo(indexPath);
+            index = AuditSegmentIndex.open(indexPath);
+        }
+        sealed.put(segmentId, new SealedSegment(index, source));
+    }
+
+    /**
+     * Comprime em blocos os bytes úteis do segmento selado, persiste o
+     * índice compacto e troca a entrada em memória pelas versões em disco.
+     *
+     * @param usedBytes bytes a copiar, ou -1 para determinar pela leitura
+     */
+    private void seal(long segmentId, Path path, int usedBytes, AuditIndexBuilder builder) {
+        try {
+            Path indexPath = indexPath(segmentId);
+            builder.build().writeTo(indexPath);
+            AuditRecordSource source;
+
+            if (compressSealed) {
+                Path target = path.resolveSibling(path.getFileName() + "z");
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    int length = usedBytes >= 0 ? usedBytes
+                            : AuditSegmentReader.scan(buffer, null, null).getEndPosition() + 4;
+                    BlockCompressedSegment.write(buffer, Math.min(length, buffer.capacity()), target,
+                            BlockCompressedSegment.DEFAULT_BLOCK_SIZE);
+                }
+                source = BlockCompressedSegment.open(target);
+            } else {
+                source = new MappedSource(path);
+            }
+
+            sealed.put(segmentId, new SealedSegment(AuditSegmentIndex.open(indexPath), source));
+            if (compressSealed) {
+                Files.delete(path);
+                logger.debug("Audit segment {} compressed", path.getFileName());
+            }
+        } catch (IOException e) {
+            logger.error("Failed to seal audit segment {}: {}", path.getFileName(), e.getMessage());
+        }
+    }
+
+    private AuditIndexBuilder rebuildIndex(AuditRecordSource source) throws IOException {
+        AuditIndexBuilder builder = new AuditIndexBuilder();
+        AuditSegmentReader.scan(source.contents(), null, (record, offset) ->
+                builder.add(record.getAccountId(), record.getCorrelationId(), record.getTimestampMillis(), offset));
+        return builder;
+    }
+
+    private static int[] candidateOffsets(AuditIndex index, Long accountId, String correlationId) {
+        if (accountId != null && correlationId != null) {
+            int[] byAccount = index.accountOffsets(accountId);
+            int[] byCorrelation = index.correlationOffsets(correlationId);
+            return byAccount.length <= byCorrelation.length ? byAccount : byCorrelation;
+        }
+        if (accountId != null) {
+            return index.accountOffsets(accountId);
+        }
+        if (correlationId != null) {
+            return index.correlationOffsets(correlationId);
+        }
+        return null;
+    }
+
+    private static boolean matches(AuditStoredRecord record, Long accountId, String correlationId,
+                                   long fromMillis, long toMillis) {
+        return (accountId == null || accountId.equals(record.getAccountId()))
+                && (correlationId == null || correlationId.equals(record.getCorrelationId()))
+                && record.getTimestampMillis() >= fromMillis
+                && record.getTimestampMillis() <= toMillis;
+    }
+
+    private synchronized int activeUsedBytes() {
+        return active != null ? active.getUsedBytes() : 0;
+    }
+
+    private Path segmentPath(long segmentId) {
+        return root.resolve(String.format("%s%020d%s", PREFIX, segmentId, AuditSegmentReader.ACTIVE_SUFFIX));
+    }
+
+    private Path indexPath(long segmentId) {
+        return root.resolve(String.format("%s%020d%s", PREFIX, segmentId, INDEX_SUFFIX));
+    }
+
+    private static boolean isActive(Path path) {
+        return path.getFileName().toString().endsWith(AuditSegmentReader.ACTIVE_SUFFIX);
+    }
+
+    static long segmentId(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.indexOf('.')));
+    }
+
+    private static class SealedSegment {
+
+        private final AuditIndex index;
+        private final AuditRecordSource source;
+
+        SealedSegment(AuditIndex index, AuditRecordSource source) {
+            this.index = index;
+            this.source = source;
+        }
+    }
+
+    private static class SegmentView {
+
+        private final AuditRecordSource source;
+        private final AuditIndex index;
+        private final int[] offsets;
+        private final ByteBuffer contents;
+
+        SegmentView(AuditRecordSource source, AuditIndex index, int[] offsets, ByteBuffer contents) {
+            this.source = source;
+            this.index = index;
+            this.offsets = offsets;
+            this.contents = contents;
+        }
+    }
+
+    /**
+     * Segmento selado ainda não comprimido, lido via mapeamento
+     */
+    private static class MappedSource implements AuditRecordSource {
+
+        private final ByteBuffer buffer;
+
+        MappedSource(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+
+        @Override
+        public AuditStoredRecord readAt(int offset) {
+            return AuditSegmentReader.readAt(buffer, offset);
+        }
+
+        @Override
+        public ByteBuffer contents() {
+            return buffer.duplicate();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Registro lido de um segmento do audit store.
+ */
+public class AuditStoredRecord {
+
+    private final long sequence;
+    private final long timestampMillis;
+    private final Long accountId;
+    private final String correlationId;
+    private final byte[] payload;
+
+    public AuditStoredRecord(long sequence, long timestampMillis, Long accountId,
+                             String correlationId, byte[] payload) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.accountId = accountId;
+        this.correlationId = correlationId;
+        this.payload = payload;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * Registro de auditoria original em JSON
+     */
+    public String getJson() {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+}
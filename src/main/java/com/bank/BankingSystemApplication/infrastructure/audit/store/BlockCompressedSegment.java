@@ -0,0 +1,218 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Segmento selado comprimido em blocos independentes.
+ *
+ * Comprimir por blocos (em vez de um único stream) permite ler um
+ * registro pelo seu offset descomprimindo apenas o bloco que o contém,
+ * o que mantém as consultas indexadas rápidas sobre segmentos antigos.
+ *
+ * Formato: magic, versão, tamanho do bloco, tamanho descomprimido,
+ * quantidade de blocos, tabela de offsets dos blocos e os blocos.
+ */
+public class BlockCompressedSegment implements AuditRecordSource {
+
+    static final int MAGIC = 0x4155445A; // "AUDZ"
+    static final int VERSION = 1;
+    static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private static final int HEADER_SIZE = 20;
+    private static final int CACHED_BLOCKS = 16;
+
+    private final Path path;
+    private final int blockSize;
+    private final int uncompressedLength;
+    private final long[] blockOffsets;
+    private final Map<Integer, byte[]> blockCache = new LinkedHashMap<>(CACHED_BLOCKS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, byte[]> eldest) {
+            return size() > CACHED_BLOCKS;
+        }
+    };
+
+    private BlockCompressedSegment(Path path, int blockSize, int uncompressedLength, long[] blockOffsets) {
+        this.path = path;
+        this.blockSize = blockSize;
+        this.uncompressedLength = uncompressedLength;
+        this.blockOffsets = blockOffsets;
+    }
+
+    /**
+     * Comprime os primeiros {@code length} bytes de {@code source} em
+     * {@code target}, com escrita atômica via arquivo temporário.
+     */
+    public static void write(ByteBuffer source, int length, Path target, int blockSize) throws IOException {
+        int blockCount = (length + blockSize - 1) / blockSize;
+        long[] offsets = new long[blockCount + 1];
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long dataStart = HEADER_SIZE + 8L * offsets.length;
+            channel.position(dataStart);
+
+            byte[] input = new byte[blockSize];
+            byte[] output = new byte[blockSize + blockSize / 10 + 64];
+            long position = dataStart;
+            for (int block = 0; block < blockCount; block++) {
+                int size = Math.min(blockSize, length - block * blockSize);
+                source.get(block * blockSize, input, 0, size);
+                deflater.reset();
+                deflater.setInput(input, 0, size);
+                deflater.finish();
+                offsets[block] = position;
+                while (!deflater.finished()) {
+                    int compressed = deflater.deflate(output);
+                    position += channel.write(ByteBuffer.wrap(output, 0, compressed));
+                }
+            }
+            offsets[blockCount] = position;
+
+            ByteBuffer header = ByteBuffer.allocate((int) dataStart);
+            header.putInt(MAGIC).putInt(VERSION).putInt(blockSize).putInt(length).putInt(blockCount);
+            for (long offset : offsets) {
+                header.putLong(offset);
+            }
+            header.flip();
+            channel.write(header, 0);
+            channel.force(true);
+        } finally {
+            deflater.end();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static BlockCompressedSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Segmento comprimido inválido: " + path);
+            }
+            int blockSize = header.getInt();
+            int length = header.getInt();
+            int blockCount = header.getInt();
+
+            ByteBuffer table = ByteBuffer.allocate(8 * (blockCount + 1));
+            readFully(channel, table, HEADER_SIZE);
+            table.flip();
+            long[] offsets = new long[blockCount + 1];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = table.getLong();
+            }
+            return new BlockCompressedSegment(path, blockSize, length, offsets);
+        }
+    }
+
+    /**
+     * Descomprime o segmento inteiro (verificação e reconstrução de índice).
+     */
+    public ByteBuffer readAll() throws IOException {
+        return ByteBuffer.wrap(readRange(0, uncompressedLength));
+    }
+
+    @Override
+    public ByteBuffer contents() throws IOException {
+        return readAll();
+    }
+
+    @Override
+    public AuditStoredRecord readAt(int offset) throws IOException {
+        int bodySize = ByteBuffer.wrap(readRange(offset, 4)).getInt();
+        return AuditSegmentReader.readAt(ByteBuffer.wrap(readRange(offset, 4 + bodySize)), 0);
+    }
+
+    /**
+     * Lê {@code length} bytes descomprimidos a partir de {@code offset},
+     * descomprimindo apenas os blocos envolvidos.
+     */
+    public byte[] readRange(int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || (long) offset + length > uncompressedLength) {
+            throw new IOException("Faixa fora do segmento: " + offset + "+" + length);
+        }
+        byte[] result = new byte[length];
+        int copied = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (copied < length) {
+                int position = offset + copied;
+                int block = position / blockSize;
+                byte[] data = block(channel, block);
+                int inBlock = position - block * blockSize;
+                int size = Math.min(length - copied, data.length - inBlock);
+                System.arraycopy(data, inBlock, result, copied, size);
+                copied += size;
+            }
+        }
+        return result;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getUncompressedLength() {
+        return uncompressedLength;
+    }
+
+    private byte[] block(FileChannel channel, int block) throws IOException {
+        synchronized (blockCache) {
+            byte[] cached = blockCache.get(block);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        ByteBuffer compressed = ByteBuffer.allocate((int) (blockOffsets[block + 1] - blockOffsets[block]));
+        readFully(channel, compressed, blockOffsets[block]);
+
+        int size = Math.min(blockSize, uncompressedLength - block * blockSize);
+        byte[] data = new byte[size];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.array(), 0, compressed.capacity());
+            int read = 0;
+            while (read < size && !inflater.finished()) {
+                int n = inflater.inflate(data, read, size - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != size) {
+                throw new IOException("Bloco " + block + " truncado em " + path);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Bloco " + block + " corrompido em " + path, e);
+        } finally {
+            inflater.end();
+        }
+
+        synchronized (blockCache) {
+            blockCache.put(block, data);
+        }
+        return data;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Fim inesperado do arquivo");
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.bank.BankingSystemApplication.infrastructure.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica a fila e os descartes dos appenders assíncronos configurados no
+ * logback-spring.xml.
+ *
+ * Métricas por appender:
+ * - banking.logging.events{outcome=queued|shed|rejected}: enfileirados,
+ *   amostrados sob sobrecarga e descartados com a fila cheia
+ * - banking.logging.queue.size e banking.logging.queue.capacity
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (OverloadSheddingAsyncAppender appender : OverloadSheddingAsyncAppender.startedAppenders()) {
+            String name = appender.getName();
+            FunctionCounter.builder("banking.logging.events", appender, OverloadSheddingAsyncAppender::getAppendedCount)
+                    .description("Eventos de log enfileirados para escrita assíncrona")
+                    .tags("appender", name, "outcome", "queued")
+                    .register(registry);
+            FunctionCounter.builder("banking.logging.events", appender, OverloadSheddingAsyncAppender::getShedCount)
+                    .description("Eventos de log descartados pela amostragem sob sobrecarga")
+                    .tags("appender", name, "outcome", "shed")
+                    .register(registry);
+            FunctionCounter.builder("banking.logging.events", appender, OverloadSheddingAsyncAppender::getRejectedCount)
+                    .description("Eventos de log descartados com a fila cheia")
+                    .tags("appender", name, "outcome", "rejected")
+                    .register(registry);
+            Gauge.builder("banking.logging.queue.size", appender, OverloadSheddingAsyncAppender::queueSize)
+                    .description("Eventos de log aguardando escrita")
+                    .tag("appender", name)
+                    .register(registry);
+            Gauge.builder("banking.logging.queue.capacity", appender, OverloadSheddingAsyncAppender::getRingBufferSize)
+                    .description("Capacidade do ring buffer do appender")
+                    .tag("appender", name)
+                    .register(registry);
+        }
+    }
+}
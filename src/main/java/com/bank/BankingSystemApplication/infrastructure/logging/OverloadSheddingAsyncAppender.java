@@ -0,0 +1,133 @@
+package com.bank.BankingSystemApplication.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.appender.listener.AppenderListener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appender assíncrono com ring buffer (LMAX Disruptor) que descarta logs de
+ * baixa severidade quando a fila enche.
+ *
+ * A thread da requisição só copia o evento para o ring buffer; a
+ * serialização JSON e a escrita ficam com a thread do appender, que entrega
+ * os eventos em lote aos appenders delegados e só faz flush no fim de cada
+ * lote (quando o delegado tem {@code immediateFlush=false}).
+ *
+ * Enquanto a ocupação da fila estiver acima de {@code sheddingThreshold},
+ * eventos abaixo de WARN são amostrados: apenas 1 a cada
+ * {@code sampleRate} é enfileirado. WARN e ERROR nunca são amostrados, mas
+ * com a fila cheia qualquer evento é descartado após {@code appendTimeout}
+ * (0 descarta na hora, sem bloquear a requisição).
+ *
+ * As instâncias iniciadas ficam registradas para que o
+ * {@link LoggingMetrics} publique fila e descartes no Micrometer.
+ */
+public class OverloadSheddingAsyncAppender extends LoggingEventAsyncDisruptorAppender {
+
+    private static final Set<OverloadSheddingAsyncAppender> STARTED = ConcurrentHashMap.newKeySet();
+
+    private double sheddingThreshold = 0.75;
+    private int sampleRate = 10;
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    public OverloadSheddingAsyncAppender() {
+        addListener(new AppenderListener<>() {
+            @Override
+            public void eventAppended(Appender<ILoggingEvent> appender, ILoggingEvent event, long durationInNanos) {
+                appended.increment();
+            }
+
+            @Override
+            public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+                rejected.increment();
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        if (sampleRate < 1) {
+            addWarn("sampleRate must be at least 1, using 1");
+            sampleRate = 1;
+        }
+        super.start();
+        if (isStarted()) {
+            STARTED.add(this);
+        }
+    }
+
+    @Override
+    public void stop() {
+        STARTED.remove(this);
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (shouldShed(event.getLevel(), queueSize())) {
+            shed.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    boolean shouldShed(Level level, int queueSize) {
+        if (level.isGreaterOrEqual(Level.WARN) || queueSize < sheddingThreshold * getRingBufferSize()) {
+            return false;
+        }
+        return sampleSequence.getAndIncrement() % sampleRate != 0;
+    }
+
+    /** Eventos aguardando a thread do appender */
+    public int queueSize() {
+        if (getDisruptor() == null) {
+            return 0;
+        }
+        return getRingBufferSize() - (int) getDisruptor().getRingBuffer().remainingCapacity();
+    }
+
+    public long getAppendedCount() {
+        return appended.sum();
+    }
+
+    /** Descartados pela amostragem sob sobrecarga */
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    /** Descartados com a fila cheia */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public double getSheddingThreshold() {
+        return sheddingThreshold;
+    }
+
+    public void setSheddingThreshold(double sheddingThreshold) {
+        this.sheddingThreshold = sheddingThreshold;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    static Set<OverloadSheddingAsyncAppender> startedAppenders() {
+        return Set.copyOf(STARTED);
+    }
+}
@@ -0,0 +1,373 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Modelo de latência por componente (database, espera por lock, Kafka e
+ * lógica de negócio) para identificar gargalos.
+ *
+ * As amostras só são somadas no caminho da requisição; a cada
+ * {@code tick-seconds} a média do intervalo alimenta duas médias móveis
+ * exponenciais com variância, uma rápida e uma lenta (meias-vidas
+ * configuráveis). A rápida é a latência atual do componente e a lenta a
+ * referência contra a qual mudanças são detectadas. Intervalos sem amostras
+ * não mexem nas médias, mas reduzem o número efetivo de amostras e com ele
+ * a confiança.
+ *
+ * Mudanças de patamar são detectadas com CUSUM sobre a média do intervalo
+ * padronizada pela referência. A contribuição de cada intervalo é limitada
+ * a metade do limiar, então uma consulta lenta isolada não basta: são
+ * necessários pelo menos três intervalos alterados seguidos. Ao detectar
+ * uma mudança, as duas médias passam para o novo patamar.
+ *
+ * Um componente é gargalo quando a média rápida passa do limite de operação
+ * lenta ou quando subiu de patamar há menos de uma meia-vida lenta. O
+ * tempo de negócio é registrado sem os estágios aninhados da requisição
+ * (database, Kafka), para não repetir o tempo deles.
+ */
+@Service
+@ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class ComponentLatencyModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComponentLatencyModel.class);
+
+    // Desvio padrão mínimo, relativo à referência, ao padronizar amostras
+    private static final double MIN_RELATIVE_SIGMA = 0.05;
+    private static final double MIN_SIGMA_MS = 0.1;
+
+    public enum Component {
+        DATABASE("database"),
+        LOCK_WAIT("lock_wait"),
+        KAFKA("kafka"),
+        BUSINESS("business-logic");
+
+        private final String label;
+
+        Component(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    public enum Status {
+        SLOW, DEGRADED, NORMAL
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${performance.bottleneck.tick-seconds:1}")
+    private int tickSeconds;
+
+    @Value("${performance.bottleneck.fast-half-life-seconds:10}")
+    private double fastHalfLifeSeconds;
+
+    @Value("${performance.bottleneck.slow-half-life-seconds:300}")
+    private double slowHalfLifeSeconds;
+
+    @Value("${performance.bottleneck.cusum-drift:0.5}")
+    private double cusumDrift;
+
+    @Value("${performance.bottleneck.cusum-threshold:5}")
+    private double cusumThreshold;
+
+    @Value("${performance.bottleneck.min-samples:5}")
+    private double minSamples;
+
+    @Value("${performance.bottleneck.min-confidence:0.7}")
+    private double minConfidence;
+
+    @Value("${performance.monitoring.slow-operation-threshold:1000}")
+    private long slowThresholdMs;
+
+    private final Map<Component, Estimator> estimators = new EnumMap<>(Component.class);
+    private final Map<Component, Counter[]> changeCounters = new EnumMap<>(Component.class);
+    private volatile long lastTick = System.currentTimeMillis();
+    private volatile Bottleneck currentBottleneck;
+    private ScheduledExecutorService tickScheduler;
+
+    public ComponentLatencyModel(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Component component : Component.values()) {
+            estimators.put(component, new Estimator());
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        for (Component component : Component.values()) {
+            Estimator estimator = estimators.get(component);
+            Gauge.builder("banking.component.latency", estimator, e -> e.fastMean)
+                    .description("Latência média móvel do componente (ms)")
+                    .tags("component", component.label(), "horizon", "fast")
+                    .register(meterRegistry);
+            Gauge.builder("banking.component.latency", estimator, e -> e.slowMean)
+                    .description("Latência média móvel do componente (ms)")
+                    .tags("component", component.label(), "horizon", "slow")
+                    .register(meterRegistry);
+            changeCounters.put(component, new Counter[] {
+                    changeCounter(component, "up"), changeCounter(component, "down")});
+        }
+        tickScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "component-latency-tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+        tickScheduler.scheduleAtFixedRate(() -> tick(System.currentTimeMillis()),
+                tickSeconds, tickSeconds, TimeUnit.SECONDS);
+        logger.info("Component latency model started: half-lives {}s/{}s", fastHalfLifeSeconds, slowHalfLifeSeconds);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (tickScheduler != null) {
+            tickScheduler.shutdownNow();
+        }
+    }
+
+    void configure(double fastHalfLifeSeconds, double slowHalfLifeSeconds, double cusumDrift,
+                   double cusumThreshold, double minSamples, double minConfidence, long slowThresholdMs) {
+        this.fastHalfLifeSeconds = fastHalfLifeSeconds;
+        this.slowHalfLifeSeconds = slowHalfLifeSeconds;
+        this.cusumDrift = cusumDrift;
+        this.cusumThreshold = cusumThreshold;
+        this.minSamples = minSamples;
+        this.minConfidence = minConfidence;
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public void record(Component component, long nanos) {
+        Estimator estimator = estimators.get(component);
+        estimator.count.increment();
+        estimator.sumNanos.add(nanos);
+    }
+
+    /** Média rápida do componente, em milissegundos */
+    public double getCurrentMs(Component component) {
+        return estimators.get(component).fastMean;
+    }
+
+    /**
+     * Fecha o intervalo corrente de todos os componentes. Uma amostra
+     * concorrente com o fechamento pode ter contagem e soma divididas entre
+     * dois intervalos, o que só desloca levemente as médias.
+     */
+    synchronized void tick(long now) {
+        double elapsedSeconds = Math.max(0.001, (now - lastTick) / 1000.0);
+        lastTick = now;
+        double fastAlpha = alpha(elapsedSeconds, fastHalfLifeSeconds);
+        double slowAlpha = alpha(elapsedSeconds, slowHalfLifeSeconds);
+        estimators.forEach((component, estimator) -> {
+            long count = estimator.count.sumThenReset();
+            long sumNanos = estimator.sumNanos.sumThenReset();
+            int change = estimator.update(count, count > 0 ? sumNanos / 1_000_000.0 / count : 0,
+                    fastAlpha, slowAlpha, now);
+            if (change != 0) {
+                logger.info("Latency change point in {}: {} to {}ms (baseline {}ms)", component.label(),
+                        change > 0 ? "up" : "down", round(estimator.fastMean), round(estimator.lastChangeFromMs));
+                Counter[] counters = changeCounters.get(component);
+                if (counters != null) {
+                    counters[change > 0 ? 0 : 1].increment();
+                }
+            }
+        });
+        currentBottleneck = selectBottleneck(rank(now));
+    }
+
+    /**
+     * Componentes ordenados do maior para o menor gargalo: primeiro os
+     * lentos, depois os que subiram de patamar, e dentro de cada grupo pela
+     * latência atual.
+     */
+    public List<Bottleneck> getRankedBottlenecks() {
+        return rank(System.currentTimeMillis());
+    }
+
+    /**
+     * Maior gargalo com confiança mínima no último tick, ou null se nenhum
+     * componente estiver lento ou degradado. Calculado no tick para que o
+     * roteamento de cada requisição só leia um campo.
+     */
+    public Bottleneck getCurrentBottleneck() {
+        return currentBottleneck;
+    }
+
+    public boolean isBottleneck(Component component) {
+        Bottleneck current = currentBottleneck;
+        return current != null && current.component.equals(component.label());
+    }
+
+    private List<Bottleneck> rank(long now) {
+        List<Bottleneck> ranking = new ArrayList<>();
+        estimators.forEach((component, estimator) -> ranking.add(estimator.describe(component, now)));
+        ranking.sort(Comparator.comparing((Bottleneck bottleneck) -> bottleneck.status)
+                .thenComparing(Comparator.comparingDouble((Bottleneck bottleneck) -> bottleneck.currentMs).reversed()));
+        return ranking;
+    }
+
+    private Bottleneck selectBottleneck(List<Bottleneck> ranking) {
+        for (Bottleneck bottleneck : ranking) {
+            if (bottleneck.status != Status.NORMAL && bottleneck.confidence >= minConfidence) {
+                return bottleneck;
+            }
+        }
+        return null;
+    }
+
+    private Counter changeCounter(Component component, String direction) {
+        return Counter.builder("banking.component.latency.changes")
+                .description("Mudanças de patamar de latência detectadas por componente")
+                .tags("component", component.label(), "direction", direction)
+                .register(meterRegistry);
+    }
+
+    private static double alpha(double elapsedSeconds, double halfLifeSeconds) {
+        return 1 - Math.pow(0.5, elapsedSeconds / halfLifeSeconds);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * Estado de um componente. Os acumuladores são escritos pelas
+     * requisições; o restante só pela thread do tick e lido pelos gauges e
+     * pela API.
+     */
+    private final class Estimator {
+        final LongAdder count = new LongAdder();
+        final LongAdder sumNanos = new LongAdder();
+
+        volatile double fastMean;
+        volatile double fastVariance;
+        volatile double slowMean;
+        volatile double slowVariance;
+        volatile double effectiveSamples;
+        volatile long lastSampleAt;
+        double cusumUp;
+        double cusumDown;
+        volatile int lastChange;
+        volatile long lastChangeAt;
+        volatile double lastChangeFromMs;
+        boolean initialized;
+
+        /** @return 1 ou -1 se detectou uma mudança de patamar para cima ou para baixo, senão 0 */
+        int update(long samples, double meanMs, double fastAlpha, double slowAlpha, long now) {
+            effectiveSamples = effectiveSamples * (1 - fastAlpha) + samples;
+            if (samples == 0) {
+                return 0;
+            }
+            lastSampleAt = now;
+            if (!initialized) {
+                fastMean = meanMs;
+                slowMean = meanMs;
+                initialized = true;
+                return 0;
+            }
+
+            int change = 0;
+            if (effectiveSamples >= minSamples) {
+                double sigma = Math.max(Math.sqrt(slowVariance), Math.max(MIN_SIGMA_MS, slowMean * MIN_RELATIVE_SIGMA));
+                double limit = cusumThreshold / 2;
+                double z = Math.max(-limit, Math.min(limit, (meanMs - slowMean) / sigma));
+                cusumUp = Math.max(0, cusumUp + z - cusumDrift);
+                cusumDown = Math.max(0, cusumDown - z - cusumDrift);
+                if (cusumUp > cusumThreshold || cusumDown > cusumThreshold) {
+                    change = cusumUp > cusumThreshold ? 1 : -1;
+                    lastChange = change;
+                    lastChangeAt = now;
+                    lastChangeFromMs = slowMean;
+                    cusumUp = 0;
+                    cusumDown = 0;
+                }
+            }
+
+            if (change != 0) {
+                // Novo patamar: a média do intervalo, mantendo a dispersão observada
+                fastMean = meanMs;
+                slowMean = meanMs;
+                slowVariance = fastVariance;
+                return change;
+            }
+            double diff = meanMs - fastMean;
+            double increment = fastAlpha * diff;
+            fastMean += increment;
+            fastVariance = (1 - fastAlpha) * (fastVariance + diff * increment);
+            diff = meanMs - slowMean;
+            increment = slowAlpha * diff;
+            slowMean += increment;
+            slowVariance = (1 - slowAlpha) * (slowVariance + diff * increment);
+            return 0;
+        }
+
+        Bottleneck describe(Component component, long now) {
+            double current = fastMean;
+            boolean recentlyUp = lastChange > 0 && now - lastChangeAt < slowHalfLifeSeconds * 1000;
+            Status status = current > slowThresholdMs ? Status.SLOW
+                    : recentlyUp && current > lastChangeFromMs ? Status.DEGRADED : Status.NORMAL;
+            double confidence = effectiveSamples / (effectiveSamples + minSamples);
+            return new Bottleneck(component.label(), status, round(current), round(slowMean),
+                    round(Math.sqrt(fastVariance)), round(confidence), Math.round(effectiveSamples),
+                    lastSampleAt, lastChange == 0 ? null
+                    : new ChangePoint(lastChange > 0 ? "up" : "down", lastChangeAt, round(lastChangeFromMs)));
+        }
+    }
+
+    public static class Bottleneck {
+        public final String component;
+        public final Status status;
+        public final double currentMs;
+        public final double baselineMs;
+        public final double stdDevMs;
+        public final double confidence;
+        public final long effectiveSamples;
+        public final long lastSampleAt;
+        public final ChangePoint lastChange;
+
+        public Bottleneck(String component, Status status, double currentMs, double baselineMs, double stdDevMs,
+                          double confidence, long effectiveSamples, long lastSampleAt, ChangePoint lastChange) {
+            this.component = component;
+            this.status = status;
+            this.currentMs = currentMs;
+            this.baselineMs = baselineMs;
+            this.stdDevMs = stdDevMs;
+            this.confidence = confidence;
+            this.effectiveSamples = effectiveSamples;
+            this.lastSampleAt = lastSampleAt;
+            this.lastChange = lastChange;
+        }
+    }
+
+    public static class ChangePoint {
+        public final String direction;
+        public final long at;
+        public final double fromMs;
+
+        public ChangePoint(String direction, long at, double fromMs) {
+            this.direction = direction;
+            this.at = at;
+            this.fromMs = fromMs;
+        }
+    }
+}
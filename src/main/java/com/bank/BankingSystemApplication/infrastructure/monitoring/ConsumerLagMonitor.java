@@ -0,0 +1,329 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.MemberDescription;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monitora o lag dos grupos de consumo dos workers assíncronos.
+ *
+ * Periodicamente compara os offsets finais de cada partição com os offsets
+ * confirmados pelo grupo, estima a taxa de consumo pela variação dos
+ * offsets confirmados e, a partir dela, o tempo para drenar o backlog.
+ * Os valores são publicados como gauges e usados pelo SystemLoadMonitor
+ * para decidir entre processar, enfileirar ou rejeitar requisições.
+ */
+@Component
+public class ConsumerLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsumerLagMonitor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, GroupLag> lags = new ConcurrentHashMap<>();
+
+    @Value("${spring.kafka.bootstrap-servers:}")
+    private String bootstrapServers;
+
+    @Value("${kafka.lag-monitor.enabled:true}")
+    private boolean enabled;
+
+    @Value("${kafka.lag-monitor.groups:banking-worker}")
+    private List<String> groups;
+
+    @Value("${kafka.lag-monitor.interval-ms:5000}")
+    private long intervalMs;
+
+    private AdminClient adminClient;
+    private ScheduledExecutorService scheduler;
+
+    public ConsumerLagMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || bootstrapServers == null || bootstrapServers.isBlank()) {
+            logger.info("Consumer lag monitor desabilitado");
+            return;
+        }
+
+        for (String group : groups) {
+            Gauge.builder("banking.kafka.consumer.lag", this, monitor -> monitor.getLag(group).getLag())
+                    .description("Mensagens pendentes no grupo de consumo")
+                    .tag("group", group)
+                    .register(meterRegistry);
+            Gauge.builder("banking.kafka.consumer.drain.seconds", this, monitor -> monitor.getLag(group).getDrainSeconds())
+                    .description("Tempo estimado para drenar o backlog do grupo")
+                    .tag("group", group)
+                    .register(meterRegistry);
+            Gauge.builder("banking.kafka.consumer.rate", this, monitor -> monitor.getLag(group).getConsumeRate())
+                    .description("Mensagens confirmadas por segundo pelo grupo")
+                    .tag("group", group)
+                    .register(meterRegistry);
+        }
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, (int) Math.min(intervalMs, 5000));
+        config.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, (int) Math.min(intervalMs * 2, 10000));
+        adminClient = AdminClient.create(config);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "consumer-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sampleAll, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (adminClient != null) {
+            adminClient.close(Duration.ofSeconds(2));
+        }
+    }
+
+    /**
+     * Lag do grupo; {@link GroupLag#UNKNOWN} enquanto não houver amostra.
+     */
+    public GroupLag getLag(String group) {
+        return lags.getOrDefault(group, GroupLag.UNKNOWN);
+    }
+
+    public Map<String, GroupLag> getAllLags() {
+        return Collections.unmodifiableMap(lags);
+    }
+
+    /**
+     * Indica se há amostras recentes (até três intervalos) para todos os grupos.
+     */
+    public boolean isAvailable() {
+        if (lags.isEmpty()) {
+            return false;
+        }
+        long staleBefore = System.currentTimeMillis() - intervalMs * 3;
+        for (String group : groups) {
+            GroupLag lag = lags.get(group);
+            if (lag == null || lag.getSampledAt() < staleBefore) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getTotalLag() {
+        long total = 0;
+        for (GroupLag lag : lags.values()) {
+            total += lag.getLag();
+        }
+        return total;
+    }
+
+    /**
+     * Tempo estimado até que uma mensagem publicada agora seja consumida,
+     * ou seja, o pior tempo de drenagem entre os grupos monitorados.
+     *
+     * @return segundos, {@code NaN} se desconhecido: sem amostras recentes
+     *         ou com algum grupo com backlog e taxa de consumo desconhecida
+     */
+    public double getEstimatedCompletionSeconds() {
+        if (!isAvailable()) {
+            return Double.NaN;
+        }
+        double worst = 0.0;
+        for (GroupLag lag : lags.values()) {
+            worst = Math.max(worst, lag.getDrainSeconds());
+        }
+        return worst;
+    }
+
+    void sampleAll() {
+        for (String group : groups) {
+            try {
+                sample(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.debug("Falha ao amostrar lag do grupo {}: {}", group, e.getMessage());
+            }
+        }
+    }
+
+    private void sample(String group) throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> committed = adminClient
+                .listConsumerGroupOffsets(group)
+                .partitionsToOffsetAndMetadata()
+                .get(intervalMs, TimeUnit.MILLISECONDS);
+
+        // Partições atribuídas que ainda não têm offset confirmado (grupo novo) também acumulam lag
+        Set<TopicPartition> partitions = new HashSet<>(committed.keySet());
+        ConsumerGroupDescription description = adminClient
+                .describeConsumerGroups(List.of(group))
+                .describedGroups()
+                .get(group)
+                .get(intervalMs, TimeUnit.MILLISECONDS);
+        for (MemberDescription member : description.members()) {
+            partitions.addAll(member.assignment().topicPartitions());
+        }
+
+        Map<TopicPartition, Long> endOffsets = Collections.emptyMap();
+        Map<TopicPartition, Long> startOffsets = Collections.emptyMap();
+        if (!partitions.isEmpty()) {
+            endOffsets = listOffsets(partitions, OffsetSpec.latest());
+            Set<TopicPartition> uncommitted = new HashSet<>();
+            for (TopicPartition partition : partitions) {
+                if (committed.get(partition) == null) {
+                    uncommitted.add(partition);
+                }
+            }
+            if (!uncommitted.isEmpty()) {
+                startOffsets = listOffsets(uncommitted, OffsetSpec.earliest());
+            }
+        }
+
+        lags.put(group, measure(lags.get(group), partitions, committed, endOffsets, startOffsets,
+                System.currentTimeMillis()));
+    }
+
+    private Map<TopicPartition, Long> listOffsets(Set<TopicPartition> partitions, OffsetSpec spec) throws Exception {
+        Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+        partitions.forEach(partition -> request.put(partition, spec));
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        adminClient.listOffsets(request)
+                .all()
+                .get(intervalMs, TimeUnit.MILLISECONDS)
+                .forEach((partition, info) -> offsets.put(partition, info.offset()));
+        return offsets;
+    }
+
+    /**
+     * Soma lag e offsets das partições do grupo. Sem offset confirmado, a
+     * posição do grupo é o início da partição ({@code auto-offset-reset=earliest}):
+     * tudo o que já está no tópico ainda será consumido.
+     */
+    static GroupLag measure(GroupLag previous, Set<TopicPartition> partitions,
+                            Map<TopicPartition, OffsetAndMetadata> committed,
+                            Map<TopicPartition, Long> endOffsets,
+                            Map<TopicPartition, Long> startOffsets, long now) {
+        long lag = 0;
+        long committedSum = 0;
+        long endSum = 0;
+        for (TopicPartition partition : partitions) {
+            Long end = endOffsets.get(partition);
+            OffsetAndMetadata offset = committed.get(partition);
+            Long position = offset != null ? Long.valueOf(offset.offset()) : startOffsets.get(partition);
+            if (end == null || position == null) {
+                continue;
+            }
+            committedSum += position;
+            endSum += end;
+            lag += Math.max(0, end - position);
+        }
+        return GroupLag.next(previous, lag, committedSum, endSum, now);
+    }
+
+    /**
+     * Amostra de lag de um grupo com taxas suavizadas por média móvel
+     * exponencial entre amostras consecutivas.
+     */
+    public static class GroupLag {
+
+        static final GroupLag UNKNOWN = new GroupLag(0, 0, 0, 0.0, 0.0, 0L);
+
+        /** Peso da amostra mais recente na média móvel das taxas */
+        private static final double SMOOTHING = 0.3;
+
+        private final long lag;
+        private final long committedSum;
+        private final long endSum;
+        private final double consumeRate;
+        private final double produceRate;
+        private final long sampledAt;
+
+        GroupLag(long lag, long committedSum, long endSum, double consumeRate, double produceRate, long sampledAt) {
+            this.lag = lag;
+            this.committedSum = committedSum;
+            this.endSum = endSum;
+            this.consumeRate = consumeRate;
+            this.produceRate = produceRate;
+            this.sampledAt = sampledAt;
+        }
+
+        static GroupLag next(GroupLag previous, long lag, long committedSum, long endSum, long now) {
+            if (previous == null || previous.sampledAt <= 0 || now <= previous.sampledAt) {
+                return new GroupLag(lag, committedSum, endSum, 0.0, 0.0, now);
+            }
+            double seconds = (now - previous.sampledAt) / 1000.0;
+            // Rebalanceamentos e resets podem fazer as somas recuarem; descarta a variação negativa
+            double consumed = Math.max(0, committedSum - previous.committedSum) / seconds;
+            double produced = Math.max(0, endSum - previous.endSum) / seconds;
+            // Sem backlog no início do intervalo o consumo só acompanhou a produção: é um piso
+            // da capacidade dos workers, não uma medida dela, e não pode derrubar a taxa
+            double consumeRate = previous.lag == 0
+                    ? Math.max(previous.consumeRate, consumed)
+                    : smooth(previous.consumeRate, consumed);
+            return new GroupLag(lag, committedSum, endSum,
+                    consumeRate, smooth(previous.produceRate, produced), now);
+        }
+
+        private static double smooth(double previous, double current) {
+            return previous == 0.0 ? current : SMOOTHING * current + (1 - SMOOTHING) * previous;
+        }
+
+        public long getLag() {
+            return lag;
+        }
+
+        public double getConsumeRate() {
+            return consumeRate;
+        }
+
+        public double getProduceRate() {
+            return produceRate;
+        }
+
+        /**
+         * Segundos para consumir o backlog atual na taxa observada;
+         * {@code NaN} se há lag e a taxa ainda é desconhecida (primeira
+         * amostra, ou nenhum consumo com backlog observado até agora).
+         */
+        public double getDrainSeconds() {
+            if (lag == 0) {
+                return 0.0;
+            }
+            return consumeRate > 0 ? lag / consumeRate : Double.NaN;
+        }
+
+        public long getSampledAt() {
+            return sampledAt;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.BankingSystemApplication.infrastructure.monitoring;
 
+import com.bank.BankingSystemApplication.infrastructure.monitoring.MeterHandleCache.MeterFamily;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -14,6 +15,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class DatadogTracingService {
@@ -29,13 +31,17 @@ public class DatadogTracingService {
     @Value("${datadog.environment:local}")
     private String environment;
 
-    private final Map<String, Timer.Sample> activeTimers = new ConcurrentHashMap<>();
     private final Counter accountCreationCounter;
     private final Counter transactionCounter;
     private final Counter errorCounter;
+    private final MeterHandleCache meterHandleCache;
+    private final MeterFamily<Counter> transactionTypeCounters;
+    private final MeterFamily<Counter> operationErrorCounters;
+    private final Map<String, SpanMeters> spanMeters = new ConcurrentHashMap<>();
 
-    public DatadogTracingService(MeterRegistry meterRegistry) {
+    public DatadogTracingService(MeterRegistry meterRegistry, MeterHandleCache meterHandleCache) {
         this.meterRegistry = meterRegistry;
+        this.meterHandleCache = meterHandleCache;
         this.accountCreationCounter = Counter.builder("banking.account.creation")
                 .description("Number of account creation operations")
                 .register(meterRegistry);
@@ -45,6 +51,10 @@ public class DatadogTracingService {
         this.errorCounter = Counter.builder("banking.error")
                 .description("Number of banking operation errors")
                 .register(meterRegistry);
+        this.transactionTypeCounters = meterHandleCache.counters("banking.transaction",
+                "Number of banking transactions", "type");
+        this.operationErrorCounters = meterHandleCache.counters("banking.error",
+                "Number of banking operation errors", "operation", "error_type");
     }
 
     public BankingSpan startAccountCreation(String cpf) {
@@ -59,14 +69,10 @@ public class DatadogTracingService {
         MDC.put("service.name", serviceName);
         MDC.put("environment", environment);
         
-        // Start Micrometer timer
-        Timer.Sample timerSample = Timer.start(meterRegistry);
-        activeTimers.put(operationId, timerSample);
-        
         logger.info("Starting account creation for customer: {}", maskCpf(cpf));
-        accountCreationCounter.increment();
+        countAccountCreation();
         
-        return new BankingSpan(operationId, operationName, timerSample);
+        return new BankingSpan(operationId, operationName);
     }
 
     public BankingSpan startTransaction(String accountId, String transactionType, BigDecimal amount) {
@@ -83,20 +89,12 @@ public class DatadogTracingService {
         MDC.put("service.name", serviceName);
         MDC.put("environment", environment);
         
-        Timer.Sample timerSample = Timer.start(meterRegistry);
-        activeTimers.put(operationId, timerSample);
-        
         logger.info("Starting {} transaction for account: {}, amount: {}", 
                 transactionType, accountId, amount);
         
-        // Create tagged counter for this transaction type
-        Counter.builder("banking.transaction")
-                .description("Number of banking transactions")
-                .tag("type", transactionType.toLowerCase())
-                .register(meterRegistry)
-                .increment();
+        countTransaction(transactionType);
         
-        return new BankingSpan(operationId, operationName, timerSample);
+        return new BankingSpan(operationId, operationName);
     }
 
     public BankingSpan startDatabaseOperation(String operation, String table) {
@@ -110,12 +108,9 @@ public class DatadogTracingService {
         MDC.put("service.name", serviceName);
         MDC.put("environment", environment);
         
-        Timer.Sample timerSample = Timer.start(meterRegistry);
-        activeTimers.put(operationId, timerSample);
-        
         logger.debug("Starting database operation: {} on table: {}", operation, table);
         
-        return new BankingSpan(operationId, operationName, timerSample);
+        return new BankingSpan(operationId, operationName);
     }
 
     public BankingSpan startKafkaOperation(String operation, String topic) {
@@ -129,12 +124,45 @@ public class DatadogTracingService {
         MDC.put("service.name", serviceName);
         MDC.put("environment", environment);
         
-        Timer.Sample timerSample = Timer.start(meterRegistry);
-        activeTimers.put(operationId, timerSample);
-        
         logger.debug("Starting Kafka operation: {} on topic: {}", operation, topic);
         
-        return new BankingSpan(operationId, operationName, timerSample);
+        return new BankingSpan(operationId, operationName);
+    }
+
+    /**
+     * Contadores de negócio; também chamados no caminho não amostrado do
+     * {@link TracingAspect}, para que as contagens não dependam da taxa de
+     * amostragem.
+     */
+    public void countAccountCreation() {
+        accountCreationCounter.increment();
+    }
+
+    public void countTransaction(String transactionType) {
+        transactionTypeCounters.get(transactionType.toLowerCase()).increment();
+    }
+
+    /**
+     * Registra uma chamada não amostrada que falhou ou passou do limite de
+     * lentidão: timer e contador de erro como um span completo, sem o
+     * contexto de MDC do início da operação.
+     */
+    public void recordUnsampledOutlier(String operationName, long elapsedNanos, Throwable error) {
+        SpanMeters meters = spanMeters(operationName);
+        meters.timers.get(error == null ? "success" : "error").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (error == null) {
+            logger.warn("Slow unsampled operation {} took {}ms", operationName, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            return;
+        }
+        operationErrorCounters.get(meters.operationType, error.getClass().getSimpleName()).increment();
+        try {
+            MDC.put("error.type", error.getClass().getSimpleName());
+            MDC.put("error.message", error.getMessage());
+            logger.error("Operation {} failed with error: {}", operationName, error.getMessage(), error);
+        } finally {
+            MDC.remove("error.type");
+            MDC.remove("error.message");
+        }
     }
 
     public void finishSpan(BankingSpan span) {
@@ -144,17 +172,8 @@ public class DatadogTracingService {
         }
 
         try {
-            // Stop timer and record metrics
-            Timer.Sample timerSample = activeTimers.remove(span.operationId);
-            if (timerSample != null) {
-                Timer timer = Timer.builder(span.operationName)
-                        .description("Duration of " + span.operationName + " operation")
-                        .tag("service", serviceName)
-                        .tag("environment", environment)
-                        .tag("operation", extractOperationType(span.operationName))
-                        .register(meterRegistry);
-                timerSample.stop(timer);
-            }
+            spanMeters(span.operationName).timers.get("success")
+                    .record(System.nanoTime() - span.startNanos, TimeUnit.NANOSECONDS);
 
             logger.info("Completed operation: {}", span.operationName);
         } finally {
@@ -174,26 +193,11 @@ public class DatadogTracingService {
             MDC.put("error.type", error.getClass().getSimpleName());
             MDC.put("error.message", error.getMessage());
             
-            // Stop timer and record error metrics
-            Timer.Sample timerSample = activeTimers.remove(span.operationId);
-            if (timerSample != null) {
-                Timer timer = Timer.builder(span.operationName)
-                        .description("Duration of " + span.operationName + " operation")
-                        .tag("service", serviceName)
-                        .tag("environment", environment)
-                        .tag("operation", extractOperationType(span.operationName))
-                        .tag("status", "error")
-                        .register(meterRegistry);
-                timerSample.stop(timer);
-            }
+            SpanMeters meters = spanMeters(span.operationName);
+            meters.timers.get("error").record(System.nanoTime() - span.startNanos, TimeUnit.NANOSECONDS);
 
             // Increment error counter with tags
-            Counter.builder("banking.error")
-                    .description("Number of banking operation errors")
-                    .tag("operation", extractOperationType(span.operationName))
-                    .tag("error_type", error.getClass().getSimpleName())
-                    .register(meterRegistry)
-                    .increment();
+            operationErrorCounters.get(meters.operationType, error.getClass().getSimpleName()).increment();
 
             logger.error("Operation {} failed with error: {}", span.operationName, error.getMessage(), error);
         } finally {
@@ -229,6 +233,40 @@ public class DatadogTracingService {
         return parts.length > 2 ? parts[2] : "unknown";
     }
 
+    /**
+     * Timers de um nome de operação, criados no primeiro span finalizado.
+     */
+    private SpanMeters spanMeters(String operationName) {
+        SpanMeters meters = spanMeters.get(operationName);
+        if (meters == null) {
+            meters = spanMeters.computeIfAbsent(operationName, this::createSpanMeters);
+        }
+        return meters;
+    }
+
+    private SpanMeters createSpanMeters(String operationName) {
+        String operationType = extractOperationType(operationName);
+        MeterFamily<Timer> timers = meterHandleCache.family(operationName, new String[]{"status"},
+                tags -> Timer.builder(operationName)
+                        .description("Duration of " + operationName + " operation")
+                        .tag("service", serviceName)
+                        .tag("environment", environment)
+                        .tag("operation", operationType)
+                        .tags(tags)
+                        .register(meterRegistry));
+        return new SpanMeters(operationType, timers);
+    }
+
+    private static final class SpanMeters {
+        private final String operationType;
+        private final MeterFamily<Timer> timers;
+
+        private SpanMeters(String operationType, MeterFamily<Timer> timers) {
+            this.operationType = operationType;
+            this.timers = timers;
+        }
+    }
+
     private void clearOperationMDC() {
         MDC.remove("operation.id");
         MDC.remove("operation.type");
@@ -250,13 +288,13 @@ public class DatadogTracingService {
     public static class BankingSpan {
         public final String operationId;
         public final String operationName;
-        private final Timer.Sample timerSample;
+        private final long startNanos;
         private final Instant startTime;
 
-        public BankingSpan(String operationId, String operationName, Timer.Sample timerSample) {
+        public BankingSpan(String operationId, String operationName) {
             this.operationId = operationId;
             this.operationName = operationName;
-            this.timerSample = timerSample;
+            this.startNanos = System.nanoTime();
             this.startTime = Instant.now();
         }
 
@@ -0,0 +1,37 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Mede os flushes do Hibernate para o estágio FLUSH do
+ * {@link RequestStageTimer}.
+ *
+ * O flush roda no commit da transação, fora dos métodos de repositório
+ * interceptados pelo PerformanceAspect. Registrado por sessão via
+ * {@code hibernate.session.events.auto}; o Hibernate cria uma instância
+ * por sessão, que é usada por uma única thread.
+ */
+public class FlushTimingSessionListener extends BaseSessionEventListener {
+
+    private long flushStartNanos;
+
+    @Override
+    public void flushStart() {
+        flushStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestStageTimer.record(RequestStageTimer.Stage.FLUSH, System.nanoTime() - flushStartNanos);
+    }
+
+    @Override
+    public void partialFlushStart() {
+        flushStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestStageTimer.record(RequestStageTimer.Stage.FLUSH, System.nanoTime() - flushStartNanos);
+    }
+}
@@ -0,0 +1,143 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Top-K aproximado em memória constante: Count-Min Sketch mais um conjunto
+ * limitado de candidatos.
+ *
+ * Cada evento incrementa uma célula por linha do sketch (incrementos
+ * atômicos, sem lock) e a estimativa é o mínimo das linhas, que nunca
+ * subestima a contagem real. Uma chave entra nos candidatos quando sua
+ * estimativa passa a menor estimativa entre eles; só essa troca, rara
+ * depois do aquecimento, é sincronizada. Chaves frias custam
+ * {@code depth} incrementos e uma leitura volátil.
+ *
+ * O erro de cada estimativa é no máximo {@code e/width} do total com
+ * probabilidade {@code 1 - e^-depth}.
+ */
+public class HeavyHitterSketch<K> {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int width;
+    private final int depth;
+    private final int mask;
+    private final int capacity;
+    private final AtomicLongArray cells;
+    private final ConcurrentHashMap<K, AtomicLong> candidates = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private volatile long candidateFloor;
+
+    /**
+     * @param width    células por linha, arredondado para potência de 2
+     * @param depth    linhas (funções de hash), até 8
+     * @param capacity quantidade de candidatos mantidos (K)
+     */
+    public HeavyHitterSketch(int width, int depth, int capacity) {
+        this.width = Integer.highestOneBit(Math.max(16, width) - 1) << 1;
+        this.depth = Math.max(1, Math.min(depth, SEEDS.length));
+        this.mask = this.width - 1;
+        this.capacity = capacity;
+        this.cells = new AtomicLongArray(this.width * this.depth);
+    }
+
+    public void add(K key) {
+        total.increment();
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells.incrementAndGet(row * width + index(hash, row)));
+        }
+
+        AtomicLong candidate = candidates.get(key);
+        if (candidate != null) {
+            candidate.accumulateAndGet(estimate, Math::max);
+        } else if (candidates.size() < capacity || estimate > candidateFloor) {
+            promote(key, estimate);
+        }
+    }
+
+    /** Estimativa da contagem de uma chave (nunca menor que a real) */
+    public long estimate(K key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells.get(row * width + index(hash, row)));
+        }
+        return estimate;
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    /** Candidatos ordenados pela contagem estimada, da maior para a menor */
+    public List<Map.Entry<K, Long>> top(int limit) {
+        List<Map.Entry<K, Long>> result = new ArrayList<>(candidates.size());
+        candidates.forEach((key, count) -> result.add(Map.entry(key, count.get())));
+        result.sort(Map.Entry.<K, Long>comparingByValue().reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Zera o sketch para reutilização. Incrementos concorrentes com a
+     * limpeza podem sobreviver a ela, então só deve ser chamado em uma
+     * instância que já saiu de uso.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, 0);
+        }
+        candidates.clear();
+        total.reset();
+        candidateFloor = 0;
+    }
+
+    private synchronized void promote(K key, long estimate) {
+        if (candidates.containsKey(key)) {
+            candidates.get(key).accumulateAndGet(estimate, Math::max);
+            return;
+        }
+        if (candidates.size() >= capacity) {
+            K weakest = null;
+            long weakestCount = Long.MAX_VALUE;
+            for (Map.Entry<K, AtomicLong> entry : candidates.entrySet()) {
+                long count = entry.getValue().get();
+                if (count < weakestCount) {
+                    weakest = entry.getKey();
+                    weakestCount = count;
+                }
+            }
+            if (weakest == null || estimate <= weakestCount) {
+                candidateFloor = weakestCount;
+                return;
+            }
+            candidates.remove(weakest);
+        }
+        candidates.put(key, new AtomicLong(estimate));
+        if (candidates.size() >= capacity) {
+            candidateFloor = candidates.values().stream().mapToLong(AtomicLong::get).min().orElse(0);
+        }
+    }
+
+    // Finalizador do MurmurHash3 com uma semente por linha
+    private int index(int hash, int row) {
+        long mixed = hash ^ SEEDS[row];
+        mixed ^= mixed >>> 33;
+        mixed *= 0xFF51AFD7ED558CCDL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xC4CEB9FE1A85EC53L;
+        mixed ^= mixed >>> 33;
+        return (int) mixed & mask;
+    }
+}
@@ -0,0 +1,47 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alimenta o {@link HotKeyTracker} com as contas de créditos, débitos e
+ * consultas, uma vez por operação. Créditos e débitos são contados no
+ * BankingDomainService e no AccountService, por onde cada escrita passa uma
+ * única vez nos caminhos síncrono e assíncrono; transferências entram pelas
+ * suas pernas de débito e crédito. Consultas são contadas nos controllers:
+ * o getAccountById dos serviços também é chamado internamente (por exemplo
+ * pelo AsyncAccountService após cada escrita) e contaria a mesma operação
+ * duas vezes.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class HotAccountAspect {
+
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+
+    @Pointcut("execution(* com.bank.BankingSystemApplication.domain.service.BankingDomainService.*(..))"
+            + " || execution(* com.bank.BankingSystemApplication.application.service.AccountService.*(..))")
+    public void accountServices() {
+    }
+
+    @Before(value = "accountServices() && (execution(* credit(..)) || execution(* debit(..))) && args(request)",
+            argNames = "request")
+    public void recordTransaction(TransactionRequest request) {
+        if (request != null) {
+            hotKeyTracker.recordAccount(request.getAccountId());
+        }
+    }
+
+    @Before(value = "execution(* com.bank.BankingSystemApplication.adapter.in.web.*Controller.getAccount(Long))"
+            + " && args(accountId)", argNames = "accountId")
+    public void recordQuery(Long accountId) {
+        hotKeyTracker.recordAccount(accountId);
+    }
+}
@@ -0,0 +1,248 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contas e endpoints mais acessados (heavy hitters) por janela.
+ *
+ * Cada tipo de chave tem dois {@link HeavyHitterSketch}: o da janela
+ * corrente, que recebe os eventos, e um reserva. Ao fim de cada
+ * {@code window-seconds} eles trocam de papel, o ranking da janela que
+ * terminou é publicado e o sketch dela é zerado antes de voltar a uso.
+ *
+ * As contas da última janela com pelo menos {@code hot-share} dos acessos
+ * (e {@code hot-min-count} eventos) são consideradas quentes; o
+ * SystemLoadMonitor usa essa informação para rotear suas escritas.
+ */
+@Service
+@ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class HotKeyTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotKeyTracker.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${performance.hot-keys.top-k:20}")
+    private int topK;
+
+    @Value("${performance.hot-keys.sketch-width:2048}")
+    private int sketchWidth;
+
+    @Value("${performance.hot-keys.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${performance.hot-keys.window-seconds:60}")
+    private int windowSeconds;
+
+    @Value("${performance.hot-keys.hot-share:0.05}")
+    private double hotShare;
+
+    @Value("${performance.hot-keys.hot-min-count:100}")
+    private long hotMinCount;
+
+    @Value("${performance.hot-keys.metrics-top:10}")
+    private int metricsTop;
+
+    private Window<Long> accounts;
+    private Window<String> endpoints;
+    private volatile Set<Long> hotAccounts = Set.of();
+    private MultiGauge accountGauge;
+    private MultiGauge endpointGauge;
+    private ScheduledExecutorService rotationScheduler;
+
+    public HotKeyTracker(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        configure(topK, sketchWidth, sketchDepth, windowSeconds, hotShare, hotMinCount);
+        accountGauge = MultiGauge.builder("banking.hot.account.requests")
+                .description("Operações por conta entre as mais acessadas da última janela")
+                .register(meterRegistry);
+        endpointGauge = MultiGauge.builder("banking.hot.endpoint.requests")
+                .description("Requisições por endpoint entre os mais acessados da última janela")
+                .register(meterRegistry);
+        rotationScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-key-rotation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rotationScheduler.scheduleAtFixedRate(this::rotate, windowSeconds, windowSeconds, TimeUnit.SECONDS);
+        logger.info("Hot key tracker started: top {} per {}s window", topK, windowSeconds);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rotationScheduler != null) {
+            rotationScheduler.shutdownNow();
+        }
+    }
+
+    void configure(int topK, int sketchWidth, int sketchDepth, int windowSeconds, double hotShare, long hotMinCount) {
+        this.topK = topK;
+        this.windowSeconds = windowSeconds;
+        this.hotShare = hotShare;
+        this.hotMinCount = hotMinCount;
+        this.accounts = new Window<>(sketchWidth, sketchDepth, topK);
+        this.endpoints = new Window<>(sketchWidth, sketchDepth, topK);
+    }
+
+    /** Operação sobre uma conta (crédito, débito, transferência ou consulta) */
+    public void recordAccount(Long accountId) {
+        if (accountId != null) {
+            accounts.current.add(accountId);
+        }
+    }
+
+    public void recordEndpoint(String endpoint) {
+        if (endpoint != null) {
+            endpoints.current.add(endpoint);
+        }
+    }
+
+    /** Se a conta estava entre as quentes na última janela completa */
+    public boolean isHot(Long accountId) {
+        return accountId != null && hotAccounts.contains(accountId);
+    }
+
+    public HeavyHitters<Long> getHotAccounts() {
+        return accounts.last;
+    }
+
+    public HeavyHitters<String> getHotEndpoints() {
+        return endpoints.last;
+    }
+
+    /** Ranking parcial da janela em andamento */
+    public HeavyHitters<Long> getCurrentAccounts() {
+        return accounts.snapshot(System.currentTimeMillis());
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    void rotate() {
+        try {
+            long now = System.currentTimeMillis();
+            HeavyHitters<Long> accountWindow = accounts.rotate(now);
+            HeavyHitters<String> endpointWindow = endpoints.rotate(now);
+
+            Set<Long> hot = new HashSet<>();
+            for (HeavyHitter<Long> hitter : accountWindow.hitters) {
+                if (hitter.count >= hotMinCount && hitter.share >= hotShare) {
+                    hot.add(hitter.key);
+                }
+            }
+            hotAccounts = Set.copyOf(hot);
+            if (!hot.isEmpty()) {
+                logger.info("Hot accounts in the last {}s: {}", windowSeconds, hot);
+            }
+            publish(accountGauge, "account", accountWindow);
+            publish(endpointGauge, "endpoint", endpointWindow);
+        } catch (Exception e) {
+            logger.warn("Failed to rotate hot key windows: {}", e.getMessage());
+        }
+    }
+
+    private void publish(MultiGauge gauge, String tag, HeavyHitters<?> window) {
+        if (gauge == null) {
+            return;
+        }
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        window.hitters.stream().limit(metricsTop).forEach(hitter ->
+                rows.add(MultiGauge.Row.of(Tags.of(tag, String.valueOf(hitter.key)), hitter.count)));
+        gauge.register(rows, true);
+    }
+
+    /** Sketch corrente, reserva e o ranking da última janela de um tipo de chave */
+    private final class Window<K> {
+        volatile HeavyHitterSketch<K> current;
+        HeavyHitterSketch<K> spare;
+        volatile HeavyHitters<K> last = new HeavyHitters<>(0, 0, 0, List.of());
+        long startedAt = System.currentTimeMillis();
+
+        Window(int width, int depth, int capacity) {
+            this.current = new HeavyHitterSketch<>(width, depth, capacity);
+            this.spare = new HeavyHitterSketch<>(width, depth, capacity);
+        }
+
+        /*
+         * O reserva é zerado só quando volta a ser o corrente, uma janela
+         * depois de sair de uso, então incrementos atrasados na janela que
+         * terminou não vazam para a seguinte.
+         */
+        HeavyHitters<K> rotate(long now) {
+            spare.clear();
+            HeavyHitterSketch<K> finished = current;
+            current = spare;
+            last = snapshot(finished, now);
+            startedAt = now;
+            spare = finished;
+            return last;
+        }
+
+        HeavyHitters<K> snapshot(long now) {
+            return snapshot(current, now);
+        }
+
+        private HeavyHitters<K> snapshot(HeavyHitterSketch<K> sketch, long now) {
+            long total = sketch.total();
+            double seconds = Math.max(1, now - startedAt) / 1000.0;
+            List<HeavyHitter<K>> hitters = new ArrayList<>();
+            for (Map.Entry<K, Long> entry : sketch.top(topK)) {
+                hitters.add(new HeavyHitter<>(entry.getKey(), entry.getValue(),
+                        total > 0 ? (double) entry.getValue() / total : 0.0, entry.getValue() / seconds));
+            }
+            return new HeavyHitters<>(startedAt, now, total, hitters);
+        }
+    }
+
+    public static class HeavyHitters<K> {
+        public final long windowStart;
+        public final long windowEnd;
+        public final long total;
+        public final List<HeavyHitter<K>> hitters;
+
+        public HeavyHitters(long windowStart, long windowEnd, long total, List<HeavyHitter<K>> hitters) {
+            this.windowStart = windowStart;
+            this.windowEnd = windowEnd;
+            this.total = total;
+            this.hitters = hitters;
+        }
+    }
+
+    /** Contagem estimada (limite superior), fração do total e taxa por segundo */
+    public static class HeavyHitter<K> {
+        public final K key;
+        public final long count;
+        public final double share;
+        public final double perSecond;
+
+        public HeavyHitter(K key, long count, double share, double perSecond) {
+            this.key = key;
+            this.count = count;
+            this.share = share;
+            this.perSecond = perSecond;
+        }
+    }
+}
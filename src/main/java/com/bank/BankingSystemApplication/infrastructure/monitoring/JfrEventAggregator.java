@@ -0,0 +1,265 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Agrega eventos do JDK Flight Recorder em um resumo de hot paths.
+ *
+ * Usado tanto na análise de um arquivo .jfr gravado sob demanda quanto no
+ * modo contínuo (RecordingStream), em que o resumo é recalculado a cada
+ * janela e zerado em seguida. Os métodos são sincronizados porque no modo
+ * contínuo os eventos chegam pela thread do stream e o resumo é lido por
+ * outra.
+ *
+ * Locais de alocação, de lock e de I/O usam o primeiro frame fora do JDK,
+ * que aponta para o código da aplicação que causou o evento; métodos
+ * quentes usam o frame do topo (tempo próprio).
+ */
+public class JfrEventAggregator {
+
+    static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+    static final String THREAD_PARK = "jdk.ThreadPark";
+    static final String GARBAGE_COLLECTION = "jdk.GarbageCollection";
+    static final String SOCKET_READ = "jdk.SocketRead";
+    static final String SOCKET_WRITE = "jdk.SocketWrite";
+    static final String FILE_READ = "jdk.FileRead";
+    static final String FILE_WRITE = "jdk.FileWrite";
+
+    private static final String UNKNOWN = "unknown";
+
+    private final Map<String, long[]> methodSamples = new HashMap<>();
+    private final Map<String, long[]> allocationSites = new HashMap<>();
+    private final Map<String, long[]> contendedLocks = new HashMap<>();
+    private final Map<String, long[]> gcPauses = new HashMap<>();
+    private final Map<String, long[]> ioTargets = new HashMap<>();
+    private long executionSamples;
+    private long allocatedBytes;
+
+    public synchronized void accept(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case EXECUTION_SAMPLE -> {
+                executionSamples++;
+                add(methodSamples, frameName(topFrame(event.getStackTrace())), 1);
+            }
+            case ALLOCATION_SAMPLE -> {
+                long weight = event.getLong("weight");
+                allocatedBytes += weight;
+                add(allocationSites, className(event.getClass("objectClass")) + " @ "
+                        + frameName(applicationFrame(event.getStackTrace())), weight);
+            }
+            case MONITOR_ENTER, THREAD_PARK -> {
+                RecordedClass lockClass = event.getClass(MONITOR_ENTER.equals(event.getEventType().getName())
+                        ? "monitorClass" : "parkedClass");
+                add(contendedLocks, className(lockClass) + " @ " + frameName(applicationFrame(event.getStackTrace())),
+                        event.getDuration().toNanos());
+            }
+            case GARBAGE_COLLECTION -> {
+                long[] entry = add(gcPauses, event.getString("name"), event.getDuration("sumOfPauses").toNanos());
+                entry[1] = Math.max(entry[1], event.getDuration("longestPause").toNanos());
+            }
+            case SOCKET_READ, SOCKET_WRITE -> add(ioTargets, shortType(event) + " " + event.getString("host")
+                    + ":" + event.getInt("port"), event.getDuration().toNanos());
+            case FILE_READ, FILE_WRITE -> add(ioTargets, shortType(event) + " " + event.getString("path"),
+                    event.getDuration().toNanos());
+            default -> {
+                // Evento não usado no resumo
+            }
+        }
+    }
+
+    public synchronized void reset() {
+        methodSamples.clear();
+        allocationSites.clear();
+        contendedLocks.clear();
+        gcPauses.clear();
+        ioTargets.clear();
+        executionSamples = 0;
+        allocatedBytes = 0;
+    }
+
+    public synchronized Summary summarize(int topN, double windowSeconds) {
+        List<MethodStat> methods = new ArrayList<>();
+        top(methodSamples, topN, (name, value) -> methods.add(new MethodStat(name, value[0],
+                executionSamples == 0 ? 0 : 100.0 * value[0] / executionSamples)));
+
+        List<SiteStat> allocations = new ArrayList<>();
+        top(allocationSites, topN, (name, value) -> allocations.add(new SiteStat(name, value[2], value[0], 0, 0)));
+
+        List<SiteStat> locks = new ArrayList<>();
+        top(contendedLocks, topN, (name, value) -> locks.add(new SiteStat(name, value[2], 0,
+                toMillis(value[0]), toMillis(value[0] / value[2]))));
+
+        List<SiteStat> io = new ArrayList<>();
+        top(ioTargets, topN, (name, value) -> io.add(new SiteStat(name, value[2], 0,
+                toMillis(value[0]), toMillis(value[0] / value[2]))));
+
+        Map<String, GcStat> gc = new TreeMap<>();
+        gcPauses.forEach((name, value) -> gc.put(name, new GcStat(value[2], toMillis(value[0]), toMillis(value[1]))));
+
+        return new Summary(windowSeconds, executionSamples, allocatedBytes,
+                windowSeconds > 0 ? allocatedBytes / windowSeconds : 0, methods, allocations, locks, gc, io);
+    }
+
+    /*
+     * Cada entrada é {total, máximo, eventos}; o total é em amostras
+     * (métodos), bytes (alocação) ou nanos (lock, I/O e pausas de GC), e o
+     * máximo só é usado pelas pausas de GC.
+     */
+    private static long[] add(Map<String, long[]> target, String key, long value) {
+        long[] entry = target.computeIfAbsent(key, k -> new long[3]);
+        entry[0] += value;
+        entry[2]++;
+        return entry;
+    }
+
+    private interface EntryConsumer {
+        void accept(String name, long[] value);
+    }
+
+    private static void top(Map<String, long[]> source, int topN, EntryConsumer consumer) {
+        source.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[0]).reversed())
+                .limit(topN)
+                .forEach(entry -> consumer.accept(entry.getKey(), entry.getValue()));
+    }
+
+    private static RecordedFrame topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return null;
+        }
+        return stackTrace.getFrames().get(0);
+    }
+
+    private static RecordedFrame applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && !isJdkType(frame.getMethod().getType().getName())) {
+                return frame;
+            }
+        }
+        return stackTrace.getFrames().get(0);
+    }
+
+    private static boolean isJdkType(String typeName) {
+        return typeName.startsWith("java.") || typeName.startsWith("jdk.") || typeName.startsWith("sun.")
+                || typeName.startsWith("javax.") || typeName.startsWith("com.sun.");
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        if (frame == null || frame.getMethod() == null) {
+            return UNKNOWN;
+        }
+        String name = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+        return frame.getLineNumber() > 0 ? name + ":" + frame.getLineNumber() : name;
+    }
+
+    private static String className(RecordedClass recordedClass) {
+        return recordedClass != null ? recordedClass.getName() : UNKNOWN;
+    }
+
+    private static String shortType(RecordedEvent event) {
+        return event.getEventType().getName().substring("jdk.".length());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public static class Summary {
+        public final double windowSeconds;
+        public final long executionSamples;
+        public final long sampledAllocationBytes;
+        public final double allocationBytesPerSecond;
+        public final List<MethodStat> topMethods;
+        public final List<SiteStat> topAllocationSites;
+        public final List<SiteStat> contendedLocks;
+        public final Map<String, GcStat> gcPauses;
+        public final List<SiteStat> io;
+
+        public Summary(double windowSeconds, long executionSamples, long sampledAllocationBytes,
+                       double allocationBytesPerSecond, List<MethodStat> topMethods,
+                       List<SiteStat> topAllocationSites, List<SiteStat> contendedLocks,
+                       Map<String, GcStat> gcPauses, List<SiteStat> io) {
+            this.windowSeconds = windowSeconds;
+            this.executionSamples = executionSamples;
+            this.sampledAllocationBytes = sampledAllocationBytes;
+            this.allocationBytesPerSecond = allocationBytesPerSecond;
+            this.topMethods = topMethods;
+            this.topAllocationSites = topAllocationSites;
+            this.contendedLocks = contendedLocks;
+            this.gcPauses = gcPauses;
+            this.io = io;
+        }
+
+        public double totalGcPauseMs() {
+            return gcPauses.values().stream().mapToDouble(gc -> gc.totalPauseMs).sum();
+        }
+
+        public double maxGcPauseMs() {
+            return gcPauses.values().stream().mapToDouble(gc -> gc.maxPauseMs).max().orElse(0);
+        }
+
+        public double totalLockWaitMs() {
+            return contendedLocks.stream().mapToDouble(lock -> lock.totalMs).sum();
+        }
+
+        public long lockEvents() {
+            return contendedLocks.stream().mapToLong(lock -> lock.events).sum();
+        }
+    }
+
+    public static class MethodStat {
+        public final String method;
+        public final long samples;
+        public final double percent;
+
+        public MethodStat(String method, long samples, double percent) {
+            this.method = method;
+            this.samples = samples;
+            this.percent = percent;
+        }
+    }
+
+    /** Local de alocação, lock ou I/O; campos não aplicáveis ficam zerados */
+    public static class SiteStat {
+        public final String site;
+        public final long events;
+        public final long bytes;
+        public final double totalMs;
+        public final double avgMs;
+
+        public SiteStat(String site, long events, long bytes, double totalMs, double avgMs) {
+            this.site = site;
+            this.events = events;
+            this.bytes = bytes;
+            this.totalMs = totalMs;
+            this.avgMs = avgMs;
+        }
+    }
+
+    public static class GcStat {
+        public final long collections;
+        public final double totalPauseMs;
+        public final double maxPauseMs;
+
+        public GcStat(long collections, double totalPauseMs, double maxPauseMs) {
+            this.collections = collections;
+            this.totalPauseMs = totalPauseMs;
+            this.maxPauseMs = maxPauseMs;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Profiling com o JDK Flight Recorder.
+ *
+ * Sob demanda: {@link #start(int)} abre uma gravação limitada no tempo com
+ * amostragem de CPU, amostras de alocação, contenção de monitores e I/O de
+ * socket e arquivo acima dos limites configurados. Ao final a gravação é
+ * lida em processo pela API de consumo do JFR e resumida por um
+ * {@link JfrEventAggregator}; o arquivo .jfr fica disponível para download
+ * até ser descartado pela retenção. Só uma gravação sob demanda roda por vez.
+ *
+ * Modo contínuo ({@code performance.profiling.streaming.enabled}): um
+ * RecordingStream com amostragem mais espaçada alimenta o mesmo resumo,
+ * recalculado a cada janela e publicado como gauges do Micrometer.
+ */
+@Service
+@ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrProfilingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrProfilingService.class);
+    private static final DateTimeFormatter ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${performance.profiling.directory:./profiles}")
+    private String directory;
+
+    @Value("${performance.profiling.default-duration-seconds:30}")
+    private int defaultDurationSeconds;
+
+    @Value("${performance.profiling.max-duration-seconds:300}")
+    private int maxDurationSeconds;
+
+    @Value("${performance.profiling.max-retained:10}")
+    private int maxRetained;
+
+    @Value("${performance.profiling.top-n:20}")
+    private int topN;
+
+    @Value("${performance.profiling.cpu-sample-period-ms:10}")
+    private int cpuSamplePeriodMs;
+
+    @Value("${performance.profiling.lock-threshold-ms:10}")
+    private int lockThresholdMs;
+
+    @Value("${performance.profiling.io-threshold-ms:10}")
+    private int ioThresholdMs;
+
+    @Value("${performance.profiling.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
+    @Value("${performance.profiling.streaming.window-seconds:60}")
+    private int streamingWindowSeconds;
+
+    @Value("${performance.profiling.streaming.cpu-sample-period-ms:50}")
+    private int streamingCpuSamplePeriodMs;
+
+    // Ordem de criação, para a retenção descartar as gravações mais antigas
+    private final Map<String, ProfileRun> runs = new LinkedHashMap<>();
+    private final JfrEventAggregator streamingAggregator = new JfrEventAggregator();
+    private ProfileRun activeRun;
+    private volatile JfrEventAggregator.Summary latestStreamingSummary;
+    private RecordingStream recordingStream;
+    private ScheduledExecutorService profilingScheduler;
+
+    @PostConstruct
+    public void init() {
+        profilingScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jfr-profiling");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (streamingEnabled) {
+            startStreaming();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+        if (profilingScheduler != null) {
+            profilingScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Inicia uma gravação sob demanda.
+     *
+     * @param durationSeconds duração desejada, limitada a {@code max-duration-seconds};
+     *                        valores não positivos usam a duração padrão
+     * @throws IllegalStateException se já houver uma gravação em andamento
+     */
+    public synchronized ProfileRun start(int durationSeconds) throws IOException {
+        if (activeRun != null && activeRun.isRunning()) {
+            throw new IllegalStateException("Já existe um profiling em andamento: " + activeRun.getId());
+        }
+        int duration = Math.min(durationSeconds > 0 ? durationSeconds : defaultDurationSeconds, maxDurationSeconds);
+        String id = "profile-" + LocalDateTime.now().format(ID_FORMAT);
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+
+        ProfileRun run = new ProfileRun(id, duration, dir.resolve(id + ".jfr"));
+        Recording recording = new Recording(settings(cpuSamplePeriodMs, true));
+        recording.setName(id);
+        recording.setToDisk(true);
+        recording.setDestination(run.recordingFile());
+        recording.start();
+
+        activeRun = run;
+        runs.put(id, run);
+        profilingScheduler.schedule(() -> finish(run, recording), duration, TimeUnit.SECONDS);
+        logger.info("JFR profiling {} started for {}s", id, duration);
+        return run;
+    }
+
+    public synchronized Optional<ProfileRun> getRun(String id) {
+        return Optional.ofNullable(runs.get(id));
+    }
+
+    /** Arquivo .jfr de uma gravação concluída, se ainda estiver em disco */
+    public synchronized Optional<Path> getRecordingFile(String id) {
+        ProfileRun run = runs.get(id);
+        if (run == null || run.getState() != ProfileRun.State.COMPLETED || !Files.exists(run.recordingFile())) {
+            return Optional.empty();
+        }
+        return Optional.of(run.recordingFile());
+    }
+
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    /** Último resumo do modo contínuo; null até a primeira janela fechar */
+    public JfrEventAggregator.Summary getLatestStreamingSummary() {
+        return latestStreamingSummary;
+    }
+
+    /**
+     * Configurações dos eventos usados no resumo. Stack traces ficam ligados
+     * nos eventos que viram locais (alocação, lock, I/O) e na amostragem de
+     * CPU; o throttle das amostras de alocação mantém o custo constante.
+     */
+    Map<String, String> settings(int cpuPeriodMs, boolean onDemand) {
+        Map<String, String> settings = new HashMap<>();
+        enable(settings, JfrEventAggregator.EXECUTION_SAMPLE, true);
+        settings.put(JfrEventAggregator.EXECUTION_SAMPLE + "#period", cpuPeriodMs + " ms");
+        enable(settings, JfrEventAggregator.ALLOCATION_SAMPLE, true);
+        settings.put(JfrEventAggregator.ALLOCATION_SAMPLE + "#throttle", onDemand ? "300/s" : "100/s");
+        for (String lockEvent : new String[] {JfrEventAggregator.MONITOR_ENTER, JfrEventAggregator.THREAD_PARK}) {
+            enable(settings, lockEvent, true);
+            settings.put(lockEvent + "#threshold", lockThresholdMs + " ms");
+        }
+        enable(settings, JfrEventAggregator.GARBAGE_COLLECTION, false);
+        for (String ioEvent : new String[] {JfrEventAggregator.SOCKET_READ, JfrEventAggregator.SOCKET_WRITE,
+                JfrEventAggregator.FILE_READ, JfrEventAggregator.FILE_WRITE}) {
+            enable(settings, ioEvent, true);
+            settings.put(ioEvent + "#threshold", ioThresholdMs + " ms");
+        }
+        return settings;
+    }
+
+    private static void enable(Map<String, String> settings, String event, boolean stackTrace) {
+        settings.put(event + "#enabled", "true");
+        settings.put(event + "#stackTrace", String.valueOf(stackTrace));
+    }
+
+    private void finish(ProfileRun run, Recording recording) {
+        try {
+            recording.stop();
+            recording.close();
+            JfrEventAggregator aggregator = new JfrEventAggregator();
+            try (RecordingFile file = new RecordingFile(run.recordingFile())) {
+                while (file.hasMoreEvents()) {
+                    aggregator.accept(file.readEvent());
+                }
+            }
+            run.complete(aggregator.summarize(topN, run.getDurationSeconds()));
+            logger.info("JFR profiling {} completed: {} execution samples", run.getId(),
+                    run.getSummary().executionSamples);
+        } catch (Exception e) {
+            logger.error("JFR profiling {} failed: {}", run.getId(), e.getMessage(), e);
+            recording.close();
+            run.fail(e.getMessage());
+        }
+        applyRetention();
+    }
+
+    private synchronized void applyRetention() {
+        Iterator<ProfileRun> iterator = runs.values().iterator();
+        int excess = runs.size() - maxRetained;
+        while (excess > 0 && iterator.hasNext()) {
+            ProfileRun run = iterator.next();
+            if (run.isRunning()) {
+                continue;
+            }
+            iterator.remove();
+            excess--;
+            try {
+                Files.deleteIfExists(run.recordingFile());
+            } catch (IOException e) {
+                logger.warn("Failed to delete JFR recording {}: {}", run.recordingFile(), e.getMessage());
+            }
+        }
+    }
+
+    private void startStreaming() {
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.setSettings(settings(streamingCpuSamplePeriodMs, false));
+            recordingStream.onEvent(streamingAggregator::accept);
+            recordingStream.startAsync();
+        } catch (Exception e) {
+            logger.warn("JFR streaming unavailable: {}", e.getMessage());
+            recordingStream = null;
+            return;
+        }
+        profilingScheduler.scheduleAtFixedRate(this::publishStreamingWindow,
+                streamingWindowSeconds, streamingWindowSeconds, TimeUnit.SECONDS);
+
+        registerGauge("banking.jfr.cpu.samples", "Amostras de CPU na última janela",
+                summary -> summary.executionSamples);
+        registerGauge("banking.jfr.allocation.bytes.per.second", "Taxa de alocação estimada pelas amostras",
+                summary -> summary.allocationBytesPerSecond);
+        registerGauge("banking.jfr.gc.pause.total", "Soma das pausas de GC na última janela (ms)",
+                JfrEventAggregator.Summary::totalGcPauseMs);
+        registerGauge("banking.jfr.gc.pause.max", "Maior pausa de GC na última janela (ms)",
+                JfrEventAggregator.Summary::maxGcPauseMs);
+        registerGauge("banking.jfr.monitor.contention.count", "Esperas por lock acima do limite na última janela",
+                JfrEventAggregator.Summary::lockEvents);
+        registerGauge("banking.jfr.monitor.contention.time", "Tempo total de espera por lock na última janela (ms)",
+                JfrEventAggregator.Summary::totalLockWaitMs);
+        logger.info("JFR streaming started: {}s window, CPU sampling every {} ms",
+                streamingWindowSeconds, streamingCpuSamplePeriodMs);
+    }
+
+    private void registerGauge(String name, String description, ToDoubleFunction<JfrEventAggregator.Summary> value) {
+        Gauge.builder(name, this, service -> {
+                    JfrEventAggregator.Summary summary = service.latestStreamingSummary;
+                    return summary != null ? value.applyAsDouble(summary) : 0.0;
+                })
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    void publishStreamingWindow() {
+        try {
+            synchronized (streamingAggregator) {
+                latestStreamingSummary = streamingAggregator.summarize(topN, streamingWindowSeconds);
+                streamingAggregator.reset();
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to summarize JFR streaming window: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resposta de um endpoint de observabilidade já serializada em JSON.
+ *
+ * O corpo é compartilhado entre todas as requisições até o próximo
+ * snapshot e nunca é alterado; o ETag é o MD5 do corpo. O header
+ * {@code Age} informa há quantos segundos o snapshot foi gerado, o que
+ * expõe snapshots antigos servidos enquanto as atualizações falham.
+ */
+public final class JsonSnapshot {
+
+    private final byte[] body;
+    private final String etag;
+    private final long generatedAt;
+
+    JsonSnapshot(byte[] body, String etag, long generatedAt) {
+        this.body = body;
+        this.etag = etag;
+        this.generatedAt = generatedAt;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public int size() {
+        return body.length;
+    }
+
+    /**
+     * Resposta com o corpo do snapshot, ou 304 sem corpo se o cliente já
+     * tiver a mesma versão ({@code If-None-Match}).
+     *
+     * @param maxAgeMillis validade do snapshot para caches do cliente
+     */
+    public ResponseEntity<byte[]> toResponse(String ifNoneMatch, long maxAgeMillis) {
+        return toResponse(ifNoneMatch, maxAgeMillis, System.currentTimeMillis());
+    }
+
+    ResponseEntity<byte[]> toResponse(String ifNoneMatch, long maxAgeMillis, long now) {
+        CacheControl cacheControl = CacheControl.maxAge(maxAgeMillis, TimeUnit.MILLISECONDS).mustRevalidate();
+        String age = String.valueOf(TimeUnit.MILLISECONDS.toSeconds(Math.max(0, now - generatedAt)));
+        if (matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl)
+                    .header(HttpHeaders.AGE, age).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.AGE, age)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
+    }
+
+    boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Headers de latência ponta a ponta gravados em todos os registros
+ * produzidos pela aplicação.
+ *
+ * {@link #PRODUCED_AT} é o instante do envio no relógio do produtor (epoch
+ * em milissegundos, long big-endian, como os headers de DLT do Spring
+ * Kafka) e é regravado a cada salto, inclusive nos tópicos de retry.
+ * {@link #ORIGIN_REQUEST_ID} é o id da requisição HTTP que originou o
+ * registro e é mantido nos saltos seguintes.
+ */
+public final class KafkaLatencyHeaders {
+
+    public static final String PRODUCED_AT = "banking_produced_at";
+    public static final String ORIGIN_REQUEST_ID = "banking_origin_request_id";
+
+    /** Chave do MDC com o id da requisição em andamento */
+    public static final String MDC_REQUEST_ID = "requestId";
+
+    private KafkaLatencyHeaders() {
+    }
+
+    public static byte[] encodeTimestamp(long epochMillis) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(epochMillis).array();
+    }
+
+    /** Instante do envio, ou -1 se o registro não tiver o header */
+    public static long producedAt(Headers headers) {
+        Header header = headers.lastHeader(PRODUCED_AT);
+        if (header == null || header.value() == null || header.value().length != Long.BYTES) {
+            return -1;
+        }
+        return ByteBuffer.wrap(header.value()).getLong();
+    }
+
+    public static String originRequestId(Headers headers) {
+        Header header = headers.lastHeader(ORIGIN_REQUEST_ID);
+        return header != null && header.value() != null
+                ? new String(header.value(), StandardCharsets.UTF_8)
+                : null;
+    }
+}
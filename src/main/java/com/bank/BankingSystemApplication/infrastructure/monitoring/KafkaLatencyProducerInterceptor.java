@@ -0,0 +1,50 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import org.apache.kafka.clients.producer.ProducerInterceptor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.Headers;
+import org.slf4j.MDC;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Interceptor dos produtores Kafka que grava os
+ * {@link KafkaLatencyHeaders headers de latência}.
+ *
+ * Instanciado pelo cliente Kafka ({@code interceptor.classes}), não pelo
+ * Spring. Roda na thread que chama {@code send()}, então o id da requisição
+ * vem do MDC: da requisição HTTP em andamento ou, nos listeners, do
+ * registro consumido (ver {@link KafkaLatencyRecordInterceptor}). Registros
+ * republicados (retry, DLT) já trazem o id de origem e o mantêm.
+ */
+public class KafkaLatencyProducerInterceptor implements ProducerInterceptor<Object, Object> {
+
+    @Override
+    public ProducerRecord<Object, Object> onSend(ProducerRecord<Object, Object> record) {
+        Headers headers = record.headers();
+        headers.remove(KafkaLatencyHeaders.PRODUCED_AT);
+        headers.add(KafkaLatencyHeaders.PRODUCED_AT, KafkaLatencyHeaders.encodeTimestamp(System.currentTimeMillis()));
+
+        if (headers.lastHeader(KafkaLatencyHeaders.ORIGIN_REQUEST_ID) == null) {
+            String requestId = MDC.get(KafkaLatencyHeaders.MDC_REQUEST_ID);
+            if (requestId != null) {
+                headers.add(KafkaLatencyHeaders.ORIGIN_REQUEST_ID, requestId.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return record;
+    }
+
+    @Override
+    public void onAcknowledgement(RecordMetadata metadata, Exception exception) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+}
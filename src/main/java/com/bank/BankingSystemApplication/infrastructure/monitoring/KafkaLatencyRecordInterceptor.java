@@ -0,0 +1,214 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import com.bank.BankingSystemApplication.infrastructure.monitoring.MeterHandleCache.MeterFamily;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.record.TimestampType;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.KafkaBackoffException;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência ponta a ponta e tempo de processamento de todos os listeners
+ * Kafka, por tópico e grupo de consumo.
+ *
+ * Registrado pela auto-configuração do Spring Boot como interceptor de
+ * registro e de lote da fábrica de containers, então vale para todos os
+ * {@code @KafkaListener}, inclusive os tópicos de retry.
+ *
+ * - {@code banking.kafka.e2e.latency}: do envio (header
+ *   {@link KafkaLatencyHeaders#PRODUCED_AT}) até o início do processamento
+ * - {@code banking.kafka.processing.time}: execução do listener, por
+ *   resultado
+ *
+ * Produtor e consumidor podem estar em nós com relógios diferentes. Nos
+ * tópicos com {@code message.timestamp.type=LogAppendTime} o timestamp do
+ * registro é o relógio do broker, e a latência é medida em dois trechos
+ * (produtor até o broker, broker até o consumidor), cada um limitado a
+ * zero; trechos negativos são contados em {@code banking.kafka.clock.skew}.
+ *
+ * Nos listeners de registro o id da requisição de origem vai para o MDC,
+ * correlacionando os logs e sendo propagado aos registros produzidos pelo
+ * listener.
+ */
+@Component
+@ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaLatencyRecordInterceptor implements RecordInterceptor<Object, Object>, BatchInterceptor<Object, Object> {
+
+    private final MeterFamily<Timer> endToEndTimers;
+    private final MeterFamily<Timer> processingTimers;
+    private final MeterFamily<Counter> skewCounters;
+
+    // Estado do registro (ou lote) em processamento na thread do container
+    private final ThreadLocal<InFlight> inFlight = ThreadLocal.withInitial(InFlight::new);
+
+    @Autowired
+    public KafkaLatencyRecordInterceptor(MeterRegistry meterRegistry, MeterHandleCache meterHandleCache) {
+        this.endToEndTimers = meterHandleCache.family("banking.kafka.e2e.latency", new String[]{"topic", "group"},
+                tags -> Timer.builder("banking.kafka.e2e.latency")
+                        .description("Do envio ao início do processamento pelo listener")
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(Duration.ofMinutes(10))
+                        .register(meterRegistry));
+        this.processingTimers = meterHandleCache.family("banking.kafka.processing.time",
+                new String[]{"topic", "group", "outcome"},
+                tags -> Timer.builder("banking.kafka.processing.time")
+                        .description("Execução do listener Kafka")
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry));
+        this.skewCounters = meterHandleCache.counters("banking.kafka.clock.skew",
+                "Trechos de latência negativos por diferença de relógio entre produtor, broker e consumidor",
+                "topic");
+    }
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        InFlight state = inFlight.get();
+        state.topic = record.topic();
+        state.group = groupId(consumer);
+        state.endToEndMillis = endToEndMillis(record, System.currentTimeMillis());
+        state.startNanos = System.nanoTime();
+
+        String requestId = KafkaLatencyHeaders.originRequestId(record.headers());
+        if (requestId != null) {
+            MDC.put(KafkaLatencyHeaders.MDC_REQUEST_ID, requestId);
+        }
+        return record;
+    }
+
+    @Override
+    public void success(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        complete("success");
+    }
+
+    @Override
+    public void failure(ConsumerRecord<Object, Object> record, Exception exception, Consumer<Object, Object> consumer) {
+        if (isBackoff(exception)) {
+            // Registro de retry lido antes do prazo: o container pausa a partição e o relê depois
+            inFlight.get().topic = null;
+            return;
+        }
+        complete("error");
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        MDC.remove(KafkaLatencyHeaders.MDC_REQUEST_ID);
+    }
+
+    @Override
+    public ConsumerRecords<Object, Object> intercept(ConsumerRecords<Object, Object> records, Consumer<Object, Object> consumer) {
+        long now = System.currentTimeMillis();
+        String group = groupId(consumer);
+        InFlight state = inFlight.get();
+        state.topic = null;
+        state.group = group;
+        state.endToEndMillis = -1;
+        for (ConsumerRecord<Object, Object> record : records) {
+            if (state.topic == null) {
+                state.topic = record.topic();
+            }
+            long latency = endToEndMillis(record, now);
+            if (latency >= 0) {
+                endToEndTimers.get(record.topic(), group).record(latency, TimeUnit.MILLISECONDS);
+            }
+        }
+        state.startNanos = System.nanoTime();
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<Object, Object> records, Consumer<Object, Object> consumer) {
+        complete("success");
+    }
+
+    @Override
+    public void failure(ConsumerRecords<Object, Object> records, Exception exception, Consumer<Object, Object> consumer) {
+        complete("error");
+    }
+
+    private void complete(String outcome) {
+        InFlight state = inFlight.get();
+        if (state.topic == null) {
+            return;
+        }
+        processingTimers.get(state.topic, state.group, outcome)
+                .record(System.nanoTime() - state.startNanos, TimeUnit.NANOSECONDS);
+        if (state.endToEndMillis >= 0) {
+            endToEndTimers.get(state.topic, state.group).record(state.endToEndMillis, TimeUnit.MILLISECONDS);
+        }
+        state.topic = null;
+    }
+
+    private long endToEndMillis(ConsumerRecord<?, ?> record, long now) {
+        long producedAt = KafkaLatencyHeaders.producedAt(record.headers());
+        if (producedAt < 0 && record.timestampType() == TimestampType.CREATE_TIME) {
+            // Registro de produtor sem o interceptor: o timestamp de criação também é do relógio do produtor
+            producedAt = record.timestamp();
+        }
+        long logAppendTime = record.timestampType() == TimestampType.LOG_APPEND_TIME ? record.timestamp() : -1;
+        if (isClockSkewed(producedAt, logAppendTime, now)) {
+            skewCounters.get(record.topic()).increment();
+        }
+        return endToEndMillis(producedAt, logAppendTime, now);
+    }
+
+    /**
+     * Latência do envio ao consumo, ou -1 sem instante de envio.
+     *
+     * @param logAppendTime instante de gravação no broker, ou -1 se o tópico
+     *                      usa CreateTime
+     */
+    static long endToEndMillis(long producedAt, long logAppendTime, long now) {
+        if (logAppendTime < 0) {
+            return producedAt >= 0 ? Math.max(0, now - producedAt) : -1;
+        }
+        long toBroker = producedAt >= 0 ? Math.max(0, logAppendTime - producedAt) : 0;
+        return toBroker + Math.max(0, now - logAppendTime);
+    }
+
+    static boolean isClockSkewed(long producedAt, long logAppendTime, long now) {
+        if (logAppendTime < 0) {
+            return producedAt > now;
+        }
+        return producedAt > logAppendTime || now < logAppendTime;
+    }
+
+    private static String groupId(Consumer<?, ?> consumer) {
+        try {
+            return consumer.groupMetadata().groupId();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isBackoff(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof KafkaBackoffException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class InFlight {
+        String topic;
+        String group;
+        long endToEndMillis;
+        long startNanos;
+    }
+}
@@ -0,0 +1,169 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogramas de latência com percentis reais.
+ *
+ * Mantém um {@link LatencyRecorder} para a requisição completa, um por
+ * endpoint e um por estágio ({@link Stage}). Uma thread dedicada rotaciona
+ * todos os recorders a cada {@code interval-seconds}; os percentis
+ * expostos cobrem os últimos {@code window-intervals} intervalos completos.
+ *
+ * Os snapshots exportados incluem o histograma compactado, que pode ser
+ * somado entre nós: percentis de médias ou de percentis por nó não
+ * representam a latência global.
+ */
+@Service
+@ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class LatencyHistogramService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyHistogramService.class);
+
+    public enum Stage { DB, LOCK_WAIT, KAFKA, AUDIT }
+
+    @Value("${performance.latency.interval-seconds:10}")
+    private int intervalSeconds;
+
+    @Value("${performance.latency.window-intervals:6}")
+    private int windowIntervals;
+
+    @Value("${performance.latency.significant-digits:2}")
+    private int significantDigits;
+
+    @Value("${performance.latency.max-endpoints:200}")
+    private int maxEndpoints;
+
+    @Value("${performance.latency.slo-ms:50,100,250,500,1000}")
+    private long[] sloMillis;
+
+    private LatencyRecorder requestRecorder;
+    private final Map<Stage, LatencyRecorder> stageRecorders = new EnumMap<>(Stage.class);
+    private final ConcurrentHashMap<String, LatencyRecorder> endpointRecorders = new ConcurrentHashMap<>();
+    private ScheduledExecutorService rotationScheduler;
+
+    @PostConstruct
+    public void start() {
+        requestRecorder = newRecorder();
+        for (Stage stage : Stage.values()) {
+            stageRecorders.put(stage, newRecorder());
+        }
+        rotationScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "latency-histogram-rotation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rotationScheduler.scheduleAtFixedRate(this::rotate, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        logger.info("Latency histograms started: {} x {}s window, SLOs {} ms",
+                windowIntervals, intervalSeconds, Arrays.toString(sloMillis));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rotationScheduler != null) {
+            rotationScheduler.shutdownNow();
+        }
+    }
+
+    public void recordRequest(String endpoint, long nanos) {
+        requestRecorder.recordNanos(nanos);
+        endpointRecorder(endpoint).recordNanos(nanos);
+    }
+
+    public void recordStage(Stage stage, long nanos) {
+        stageRecorders.get(stage).recordNanos(nanos);
+    }
+
+    /** Limites de SLO configurados, em milissegundos */
+    public long[] getSloMillis() {
+        return sloMillis.clone();
+    }
+
+    public LatencyRecorder.Snapshot getRequestLatency() {
+        return requestRecorder.snapshot(sloMillis, false);
+    }
+
+    public Map<String, LatencyRecorder.Snapshot> getEndpointLatencies(boolean encoded) {
+        Map<String, LatencyRecorder.Snapshot> result = new TreeMap<>();
+        endpointRecorders.forEach((endpoint, recorder) -> result.put(endpoint, recorder.snapshot(sloMillis, encoded)));
+        return result;
+    }
+
+    public Map<String, LatencyRecorder.Snapshot> getStageLatencies(boolean encoded) {
+        Map<String, LatencyRecorder.Snapshot> result = new TreeMap<>();
+        stageRecorders.forEach((stage, recorder) -> result.put(stage.name(), recorder.snapshot(sloMillis, encoded)));
+        return result;
+    }
+
+    /**
+     * Histogramas compactados da janela atual de todas as chaves, prontos
+     * para serem somados com os de outros nós.
+     */
+    public Map<String, String> exportHistograms() {
+        Map<String, String> result = new TreeMap<>();
+        result.put("request", LatencyRecorder.encode(requestRecorder.windowHistogram()));
+        stageRecorders.forEach((stage, recorder) ->
+                result.put("stage:" + stage.name(), LatencyRecorder.encode(recorder.windowHistogram())));
+        endpointRecorders.forEach((endpoint, recorder) ->
+                result.put("endpoint:" + endpoint, LatencyRecorder.encode(recorder.windowHistogram())));
+        return result;
+    }
+
+    void rotate() {
+        try {
+            requestRecorder.rotate();
+            stageRecorders.values().forEach(LatencyRecorder::rotate);
+            endpointRecorders.values().forEach(LatencyRecorder::rotate);
+        } catch (Exception e) {
+            logger.warn("Failed to rotate latency histograms: {}", e.getMessage());
+        }
+    }
+
+    private LatencyRecorder endpointRecorder(String endpoint) {
+        if (endpoint == null) {
+            endpoint = MeterHandleCache.NULL_TAG_VALUE;
+        }
+        LatencyRecorder recorder = endpointRecorders.get(endpoint);
+        if (recorder != null) {
+            return recorder;
+        }
+        if (endpointRecorders.size() >= maxEndpoints) {
+            endpoint = MeterHandleCache.OVERFLOW_TAG_VALUE;
+        }
+        return endpointRecorders.computeIfAbsent(endpoint, key -> newRecorder());
+    }
+
+    private LatencyRecorder newRecorder() {
+        return new LatencyRecorder(windowIntervals, significantDigits);
+    }
+
+    /** Soma histogramas exportados por {@link #exportHistograms()} de vários nós */
+    public static Histogram merge(Iterable<String> encodedHistograms) {
+        Histogram merged = null;
+        for (String encoded : encodedHistograms) {
+            Histogram histogram = LatencyRecorder.decode(encoded);
+            if (merged == null) {
+                merged = histogram;
+            } else {
+                merged.add(histogram);
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,159 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+
+/**
+ * Latências de uma chave (endpoint ou estágio) em janela deslizante.
+ *
+ * As threads gravam em um {@link Recorder} do HdrHistogram, sem locks nem
+ * alocação. A cada {@link #rotate()} o intervalo corrente é trocado por um
+ * histograma reciclado e guardado em um anel de {@code windowIntervals}
+ * posições; o histograma que sai do anel é o próximo a ser reciclado, de
+ * modo que em regime nenhum histograma é alocado.
+ *
+ * Os valores são gravados em microssegundos, limitados a
+ * {@link #HIGHEST_TRACKABLE_MICROS}. Percentis consideram apenas
+ * intervalos completos.
+ */
+public class LatencyRecorder {
+
+    public static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final Recorder recorder;
+    private final Histogram[] intervals;
+    private final int significantDigits;
+    private Histogram recycled;
+    private int nextInterval;
+    private long totalCount;
+
+    public LatencyRecorder(int windowIntervals, int significantDigits) {
+        if (windowIntervals < 1) {
+            throw new IllegalArgumentException("A janela precisa de ao menos um intervalo: " + windowIntervals);
+        }
+        this.significantDigits = significantDigits;
+        this.recorder = new Recorder(1, HIGHEST_TRACKABLE_MICROS, significantDigits);
+        this.intervals = new Histogram[windowIntervals];
+    }
+
+    public void recordNanos(long nanos) {
+        recorder.recordValue(Math.max(1, Math.min(nanos / 1_000, HIGHEST_TRACKABLE_MICROS)));
+    }
+
+    /**
+     * Fecha o intervalo corrente e o inclui na janela, descartando o mais
+     * antigo.
+     */
+    public synchronized void rotate() {
+        Histogram interval = recorder.getIntervalHistogram(recycled);
+        recycled = intervals[nextInterval];
+        intervals[nextInterval] = interval;
+        nextInterval = (nextInterval + 1) % intervals.length;
+        totalCount += interval.getTotalCount();
+    }
+
+    /**
+     * Cópia da janela: soma dos intervalos completos. O histograma
+     * retornado pertence ao chamador.
+     */
+    public synchronized Histogram windowHistogram() {
+        Histogram window = new Histogram(1, HIGHEST_TRACKABLE_MICROS, significantDigits);
+        for (Histogram interval : intervals) {
+            if (interval != null) {
+                window.add(interval);
+            }
+        }
+        return window;
+    }
+
+    /** Quantidade de valores em intervalos já fechados, desde o início */
+    public synchronized long totalCount() {
+        return totalCount;
+    }
+
+    public Snapshot snapshot(long[] sloMillis, boolean encoded) {
+        return Snapshot.of(windowHistogram(), sloMillis, encoded);
+    }
+
+    /**
+     * Histograma compactado (formato do HdrHistogram) em Base64. Os
+     * histogramas de vários nós podem ser decodificados com
+     * {@link #decode(String)} e somados para percentis globais corretos.
+     */
+    public static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    public static Histogram decode(String encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Histograma de latência inválido", e);
+        }
+    }
+
+    /**
+     * Resumo de uma janela em milissegundos. {@code slo} traz, para cada
+     * limite configurado, a fração das requisições atendidas dentro dele.
+     */
+    public static class Snapshot {
+        public final long count;
+        public final double mean;
+        public final double p50;
+        public final double p90;
+        public final double p95;
+        public final double p99;
+        public final double p999;
+        public final double max;
+        public final Map<String, Double> slo;
+        public final String histogram;
+
+        public Snapshot(long count, double mean, double p50, double p90, double p95, double p99,
+                        double p999, double max, Map<String, Double> slo, String histogram) {
+            this.count = count;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.max = max;
+            this.slo = slo;
+            this.histogram = histogram;
+        }
+
+        public static Snapshot of(Histogram histogram, long[] sloMillis, boolean encoded) {
+            long count = histogram.getTotalCount();
+            Map<String, Double> slo = new LinkedHashMap<>();
+            for (long bound : sloMillis) {
+                long within = count == 0 ? 0
+                        : histogram.getCountBetweenValues(0, TimeUnit.MILLISECONDS.toMicros(bound));
+                slo.put(bound + "ms", count == 0 ? 1.0 : (double) within / count);
+            }
+            return new Snapshot(count,
+                    toMillis(histogram.getMean()),
+                    toMillis(histogram.getValueAtPercentile(50)),
+                    toMillis(histogram.getValueAtPercentile(90)),
+                    toMillis(histogram.getValueAtPercentile(95)),
+                    toMillis(histogram.getValueAtPercentile(99)),
+                    toMillis(histogram.getValueAtPercentile(99.9)),
+                    toMillis(histogram.getMaxValue()),
+                    slo,
+                    encoded ? encode(histogram) : null);
+        }
+
+        private static double toMillis(double micros) {
+            return micros / 1_000.0;
+        }
+    }
+}
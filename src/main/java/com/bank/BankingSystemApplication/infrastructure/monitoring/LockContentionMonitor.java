@@ -0,0 +1,314 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Espera por lock de linha nas leituras {@code SELECT ... FOR UPDATE} de
+ * contas.
+ *
+ * O tempo de {@code findByIdForUpdate} é a soma da espera pelo lock com a
+ * execução da consulta por chave primária. A execução sem contenção é
+ * calibrada pela mediana dos {@code findById} de contas, a mesma busca por
+ * chave primária sem lock de linha, que nunca espera por ele; o que passa
+ * dessa estimativa é contado como espera.
+ *
+ * Enquanto não há leituras sem lock suficientes, a estimativa é o quantil
+ * {@code baseline-quantile} das próprias leituras com lock. Esse fallback
+ * supõe que a cauda inferior não esperou: quando quase toda leitura espera
+ * (contas muito quentes), ele absorve parte da espera e a subestima.
+ *
+ * A espera é publicada em {@code banking.db.lock.wait} com histograma,
+ * separada em {@code buckets} faixas de conta (id módulo buckets), e
+ * acumulada por conta quando passa de {@code min-wait-ms}. As contas são
+ * mantidas em duas gerações de {@code window-seconds}, limitadas a
+ * {@code max-accounts} cada.
+ */
+@Service
+@ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class LockContentionMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LockContentionMonitor.class);
+
+    // Passo relativo do estimador de quantil a cada amostra
+    private static final double BASELINE_STEP = 0.05;
+
+    // Leituras sem lock necessárias para usar a calibração por findById
+    static final long REFERENCE_MIN_SAMPLES = 50;
+
+    static final String SOURCE_PRIMARY_KEY_READS = "findById";
+    static final String SOURCE_LOCKING_READS = "locking-reads";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${performance.lock-contention.buckets:16}")
+    private int bucketCount;
+
+    @Value("${performance.lock-contention.min-wait-ms:1}")
+    private long minWaitMs;
+
+    @Value("${performance.lock-contention.max-accounts:10000}")
+    private int maxAccounts;
+
+    @Value("${performance.lock-contention.window-seconds:300}")
+    private int windowSeconds;
+
+    @Value("${performance.lock-contention.baseline-quantile:0.1}")
+    private double baselineQuantile;
+
+    private Timer[] bucketTimers;
+    private Timer queryTimer;
+    private long minWaitNanos;
+    private volatile double baselineNanos;
+    private volatile double referenceNanos;
+    private final LongAdder referenceSamples = new LongAdder();
+    private volatile Map<Long, AccountContention> currentAccounts = new ConcurrentHashMap<>();
+    private volatile Map<Long, AccountContention> previousAccounts = new ConcurrentHashMap<>();
+    private final LongAdder droppedAccounts = new LongAdder();
+    private ScheduledExecutorService rotationScheduler;
+
+    public LockContentionMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        configure(bucketCount, minWaitMs, maxAccounts, baselineQuantile);
+        rotationScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lock-contention-rotation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rotationScheduler.scheduleAtFixedRate(this::rotate, windowSeconds, windowSeconds, TimeUnit.SECONDS);
+        logger.info("Lock contention monitor started: {} buckets, {}s window", bucketCount, windowSeconds);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rotationScheduler != null) {
+            rotationScheduler.shutdownNow();
+        }
+    }
+
+    void configure(int bucketCount, long minWaitMs, int maxAccounts, double baselineQuantile) {
+        this.bucketCount = Math.max(1, bucketCount);
+        this.minWaitMs = minWaitMs;
+        this.maxAccounts = maxAccounts;
+        this.baselineQuantile = baselineQuantile;
+        this.minWaitNanos = TimeUnit.MILLISECONDS.toNanos(minWaitMs);
+        int digits = String.valueOf(this.bucketCount - 1).length();
+        bucketTimers = new Timer[this.bucketCount];
+        for (int i = 0; i < this.bucketCount; i++) {
+            bucketTimers[i] = Timer.builder("banking.db.lock.wait")
+                    .description("Espera por lock de linha em SELECT ... FOR UPDATE, por faixa de conta")
+                    .tag("bucket", String.format("%0" + digits + "d", i))
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+        }
+        queryTimer = Timer.builder("banking.db.lock.query.time")
+                .description("Execução de SELECT ... FOR UPDATE sem a espera pelo lock")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra uma leitura com lock de uma conta.
+     *
+     * @return a parte do tempo atribuída à espera pelo lock, em nanos
+     */
+    public long recordLockingRead(Long accountId, long elapsedNanos) {
+        double ownBaseline = updateBaseline(elapsedNanos);
+        long baseline = (long) (isCalibrated() ? referenceNanos : ownBaseline);
+        long waitNanos = Math.max(0, elapsedNanos - baseline);
+        queryTimer.record(elapsedNanos - waitNanos, TimeUnit.NANOSECONDS);
+        bucketTimers[bucket(accountId)].record(waitNanos, TimeUnit.NANOSECONDS);
+        if (accountId != null && waitNanos >= minWaitNanos) {
+            accountContention(accountId).add(waitNanos);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Registra uma leitura de conta por chave primária sem lock de linha,
+     * referência para a execução sem contenção.
+     */
+    public void recordPrimaryKeyRead(long elapsedNanos) {
+        referenceNanos = quantileStep(referenceNanos, elapsedNanos, 0.5);
+        referenceSamples.increment();
+    }
+
+    public int bucket(Long accountId) {
+        return accountId == null ? 0 : (int) Math.floorMod(accountId, (long) bucketCount);
+    }
+
+    /** Estimativa atual da execução sem contenção, em milissegundos */
+    public double getExecutionBaselineMs() {
+        return (isCalibrated() ? referenceNanos : baselineNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Origem da estimativa: {@code findById} (leituras sem lock) ou
+     * {@code locking-reads} (fallback pelas próprias leituras com lock).
+     */
+    public String getExecutionBaselineSource() {
+        return isCalibrated() ? SOURCE_PRIMARY_KEY_READS : SOURCE_LOCKING_READS;
+    }
+
+    private boolean isCalibrated() {
+        return referenceSamples.sum() >= REFERENCE_MIN_SAMPLES;
+    }
+
+    /**
+     * Contas com maior tempo total de espera nas duas últimas janelas.
+     */
+    public List<AccountLockStats> getMostContendedAccounts(int limit) {
+        Map<Long, long[]> merged = new HashMap<>();
+        for (Map<Long, AccountContention> generation : List.of(previousAccounts, currentAccounts)) {
+            generation.forEach((accountId, contention) -> {
+                long[] totals = merged.computeIfAbsent(accountId, id -> new long[3]);
+                totals[0] += contention.waits.sum();
+                totals[1] += contention.totalNanos.sum();
+                totals[2] = Math.max(totals[2], contention.maxNanos.get());
+            });
+        }
+        List<AccountLockStats> result = new ArrayList<>();
+        merged.forEach((accountId, totals) -> result.add(new AccountLockStats(accountId, bucket(accountId),
+                totals[0], toMillis(totals[1]), toMillis(totals[1] / totals[0]), toMillis(totals[2]))));
+        result.sort(Comparator.comparingDouble((AccountLockStats stats) -> stats.totalWaitMs).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /** Resumo por faixa de conta desde o início da aplicação */
+    public List<BucketLockStats> getBucketStats() {
+        List<BucketLockStats> result = new ArrayList<>();
+        for (int i = 0; i < bucketTimers.length; i++) {
+            Timer timer = bucketTimers[i];
+            result.add(new BucketLockStats(i, timer.count(), timer.totalTime(TimeUnit.MILLISECONDS),
+                    timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS)));
+        }
+        return result;
+    }
+
+    public long getDroppedAccounts() {
+        return droppedAccounts.sum();
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    void rotate() {
+        previousAccounts = currentAccounts;
+        currentAccounts = new ConcurrentHashMap<>();
+    }
+
+    /*
+     * Estimador de quantil por passos (frugal streaming): sobe q e desce
+     * (1 - q) do passo, estabilizando onde uma fração q das amostras fica
+     * abaixo da estimativa. O passo é relativo, então a convergência não
+     * depende da escala. Corridas entre threads só perdem atualizações.
+     */
+    private double updateBaseline(long elapsedNanos) {
+        double estimate = quantileStep(baselineNanos, elapsedNanos, baselineQuantile);
+        baselineNanos = estimate;
+        return estimate;
+    }
+
+    private static double quantileStep(double estimate, long sample, double quantile) {
+        if (estimate <= 0) {
+            return sample;
+        }
+        if (sample > estimate) {
+            return estimate + estimate * BASELINE_STEP * quantile;
+        }
+        if (sample < estimate) {
+            return Math.max(sample, estimate - estimate * BASELINE_STEP * (1 - quantile));
+        }
+        return estimate;
+    }
+
+    private AccountContention accountContention(Long accountId) {
+        Map<Long, AccountContention> accounts = currentAccounts;
+        AccountContention contention = accounts.get(accountId);
+        if (contention != null) {
+            return contention;
+        }
+        if (accounts.size() >= maxAccounts) {
+            droppedAccounts.increment();
+            // Conta não rastreada: acumula em um registro descartável
+            return new AccountContention();
+        }
+        return accounts.computeIfAbsent(accountId, id -> new AccountContention());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class AccountContention {
+        final LongAdder waits = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long waitNanos) {
+            waits.increment();
+            totalNanos.add(waitNanos);
+            maxNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+    }
+
+    public static class AccountLockStats {
+        public final long accountId;
+        public final int bucket;
+        public final long waits;
+        public final double totalWaitMs;
+        public final double avgWaitMs;
+        public final double maxWaitMs;
+
+        public AccountLockStats(long accountId, int bucket, long waits, double totalWaitMs,
+                                double avgWaitMs, double maxWaitMs) {
+            this.accountId = accountId;
+            this.bucket = bucket;
+            this.waits = waits;
+            this.totalWaitMs = totalWaitMs;
+            this.avgWaitMs = avgWaitMs;
+            this.maxWaitMs = maxWaitMs;
+        }
+    }
+
+    public static class BucketLockStats {
+        public final int bucket;
+        public final long count;
+        public final double totalWaitMs;
+        public final double meanWaitMs;
+        public final double maxWaitMs;
+
+        public BucketLockStats(int bucket, long count, double totalWaitMs, double meanWaitMs, double maxWaitMs) {
+            this.bucket = bucket;
+            this.count = count;
+            this.totalWaitMs = totalWaitMs;
+            this.meanWaitMs = meanWaitMs;
+            this.maxWaitMs = maxWaitMs;
+        }
+    }
+}
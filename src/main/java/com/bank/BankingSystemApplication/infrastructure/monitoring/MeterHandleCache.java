@@ -0,0 +1,212 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache de handles de métricas com tags dinâmicas.
+ *
+ * {@code Timer.builder(...).tag(...).register(registry)} em cada chamada
+ * ordena as tags, cria um Meter.Id e consulta o registry a cada evento.
+ * Aqui cada métrica é declarada uma vez como uma {@link MeterFamily} com
+ * as chaves de tag fixas; o handle de cada combinação de valores é
+ * resolvido no primeiro uso e depois obtido com buscas em mapas
+ * aninhados, sem alocação.
+ *
+ * Cada família aceita no máximo {@code maxSeriesPerName} combinações; as
+ * excedentes são agregadas em uma série com todas as tags "other",
+ * protegendo o registry de tags de alta cardinalidade. Com a família cheia,
+ * combinações novas vão direto para essa série, sem passar pelo lock de
+ * criação.
+ */
+@Component
+public class MeterHandleCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(MeterHandleCache.class);
+
+    static final String OVERFLOW_TAG_VALUE = "other";
+    static final String NULL_TAG_VALUE = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxSeriesPerName;
+    private final MeterFamily<Counter> overflowCounters;
+
+    @Autowired
+    public MeterHandleCache(MeterRegistry meterRegistry,
+                            @Value("${performance.monitoring.max-series-per-meter:500}") int maxSeriesPerName) {
+        this.meterRegistry = meterRegistry;
+        this.maxSeriesPerName = maxSeriesPerName;
+        // A própria família de overflow tem cardinalidade limitada ao número de métricas
+        this.overflowCounters = new MeterFamily<>("banking.meters.cardinality.overflow", new String[]{"name"},
+                Integer.MAX_VALUE, tags -> Counter.builder("banking.meters.cardinality.overflow")
+                        .description("Eventos agregados na série 'other' por excesso de cardinalidade")
+                        .tags(tags)
+                        .register(meterRegistry));
+    }
+
+    public MeterFamily<Timer> timers(String name, String description, String... tagKeys) {
+        return family(name, tagKeys, tags -> Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    public MeterFamily<Counter> counters(String name, String description, String... tagKeys) {
+        return family(name, tagKeys, tags -> Counter.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    public MeterFamily<DistributionSummary> summaries(String name, String description, String baseUnit,
+                                                      String... tagKeys) {
+        return family(name, tagKeys, tags -> DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(baseUnit)
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Família com builder próprio, para métricas que precisam de
+     * configuração adicional (SLOs, percentis, tags fixas).
+     */
+    public <M extends Meter> MeterFamily<M> family(String name, String[] tagKeys, Function<Tags, M> factory) {
+        return new MeterFamily<>(name, tagKeys, maxSeriesPerName, factory);
+    }
+
+    /**
+     * Handles de uma métrica com chaves de tag fixas (até três).
+     */
+    public final class MeterFamily<M extends Meter> {
+
+        private final String name;
+        private final String[] tagKeys;
+        private final int maxSeries;
+        private final Function<Tags, M> factory;
+        private final Map<String, Object> root = new ConcurrentHashMap<>();
+        private int series;
+        /** Publicado quando a família enche; a partir daí combinações novas não tomam o lock */
+        private volatile M overflow;
+
+        private MeterFamily(String name, String[] tagKeys, int maxSeries, Function<Tags, M> factory) {
+            if (tagKeys.length > 3) {
+                throw new IllegalArgumentException("No máximo três tags dinâmicas: " + name);
+            }
+            this.name = name;
+            this.tagKeys = tagKeys.clone();
+            this.maxSeries = maxSeries;
+            this.factory = factory;
+        }
+
+        public M get() {
+            return lookup(null, null, null, 0);
+        }
+
+        public M get(String value1) {
+            return lookup(value1, null, null, 1);
+        }
+
+        public M get(String value1, String value2) {
+            return lookup(value1, value2, null, 2);
+        }
+
+        public M get(String value1, String value2, String value3) {
+            return lookup(value1, value2, value3, 3);
+        }
+
+        public int seriesCount() {
+            synchronized (this) {
+                return series;
+            }
+        }
+
+        private M lookup(String value1, String value2, String value3, int arity) {
+            if (arity != tagKeys.length) {
+                throw new IllegalArgumentException(name + " espera " + tagKeys.length + " tags, recebeu " + arity);
+            }
+            M meter = find(value1, value2, value3);
+            if (meter != null) {
+                return meter;
+            }
+            M full = overflow;
+            if (full != null) {
+                overflowCounters.get(name).increment();
+                return full;
+            }
+            return create(value1, value2, value3);
+        }
+
+        @SuppressWarnings("unchecked")
+        private M find(String value1, String value2, String value3) {
+            Object node = root;
+            for (int level = 0; level < tagKeys.length && node != null; level++) {
+                node = ((Map<String, Object>) node).get(valueAt(level, value1, value2, value3));
+            }
+            if (tagKeys.length == 0) {
+                node = root.get("");
+            }
+            return (M) node;
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized M create(String value1, String value2, String value3) {
+            M existing = find(value1, value2, value3);
+            if (existing != null) {
+                return existing;
+            }
+
+            int arity = tagKeys.length;
+            if (series >= maxSeries) {
+                // Não guarda a combinação: um fluxo de valores novos não deve crescer o cache
+                overflowCounters.get(name).increment();
+                if (overflow == null) {
+                    String[] others = new String[arity];
+                    Arrays.fill(others, OVERFLOW_TAG_VALUE);
+                    overflow = factory.apply(tags(others));
+                    logger.warn("Meter {} reached {} series; new tag combinations are aggregated as '{}'",
+                            name, maxSeries, OVERFLOW_TAG_VALUE);
+                }
+                return overflow;
+            }
+
+            Map<String, Object> node = root;
+            for (int level = 0; level < arity - 1; level++) {
+                node = (Map<String, Object>) node.computeIfAbsent(valueAt(level, value1, value2, value3),
+                        key -> new ConcurrentHashMap<String, Object>());
+            }
+            M meter = factory.apply(tags(new String[]{value1, value2, value3}));
+            // O nó folha é publicado por último, após o registro do meter
+            node.put(arity == 0 ? "" : valueAt(arity - 1, value1, value2, value3), meter);
+            series++;
+            return meter;
+        }
+
+        private Tags tags(String[] values) {
+            Tags tags = Tags.empty();
+            for (int i = 0; i < tagKeys.length; i++) {
+                tags = tags.and(tagKeys[i], values[i] != null ? values[i] : NULL_TAG_VALUE);
+            }
+            return tags;
+        }
+
+        private String valueAt(int level, String value1, String value2, String value3) {
+            String value = level == 0 ? value1 : level == 1 ? value2 : value3;
+            return value != null ? value : NULL_TAG_VALUE;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Snapshots dos endpoints de observabilidade, calculados fora do caminho
+ * das requisições.
+ *
+ * Cada controller registra suas visões (nome e função que monta a
+ * resposta). A cada {@code interval-ms} uma thread em background monta as
+ * visões, serializa em JSON e publica o resultado como um
+ * {@link JsonSnapshot} imutável; as requisições só devolvem os bytes
+ * prontos, então o custo não cresce com o número de dashboards abertos.
+ *
+ * Visões sem requisições há mais de {@code idle-seconds} deixam de ser
+ * atualizadas. Na primeira requisição depois disso (ou antes do primeiro
+ * snapshot) a visão é montada na própria requisição, uma vez só mesmo com
+ * requisições concorrentes. Se a montagem falhar, em background ou na
+ * requisição, o snapshot anterior continua sendo servido sem nova tentativa
+ * na thread da requisição; o header {@code Age} da resposta indica há
+ * quanto tempo ele foi gerado.
+ */
+@Service
+public class MetricsSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsSnapshotService.class);
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${observability.snapshot.interval-ms:2000}")
+    private long intervalMs;
+
+    @Value("${observability.snapshot.idle-seconds:60}")
+    private long idleSeconds;
+
+    private final Map<String, View> views = new ConcurrentHashMap<>();
+    private ScheduledExecutorService snapshotScheduler;
+
+    public MetricsSnapshotService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void init() {
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(() -> refreshActive(System.currentTimeMillis()),
+                intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Metrics snapshot service started: refresh every {}ms", intervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+    }
+
+    void configure(long intervalMs, long idleSeconds) {
+        this.intervalMs = intervalMs;
+        this.idleSeconds = idleSeconds;
+    }
+
+    public void register(String name, Supplier<?> builder) {
+        if (views.putIfAbsent(name, new View(name, builder)) != null) {
+            throw new IllegalStateException("Snapshot view already registered: " + name);
+        }
+    }
+
+    /**
+     * Snapshot atual da visão, montado agora se estiver ausente ou
+     * desatualizado. Enquanto as montagens estiverem falhando, devolve o
+     * último snapshot, mesmo antigo.
+     */
+    public JsonSnapshot get(String name) {
+        return get(name, System.currentTimeMillis());
+    }
+
+    JsonSnapshot get(String name, long now) {
+        View view = views.get(name);
+        if (view == null) {
+            throw new IllegalArgumentException("Unknown snapshot view: " + name);
+        }
+        view.lastRequestedAt = now;
+        JsonSnapshot snapshot = view.snapshot;
+        if (servable(view, snapshot, now)) {
+            return snapshot;
+        }
+        synchronized (view) {
+            snapshot = view.snapshot;
+            if (servable(view, snapshot, now)) {
+                return snapshot;
+            }
+            try {
+                return build(view, now);
+            } catch (RuntimeException e) {
+                if (snapshot == null) {
+                    throw e;
+                }
+                view.lastFailureAt = now;
+                logger.warn("Failed to build snapshot {}, serving one from {}ms ago: {}",
+                        view.name, now - snapshot.getGeneratedAt(), e.getMessage());
+                return snapshot;
+            }
+        }
+    }
+
+    /** Validade dos snapshots para caches do cliente */
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    void refreshActive(long now) {
+        long idleMillis = TimeUnit.SECONDS.toMillis(idleSeconds);
+        for (View view : views.values()) {
+            if (now - view.lastRequestedAt > idleMillis) {
+                continue;
+            }
+            try {
+                synchronized (view) {
+                    build(view, now);
+                }
+            } catch (Exception e) {
+                view.lastFailureAt = now;
+                logger.warn("Failed to refresh snapshot {}: {}", view.name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Snapshot recente, ou o último disponível se a montagem falhou há
+     * menos de dois intervalos (a thread de background segue tentando).
+     */
+    private boolean servable(View view, JsonSnapshot snapshot, long now) {
+        if (snapshot == null) {
+            return false;
+        }
+        return now - snapshot.getGeneratedAt() <= 2 * intervalMs || now - view.lastFailureAt <= 2 * intervalMs;
+    }
+
+    private JsonSnapshot build(View view, long now) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(view.builder.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize snapshot " + view.name, e);
+        }
+        JsonSnapshot snapshot = new JsonSnapshot(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"", now);
+        view.snapshot = snapshot;
+        return snapshot;
+    }
+
+    private static final class View {
+        final String name;
+        final Supplier<?> builder;
+        volatile JsonSnapshot snapshot;
+        // Nunca requisitada: só é montada na primeira requisição
+        volatile long lastRequestedAt = Long.MIN_VALUE / 2;
+        // Última montagem que falhou, em background ou na requisição
+        volatile long lastFailureAt = Long.MIN_VALUE / 2;
+
+        View(String name, Supplier<?> builder) {
+            this.name = name;
+            this.builder = builder;
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas ao vivo por Server-Sent Events.
+ *
+ * Um único produtor monta um quadro por segundo (TPS, latência, requisições
+ * em andamento, índice de carga, lag dos consumidores, gargalo e contas
+ * quentes) e o serializa uma vez em duas formas: completo ({@code full}) e
+ * só com os campos que mudaram desde o quadro anterior ({@code delta}).
+ * Sem assinantes o produtor não monta nada.
+ *
+ * Cada assinante tem uma fila limitada, esvaziada por um pool de envio
+ * compartilhado, então um cliente lento nunca atrasa o produtor: com a fila
+ * cheia o quadro é descartado para ele. Como um delta só vale sobre o quadro
+ * anterior, depois de um descarte o assinante recebe um quadro completo.
+ * Clientes que descartam {@code max-consecutive-drops} quadros seguidos são
+ * desconectados; o EventSource do navegador reconecta e recomeça com um
+ * quadro completo.
+ *
+ * O {@link SseEmitter#send} bloqueia a thread de envio enquanto o socket do
+ * cliente não aceita os bytes. O pool mantém {@code sender-threads} threads e
+ * cresce até uma por assinante, para que envios presos não deixem os demais
+ * assinantes sem thread; e um envio em andamento há mais de
+ * {@code send-timeout-ms} desconecta o assinante. A thread presa só é
+ * liberada quando o container desiste da escrita.
+ */
+@Service
+@ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsStreamService.class);
+
+    static final String FULL = "full";
+    static final String DELTA = "delta";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private PerformanceMetricsService performanceMetricsService;
+
+    @Autowired(required = false)
+    private LatencyHistogramService latencyHistogramService;
+
+    @Autowired(required = false)
+    private SystemLoadMonitor systemLoadMonitor;
+
+    @Autowired(required = false)
+    private HotKeyTracker hotKeyTracker;
+
+    @Value("${performance.stream.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${performance.stream.keyframe-interval-seconds:30}")
+    private int keyframeIntervalSeconds;
+
+    @Value("${performance.stream.queue-capacity:4}")
+    private int queueCapacity;
+
+    @Value("${performance.stream.max-consecutive-drops:30}")
+    private int maxConsecutiveDrops;
+
+    @Value("${performance.stream.max-subscribers:200}")
+    private int maxSubscribers;
+
+    @Value("${performance.stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${performance.stream.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    @Value("${performance.stream.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${performance.stream.hot-accounts:5}")
+    private int hotAccountsInFrame;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextSubscriberId = new AtomicInteger();
+    private Map<String, Object> previous = Map.of();
+    private long sequence;
+    private long lastKeyframeSequence = Long.MIN_VALUE / 2;
+    private ScheduledExecutorService producer;
+    private ExecutorService senderPool;
+    private Executor senders;
+    private Counter framesDropped;
+    private Counter subscribersEvicted;
+
+    public MetricsStreamService(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        senderPool = newSenderPool(senderThreads, maxSubscribers);
+        senders = senderPool;
+        producer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-stream-producer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        producer.scheduleAtFixedRate(this::produce, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("banking.stream.subscribers", subscribers, Set::size)
+                .description("Assinantes conectados ao stream de métricas")
+                .register(meterRegistry);
+        framesDropped = Counter.builder("banking.stream.frames.dropped")
+                .description("Quadros descartados para assinantes lentos")
+                .register(meterRegistry);
+        subscribersEvicted = Counter.builder("banking.stream.subscribers.evicted")
+                .description("Assinantes desconectados por descartes consecutivos")
+                .register(meterRegistry);
+        logger.info("Metrics stream started: frame every {}ms, keyframe every {}s", intervalMs, keyframeIntervalSeconds);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (producer != null) {
+            producer.shutdownNow();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        if (senderPool != null) {
+            senderPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Pool de envio: {@code coreThreads} ficam vivas e, sem thread livre, uma
+     * nova é criada até {@code maxThreads}, em vez de enfileirar o envio
+     * atrás de um cliente que não lê.
+     */
+    static ExecutorService newSenderPool(int coreThreads, int maxThreads) {
+        int core = Math.max(1, coreThreads);
+        return new ThreadPoolExecutor(core, Math.max(core, maxThreads), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "metrics-stream-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    void configure(int queueCapacity, int maxConsecutiveDrops, int maxSubscribers, int keyframeIntervalSeconds,
+                   long intervalMs, long sendTimeoutMs, Executor senders) {
+        this.queueCapacity = queueCapacity;
+        this.maxConsecutiveDrops = maxConsecutiveDrops;
+        this.maxSubscribers = maxSubscribers;
+        this.keyframeIntervalSeconds = keyframeIntervalSeconds;
+        this.intervalMs = intervalMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.senders = senders;
+    }
+
+    /**
+     * Registra um novo assinante. O primeiro quadro que ele recebe é
+     * completo.
+     *
+     * @throws IllegalStateException com o limite de assinantes atingido
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes)));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Metrics stream subscriber limit reached (" + maxSubscribers + ")");
+        }
+        Subscriber subscriber = new Subscriber(nextSubscriberId.incrementAndGet(), emitter, queueCapacity);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void produce() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            publish(collect(), System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.warn("Failed to produce metrics stream frame: {}", e.getMessage());
+        }
+    }
+
+    /** Valores do quadro; só tipos com equals por valor, para o cálculo do delta */
+    Map<String, Object> collect() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        if (performanceMetricsService != null) {
+            PerformanceMetricsService.ThroughputStats requests = performanceMetricsService.getRequestThroughput();
+            metrics.put("tps", round(requests.rate1s));
+            metrics.put("tps10s", round(requests.rate10s));
+            metrics.put("transactionTps", round(performanceMetricsService.getCurrentTransactionTPS()));
+            ComponentLatencyModel.Bottleneck bottleneck = systemLoadMonitor != null
+                    ? systemLoadMonitor.getCurrentBottleneck() : null;
+            metrics.put("bottleneck", bottleneck != null ? bottleneck.component : "none");
+        }
+        if (latencyHistogramService != null) {
+            LatencyRecorder.Snapshot latency = latencyHistogramService.getRequestLatency();
+            metrics.put("p50Ms", round(latency.p50));
+            metrics.put("p99Ms", round(latency.p99));
+        }
+        if (systemLoadMonitor != null) {
+            metrics.put("inFlight", systemLoadMonitor.getActiveConnections());
+            metrics.put("loadScore", round(systemLoadMonitor.getLoadScore()));
+            metrics.put("cpuPercent", round(systemLoadMonitor.getCurrentCpuUsage()));
+            ConsumerLagMonitor lagMonitor = systemLoadMonitor.getLagMonitor();
+            if (lagMonitor != null && lagMonitor.isAvailable()) {
+                metrics.put("consumerLag", lagMonitor.getTotalLag());
+                metrics.put("asyncCompletionSeconds", round(lagMonitor.getEstimatedCompletionSeconds()));
+            }
+        }
+        if (hotKeyTracker != null) {
+            List<Map<String, Object>> hot = new ArrayList<>();
+            hotKeyTracker.getHotAccounts().hitters.stream().limit(hotAccountsInFrame).forEach(hitter ->
+                    hot.add(Map.of("account", hitter.key, "count", hitter.count, "share", round(hitter.share))));
+            metrics.put("hotAccounts", hot);
+        }
+        return metrics;
+    }
+
+    /**
+     * Serializa o quadro e o entrega a todos os assinantes. Chamado só pela
+     * thread do produtor.
+     */
+    synchronized void publish(Map<String, Object> metrics, long now) {
+        long seq = ++sequence;
+        boolean keyframe = seq - lastKeyframeSequence >= Math.max(1, keyframeIntervalSeconds * 1000L / intervalMs);
+        if (keyframe) {
+            lastKeyframeSequence = seq;
+        }
+        String full = serialize(seq, now, FULL, metrics);
+        String delta = keyframe ? full : serialize(seq, now, DELTA, diff(previous, metrics));
+        previous = metrics;
+
+        for (Subscriber subscriber : subscribers) {
+            if (isStalled(subscriber, now)) {
+                evictStalled(subscriber);
+                continue;
+            }
+            // Delta só para quem recebeu o quadro anterior
+            boolean contiguous = subscriber.lastQueuedSequence == seq - 1;
+            Frame frame = keyframe || !contiguous ? new Frame(seq, FULL, full) : new Frame(seq, DELTA, delta);
+            if (subscriber.queue.offer(frame)) {
+                subscriber.lastQueuedSequence = seq;
+                subscriber.consecutiveDrops = 0;
+                scheduleDrain(subscriber);
+            } else {
+                subscriber.dropped.increment();
+                if (framesDropped != null) {
+                    framesDropped.increment();
+                }
+                if (++subscriber.consecutiveDrops >= maxConsecutiveDrops) {
+                    evict(subscriber);
+                }
+            }
+        }
+    }
+
+    static Map<String, Object> diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        after.forEach((key, value) -> {
+            if (!Objects.equals(before.get(key), value)) {
+                changes.put(key, value);
+            }
+        });
+        for (String key : before.keySet()) {
+            if (!after.containsKey(key)) {
+                // Campo que deixou de existir (ex.: lag indisponível)
+                changes.put(key, null);
+            }
+        }
+        return changes;
+    }
+
+    private String serialize(long seq, long now, String type, Map<String, Object> metrics) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("seq", seq);
+        frame.put("type", type);
+        frame.put("timestamp", now);
+        frame.put("metrics", metrics);
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize metrics frame", e);
+        }
+    }
+
+    /**
+     * Envio preso no mesmo quadro há mais de {@code send-timeout-ms}. Medido
+     * no relógio do produtor: o quadro em envio é anotado na primeira
+     * publicação que o encontra em andamento.
+     */
+    private boolean isStalled(Subscriber subscriber, long now) {
+        long sending = subscriber.sendingSequence;
+        if (sending == 0) {
+            subscriber.stalledSequence = 0;
+            return false;
+        }
+        if (sending != subscriber.stalledSequence) {
+            subscriber.stalledSequence = sending;
+            subscriber.stalledSince = now;
+            return false;
+        }
+        return now - subscriber.stalledSince > sendTimeoutMs;
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Pool no limite: o quadro fica na fila e a próxima publicação tenta de novo
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                if (!subscribers.contains(subscriber)) {
+                    // Desconectado enquanto o envio anterior estava preso
+                    subscriber.queue.clear();
+                    subscriber.draining.set(false);
+                    return;
+                }
+                Frame frame = subscriber.queue.poll();
+                if (frame == null) {
+                    subscriber.draining.set(false);
+                    // Quadro enfileirado entre o poll e a liberação
+                    if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                subscriber.sendingSequence = frame.sequence;
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(frame.sequence))
+                        .name(frame.type)
+                        .data(frame.json, MediaType.APPLICATION_JSON));
+                subscriber.sendingSequence = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado
+            subscribers.remove(subscriber);
+            subscriber.sendingSequence = 0;
+            subscriber.queue.clear();
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void evictStalled(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            if (subscribersEvicted != null) {
+                subscribersEvicted.increment();
+            }
+            logger.info("Metrics stream subscriber {} evicted: send of frame {} blocked for more than {}ms",
+                    subscriber.id, subscriber.sendingSequence, sendTimeoutMs);
+            subscriber.emitter.completeWithError(new TimeoutException("Metrics stream send timed out"));
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            if (subscribersEvicted != null) {
+                subscribersEvicted.increment();
+            }
+            logger.info("Metrics stream subscriber {} evicted after {} dropped frames",
+                    subscriber.id, subscriber.dropped.sum());
+            subscriber.emitter.complete();
+        }
+    }
+
+    Set<Subscriber> subscribers() {
+        return Collections.unmodifiableSet(subscribers);
+    }
+
+    private static double round(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return -1;
+        }
+        return Math.round(value * 100) / 100.0;
+    }
+
+    static final class Subscriber {
+        final int id;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<Frame> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final LongAdder dropped = new LongAdder();
+        /** Quadro sendo enviado pela thread de envio; 0 sem envio em andamento */
+        volatile long sendingSequence;
+        // Escritos só pelo produtor
+        long lastQueuedSequence = -1;
+        int consecutiveDrops;
+        long stalledSequence;
+        long stalledSince;
+
+        Subscriber(int id, SseEmitter emitter, int capacity) {
+            this.id = id;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        }
+    }
+
+    private static final class Frame {
+        final long sequence;
+        final String type;
+        final String json;
+
+        Frame(long sequence, String type, String json) {
+            this.sequence = sequence;
+            this.type = type;
+            this.json = json;
+        }
+    }
+}
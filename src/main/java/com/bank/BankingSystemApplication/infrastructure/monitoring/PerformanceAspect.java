@@ -1,6 +1,7 @@
 package com.bank.BankingSystemApplication.infrastructure.monitoring;
 
-import com.bank.BankingSystemApplication.infrastructure.monitoring.PerformanceMetricsService;
+import com.bank.BankingSystemApplication.infrastructure.persistence.AccountRepository;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.RequestStageTimer.Stage;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -20,19 +21,38 @@ public class PerformanceAspect {
     
     private static final Logger logger = LoggerFactory.getLogger(PerformanceAspect.class);
     
+    /** Leitura com lock pessimista; seu tempo é separado em espera por lock e execução */
+    private static final String LOCKING_READ_METHOD = "findByIdForUpdate";
+    
+    /** Mesma busca por chave primária sem lock: referência da execução sem contenção */
+    private static final String PRIMARY_KEY_READ_METHOD = "findById";
+    
     @Autowired
     private PerformanceMetricsService performanceMetricsService;
     
+    @Autowired
+    private LockContentionMonitor lockContentionMonitor;
+    
     @Around("execution(* com.bank.BankingSystemApplication.infrastructure.persistence.*.*(..))")
     public Object measureDatabasePerformance(ProceedingJoinPoint joinPoint) throws Throwable {
         Instant start = Instant.now();
         String operation = joinPoint.getSignature().toShortString();
+        performanceMetricsService.recordOperation(operation);
+        boolean lockingRead = LOCKING_READ_METHOD.equals(joinPoint.getSignature().getName());
+        // Leituras com lock são divididas entre os estágios ao final
+        long stageEntered = lockingRead ? 0 : RequestStageTimer.enter(Stage.DB);
         
         try {
             Object result = joinPoint.proceed();
             Duration duration = Duration.between(start, Instant.now());
             
             performanceMetricsService.recordDatabaseResponseTime(duration);
+            if (lockingRead) {
+                recordLockingRead(joinPoint, duration);
+            } else if (PRIMARY_KEY_READ_METHOD.equals(joinPoint.getSignature().getName())
+                    && joinPoint.getTarget() instanceof AccountRepository) {
+                lockContentionMonitor.recordPrimaryKeyRead(duration.toNanos());
+            }
             
             if (performanceMetricsService.isSlowOperation(duration)) {
                 performanceMetricsService.recordBottleneck("database", operation, duration);
@@ -44,14 +64,34 @@ public class PerformanceAspect {
         } catch (Exception e) {
             Duration duration = Duration.between(start, Instant.now());
             performanceMetricsService.recordBottleneck("database", operation + "_error", duration);
+            if (lockingRead) {
+                // Inclui timeouts de lock e deadlocks, que são espera pura
+                recordLockingRead(joinPoint, duration);
+            }
             throw e;
+        } finally {
+            if (!lockingRead) {
+                RequestStageTimer.exit(Stage.DB, stageEntered);
+            }
         }
     }
     
+    private void recordLockingRead(ProceedingJoinPoint joinPoint, Duration duration) {
+        Object[] args = joinPoint.getArgs();
+        Long accountId = args.length > 0 && args[0] instanceof Long id ? id : null;
+        long elapsedNanos = duration.toNanos();
+        long waitNanos = lockContentionMonitor.recordLockingRead(accountId, elapsedNanos);
+        performanceMetricsService.recordLockWaitTime(Duration.ofNanos(waitNanos));
+        RequestStageTimer.record(Stage.LOCK_WAIT, waitNanos);
+        RequestStageTimer.record(Stage.DB, elapsedNanos - waitNanos);
+    }
+    
     @Around("execution(* com.bank.BankingSystemApplication.application.service.kafka.*.*(..))")
     public Object measureKafkaPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
         Instant start = Instant.now();
         String operation = joinPoint.getSignature().toShortString();
+        performanceMetricsService.recordOperation(operation);
+        long stageEntered = RequestStageTimer.enter(Stage.KAFKA);
         
         try {
             Object result = joinPoint.proceed();
@@ -70,6 +110,8 @@ public class PerformanceAspect {
             Duration duration = Duration.between(start, Instant.now());
             performanceMetricsService.recordBottleneck("kafka", operation + "_error", duration);
             throw e;
+        } finally {
+            RequestStageTimer.exit(Stage.KAFKA, stageEntered);
         }
     }
     
@@ -77,12 +119,18 @@ public class PerformanceAspect {
     public Object measureBusinessLogicPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
         Instant start = Instant.now();
         String operation = joinPoint.getSignature().toShortString();
+        performanceMetricsService.recordOperation(operation);
+        // Estágios aninhados (database, Kafka) são descontados no modelo de gargalos
+        RequestStageTimer.Breakdown breakdown = RequestStageTimer.current();
+        long nestedBefore = breakdown != null ? breakdown.stageNanos() : 0;
         
         try {
             Object result = joinPoint.proceed();
             Duration duration = Duration.between(start, Instant.now());
+            long nested = breakdown != null ? breakdown.stageNanos() - nestedBefore : 0;
             
-            performanceMetricsService.recordBusinessLogicTime(duration);
+            performanceMetricsService.recordBusinessLogicTime(duration,
+                    Duration.ofNanos(Math.max(0, duration.toNanos() - nested)));
             
             if (performanceMetricsService.isSlowOperation(duration)) {
                 performanceMetricsService.recordBottleneck("business", operation, duration);
@@ -102,6 +150,8 @@ public class PerformanceAspect {
     public Object measureMessagingPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
         Instant start = Instant.now();
         String operation = joinPoint.getSignature().toShortString();
+        performanceMetricsService.recordOperation(operation);
+        long stageEntered = RequestStageTimer.enter(Stage.KAFKA);
         
         try {
             Object result = joinPoint.proceed();
@@ -122,6 +172,8 @@ public class PerformanceAspect {
             Duration duration = Duration.between(start, Instant.now());
             performanceMetricsService.recordBottleneck("messaging", operation + "_error", duration);
             throw e;
+        } finally {
+            RequestStageTimer.exit(Stage.KAFKA, stageEntered);
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package com.bank.BankingSystemApplication.infrastructure.monitoring;
 
-import com.bank.BankingSystemApplication.infrastructure.monitoring.PerformanceMetricsService;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +13,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Component
 @ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
@@ -22,27 +23,51 @@ public class PerformanceInterceptor implements HandlerInterceptor {
     private static final Logger logger = LoggerFactory.getLogger(PerformanceInterceptor.class);
     private static final String START_TIME_ATTRIBUTE = "startTime";
     private static final String TIMER_SAMPLE_ATTRIBUTE = "timerSample";
+    private static final String ENDPOINT_ATTRIBUTE = "metricsEndpoint";
+    private static final String ALLOCATED_BYTES_ATTRIBUTE = "allocatedBytesAtStart";
+    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+    
+    private static final RequestStageTimer.Stage[] STAGES = RequestStageTimer.Stage.values();
+    
+    private static final Pattern NUMERIC_ID = Pattern.compile("/\\d+");
+    private static final Pattern UUID_ID = Pattern.compile("/[a-f0-9]{8}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{12}");
     
     @Autowired
     private PerformanceMetricsService performanceMetricsService;
     
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+    
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         Instant startTime = Instant.now();
+        RequestStageTimer.begin();
         Timer.Sample timerSample = performanceMetricsService.startResponseTimer();
         
         request.setAttribute(START_TIME_ATTRIBUTE, startTime);
         request.setAttribute(TIMER_SAMPLE_ATTRIBUTE, timerSample);
+        request.setAttribute(ALLOCATED_BYTES_ATTRIBUTE, performanceMetricsService.currentThreadAllocatedBytes());
         
         // Registrar início da requisição
         String endpoint = getEndpointFromRequest(request);
+        request.setAttribute(ENDPOINT_ATTRIBUTE, endpoint);
         performanceMetricsService.recordRequest(endpoint);
+        hotKeyTracker.recordEndpoint(endpoint);
         
         // Adicionar informações ao MDC para logs estruturados
         MDC.put("endpoint", endpoint);
         MDC.put("method", request.getMethod());
         MDC.put("startTime", startTime.toString());
         
+        // Id da requisição: correlaciona os logs e segue nos headers dos registros Kafka produzidos
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        MDC.put(KafkaLatencyHeaders.MDC_REQUEST_ID, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        
         logger.debug("Request started: {} {}", request.getMethod(), endpoint);
         
         return true;
@@ -59,7 +84,7 @@ public class PerformanceInterceptor implements HandlerInterceptor {
             Instant endTime = Instant.now();
             Duration totalDuration = Duration.between(startTime, endTime);
             
-            String endpoint = getEndpointFromRequest(request);
+            String endpoint = (String) request.getAttribute(ENDPOINT_ATTRIBUTE);
             String status = ex != null ? "error" : "success";
             
             // Registrar métricas de performance
@@ -70,10 +95,32 @@ public class PerformanceInterceptor implements HandlerInterceptor {
             long responseSize = estimateResponseSize(response);
             performanceMetricsService.recordResponse(endpoint, responseSize);
             
+            // Alocação da thread durante a requisição (só faz sentido na mesma thread do preHandle)
+            Long allocatedAtStart = (Long) request.getAttribute(ALLOCATED_BYTES_ATTRIBUTE);
+            if (allocatedAtStart != null && allocatedAtStart >= 0 && !request.isAsyncStarted()) {
+                performanceMetricsService.recordRequestAllocation(endpoint,
+                        performanceMetricsService.currentThreadAllocatedBytes() - allocatedAtStart);
+            }
+            
+            // Tempo por estágio (lock, DB, flush, auditoria, Kafka) da requisição
+            RequestStageTimer.Breakdown breakdown = RequestStageTimer.current();
+            if (breakdown != null) {
+                performanceMetricsService.recordRequestStages(breakdown);
+            }
+            
             // Verificar se é uma operação lenta
             if (performanceMetricsService.isSlowOperation(totalDuration)) {
-                logger.warn("Slow operation detected: {} {} took {}ms", 
-                           request.getMethod(), endpoint, totalDuration.toMillis());
+                String stages = "n/a";
+                if (breakdown != null) {
+                    long totalNanos = totalDuration.toNanos();
+                    for (RequestStageTimer.Stage stage : STAGES) {
+                        MDC.put(stage.mdcKey(), String.valueOf(RequestStageTimer.Breakdown.toMillis(breakdown.nanos(stage))));
+                    }
+                    MDC.put("stageOtherMs", String.valueOf(RequestStageTimer.Breakdown.toMillis(breakdown.otherNanos(totalNanos))));
+                    stages = breakdown.toServerTiming(totalNanos);
+                }
+                logger.warn("Slow operation detected: {} {} took {}ms - stages: {}", 
+                           request.getMethod(), endpoint, totalDuration.toMillis(), stages);
                 
                 if (performanceMetricsService.isVerySlowOperation(totalDuration)) {
                     logger.error("Very slow operation detected: {} {} took {}ms", 
@@ -92,6 +139,7 @@ public class PerformanceInterceptor implements HandlerInterceptor {
         }
         
         // Limpar MDC
+        RequestStageTimer.end();
         MDC.clear();
     }
     
@@ -109,8 +157,7 @@ public class PerformanceInterceptor implements HandlerInterceptor {
     
     private String normalizeEndpoint(String uri) {
         // Substituir IDs numéricos por placeholder para agrupamento
-        return uri.replaceAll("/\\d+", "/{id}")
-                 .replaceAll("/[a-f0-9]{8}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{12}", "/{uuid}");
+        return UUID_ID.matcher(NUMERIC_ID.matcher(uri).replaceAll("/{id}")).replaceAll("/{uuid}");
     }
     
     private long estimateResponseSize(HttpServletResponse response) {
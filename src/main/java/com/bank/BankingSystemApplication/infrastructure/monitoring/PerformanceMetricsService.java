@@ -1,23 +1,36 @@
 package com.bank.BankingSystemApplication.infrastructure.monitoring;
 
+import com.bank.BankingSystemApplication.infrastructure.monitoring.ComponentLatencyModel.Component;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.LatencyHistogramService.Stage;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.MeterHandleCache.MeterFamily;
 import io.micrometer.core.instrument.*;
-import io.micrometer.core.instrument.search.Search;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.lang.management.ManagementFactory;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.atomic.LongAdder;
 
 @Service
 @ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
 public class PerformanceMetricsService {
     
     private final MeterRegistry meterRegistry;
+    private final LatencyHistogramService latencyHistograms;
+    private final ComponentLatencyModel componentModel;
+    
+    /** Contagem de bytes alocados por thread; null se a JVM não suporta */
+    private static final com.sun.management.ThreadMXBean THREAD_ALLOCATION = threadAllocationBean();
     
     // Métricas de Vazão (Throughput)
     private final Counter totalRequestsCounter;
@@ -26,26 +39,50 @@ public class PerformanceMetricsService {
     
     // Métricas de Tempo de Resposta detalhadas
     private final DistributionSummary responseSizeDistribution;
-    private final Timer.Builder responseTimeBuilder;
+    private final MeterFamily<Timer> responseTimeTimers;
+    private final MeterFamily<Timer> operationTimers;
+    private final MeterFamily<DistributionSummary> allocatedBytesSummaries;
+    
+    // Timers por componente e contadores de gargalo
+    private final Timer databaseResponseTimer;
+    private final Timer kafkaResponseTimer;
+    private final Timer businessLogicTimer;
+    private final MeterFamily<Counter> bottleneckCounters;
+    
+    // Tempo por estágio dentro de cada requisição (RequestStageTimer)
+    private static final RequestStageTimer.Stage[] REQUEST_STAGES = RequestStageTimer.Stage.values();
+    private final Map<RequestStageTimer.Stage, Timer> requestStageTimers = new EnumMap<>(RequestStageTimer.Stage.class);
     
     // Métricas de Gargalos
-    private final AtomicLong databaseConnectionTime = new AtomicLong(0);
-    private final AtomicLong kafkaPublishTime = new AtomicLong(0);
-    private final AtomicLong businessLogicTime = new AtomicLong(0);
     private final AtomicReference<String> slowestOperation = new AtomicReference<>("none");
     private final AtomicLong slowestOperationTime = new AtomicLong(0);
     
-    // Contadores de TPS/QPS por período
-    private final ConcurrentHashMap<String, LongAdder> throughputCounters = new ConcurrentHashMap<>();
-    private final AtomicReference<Instant> lastThroughputReset = new AtomicReference<>(Instant.now());
+    // Contadores de TPS/QPS em janela deslizante por segundo
+    private final SlidingWindowCounter requestWindow = new SlidingWindowCounter();
+    private final SlidingWindowCounter responseWindow = new SlidingWindowCounter();
+    private final ConcurrentHashMap<String, SlidingWindowCounter> endpointWindows = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SlidingWindowCounter> operationWindows = new ConcurrentHashMap<>();
+    
+    /** Janela da taxa "atual" usada nos gauges, no roteamento e nos alertas */
+    public static final int CURRENT_RATE_WINDOW_SECONDS = 10;
+    
+    /** Limite de janelas por endpoint/operação; as excedentes são agregadas em "other" */
+    private static final int MAX_WINDOW_KEYS = 500;
     
     // Limites para detecção de gargalos (em milissegundos)
-    private static final long SLOW_OPERATION_THRESHOLD = 1000; // 1 segundo
-    private static final long VERY_SLOW_OPERATION_THRESHOLD = 5000; // 5 segundos
+    @Value("${performance.monitoring.slow-operation-threshold:1000}")
+    private long slowOperationThreshold = 1000;
+    
+    @Value("${performance.monitoring.very-slow-operation-threshold:5000}")
+    private long verySlowOperationThreshold = 5000;
     
     @Autowired
-    public PerformanceMetricsService(MeterRegistry meterRegistry) {
+    public PerformanceMetricsService(MeterRegistry meterRegistry, MeterHandleCache meterHandleCache,
+                                     LatencyHistogramService latencyHistograms,
+                                     ComponentLatencyModel componentModel) {
         this.meterRegistry = meterRegistry;
+        this.latencyHistograms = latencyHistograms;
+        this.componentModel = componentModel;
         
         // Inicializar métricas de vazão
         this.totalRequestsCounter = Counter.builder("banking.requests.total")
@@ -56,8 +93,12 @@ public class PerformanceMetricsService {
                 .description("Total de respostas enviadas")
                 .register(meterRegistry);
                 
+        // Buckets de SLO agregáveis entre nós no Prometheus (somas de "le")
         this.requestDurationTimer = Timer.builder("banking.request.duration")
                 .description("Duração completa da requisição")
+                .serviceLevelObjectives(Arrays.stream(latencyHistograms.getSloMillis())
+                        .mapToObj(Duration::ofMillis)
+                        .toArray(Duration[]::new))
                 .register(meterRegistry);
         
         // Métricas de tempo de resposta
@@ -65,19 +106,50 @@ public class PerformanceMetricsService {
                 .description("Tamanho da resposta em bytes")
                 .register(meterRegistry);
                 
-        this.responseTimeBuilder = Timer.builder("banking.response.time")
-                .description("Tempo de resposta por endpoint");
+        this.responseTimeTimers = meterHandleCache.timers("banking.response.time",
+                "Tempo de resposta por endpoint", "endpoint");
+                
+        this.operationTimers = meterHandleCache.timers("banking.operation.time",
+                "Tempo de resposta por operação e status", "operation", "status");
+                
+        this.allocatedBytesSummaries = meterHandleCache.summaries("banking.request.allocated.bytes",
+                "Bytes alocados pela thread da requisição", "bytes", "endpoint");
+        
+        this.databaseResponseTimer = Timer.builder("banking.database.response.time")
+                .description("Tempo de resposta do database")
+                .register(meterRegistry);
+                
+        this.kafkaResponseTimer = Timer.builder("banking.kafka.response.time")
+                .description("Tempo de resposta do Kafka")
+                .register(meterRegistry);
+                
+        this.businessLogicTimer = Timer.builder("banking.business.logic.time")
+                .description("Tempo de processamento da lógica de negócio")
+                .register(meterRegistry);
+                
+        this.bottleneckCounters = meterHandleCache.counters("banking.bottleneck.detected",
+                "Operações lentas detectadas por componente", "component", "operation", "severity");
+        
+        for (RequestStageTimer.Stage stage : REQUEST_STAGES) {
+            requestStageTimers.put(stage, Timer.builder("banking.request.stage.time")
+                    .description("Tempo da requisição gasto em cada estágio")
+                    .tag("stage", stage.metricName())
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry));
+        }
         
         // Métricas de gargalos
-        Gauge.builder("banking.bottleneck.database.time", databaseConnectionTime, AtomicLong::get)
+        // Médias móveis do ComponentLatencyModel (meia-vida rápida)
+        Gauge.builder("banking.bottleneck.database.time", componentModel, model -> model.getCurrentMs(Component.DATABASE))
                 .description("Tempo médio de conexão com database (ms)")
                 .register(meterRegistry);
                 
-        Gauge.builder("banking.bottleneck.kafka.time", kafkaPublishTime, AtomicLong::get)
+        Gauge.builder("banking.bottleneck.kafka.time", componentModel, model -> model.getCurrentMs(Component.KAFKA))
                 .description("Tempo médio de publicação no Kafka (ms)")
                 .register(meterRegistry);
                 
-        Gauge.builder("banking.bottleneck.business.time", businessLogicTime, AtomicLong::get)
+        Gauge.builder("banking.bottleneck.business.time", componentModel, model -> model.getCurrentMs(Component.BUSINESS))
                 .description("Tempo médio de processamento da lógica de negócio (ms)")
                 .register(meterRegistry);
                 
@@ -93,24 +165,29 @@ public class PerformanceMetricsService {
         Gauge.builder("banking.throughput.transactions.per.second", this, PerformanceMetricsService::getCurrentTransactionTPS)
                 .description("Transações por segundo atual")
                 .register(meterRegistry);
+                
+        Gauge.builder("banking.throughput.requests.peak", requestWindow, SlidingWindowCounter::peakPerSecond)
+                .description("Maior número de requisições em um segundo")
+                .register(meterRegistry);
     }
     
     // Métodos para Vazão (Throughput)
     public void recordRequest(String endpoint) {
         totalRequestsCounter.increment();
-        incrementThroughputCounter("requests");
-        incrementThroughputCounter("endpoint." + endpoint);
+        requestWindow.increment();
+        window(endpointWindows, endpoint).increment();
     }
     
     public void recordResponse(String endpoint, long responseSizeBytes) {
         totalResponsesCounter.increment();
         responseSizeDistribution.record(responseSizeBytes);
-        incrementThroughputCounter("responses");
+        responseWindow.increment();
     }
     
     public void recordRequestDuration(String endpoint, Duration duration) {
         requestDurationTimer.record(duration);
-        responseTimeBuilder.tag("endpoint", endpoint).register(meterRegistry).record(duration);
+        responseTimeTimers.get(endpoint).record(duration);
+        latencyHistograms.recordRequest(endpoint, duration.toNanos());
         
         // Verificar se é uma operação lenta
         long durationMs = duration.toMillis();
@@ -126,156 +203,173 @@ public class PerformanceMetricsService {
     }
     
     public void recordResponseTime(Timer.Sample sample, String operation, String status) {
-        Timer timer = Timer.builder("banking.operation.time")
-                .tag("operation", operation)
-                .tag("status", status)
-                .register(meterRegistry);
-        sample.stop(timer);
+        sample.stop(operationTimers.get(operation, status));
+    }
+    
+    // Métodos para alocação por requisição
+    
+    /**
+     * Bytes alocados até agora pela thread atual.
+     * 
+     * @return contagem acumulada, ou -1 se a JVM não a fornece
+     */
+    public long currentThreadAllocatedBytes() {
+        return THREAD_ALLOCATION != null ? THREAD_ALLOCATION.getCurrentThreadAllocatedBytes() : -1;
+    }
+    
+    public void recordRequestAllocation(String endpoint, long allocatedBytes) {
+        if (allocatedBytes >= 0) {
+            allocatedBytesSummaries.get(endpoint).record(allocatedBytes);
+        }
     }
     
     public void recordDatabaseResponseTime(Duration duration) {
-        databaseConnectionTime.set(duration.toMillis());
-        Timer.builder("banking.database.response.time")
-                .description("Tempo de resposta do database")
-                .register(meterRegistry)
-                .record(duration);
+        componentModel.record(Component.DATABASE, duration.toNanos());
+        databaseResponseTimer.record(duration);
+        latencyHistograms.recordStage(Stage.DB, duration.toNanos());
+    }
+    
+    /**
+     * Espera por lock de leituras com lock pessimista (SELECT ... FOR UPDATE),
+     * já descontada a execução da consulta (ver {@link LockContentionMonitor}).
+     */
+    public void recordLockWaitTime(Duration duration) {
+        componentModel.record(Component.LOCK_WAIT, duration.toNanos());
+        latencyHistograms.recordStage(Stage.LOCK_WAIT, duration.toNanos());
     }
     
     public void recordKafkaResponseTime(Duration duration) {
-        kafkaPublishTime.set(duration.toMillis());
-        Timer.builder("banking.kafka.response.time")
-                .description("Tempo de resposta do Kafka")
-                .register(meterRegistry)
-                .record(duration);
+        componentModel.record(Component.KAFKA, duration.toNanos());
+        kafkaResponseTimer.record(duration);
+        latencyHistograms.recordStage(Stage.KAFKA, duration.toNanos());
     }
     
     public void recordBusinessLogicTime(Duration duration) {
-        businessLogicTime.set(duration.toMillis());
-        Timer.builder("banking.business.logic.time")
-                .description("Tempo de processamento da lógica de negócio")
-                .register(meterRegistry)
-                .record(duration);
+        recordBusinessLogicTime(duration, duration);
+    }
+    
+    /**
+     * @param selfTime tempo sem os estágios aninhados (database, Kafka),
+     *                 usado no modelo de gargalos
+     */
+    public void recordBusinessLogicTime(Duration duration, Duration selfTime) {
+        componentModel.record(Component.BUSINESS, selfTime.toNanos());
+        businessLogicTimer.record(duration);
+    }
+    
+    /**
+     * Registra o detalhamento de uma requisição concluída; só entram os
+     * estágios efetivamente usados por ela.
+     */
+    public void recordRequestStages(RequestStageTimer.Breakdown breakdown) {
+        for (RequestStageTimer.Stage stage : REQUEST_STAGES) {
+            if (breakdown.count(stage) > 0) {
+                requestStageTimers.get(stage).record(breakdown.nanos(stage), TimeUnit.NANOSECONDS);
+            }
+        }
     }
     
     // Métodos para Detecção de Gargalos
     public boolean isSlowOperation(Duration duration) {
-        return duration.toMillis() > SLOW_OPERATION_THRESHOLD;
+        return duration.toMillis() > slowOperationThreshold;
+    }
+    
+    public long getSlowOperationThresholdMs() {
+        return slowOperationThreshold;
     }
     
     public boolean isVerySlowOperation(Duration duration) {
-        return duration.toMillis() > VERY_SLOW_OPERATION_THRESHOLD;
+        return duration.toMillis() > verySlowOperationThreshold;
     }
     
     public void recordBottleneck(String component, String operation, Duration duration) {
-        long durationMs = duration.toMillis();
-        
-        // Registrar gargalo específico
-        Counter.builder("banking.bottleneck.detected")
-                .tag("component", component)
-                .tag("operation", operation)
-                .tag("severity", durationMs > VERY_SLOW_OPERATION_THRESHOLD ? "critical" : "warning")
-                .register(meterRegistry)
-                .increment();
-        
-        // Atualizar tempo do componente
-        switch (component.toLowerCase()) {
-            case "database":
-                databaseConnectionTime.set(Math.max(databaseConnectionTime.get(), durationMs));
-                break;
-            case "kafka":
-                kafkaPublishTime.set(Math.max(kafkaPublishTime.get(), durationMs));
-                break;
-            case "business":
-                businessLogicTime.set(Math.max(businessLogicTime.get(), durationMs));
-                break;
-        }
+        // O tempo já entrou no modelo de componentes pelo registro da operação
+        bottleneckCounters.get(component, operation,
+                duration.toMillis() > verySlowOperationThreshold ? "critical" : "warning").increment();
+    }
+    
+    /**
+     * Registra uma execução de operação interna (serviço, repositório,
+     * mensageria) para as taxas por operação.
+     */
+    public void recordOperation(String operation) {
+        window(operationWindows, operation).increment();
     }
     
     // Métodos auxiliares para TPS/QPS
-    private void incrementThroughputCounter(String key) {
-        throughputCounters.computeIfAbsent(key, k -> new LongAdder()).increment();
+    private SlidingWindowCounter window(ConcurrentHashMap<String, SlidingWindowCounter> windows, String key) {
+        SlidingWindowCounter window = windows.get(key);
+        if (window != null) {
+            return window;
+        }
+        if (windows.size() >= MAX_WINDOW_KEYS) {
+            key = MeterHandleCache.OVERFLOW_TAG_VALUE;
+        }
+        return windows.computeIfAbsent(key, k -> new SlidingWindowCounter());
     }
     
     public double getCurrentTPS() {
-        return calculateThroughput("requests");
+        return requestWindow.rate(CURRENT_RATE_WINDOW_SECONDS);
     }
     
     public double getCurrentTransactionTPS() {
-        return calculateThroughput("responses");
+        return responseWindow.rate(CURRENT_RATE_WINDOW_SECONDS);
     }
     
-    private double calculateThroughput(String key) {
-        LongAdder counter = throughputCounters.get(key);
-        if (counter == null) return 0.0;
-        
-        Instant now = Instant.now();
-        Instant lastReset = lastThroughputReset.get();
-        
-        // Resetar contadores a cada minuto para TPS atual
-        if (Duration.between(lastReset, now).toSeconds() >= 60) {
-            if (lastThroughputReset.compareAndSet(lastReset, now)) {
-                throughputCounters.values().forEach(LongAdder::reset);
-                return 0.0;
-            }
-        }
-        
-        long elapsedSeconds = Duration.between(lastReset, now).toSeconds();
-        if (elapsedSeconds == 0) return 0.0;
-        
-        return (double) counter.sum() / elapsedSeconds;
+    public ThroughputStats getRequestThroughput() {
+        return ThroughputStats.of(requestWindow);
+    }
+    
+    public ThroughputStats getResponseThroughput() {
+        return ThroughputStats.of(responseWindow);
+    }
+    
+    public Map<String, ThroughputStats> getEndpointThroughput() {
+        return snapshot(endpointWindows);
+    }
+    
+    public Map<String, ThroughputStats> getOperationThroughput() {
+        return snapshot(operationWindows);
+    }
+    
+    private Map<String, ThroughputStats> snapshot(ConcurrentHashMap<String, SlidingWindowCounter> windows) {
+        Map<String, ThroughputStats> result = new TreeMap<>();
+        windows.forEach((key, window) -> result.put(key, ThroughputStats.of(window)));
+        return result;
     }
     
     // Métodos para obter estatísticas
     public PerformanceStats getPerformanceStats() {
+        // Média e percentis vêm da janela do HdrHistogram; o Timer não guarda distribuição
+        LatencyRecorder.Snapshot latency = latencyHistograms.getRequestLatency();
         return new PerformanceStats(
             getCurrentTPS(),
             getCurrentTransactionTPS(),
-            getAverageResponseTime(),
-            getP95ResponseTime(),
-            getP99ResponseTime(),
+            latency.mean,
+            latency.p95,
+            latency.p99,
             getBottleneckInfo(),
             getSlowestOperation()
         );
     }
     
-    private double getAverageResponseTime() {
-        Timer timer = meterRegistry.find("banking.request.duration").timer();
-        return timer != null ? timer.mean(java.util.concurrent.TimeUnit.MILLISECONDS) : 0.0;
-    }
-    
-    private double getP95ResponseTime() {
-        Timer timer = meterRegistry.find("banking.request.duration").timer();
-        return timer != null ? timer.percentile(0.95, java.util.concurrent.TimeUnit.MILLISECONDS) : 0.0;
-    }
-    
-    private double getP99ResponseTime() {
-        Timer timer = meterRegistry.find("banking.request.duration").timer();
-        return timer != null ? timer.percentile(0.99, java.util.concurrent.TimeUnit.MILLISECONDS) : 0.0;
-    }
-    
     private BottleneckInfo getBottleneckInfo() {
         return new BottleneckInfo(
-            databaseConnectionTime.get(),
-            kafkaPublishTime.get(),
-            businessLogicTime.get(),
+            Math.round(componentModel.getCurrentMs(Component.DATABASE)),
+            Math.round(componentModel.getCurrentMs(Component.KAFKA)),
+            Math.round(componentModel.getCurrentMs(Component.BUSINESS)),
             identifyCurrentBottleneck()
         );
     }
     
     private String identifyCurrentBottleneck() {
-        long dbTime = databaseConnectionTime.get();
-        long kafkaTime = kafkaPublishTime.get();
-        long businessTime = businessLogicTime.get();
-        
-        if (dbTime > kafkaTime && dbTime > businessTime && dbTime > SLOW_OPERATION_THRESHOLD) {
-            return "database";
-        } else if (kafkaTime > businessTime && kafkaTime > SLOW_OPERATION_THRESHOLD) {
-            return "kafka";
-        } else if (businessTime > SLOW_OPERATION_THRESHOLD) {
-            return "business-logic";
-        }
-        
-        return "none";
+        ComponentLatencyModel.Bottleneck bottleneck = componentModel.getCurrentBottleneck();
+        return bottleneck != null ? bottleneck.component : "none";
+    }
+    
+    /** Componentes ordenados por gargalo, com confiança e mudanças de patamar */
+    public List<ComponentLatencyModel.Bottleneck> getRankedBottlenecks() {
+        return componentModel.getRankedBottlenecks();
     }
     
     private SlowestOperationInfo getSlowestOperation() {
@@ -285,6 +379,19 @@ public class PerformanceMetricsService {
         );
     }
     
+    private static com.sun.management.ThreadMXBean threadAllocationBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+                return bean;
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // JVM sem contagem de alocação por thread
+        }
+        return null;
+    }
+    
     // Classes de dados para estatísticas
     public static class PerformanceStats {
         public final double currentTPS;
@@ -309,6 +416,27 @@ public class PerformanceMetricsService {
         }
     }
     
+    public static class ThroughputStats {
+        public final double rate1s;
+        public final double rate10s;
+        public final double rate60s;
+        public final long peakPerSecond;
+        public final long total;
+        
+        public ThroughputStats(double rate1s, double rate10s, double rate60s, long peakPerSecond, long total) {
+            this.rate1s = rate1s;
+            this.rate10s = rate10s;
+            this.rate60s = rate60s;
+            this.peakPerSecond = peakPerSecond;
+            this.total = total;
+        }
+        
+        static ThroughputStats of(SlidingWindowCounter window) {
+            return new ThroughputStats(window.rate(1), window.rate(10), window.rate(60),
+                    window.peakPerSecond(), window.total());
+        }
+    }
+    
     public static class BottleneckInfo {
         public final long databaseTime;
         public final long kafkaTime;
@@ -0,0 +1,326 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Amostrador de {@code pg_locks}/{@code pg_stat_activity}.
+ *
+ * A cada {@code interval-ms} lista as sessões do banco esperando por lock,
+ * com quem as bloqueia ({@code pg_blocking_pids}) e o lock pedido. As
+ * arestas esperando → bloqueando formam cadeias; a raiz de cada cadeia é
+ * uma sessão que segura o lock sem esperar por outro (em geral uma
+ * transação longa). As consultas das raízes são acumuladas para apontar
+ * quais operações seguram os locks disputados.
+ *
+ * Só roda com PostgreSQL; em outros bancos fica inativo.
+ */
+@Component
+@ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class PgLockSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PgLockSampler.class);
+
+    private static final String WAITERS_SQL =
+            "SELECT waiting.pid AS waiter_pid, blocking.pid AS blocker_pid, " +
+            "EXTRACT(EPOCH FROM (clock_timestamp() - waiting.state_change)) * 1000 AS wait_ms, " +
+            "pl.locktype AS lock_type, pl.mode AS lock_mode, pl.relation::regclass::text AS relation, " +
+            "left(waiting.query, 200) AS waiter_query, left(blocking.query, 200) AS blocker_query, " +
+            "blocking.state AS blocker_state, " +
+            "EXTRACT(EPOCH FROM (clock_timestamp() - blocking.xact_start)) * 1000 AS blocker_xact_ms " +
+            "FROM pg_stat_activity waiting " +
+            "JOIN LATERAL unnest(pg_blocking_pids(waiting.pid)) AS blocker(pid) ON true " +
+            "JOIN pg_stat_activity blocking ON blocking.pid = blocker.pid " +
+            "LEFT JOIN pg_locks pl ON pl.pid = waiting.pid AND NOT pl.granted " +
+            "WHERE waiting.wait_event_type = 'Lock' AND waiting.datname = current_database()";
+
+    // Limite de consultas distintas acumuladas como raiz de cadeia
+    private static final int MAX_BLOCKER_QUERIES = 200;
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${performance.lock-contention.sampler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${performance.lock-contention.sampler.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${performance.lock-contention.sampler.query-timeout-seconds:2}")
+    private int queryTimeoutSeconds;
+
+    private JdbcTemplate jdbcTemplate;
+    private ScheduledExecutorService samplerScheduler;
+    private volatile boolean available;
+    private volatile LockSample lastSample = LockSample.EMPTY;
+    private final Map<String, LongAdder> rootBlockerQueries = new ConcurrentHashMap<>();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder samplesWithWaiters = new LongAdder();
+
+    public PgLockSampler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("pg_locks sampler desabilitado");
+            return;
+        }
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+
+        Gauge.builder("banking.db.lock.waiters", this, sampler -> sampler.lastSample.waiters)
+                .description("Sessões esperando por lock na última amostra")
+                .register(meterRegistry);
+        Gauge.builder("banking.db.lock.chain.depth", this, sampler -> sampler.lastSample.maxChainDepth)
+                .description("Maior cadeia de espera por lock na última amostra")
+                .register(meterRegistry);
+        Gauge.builder("banking.db.lock.wait.oldest", this, sampler -> sampler.lastSample.oldestWaitMs)
+                .description("Maior espera por lock em andamento na última amostra (ms)")
+                .register(meterRegistry);
+
+        samplerScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pg-lock-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        samplerScheduler.scheduleWithFixedDelay(this::sample, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (samplerScheduler != null) {
+            samplerScheduler.shutdownNow();
+        }
+    }
+
+    void sample() {
+        try {
+            if (!available && !detectPostgres()) {
+                return;
+            }
+            List<LockWaitEdge> edges = jdbcTemplate.query(WAITERS_SQL, (rs, rowNum) -> new LockWaitEdge(
+                    rs.getInt("waiter_pid"), rs.getInt("blocker_pid"), rs.getDouble("wait_ms"),
+                    rs.getString("lock_type"), rs.getString("lock_mode"), rs.getString("relation"),
+                    rs.getString("waiter_query"), rs.getString("blocker_query"), rs.getString("blocker_state"),
+                    rs.getDouble("blocker_xact_ms")));
+            LockSample sample = analyze(edges, System.currentTimeMillis());
+            samples.increment();
+            if (sample.waiters > 0) {
+                samplesWithWaiters.increment();
+                for (LockChain chain : sample.chains) {
+                    if (rootBlockerQueries.size() < MAX_BLOCKER_QUERIES
+                            || rootBlockerQueries.containsKey(chain.rootQuery)) {
+                        rootBlockerQueries.computeIfAbsent(chain.rootQuery, query -> new LongAdder()).increment();
+                    }
+                }
+            }
+            lastSample = sample;
+        } catch (Exception e) {
+            logger.warn("Failed to sample pg_locks: {}", e.getMessage());
+        }
+    }
+
+    private boolean detectPostgres() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                logger.info("pg_locks sampler inativo: banco {} não é PostgreSQL", product);
+                samplerScheduler.shutdown();
+                return false;
+            }
+        }
+        available = true;
+        logger.info("pg_locks sampler started: every {} ms", intervalMs);
+        return true;
+    }
+
+    /**
+     * Monta as cadeias de espera de uma amostra. Uma sessão pode esperar por
+     * várias (lock compartilhado), então a profundidade é o maior caminho
+     * até uma raiz; ciclos (deadlock ainda não detectado) são interrompidos.
+     */
+    static LockSample analyze(List<LockWaitEdge> edges, long timestamp) {
+        if (edges.isEmpty()) {
+            return new LockSample(timestamp, 0, 0, 0, List.of(), List.of());
+        }
+        Map<Integer, List<LockWaitEdge>> blockersByWaiter = new HashMap<>();
+        double oldestWaitMs = 0;
+        for (LockWaitEdge edge : edges) {
+            blockersByWaiter.computeIfAbsent(edge.waiterPid, pid -> new ArrayList<>()).add(edge);
+            oldestWaitMs = Math.max(oldestWaitMs, edge.waitMs);
+        }
+
+        // Raízes: bloqueiam alguém sem estar esperando
+        Map<Integer, LockChainBuilder> roots = new HashMap<>();
+        int maxDepth = 0;
+        for (Integer waiter : blockersByWaiter.keySet()) {
+            Map<Integer, Integer> depths = new HashMap<>();
+            collectRoots(waiter, 1, blockersByWaiter, depths, new HashSet<>());
+            for (Map.Entry<Integer, Integer> root : depths.entrySet()) {
+                LockChainBuilder chain = roots.computeIfAbsent(root.getKey(), pid -> new LockChainBuilder());
+                chain.waiters++;
+                chain.depth = Math.max(chain.depth, root.getValue());
+                maxDepth = Math.max(maxDepth, root.getValue());
+            }
+        }
+        for (LockWaitEdge edge : edges) {
+            LockChainBuilder chain = roots.get(edge.blockerPid);
+            if (chain != null && chain.query == null) {
+                chain.query = edge.blockerQuery;
+                chain.state = edge.blockerState;
+                chain.transactionMs = edge.blockerTransactionMs;
+            }
+        }
+
+        List<LockChain> chains = new ArrayList<>();
+        roots.forEach((pid, builder) -> chains.add(new LockChain(pid, builder.waiters, builder.depth,
+                builder.query != null ? builder.query : "unknown", builder.state, builder.transactionMs)));
+        chains.sort(Comparator.comparingInt((LockChain chain) -> chain.waiters).reversed());
+        return new LockSample(timestamp, blockersByWaiter.size(), maxDepth, oldestWaitMs, edges, chains);
+    }
+
+    private static void collectRoots(int pid, int depth, Map<Integer, List<LockWaitEdge>> blockersByWaiter,
+                                     Map<Integer, Integer> depths, Set<Integer> path) {
+        if (!path.add(pid)) {
+            return;
+        }
+        for (LockWaitEdge edge : blockersByWaiter.get(pid)) {
+            if (blockersByWaiter.containsKey(edge.blockerPid)) {
+                collectRoots(edge.blockerPid, depth + 1, blockersByWaiter, depths, path);
+            } else {
+                depths.merge(edge.blockerPid, depth, Math::max);
+            }
+        }
+        path.remove(pid);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public LockSample getLastSample() {
+        return lastSample;
+    }
+
+    /** Fração das amostras com alguma sessão esperando por lock */
+    public double getContendedSampleRatio() {
+        long total = samples.sum();
+        return total == 0 ? 0.0 : (double) samplesWithWaiters.sum() / total;
+    }
+
+    /** Consultas que mais apareceram como raiz de cadeia de espera */
+    public Map<String, Long> getTopRootBlockers(int limit) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        rootBlockerQueries.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(limit)
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue().sum()));
+        return result;
+    }
+
+    private static final class LockChainBuilder {
+        int waiters;
+        int depth;
+        String query;
+        String state;
+        double transactionMs;
+    }
+
+    public static class LockWaitEdge {
+        public final int waiterPid;
+        public final int blockerPid;
+        public final double waitMs;
+        public final String lockType;
+        public final String lockMode;
+        public final String relation;
+        public final String waiterQuery;
+        public final String blockerQuery;
+        public final String blockerState;
+        public final double blockerTransactionMs;
+
+        public LockWaitEdge(int waiterPid, int blockerPid, double waitMs, String lockType, String lockMode,
+                            String relation, String waiterQuery, String blockerQuery, String blockerState,
+                            double blockerTransactionMs) {
+            this.waiterPid = waiterPid;
+            this.blockerPid = blockerPid;
+            this.waitMs = waitMs;
+            this.lockType = lockType;
+            this.lockMode = lockMode;
+            this.relation = relation;
+            this.waiterQuery = waiterQuery;
+            this.blockerQuery = blockerQuery;
+            this.blockerState = blockerState;
+            this.blockerTransactionMs = blockerTransactionMs;
+        }
+    }
+
+    /** Cadeia de espera com raiz em uma sessão que segura o lock */
+    public static class LockChain {
+        public final int rootPid;
+        public final int waiters;
+        public final int depth;
+        public final String rootQuery;
+        public final String rootState;
+        public final double rootTransactionMs;
+
+        public LockChain(int rootPid, int waiters, int depth, String rootQuery, String rootState,
+                         double rootTransactionMs) {
+            this.rootPid = rootPid;
+            this.waiters = waiters;
+            this.depth = depth;
+            this.rootQuery = rootQuery;
+            this.rootState = rootState;
+            this.rootTransactionMs = rootTransactionMs;
+        }
+    }
+
+    public static class LockSample {
+        static final LockSample EMPTY = new LockSample(0, 0, 0, 0, List.of(), List.of());
+
+        public final long timestamp;
+        public final int waiters;
+        public final int maxChainDepth;
+        public final double oldestWaitMs;
+        public final List<LockWaitEdge> edges;
+        public final List<LockChain> chains;
+
+        public LockSample(long timestamp, int waiters, int maxChainDepth, double oldestWaitMs,
+                          List<LockWaitEdge> edges, List<LockChain> chains) {
+            this.timestamp = timestamp;
+            this.waiters = waiters;
+            this.maxChainDepth = maxChainDepth;
+            this.oldestWaitMs = oldestWaitMs;
+            this.edges = edges;
+            this.chains = chains;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Gravação JFR sob demanda, atualizada pela thread de profiling e lida
+ * pelos endpoints de status.
+ */
+public class ProfileRun {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final int durationSeconds;
+    private final Path recordingFile;
+    private final Instant startedAt = Instant.now();
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile JfrEventAggregator.Summary summary;
+    private volatile String error;
+
+    public ProfileRun(String id, int durationSeconds, Path recordingFile) {
+        this.id = id;
+        this.durationSeconds = durationSeconds;
+        this.recordingFile = recordingFile;
+    }
+
+    void complete(JfrEventAggregator.Summary summary) {
+        this.summary = summary;
+        this.finishedAt = Instant.now();
+        this.state = State.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = State.FAILED;
+    }
+
+    /** Arquivo .jfr em disco; não é exposto no JSON */
+    Path recordingFile() {
+        return recordingFile;
+    }
+
+    public boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public JfrEventAggregator.Summary getSummary() {
+        return summary;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
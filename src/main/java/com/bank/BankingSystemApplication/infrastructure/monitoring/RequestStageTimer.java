@@ -0,0 +1,175 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+/**
+ * Tempo gasto por estágio dentro de uma requisição.
+ *
+ * Cada thread reutiliza um único {@link Breakdown} (arrays indexados pelo
+ * estágio), então contribuir com um estágio custa uma leitura de
+ * ThreadLocal e duas somas, sem alocação. O PerformanceInterceptor abre e
+ * fecha a janela da requisição; fora dela (consumidores Kafka, tarefas
+ * agendadas) as contribuições são ignoradas.
+ *
+ * Os estágios são disjuntos: a leitura com lock conta só como LOCK_WAIT e
+ * não também como DB, e chamadas aninhadas do mesmo estágio abertas com
+ * {@link #enter(Stage)} contam uma vez só (adapter de mensageria chamando
+ * o producer). O restante do tempo da requisição aparece como "other" no
+ * detalhamento.
+ */
+public final class RequestStageTimer {
+
+    public enum Stage {
+        LOCK_WAIT("lock_wait", "stageLockWaitMs"),
+        DB("db", "stageDbMs"),
+        FLUSH("flush", "stageFlushMs"),
+        AUDIT("audit", "stageAuditMs"),
+        KAFKA("kafka", "stageKafkaMs");
+
+        private final String metricName;
+        private final String mdcKey;
+
+        Stage(String metricName, String mdcKey) {
+            this.metricName = metricName;
+            this.mdcKey = mdcKey;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+
+        public String mdcKey() {
+            return mdcKey;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private static final ThreadLocal<Breakdown> CURRENT = ThreadLocal.withInitial(Breakdown::new);
+
+    private RequestStageTimer() {
+    }
+
+    /** Abre a janela da requisição na thread atual, zerando os estágios */
+    public static void begin() {
+        CURRENT.get().reset(System.nanoTime());
+    }
+
+    public static void record(Stage stage, long nanos) {
+        Breakdown breakdown = CURRENT.get();
+        if (breakdown.active) {
+            breakdown.nanos[stage.ordinal()] += nanos;
+            breakdown.counts[stage.ordinal()]++;
+        }
+    }
+
+    /**
+     * Abre um trecho do estágio; deve ser fechado com
+     * {@link #exit(Stage, long)} passando o valor retornado.
+     */
+    public static long enter(Stage stage) {
+        Breakdown breakdown = CURRENT.get();
+        if (breakdown.active) {
+            breakdown.depth[stage.ordinal()]++;
+        }
+        return System.nanoTime();
+    }
+
+    public static void exit(Stage stage, long enteredNanos) {
+        Breakdown breakdown = CURRENT.get();
+        if (breakdown.active && breakdown.depth[stage.ordinal()] > 0
+                && --breakdown.depth[stage.ordinal()] == 0) {
+            breakdown.nanos[stage.ordinal()] += System.nanoTime() - enteredNanos;
+            breakdown.counts[stage.ordinal()]++;
+        }
+    }
+
+    /**
+     * Detalhamento da requisição em andamento na thread atual, ou null se
+     * não houver uma. A instância é reutilizada pela thread e só é válida
+     * até o próximo {@link #begin()}.
+     */
+    public static Breakdown current() {
+        Breakdown breakdown = CURRENT.get();
+        return breakdown.active ? breakdown : null;
+    }
+
+    /** Fecha a janela da requisição; contribuições posteriores são ignoradas */
+    public static void end() {
+        CURRENT.get().active = false;
+    }
+
+    public static final class Breakdown {
+
+        private final long[] nanos = new long[STAGES.length];
+        private final int[] counts = new int[STAGES.length];
+        private final int[] depth = new int[STAGES.length];
+        private long startNanos;
+        private boolean active;
+
+        private void reset(long startNanos) {
+            for (int i = 0; i < STAGES.length; i++) {
+                nanos[i] = 0;
+                counts[i] = 0;
+                depth[i] = 0;
+            }
+            this.startNanos = startNanos;
+            this.active = true;
+        }
+
+        public long elapsedNanos() {
+            return System.nanoTime() - startNanos;
+        }
+
+        public long nanos(Stage stage) {
+            return nanos[stage.ordinal()];
+        }
+
+        public int count(Stage stage) {
+            return counts[stage.ordinal()];
+        }
+
+        /** Soma dos estágios registrados até agora */
+        public long stageNanos() {
+            long total = 0;
+            for (long stageNanos : nanos) {
+                total += stageNanos;
+            }
+            return total;
+        }
+
+        /** Tempo da requisição fora dos estágios medidos */
+        public long otherNanos(long totalNanos) {
+            long other = totalNanos;
+            for (long stageNanos : nanos) {
+                other -= stageNanos;
+            }
+            return Math.max(0, other);
+        }
+
+        /**
+         * Valor do header Server-Timing, em milissegundos, por exemplo
+         * {@code lock_wait;dur=812.4, db;dur=3.1, other;dur=20.0}.
+         */
+        public String toServerTiming(long totalNanos) {
+            StringBuilder header = new StringBuilder(96);
+            for (Stage stage : STAGES) {
+                if (counts[stage.ordinal()] > 0) {
+                    appendTiming(header, stage.metricName(), nanos[stage.ordinal()]);
+                }
+            }
+            appendTiming(header, "other", otherNanos(totalNanos));
+            appendTiming(header, "total", totalNanos);
+            return header.toString();
+        }
+
+        private static void appendTiming(StringBuilder header, String name, long nanos) {
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            header.append(name).append(";dur=").append(toMillis(nanos));
+        }
+
+        public static double toMillis(long nanos) {
+            return Math.round(nanos / 100_000.0) / 10.0;
+        }
+    }
+}
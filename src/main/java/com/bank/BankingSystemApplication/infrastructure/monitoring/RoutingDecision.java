@@ -0,0 +1,51 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+/**
+ * Decisão de roteamento do gateway para uma requisição de escrita.
+ *
+ * - SYNC: carga normal, processa na própria requisição
+ * - ASYNC: carga alta, enfileira para os workers
+ * - REJECT: carga alta e backlog dos workers acima do limite; o cliente
+ *   deve tentar novamente após {@link #getRetryAfterSeconds()}
+ */
+public class RoutingDecision {
+
+    public enum Mode { SYNC, ASYNC, REJECT }
+
+    private static final RoutingDecision SYNC = new RoutingDecision(Mode.SYNC, 0, 0.0);
+
+    private final Mode mode;
+    private final long retryAfterSeconds;
+    private final double estimatedCompletionSeconds;
+
+    private RoutingDecision(Mode mode, long retryAfterSeconds, double estimatedCompletionSeconds) {
+        this.mode = mode;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.estimatedCompletionSeconds = estimatedCompletionSeconds;
+    }
+
+    public static RoutingDecision sync() {
+        return SYNC;
+    }
+
+    public static RoutingDecision async(double estimatedCompletionSeconds) {
+        return new RoutingDecision(Mode.ASYNC, 0, estimatedCompletionSeconds);
+    }
+
+    public static RoutingDecision reject(long retryAfterSeconds, double estimatedCompletionSeconds) {
+        return new RoutingDecision(Mode.REJECT, retryAfterSeconds, estimatedCompletionSeconds);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /** Tempo estimado até o processamento de uma mensagem enfileirada agora */
+    public double getEstimatedCompletionSeconds() {
+        return estimatedCompletionSeconds;
+    }
+}
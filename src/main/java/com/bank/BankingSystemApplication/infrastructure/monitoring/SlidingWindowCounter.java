@@ -0,0 +1,143 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de eventos em janela deslizante com resolução de um segundo.
+ *
+ * Um anel de buckets por segundo (120 por padrão), cada um com um
+ * {@link LongAdder} para não disputar a mesma linha de cache entre
+ * threads. A rotação não usa locks: a primeira thread que encontra um
+ * bucket de um segundo antigo o substitui por CAS e as demais passam a
+ * usar o novo, sem perder incrementos.
+ *
+ * As taxas consideram apenas segundos completos, então a taxa de 1s é a
+ * do último segundo fechado e não oscila com o segundo em andamento.
+ */
+public class SlidingWindowCounter {
+
+    public static final int DEFAULT_SLOTS = 120;
+
+    private static final class Bucket {
+        final long second;
+        final LongAdder count = new LongAdder();
+
+        Bucket(long second) {
+            this.second = second;
+        }
+    }
+
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final int slots;
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong peakPerSecond = new AtomicLong();
+
+    public SlidingWindowCounter() {
+        this(DEFAULT_SLOTS);
+    }
+
+    public SlidingWindowCounter(int slots) {
+        if (slots < 2) {
+            throw new IllegalArgumentException("A janela precisa de ao menos 2 segundos: " + slots);
+        }
+        this.slots = slots;
+        this.buckets = new AtomicReferenceArray<>(slots);
+    }
+
+    public void increment() {
+        add(currentSecond(), 1);
+    }
+
+    public void add(long epochSecond, long delta) {
+        bucketFor(epochSecond).count.add(delta);
+        total.add(delta);
+    }
+
+    /**
+     * Eventos por segundo nos últimos {@code windowSeconds} segundos completos.
+     */
+    public double rate(int windowSeconds) {
+        return rate(windowSeconds, currentSecond());
+    }
+
+    public double rate(int windowSeconds, long nowSecond) {
+        int window = Math.max(1, Math.min(windowSeconds, slots - 1));
+        return (double) sum(nowSecond - window, nowSecond - 1) / window;
+    }
+
+    /**
+     * Maior contagem em um segundo completo, considerando todo o tempo de
+     * vida do contador.
+     */
+    public long peakPerSecond() {
+        return peakPerSecond(currentSecond());
+    }
+
+    public long peakPerSecond(long nowSecond) {
+        long peak = peakPerSecond.get();
+        // Buckets fechados ainda no anel podem não ter sido substituídos
+        for (int i = 0; i < slots; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.second < nowSecond && bucket.second >= nowSecond - slots) {
+                peak = Math.max(peak, bucket.count.sum());
+            }
+        }
+        return peak;
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    private long sum(long fromSecond, long toSecond) {
+        long sum = 0;
+        for (long second = fromSecond; second <= toSecond; second++) {
+            Bucket bucket = buckets.get(index(second));
+            if (bucket != null && bucket.second == second) {
+                sum += bucket.count.sum();
+            }
+        }
+        return sum;
+    }
+
+    private Bucket bucketFor(long second) {
+        int index = index(second);
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.second == second) {
+                return bucket;
+            }
+            if (bucket != null && bucket.second > second) {
+                // Evento atrasado de um segundo já rotacionado: conta no bucket atual
+                return bucket;
+            }
+            Bucket fresh = new Bucket(second);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                if (bucket != null) {
+                    recordPeak(bucket.count.sum());
+                }
+                return fresh;
+            }
+        }
+    }
+
+    private void recordPeak(long count) {
+        long peak;
+        do {
+            peak = peakPerSecond.get();
+            if (count <= peak) {
+                return;
+            }
+        } while (!peakPerSecond.compareAndSet(peak, count));
+    }
+
+    private int index(long second) {
+        return (int) Math.floorMod(second, (long) slots);
+    }
+
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,51 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Anexa o detalhamento por estágio às respostas lentas no header
+ * Server-Timing.
+ *
+ * Headers precisam ser escritos antes do corpo, então o detalhamento não
+ * pode esperar o afterCompletion do PerformanceInterceptor; aqui ele é
+ * lido logo antes da serialização, quando a transação (e o flush) já
+ * terminou.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(name = "performance.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+public class StageBreakdownResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Autowired
+    private PerformanceMetricsService performanceMetricsService;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestStageTimer.Breakdown breakdown = RequestStageTimer.current();
+        if (breakdown != null) {
+            long elapsedNanos = breakdown.elapsedNanos();
+            if (elapsedNanos > TimeUnit.MILLISECONDS.toNanos(performanceMetricsService.getSlowOperationThresholdMs())) {
+                response.getHeaders().add(SERVER_TIMING_HEADER, breakdown.toServerTiming(elapsedNanos));
+            }
+        }
+        return body;
+    }
+}
@@ -1,6 +1,7 @@
 package com.bank.BankingSystemApplication.infrastructure.monitoring;
 
 import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.lang.management.ManagementFactory;
@@ -24,6 +25,50 @@ public class SystemLoadMonitor {
     @Value("${app.load.connection-threshold:100}")
     private int connectionThreshold;
     
+    /** Requisições por segundo (janela de 10s) acima das quais se roteia para async; 0 desabilita */
+    @Value("${app.load.tps-threshold:0}")
+    private double tpsThreshold;
+    
+    @Value("${app.load.max-consumer-lag:50000}")
+    private long maxConsumerLag;
+    
+    @Value("${app.load.max-async-completion-seconds:120}")
+    private double maxAsyncCompletionSeconds;
+    
+    @Value("${app.load.default-async-completion-seconds:45}")
+    private double defaultAsyncCompletionSeconds;
+    
+    @Value("${app.load.max-retry-after-seconds:300}")
+    private long maxRetryAfterSeconds;
+    
+    /** Envia escritas de contas quentes para os workers mesmo com carga normal (opt-in: muda a resposta para 202) */
+    @Value("${app.load.hot-account-async:false}")
+    private boolean hotAccountAsync;
+    
+    /** Com database ou espera por lock como gargalo, escritas vão para os workers mesmo com carga normal */
+    @Value("${app.load.async-on-database-bottleneck:false}")
+    private boolean asyncOnDatabaseBottleneck;
+    
+    /** Latência atual mínima do database ou da espera por lock para que uma subida de patamar desvie escritas */
+    @Value("${app.load.database-bottleneck-min-ms:200}")
+    private double databaseBottleneckMinMs;
+    
+    /** Com o Kafka como gargalo, escritas seguem síncronas mesmo com carga alta */
+    @Value("${app.load.sync-on-kafka-bottleneck:true}")
+    private boolean syncOnKafkaBottleneck;
+    
+    @Autowired(required = false)
+    private ConsumerLagMonitor lagMonitor;
+    
+    @Autowired(required = false)
+    private PerformanceMetricsService performanceMetricsService;
+    
+    @Autowired(required = false)
+    private HotKeyTracker hotKeyTracker;
+    
+    @Autowired(required = false)
+    private ComponentLatencyModel componentModel;
+    
     public SystemLoadMonitor() {
         this.osBean = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
     }
@@ -53,10 +98,151 @@ public class SystemLoadMonitor {
         double currentCpu = getCurrentCpuUsage();
         int currentConnections = getActiveConnections();
         
-        return currentCpu > cpuThreshold || currentConnections > connectionThreshold;
+        return currentCpu > cpuThreshold || currentConnections > connectionThreshold || isAboveTpsThreshold();
+    }
+    
+    /**
+     * Taxas de requisições em janela deslizante, ou null com o monitoramento
+     * de performance desabilitado.
+     */
+    public PerformanceMetricsService.ThroughputStats getThroughput() {
+        return performanceMetricsService != null ? performanceMetricsService.getRequestThroughput() : null;
+    }
+    
+    private boolean isAboveTpsThreshold() {
+        return tpsThreshold > 0 && performanceMetricsService != null
+                && performanceMetricsService.getCurrentTPS() > tpsThreshold;
     }
     
     public boolean isHighLoad() {
         return shouldUseAsyncProcessing();
     }
+
+    /**
+     * Carga relativa aos limites: maior entre CPU, conexões e TPS divididos
+     * pelos respectivos thresholds. Acima de 1 é carga alta.
+     */
+    public double getLoadScore() {
+        double score = Math.max(getCurrentCpuUsage() / cpuThreshold,
+                (double) activeConnections.get() / connectionThreshold);
+        if (tpsThreshold > 0 && performanceMetricsService != null) {
+            score = Math.max(score, performanceMetricsService.getCurrentTPS() / tpsThreshold);
+        }
+        return score;
+    }
+
+    /**
+     * Decide como rotear uma requisição de escrita.
+     * 
+     * Com carga normal processa de forma síncrona. Com carga alta enfileira
+     * para os workers, a menos que o backlog deles já exceda o lag ou o tempo
+     * de conclusão máximos; nesse caso rejeita, sugerindo quando tentar de
+     * novo com base na taxa de consumo observada.
+     * 
+     * O gargalo atual do {@link ComponentLatencyModel} também entra na
+     * decisão: database (ou lock de linha) lento leva as escritas para os
+     * workers, e Kafka lento as mantém síncronas, já que o caminho
+     * assíncrono depende dele. Para o database, uma subida de patamar só
+     * conta acima de {@code app.load.database-bottleneck-min-ms}: um degrau
+     * de 2ms para 3ms é detectado, mas não justifica mudar o contrato da API
+     * síncrona.
+     */
+    public RoutingDecision decideRouting() {
+        if (syncOnKafkaBottleneck && isBottleneck(ComponentLatencyModel.Component.KAFKA)) {
+            return RoutingDecision.sync();
+        }
+        if (!isDatabaseBottleneck() && !shouldUseAsyncProcessing()) {
+            return RoutingDecision.sync();
+        }
+        
+        if (lagMonitor == null || !lagMonitor.isAvailable()) {
+            return RoutingDecision.async(defaultAsyncCompletionSeconds);
+        }
+        
+        long lag = lagMonitor.getTotalLag();
+        double completion = lagMonitor.getEstimatedCompletionSeconds();
+        if (lag > maxConsumerLag || completion > maxAsyncCompletionSeconds) {
+            return RoutingDecision.reject(retryAfterSeconds(lag, completion), completion);
+        }
+        return RoutingDecision.async(completionOrDefault(completion));
+    }
+    
+    /**
+     * Decide como rotear uma escrita em uma conta.
+     * 
+     * Além dos critérios de {@link #decideRouting()}, escritas em contas
+     * quentes na última janela vão para os workers mesmo com carga normal:
+     * lá as mensagens da conta ficam na mesma partição e são aplicadas em
+     * sequência, em vez de enfileirar threads de requisição no lock da linha.
+     */
+    public RoutingDecision decideRouting(Long accountId) {
+        RoutingDecision decision = decideRouting();
+        if (decision.getMode() != RoutingDecision.Mode.SYNC || !isHotAccount(accountId)
+                || syncOnKafkaBottleneck && isBottleneck(ComponentLatencyModel.Component.KAFKA)) {
+            return decision;
+        }
+        if (lagMonitor == null || !lagMonitor.isAvailable()) {
+            return RoutingDecision.async(defaultAsyncCompletionSeconds);
+        }
+        double completion = lagMonitor.getEstimatedCompletionSeconds();
+        // Com backlog acima do limite a conta quente segue pelo caminho síncrono
+        return lagMonitor.getTotalLag() > maxConsumerLag || completion > maxAsyncCompletionSeconds
+                ? decision : RoutingDecision.async(completionOrDefault(completion));
+    }
+    
+    public boolean isHotAccount(Long accountId) {
+        return hotAccountAsync && hotKeyTracker != null && hotKeyTracker.isHot(accountId);
+    }
+    
+    /** Gargalo atual com confiança suficiente, ou null */
+    public ComponentLatencyModel.Bottleneck getCurrentBottleneck() {
+        return componentModel != null ? componentModel.getCurrentBottleneck() : null;
+    }
+    
+    private boolean isDatabaseBottleneck() {
+        ComponentLatencyModel.Bottleneck bottleneck = asyncOnDatabaseBottleneck ? getCurrentBottleneck() : null;
+        if (bottleneck == null
+                || !ComponentLatencyModel.Component.DATABASE.label().equals(bottleneck.component)
+                && !ComponentLatencyModel.Component.LOCK_WAIT.label().equals(bottleneck.component)) {
+            return false;
+        }
+        return bottleneck.status == ComponentLatencyModel.Status.SLOW || bottleneck.currentMs >= databaseBottleneckMinMs;
+    }
+    
+    private boolean isBottleneck(ComponentLatencyModel.Component component) {
+        return componentModel != null && componentModel.isBottleneck(component);
+    }
+    
+    void configure(double cpuThreshold, int connectionThreshold, boolean hotAccountAsync,
+                   boolean asyncOnDatabaseBottleneck, double databaseBottleneckMinMs) {
+        this.cpuThreshold = cpuThreshold;
+        this.connectionThreshold = connectionThreshold;
+        this.hotAccountAsync = hotAccountAsync;
+        this.asyncOnDatabaseBottleneck = asyncOnDatabaseBottleneck;
+        this.databaseBottleneckMinMs = databaseBottleneckMinMs;
+    }
+    
+    public ConsumerLagMonitor getLagMonitor() {
+        return lagMonitor;
+    }
+    
+    /**
+     * Sem taxa de consumo conhecida (primeira amostra, workers ociosos até
+     * agora) o tempo de drenagem não é estimável; só o limite de lag rejeita
+     * e o prazo informado é o padrão.
+     */
+    private double completionOrDefault(double completion) {
+        return Double.isNaN(completion) ? defaultAsyncCompletionSeconds : completion;
+    }
+    
+    private long retryAfterSeconds(long lag, double completion) {
+        if (Double.isNaN(completion) || Double.isInfinite(completion)) {
+            return maxRetryAfterSeconds;
+        }
+        // Tempo até o backlog voltar ao limite aceitável, pelo critério mais restritivo
+        double overCompletion = completion - maxAsyncCompletionSeconds;
+        double overLag = lag > 0 ? completion * (lag - maxConsumerLag) / lag : 0.0;
+        long excess = (long) Math.ceil(Math.max(overCompletion, overLag));
+        return Math.max(1, Math.min(maxRetryAfterSeconds, excess));
+    }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.bank.BankingSystemApplication.infrastructure.monitoring;
 
+import com.bank.BankingSystemApplication.domain.model.AccountCreationRequest;
+import com.bank.BankingSystemApplication.domain.model.NotificationEvent;
+import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.TracingSampler.Operation;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -14,162 +17,133 @@ import java.math.BigDecimal;
  * AOP Aspect for automatic tracing of banking operations.
  * This aspect automatically adds distributed tracing to key business operations
  * without requiring manual instrumentation in business logic.
+ *
+ * Arguments are bound by type in the pointcuts instead of being read through
+ * reflection. Each advice asks the {@link TracingSampler} first: unsampled
+ * calls only measure elapsed time and are reported when they fail or are slow.
  */
 @Aspect
 @Component
 public class TracingAspect {
-    
-    private static final Logger logger = LoggerFactory.getLogger(TracingAspect.class);
-    
+
     @Autowired
     private DatadogTracingService tracingService;
-    
+
+    @Autowired
+    private TracingSampler sampler;
+
     /**
      * Traces account creation operations.
      */
-    @Around("execution(* com.bank.BankingSystemApplication.domain.service.BankingDomainService.createAccount(..))")
-    public Object traceAccountCreation(ProceedingJoinPoint joinPoint) throws Throwable {
-        Object[] args = joinPoint.getArgs();
-        String cpf = null;
-        
-        // Extract CPF from AccountCreationRequest
-        if (args.length > 0 && args[0] != null) {
-            try {
-                cpf = (String) args[0].getClass().getMethod("getCpf").invoke(args[0]);
-            } catch (Exception e) {
-                logger.debug("Could not extract CPF from arguments", e);
-            }
-        }
-        
-        DatadogTracingService.BankingSpan span = tracingService.startAccountCreation(cpf != null ? cpf : "unknown");
-        
+    @Around(value = "execution(* com.bank.BankingSystemApplication.domain.service.BankingDomainService.createAccount(..)) && args(request)",
+            argNames = "joinPoint,request")
+    public Object traceAccountCreation(ProceedingJoinPoint joinPoint, AccountCreationRequest request) throws Throwable {
+        byte scope = sampler.enter(Operation.ACCOUNT_CREATE);
         try {
-            Object result = joinPoint.proceed();
-            tracingService.finishSpan(span);
-            return result;
-        } catch (Exception e) {
-            tracingService.finishSpanWithError(span, e);
-            throw e;
+            if (!TracingSampler.isSampled(scope)) {
+                tracingService.countAccountCreation();
+                return proceedUnsampled(joinPoint, "banking.account.create");
+            }
+            String cpf = request != null ? request.getCpf() : null;
+            DatadogTracingService.BankingSpan span = tracingService.startAccountCreation(cpf != null ? cpf : "unknown");
+            return proceedSampled(joinPoint, span);
+        } finally {
+            sampler.exit(scope);
         }
     }
-    
+
     /**
      * Traces credit operations.
      */
-    @Around("execution(* com.bank.BankingSystemApplication.domain.service.BankingDomainService.credit(..))")
-    public Object traceCreditOperation(ProceedingJoinPoint joinPoint) throws Throwable {
-        Object[] args = joinPoint.getArgs();
-        String accountId = "unknown";
-        BigDecimal amount = BigDecimal.ZERO;
-        
-        // Extract parameters from TransactionRequest
-        if (args.length > 0 && args[0] != null) {
-            try {
-                Object request = args[0];
-                accountId = String.valueOf(request.getClass().getMethod("getAccountId").invoke(request));
-                amount = (BigDecimal) request.getClass().getMethod("getAmount").invoke(request);
-            } catch (Exception e) {
-                logger.debug("Could not extract transaction parameters", e);
-            }
-        }
-        
-        DatadogTracingService.BankingSpan span = tracingService.startTransaction(accountId, "CREDIT", amount);
-        
-        try {
-            Object result = joinPoint.proceed();
-            tracingService.finishSpan(span);
-            return result;
-        } catch (Exception e) {
-            tracingService.finishSpanWithError(span, e);
-            throw e;
-        }
+    @Around(value = "execution(* com.bank.BankingSystemApplication.domain.service.BankingDomainService.credit(..)) && args(request)",
+            argNames = "joinPoint,request")
+    public Object traceCreditOperation(ProceedingJoinPoint joinPoint, TransactionRequest request) throws Throwable {
+        return traceTransaction(joinPoint, request, Operation.CREDIT, "CREDIT", "banking.transaction.credit");
     }
-    
+
     /**
      * Traces debit operations.
      */
-    @Around("execution(* com.bank.BankingSystemApplication.domain.service.BankingDomainService.debit(..))")
-    public Object traceDebitOperation(ProceedingJoinPoint joinPoint) throws Throwable {
-        Object[] args = joinPoint.getArgs();
-        String accountId = "unknown";
-        BigDecimal amount = BigDecimal.ZERO;
-        
-        // Extract parameters from TransactionRequest
-        if (args.length > 0 && args[0] != null) {
-            try {
-                Object request = args[0];
-                accountId = String.valueOf(request.getClass().getMethod("getAccountId").invoke(request));
-                amount = (BigDecimal) request.getClass().getMethod("getAmount").invoke(request);
-            } catch (Exception e) {
-                logger.debug("Could not extract transaction parameters", e);
-            }
-        }
-        
-        DatadogTracingService.BankingSpan span = tracingService.startTransaction(accountId, "DEBIT", amount);
-        
-        try {
-            Object result = joinPoint.proceed();
-            tracingService.finishSpan(span);
-            return result;
-        } catch (Exception e) {
-            tracingService.finishSpanWithError(span, e);
-            throw e;
-        }
+    @Around(value = "execution(* com.bank.BankingSystemApplication.domain.service.BankingDomainService.debit(..)) && args(request)",
+            argNames = "joinPoint,request")
+    public Object traceDebitOperation(ProceedingJoinPoint joinPoint, TransactionRequest request) throws Throwable {
+        return traceTransaction(joinPoint, request, Operation.DEBIT, "DEBIT", "banking.transaction.debit");
     }
-    
+
     /**
      * Traces database operations.
      */
     @Around("execution(* com.bank.BankingSystemApplication.infrastructure.persistence.AccountRepository.*(..))")
     public Object traceDatabaseOperations(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getName();
-        String operation = mapMethodToOperation(methodName);
-        
-        DatadogTracingService.BankingSpan span = tracingService.startDatabaseOperation(operation, "accounts");
-        
+        byte scope = sampler.enter(Operation.DATABASE);
         try {
-            Object result = joinPoint.proceed();
-            // tracingService.addSpanAttribute(span, "db.rows_affected", getRowCount(result));
-            tracingService.finishSpan(span);
-            return result;
-        } catch (Exception e) {
-            tracingService.finishSpanWithError(span, e);
-            throw e;
+            if (!TracingSampler.isSampled(scope)) {
+                // Operation name is only resolved if the call has to be reported
+                return proceedUnsampled(joinPoint, null);
+            }
+            String operation = mapMethodToOperation(joinPoint.getSignature().getName());
+            DatadogTracingService.BankingSpan span = tracingService.startDatabaseOperation(operation, "accounts");
+            return proceedSampled(joinPoint, span);
+        } finally {
+            sampler.exit(scope);
         }
     }
-    
+
     /**
      * Traces Kafka producer operations.
      */
     @Around("execution(* com.bank.BankingSystemApplication.application.service.kafka.TransactionEventProducer.*(..))")
     public Object traceKafkaProducer(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        String topic = extractTopicFromArgs(args);
-        
-        DatadogTracingService.BankingSpan span = tracingService.startKafkaOperation("PRODUCE", topic);
-        
+        byte scope = sampler.enter(Operation.KAFKA_PRODUCE);
         try {
-            Object result = joinPoint.proceed();
-            // tracingService.addSpanAttribute(span, "kafka.message_key", extractMessageKey(args));
-            tracingService.finishSpan(span);
-            return result;
-        } catch (Exception e) {
-            tracingService.finishSpanWithError(span, e);
-            throw e;
+            if (!TracingSampler.isSampled(scope)) {
+                return proceedUnsampled(joinPoint, "banking.kafka.produce");
+            }
+            String topic = extractTopicFromArgs(joinPoint.getArgs());
+            DatadogTracingService.BankingSpan span = tracingService.startKafkaOperation("PRODUCE", topic);
+            return proceedSampled(joinPoint, span);
+        } finally {
+            sampler.exit(scope);
         }
     }
-    
+
     /**
      * Traces Kafka consumer operations.
      */
     @Around("execution(* com.bank.BankingSystemApplication.application.service.kafka.*Consumer.*(..))")
     public Object traceKafkaConsumer(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String topic = extractTopicFromConsumerClass(className);
-        
-        DatadogTracingService.BankingSpan span = tracingService.startKafkaOperation("CONSUME", topic);
-        
+        byte scope = sampler.enter(Operation.KAFKA_CONSUME);
+        try {
+            if (!TracingSampler.isSampled(scope)) {
+                return proceedUnsampled(joinPoint, "banking.kafka.consume");
+            }
+            String topic = extractTopicFromConsumerClass(joinPoint.getSignature().getDeclaringType().getSimpleName());
+            DatadogTracingService.BankingSpan span = tracingService.startKafkaOperation("CONSUME", topic);
+            return proceedSampled(joinPoint, span);
+        } finally {
+            sampler.exit(scope);
+        }
+    }
+
+    private Object traceTransaction(ProceedingJoinPoint joinPoint, TransactionRequest request, Operation operation,
+                                    String transactionType, String operationName) throws Throwable {
+        byte scope = sampler.enter(operation);
+        try {
+            if (!TracingSampler.isSampled(scope)) {
+                tracingService.countTransaction(transactionType);
+                return proceedUnsampled(joinPoint, operationName);
+            }
+            String accountId = request != null ? String.valueOf(request.getAccountId()) : "unknown";
+            BigDecimal amount = request != null && request.getAmount() != null ? request.getAmount() : BigDecimal.ZERO;
+            DatadogTracingService.BankingSpan span = tracingService.startTransaction(accountId, transactionType, amount);
+            return proceedSampled(joinPoint, span);
+        } finally {
+            sampler.exit(scope);
+        }
+    }
+
+    private Object proceedSampled(ProceedingJoinPoint joinPoint, DatadogTracingService.BankingSpan span) throws Throwable {
+        sampler.onSampled();
         try {
             Object result = joinPoint.proceed();
             tracingService.finishSpan(span);
@@ -179,7 +153,36 @@ public class TracingAspect {
             throw e;
         }
     }
-    
+
+    /**
+     * No-span path: only measures elapsed time and reports the call if it
+     * fails or exceeds the slow threshold. Without an operationName, the
+     * name is derived from the repository method.
+     */
+    private Object proceedUnsampled(ProceedingJoinPoint joinPoint, String operationName) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Exception e) {
+            long elapsed = System.nanoTime() - start;
+            if (sampler.isOutlier(elapsed, true)) {
+                tracingService.recordUnsampledOutlier(outlierName(joinPoint, operationName), elapsed, e);
+            }
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sampler.isOutlier(elapsed, false)) {
+            tracingService.recordUnsampledOutlier(outlierName(joinPoint, operationName), elapsed, null);
+        }
+        return result;
+    }
+
+    private String outlierName(ProceedingJoinPoint joinPoint, String operationName) {
+        return operationName != null ? operationName
+                : "banking.database." + mapMethodToOperation(joinPoint.getSignature().getName()).toLowerCase();
+    }
+
     /**
      * Maps repository method names to database operations.
      */
@@ -196,57 +199,21 @@ public class TracingAspect {
             return methodName.toUpperCase();
         }
     }
-    
-    /**
-     * Extracts row count from database operation results.
-     */
-    private String getRowCount(Object result) {
-        if (result == null) {
-            return "0";
-        } else if (result instanceof java.util.Collection) {
-            return String.valueOf(((java.util.Collection<?>) result).size());
-        } else if (result instanceof java.util.Optional) {
-            return ((java.util.Optional<?>) result).isPresent() ? "1" : "0";
-        } else {
-            return "1";
-        }
-    }
-    
+
     /**
      * Extracts Kafka topic from method arguments.
      */
     private String extractTopicFromArgs(Object[] args) {
-        // Try to extract topic from event or message arguments
         for (Object arg : args) {
-            if (arg != null) {
-                String className = arg.getClass().getSimpleName();
-                if (className.contains("Event")) {
-                    if (className.contains("Transaction")) {
-                        return "banking.transactions";
-                    } else if (className.contains("Account")) {
-                        return "banking.accounts";
-                    } else if (className.contains("Notification")) {
-                        return "banking.notifications";
-                    }
-                }
+            if (arg instanceof TransactionEvent) {
+                return "banking.transactions";
+            } else if (arg instanceof NotificationEvent) {
+                return "banking.notifications";
             }
         }
         return "unknown";
     }
-    
-    /**
-     * Extracts message key from Kafka producer arguments.
-     */
-    private String extractMessageKey(Object[] args) {
-        // Try to extract key from arguments - usually the first string argument
-        for (Object arg : args) {
-            if (arg instanceof String) {
-                return (String) arg;
-            }
-        }
-        return "unknown";
-    }
-    
+
     /**
      * Extracts topic from consumer class name.
      */
@@ -261,4 +228,4 @@ public class TracingAspect {
             return "unknown";
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Amostragem de spans do {@link TracingAspect}.
+ *
+ * A decisão é tomada na operação raiz (head-based) com a taxa configurada
+ * para ela e herdada pelas operações aninhadas na mesma thread, então uma
+ * requisição é rastreada inteira ou não é rastreada. Chamadas não
+ * amostradas seguem por um caminho sem MDC, sem log e sem alocação; ao
+ * final, erros e chamadas acima de {@code slow-threshold-ms} são
+ * registradas mesmo assim.
+ *
+ * Com {@code tracing.sampling.enabled=false} todas as chamadas são
+ * amostradas (modo completo).
+ */
+@Component
+public class TracingSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TracingSampler.class);
+
+    public enum Operation {
+        ACCOUNT_CREATE("account.create"),
+        CREDIT("transaction.credit"),
+        DEBIT("transaction.debit"),
+        DATABASE("database"),
+        KAFKA_PRODUCE("kafka.produce"),
+        KAFKA_CONSUME("kafka.consume");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    // Escopo devolvido por enter(): bits 0-1 = decisão herdada, bit 2 = amostrado
+    private static final byte NONE = 0;
+    private static final byte SAMPLED = 1;
+    private static final byte UNSAMPLED = 2;
+    private static final byte SAMPLED_FLAG = 4;
+
+    private final ThreadLocal<byte[]> decision = ThreadLocal.withInitial(() -> new byte[1]);
+    private final double[] rates = new double[Operation.values().length];
+    private final Counter sampledCounter;
+    private final Counter outlierCounter;
+    private final Counter droppedCounter;
+
+    @Value("${tracing.sampling.enabled:false}")
+    private boolean enabled;
+
+    @Value("${tracing.sampling.default-rate:0.1}")
+    private double defaultRate;
+
+    @Value("${tracing.sampling.rates:}")
+    private List<String> operationRates;
+
+    @Value("${tracing.sampling.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    private long slowThresholdNanos;
+
+    public TracingSampler(MeterRegistry meterRegistry) {
+        this.sampledCounter = Counter.builder("banking.tracing.spans")
+                .description("Spans por decisão de amostragem")
+                .tag("outcome", "sampled")
+                .register(meterRegistry);
+        this.outlierCounter = Counter.builder("banking.tracing.spans")
+                .description("Spans por decisão de amostragem")
+                .tag("outcome", "outlier")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("banking.tracing.spans")
+                .description("Spans por decisão de amostragem")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        configure(enabled, defaultRate, operationRates, slowThresholdMs);
+    }
+
+    /**
+     * Aplica a configuração; {@code operationRates} no formato
+     * {@code operacao=taxa}, por exemplo {@code transaction.credit=0.5}.
+     */
+    void configure(boolean enabled, double defaultRate, List<String> operationRates, long slowThresholdMs) {
+        this.enabled = enabled;
+        this.defaultRate = defaultRate;
+        this.operationRates = operationRates;
+        this.slowThresholdMs = slowThresholdMs;
+        Arrays.fill(rates, enabled ? clamp(defaultRate) : 1.0);
+        if (enabled && operationRates != null) {
+            for (String entry : operationRates) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length != 2) {
+                    continue;
+                }
+                for (Operation operation : Operation.values()) {
+                    if (operation.key().equals(parts[0].trim())) {
+                        rates[operation.ordinal()] = clamp(Double.parseDouble(parts[1].trim()));
+                    }
+                }
+            }
+        }
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        if (enabled) {
+            logger.info("Tracing sampling enabled: default rate {}, slow threshold {} ms", defaultRate, slowThresholdMs);
+        }
+    }
+
+    /**
+     * Abre o escopo de uma operação. Operações aninhadas herdam a decisão
+     * da raiz. O valor retornado deve ser passado a {@link #exit(byte)}.
+     */
+    public byte enter(Operation operation) {
+        byte[] state = decision.get();
+        byte inherited = state[0];
+        if (inherited == NONE) {
+            state[0] = decide(operation) ? SAMPLED : UNSAMPLED;
+        }
+        return (byte) (inherited | (state[0] == SAMPLED ? SAMPLED_FLAG : 0));
+    }
+
+    public static boolean isSampled(byte scope) {
+        return (scope & SAMPLED_FLAG) != 0;
+    }
+
+    public void exit(byte scope) {
+        decision.get()[0] = (byte) (scope & (SAMPLED | UNSAMPLED));
+    }
+
+    /**
+     * Indica se uma chamada não amostrada deve ser registrada mesmo assim;
+     * atualiza os contadores de amostragem.
+     */
+    public boolean isOutlier(long elapsedNanos, boolean failed) {
+        if (failed || elapsedNanos > slowThresholdNanos) {
+            outlierCounter.increment();
+            return true;
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    public void onSampled() {
+        sampledCounter.increment();
+    }
+
+    public double getRate(Operation operation) {
+        return rates[operation.ordinal()];
+    }
+
+    private boolean decide(Operation operation) {
+        double rate = rates[operation.ordinal()];
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static double clamp(double rate) {
+        return Math.max(0.0, Math.min(1.0, rate));
+    }
+}
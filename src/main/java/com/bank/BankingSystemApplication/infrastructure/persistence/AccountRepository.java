@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,4 +19,13 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT a FROM Account a WHERE a.id = :id")
     Optional<Account> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT MIN(a.id) FROM Account a")
+    Long findMinId();
+    
+    @Query("SELECT MAX(a.id) FROM Account a")
+    Long findMaxId();
+    
+    @Query("SELECT a.id, a.balance FROM Account a WHERE a.id BETWEEN :fromId AND :toId")
+    List<Object[]> findBalancesInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.bank.BankingSystemApplication.infrastructure.persistence;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Persistência em lote dos eventos consumidos do tópico banking-audit.
+ *
+ * Usa JDBC batch em vez de JPA: a tabela é apenas de inserção e o lote
+ * inteiro de um poll vira poucos round-trips (com reWriteBatchedInserts o
+ * driver do PostgreSQL os reescreve em INSERTs multi-linha). O audit_id é a
+ * chave primária, então reentregas do Kafka ou do spool são ignoradas.
+ */
+@Repository
+public class AuditEventRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_events (audit_id, audit_type, account_id, correlation_id, event_time, " +
+            "payload, kafka_partition, kafka_offset) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (audit_id) DO NOTHING";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${audit.consumer.jdbc-batch-size:500}")
+    private int batchSize;
+
+    /**
+     * @return quantidade de eventos efetivamente inseridos (sem duplicados)
+     */
+    public int saveAll(List<AuditEventRow> rows) {
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (statement, row) -> {
+            statement.setString(1, row.auditId());
+            statement.setString(2, row.auditType());
+            if (row.accountId() != null) {
+                statement.setLong(3, row.accountId());
+            } else {
+                statement.setNull(3, Types.BIGINT);
+            }
+            statement.setString(4, row.correlationId());
+            statement.setTimestamp(5, new Timestamp(row.eventTimeMillis()));
+            statement.setString(6, row.payload());
+            statement.setInt(7, row.partition());
+            statement.setLong(8, row.offset());
+        });
+
+        int inserted = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO (-2) quando o driver reescreve o lote
+                inserted += count == -2 ? 1 : count;
+            }
+        }
+        return inserted;
+    }
+
+    /** Linha da tabela audit_events */
+    public record AuditEventRow(String auditId, String auditType, Long accountId, String correlationId,
+                                long eventTimeMillis, String payload, int partition, long offset) {
+    }
+}
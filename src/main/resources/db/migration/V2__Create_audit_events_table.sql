@@ -0,0 +1,16 @@
+-- Eventos de auditoria consumidos do tópico banking-audit
+CREATE TABLE audit_events (
+    audit_id VARCHAR(64) PRIMARY KEY,
+    audit_type VARCHAR(64) NOT NULL,
+    account_id BIGINT,
+    correlation_id VARCHAR(128),
+    event_time TIMESTAMP NOT NULL,
+    payload TEXT NOT NULL,
+    kafka_partition INTEGER NOT NULL,
+    kafka_offset BIGINT NOT NULL,
+    persisted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Consultas por conta e período e por correlação/saga
+CREATE INDEX idx_audit_events_account_time ON audit_events(account_id, event_time);
+CREATE INDEX idx_audit_events_correlation ON audit_events(correlation_id);
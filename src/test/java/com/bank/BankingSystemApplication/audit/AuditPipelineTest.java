@@ -0,0 +1,141 @@
+package com.bank.BankingSystemApplication.infrastructure.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPipelineTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testInlineWritesDoNotRunConcurrentlyWithWriterThread() throws Exception {
+        ConcurrencyCheckingSink sink = new ConcurrencyCheckingSink();
+        AuditPipeline pipeline = new AuditPipeline(new SimpleMeterRegistry(), List.of(sink));
+        // Diretório do spill é um arquivo: todo transbordo falha e vira escrita inline
+        Path notADirectory = Files.createFile(directory.resolve("not-a-directory"));
+        ReflectionTestUtils.setField(pipeline, "ringSize", 2);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 256);
+        ReflectionTestUtils.setField(pipeline, "overflowPolicy", AuditPipeline.OverflowPolicy.SPILL);
+        ReflectionTestUtils.setField(pipeline, "spillFilePath", notADirectory.resolve("audit.spill").toString());
+        pipeline.start();
+
+        int producers = 4;
+        int perProducer = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        pipeline.publish(pipeline.claim("TRANSACTION").put("index", (long) i));
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+            pipeline.stop();
+        }
+
+        assertEquals(producers * perProducer, sink.written.get());
+        assertEquals(1, sink.maxConcurrent.get());
+    }
+
+    @Test
+    void testSpilledRecordsReachSinksInPublishOrder() throws Exception {
+        OrderRecordingSink sink = new OrderRecordingSink();
+        AuditPipeline pipeline = new AuditPipeline(new SimpleMeterRegistry(), List.of(sink));
+        ReflectionTestUtils.setField(pipeline, "ringSize", 4);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 2);
+        ReflectionTestUtils.setField(pipeline, "overflowPolicy", AuditPipeline.OverflowPolicy.SPILL);
+        ReflectionTestUtils.setField(pipeline, "spillFilePath", directory.resolve("audit.spill").toString());
+        pipeline.start();
+
+        int total = 2_000;
+        try {
+            // A escritora fica presa no primeiro registro: o buffer enche e os seguintes transbordam
+            pipeline.publish(pipeline.claim("TRANSACTION").put("index", 0L));
+            assertTrue(sink.entered.await(10, TimeUnit.SECONDS));
+            for (long i = 1; i < 20; i++) {
+                pipeline.publish(pipeline.claim("TRANSACTION").put("index", i));
+            }
+            sink.release.countDown();
+            // Publicações concorrentes com a reposição do transbordo
+            for (long i = 20; i < total; i++) {
+                pipeline.publish(pipeline.claim("TRANSACTION").put("index", i));
+            }
+        } finally {
+            sink.release.countDown();
+            pipeline.stop();
+        }
+
+        assertEquals(total, sink.indexes.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i, sink.indexes.get(i));
+        }
+    }
+
+    // Guarda a ordem de entrega; o primeiro registro espera a liberação do teste
+    static class OrderRecordingSink implements AuditSink {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Long> indexes = new ArrayList<>();
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        @Override
+        public void write(AuditRecord record, String json) {
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+                indexes.add(objectMapper.readTree(json).get("index").asLong());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+
+    // Sink lento que mede quantas threads estão dentro dele ao mesmo tempo
+    static class ConcurrencyCheckingSink implements AuditSink {
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        final AtomicInteger written = new AtomicInteger();
+
+        @Override
+        public void write(AuditRecord record, String json) {
+            int inside = active.incrementAndGet();
+            maxConcurrent.accumulateAndGet(inside, Math::max);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            written.incrementAndGet();
+            active.decrementAndGet();
+        }
+
+        @Override
+        public void flush() {
+            int inside = active.incrementAndGet();
+            maxConcurrent.accumulateAndGet(inside, Math::max);
+            active.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.bank.BankingSystemApplication.infrastructure.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRejectsClaimWhenFull() {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            AuditRecord record = ringBuffer.tryClaim();
+            assertNotNull(record);
+            ringBuffer.publish(record.begin(i, "TRANSACTION", 0L, null, null));
+        }
+
+        assertNull(ringBuffer.tryClaim());
+        assertEquals(4, ringBuffer.size());
+
+        List<Long> drained = new ArrayList<>();
+        assertEquals(2, ringBuffer.drain(handler(drained), 2));
+        assertEquals(List.of(0L, 1L), drained);
+        assertNotNull(ringBuffer.tryClaim());
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws Exception {
+        AuditRingBuffer ringBuffer = new AuditRingBuffer(64);
+        int producers = 4;
+        int perProducer = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    AuditRecord record;
+                    while ((record = ringBuffer.tryClaim()) == null) {
+                        Thread.yield();
+                    }
+                    ringBuffer.publish(record.begin(base + i, "TRANSACTION", 0L, null, null));
+                }
+                done.countDown();
+            });
+        }
+
+        List<Long> drained = new ArrayList<>();
+        AuditRingBuffer.Handler handler = handler(drained);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (drained.size() < producers * perProducer && System.nanoTime() < deadline) {
+            ringBuffer.drain(handler, 16);
+        }
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        Set<Long> unique = new HashSet<>(drained);
+        assertEquals(producers * perProducer, unique.size());
+        assertEquals(0, ringBuffer.size());
+    }
+
+    @Test
+    void testSpillFileRoundTrip() throws Exception {
+        AuditSpillFile spillFile = new AuditSpillFile(directory.resolve("audit.spill"));
+        AuditRecord record = new AuditRecord()
+                .begin(7, "TRANSACTION", 1_700_000_000_000L, "trace-1", null)
+                .indexedBy(42L, "corr-1")
+                .put("account_id", 42L)
+                .put("amount", new BigDecimal("10.50"))
+                .put("success", true)
+                .put("details", "x".repeat(70_000));
+        spillFile.append(record);
+        assertTrue(spillFile.hasPending());
+
+        List<AuditRecord> restored = new ArrayList<>();
+        assertEquals(1, spillFile.drainTo(restored::add));
+
+        AuditRecord copy = restored.get(0);
+        assertEquals(7, copy.getAuditSequence());
+        assertEquals("trace-1", copy.getTraceId());
+        assertNull(copy.getSpanId());
+        assertEquals(42L, copy.getAccountId());
+        assertEquals("corr-1", copy.getCorrelationId());
+        assertEquals(new BigDecimal("10.50"), copy.value(1));
+        assertEquals(Boolean.TRUE, copy.value(2));
+        assertEquals(70_000, copy.value(3).toString().length());
+        assertFalse(spillFile.hasPending());
+    }
+
+    @Test
+    void testKafkaSpoolRoundTrip() throws Exception {
+        Path file = directory.resolve("kafka-audit.spool");
+        KafkaAuditSpool spool = new KafkaAuditSpool(file);
+        spool.append(new KafkaAuditSpool.Entry("run-1", "TRANSACTION", 42L, "saga-1", 1_700_000_000_000L, "{\"n\":1}"));
+        spool.append(new KafkaAuditSpool.Entry("run-2", "SECURITY", null, null, 1_700_000_000_001L, "x".repeat(70_000)));
+        spool.close();
+
+        // Spool remanescente de uma execução anterior
+        KafkaAuditSpool reopened = new KafkaAuditSpool(file);
+        assertTrue(reopened.hasPending());
+
+        List<KafkaAuditSpool.Entry> entries = new ArrayList<>();
+        assertEquals(2, reopened.drainTo(entries::add));
+        assertEquals(new KafkaAuditSpool.Entry("run-1", "TRANSACTION", 42L, "saga-1", 1_700_000_000_000L, "{\"n\":1}"),
+                entries.get(0));
+        assertNull(entries.get(1).accountId());
+        assertNull(entries.get(1).correlationId());
+        assertEquals(70_000, entries.get(1).json().length());
+        assertFalse(reopened.hasPending());
+    }
+
+    @Test
+    void testKafkaSpoolEntriesSurviveWithoutClose() throws Exception {
+        Path file = directory.resolve("kafka-audit.spool");
+        KafkaAuditSpool spool = new KafkaAuditSpool(file);
+        spool.append(new KafkaAuditSpool.Entry("run-1", "TRANSACTION", 42L, "saga-1", 1_700_000_000_000L, "{\"n\":1}"));
+        spool.append(new KafkaAuditSpool.Entry("run-2", "TRANSACTION", 42L, "saga-1", 1_700_000_000_001L, "{\"n\":2}"));
+
+        // Processo interrompido sem close(): o próximo spool encontra os registros no arquivo
+        KafkaAuditSpool reopened = new KafkaAuditSpool(file);
+        assertTrue(reopened.hasPending());
+        List<KafkaAuditSpool.Entry> entries = new ArrayList<>();
+        assertEquals(2, reopened.drainTo(entries::add));
+        assertEquals("run-1", entries.get(0).auditId());
+        assertEquals("run-2", entries.get(1).auditId());
+        spool.close();
+    }
+
+    @Test
+    void testSerializerWritesTypedFields() throws Exception {
+        AuditRecord record = new AuditRecord()
+                .begin(1, "TRANSACTION", 0L, "trace-1", "span-1")
+                .put("account_id", 42L)
+                .put("amount", new BigDecimal("10.50"))
+                .put("success", false)
+                .put("details", new Object() {
+                    @Override
+                    public String toString() {
+                        return "Balance: 1 -> 2";
+                    }
+                });
+
+        JsonNode json = new ObjectMapper().readTree(new AuditRecordSerializer().toJson(record));
+
+        assertEquals("TRANSACTION", json.get("audit_type").asText());
+        assertEquals(AuditRecordSerializer.auditId(record), json.get("audit_id").asText());
+        assertEquals("trace-1", json.get("trace_id").asText());
+        assertEquals(42L, json.get("account_id").asLong());
+        assertEquals(10.5, json.get("amount").asDouble());
+        assertFalse(json.get("success").asBoolean());
+        assertEquals("Balance: 1 -> 2", json.get("details").asText());
+    }
+
+    private AuditRingBuffer.Handler handler(List<Long> drained) {
+        return new AuditRingBuffer.Handler() {
+            @Override
+            public void onRecord(AuditRecord record) {
+                drained.add(record.getAuditSequence());
+            }
+
+            @Override
+            public void onBatchEnd() {
+            }
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package com.bank.BankingSystemApplication.infrastructure.audit.store;
+
+import com.bank.BankingSystemApplication.infrastructure.audit.AuditRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditSegmentStoreTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRollsCompressesAndVerifiesChain() throws Exception {
+        AuditSegmentStore store = openStore();
+        writeRecords(store, 0, 100);
+        store.close();
+
+        List<Path> segments = store.listSegments();
+        assertTrue(segments.size() > 2, "segmentos: " + segments);
+        assertTrue(segments.get(0).getFileName().toString().endsWith(AuditSegmentReader.SEALED_SUFFIX));
+
+        AuditChainVerifier.VerificationReport report = AuditChainVerifier.verify(segments, 2);
+        assertTrue(report.isValid(), report.getProblems().toString());
+        assertEquals(100, report.getRecords());
+    }
+
+    @Test
+    void testReopenContinuesSequenceAndChain() throws Exception {
+        AuditSegmentStore store = openStore();
+        writeRecords(store, 0, 30);
+        store.close();
+
+        AuditSegmentStore reopened = openStore();
+        writeRecords(reopened, 30, 30);
+        AuditChainVerifier.VerificationReport report = reopened.verify();
+        reopened.close();
+
+        assertTrue(report.isValid(), report.getProblems().toString());
+        assertEquals(60, report.getRecords());
+
+        List<AuditStoredRecord> records = readAll(reopened.listSegments());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i + 1, records.get(i).getSequence());
+        }
+        assertEquals(42L, records.get(42).getAccountId());
+        assertEquals("corr-42", records.get(42).getCorrelationId());
+        assertTrue(records.get(42).getJson().contains("\"n\":42"));
+    }
+
+    @Test
+    void testDetectsTamperedRecord() throws Exception {
+        AuditSegmentStore store = openStore();
+        writeRecords(store, 0, 10);
+        store.close();
+
+        Path active = store.listSegments().get(store.listSegments().size() - 1);
+        try (RandomAccessFile file = new RandomAccessFile(active.toFile(), "rw")) {
+            // Altera um byte do JSON do primeiro registro
+            long offset = AuditSegment.HEADER_SIZE + 4 + AuditSegment.FIXED_BODY_SIZE + "corr-0".length() + 2;
+            file.seek(offset);
+            int original = file.read();
+            file.seek(offset);
+            file.write(original ^ 0x01);
+        }
+
+        AuditChainVerifier.VerificationReport report = AuditChainVerifier.verify(store.listSegments(), 1);
+        assertFalse(report.isValid());
+        assertTrue(report.getProblems().get(0).contains("Hash inválido"), report.getProblems().toString());
+    }
+
+    @Test
+    void testRecoversFromTornWrite() throws Exception {
+        AuditSegmentStore store = openStore();
+        writeRecords(store, 0, 3);
+        store.close();
+
+        Path active = store.listSegments().get(0);
+        ByteBuffer buffer = AuditSegmentReader.load(active);
+        int end = AuditSegmentReader.scan(buffer, null, null).getEndPosition();
+        try (RandomAccessFile file = new RandomAccessFile(active.toFile(), "rw")) {
+            // Tamanho gravado, mas corpo e hash nunca chegaram ao disco
+            file.seek(end);
+            file.writeInt(200);
+        }
+
+        AuditSegmentStore reopened = openStore();
+        writeRecords(reopened, 3, 2);
+        AuditChainVerifier.VerificationReport report = reopened.verify();
+        reopened.close();
+
+        assertTrue(report.isValid(), report.getProblems().toString());
+        assertEquals(5, report.getRecords());
+    }
+
+    @Test
+    void testSearchUsesIndexesAcrossSealedAndActiveSegments() throws Exception {
+        AuditSegmentStore store = openStore();
+        for (int i = 0; i < 120; i++) {
+            AuditRecord record = new AuditRecord()
+                    .begin(i, "TRANSACTION", 1_000L * i, null, null)
+                    .indexedBy((long) (i % 5), "saga-" + (i / 10));
+            store.write(record, "{\"n\":" + i + "}");
+        }
+        store.flush();
+
+        AuditSearchResult byAccount = store.search(3L, null, Long.MIN_VALUE, Long.MAX_VALUE, 1000);
+        assertEquals(24, byAccount.getRecords().size());
+        assertTrue(byAccount.getRecords().stream().allMatch(record -> record.getAccountId() == 3L));
+
+        AuditSearchResult bySaga = store.search(null, "saga-7", Long.MIN_VALUE, Long.MAX_VALUE, 1000);
+        assertEquals(10, bySaga.getRecords().size());
+        assertEquals(71, bySaga.getRecords().get(0).getSequence());
+
+        AuditSearchResult combined = store.search(2L, "saga-7", 75_000L, 79_000L, 1000);
+        assertEquals(1, combined.getRecords().size());
+        assertEquals("{\"n\":77}", combined.getRecords().get(0).getJson());
+        assertTrue(combined.getSegmentsSkipped() > 0);
+
+        AuditSearchResult limited = store.search(null, null, Long.MIN_VALUE, Long.MAX_VALUE, 5);
+        assertTrue(limited.isTruncated());
+        assertEquals(116, limited.getRecords().get(0).getSequence());
+        store.close();
+
+        // Após reinício os índices selados vêm dos arquivos .idx
+        AuditSegmentStore reopened = openStore();
+        assertEquals(24, reopened.search(3L, null, Long.MIN_VALUE, Long.MAX_VALUE, 1000).getRecords().size());
+        assertEquals(10, reopened.search(null, "saga-0", Long.MIN_VALUE, Long.MAX_VALUE, 1000).getRecords().size());
+        reopened.close();
+    }
+
+    @Test
+    void testDeferredFsyncRunsWhenIntervalElapses() throws Exception {
+        AuditSegmentStore store = new AuditSegmentStore(new SimpleMeterRegistry(), directory, SEGMENT_SIZE);
+        ReflectionTestUtils.setField(store, "fsyncIntervalMs", 500L);
+        store.open();
+        try {
+            // Lote dentro do intervalo: o fsync é adiado
+            writeRecords(store, 0, 1);
+            assertTrue(store.hasUnsyncedWrites());
+
+            // Sem novos lotes, a thread de fsync força o pendente
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (store.hasUnsyncedWrites() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertFalse(store.hasUnsyncedWrites());
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    void testCompactIndexLookups() {
+        AuditIndexBuilder builder = new AuditIndexBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.add((long) (i % 37), i % 3 == 0 ? "corr-" + (i % 11) : null, i, i * 10);
+        }
+        AuditSegmentIndex index = builder.build();
+
+        for (long account = 0; account < 37; account++) {
+            assertArrayEquals(builder.accountOffsets(account), index.accountOffsets(account));
+        }
+        assertEquals(0, index.accountOffsets(99L).length);
+        assertArrayEquals(builder.correlationOffsets("corr-4"), index.correlationOffsets("corr-4"));
+        assertEquals(0, index.correlationOffsets("missing").length);
+        assertEquals(0, index.minTimestamp());
+        assertEquals(999, index.maxTimestamp());
+    }
+
+    private AuditSegmentStore openStore() throws Exception {
+        AuditSegmentStore store = new AuditSegmentStore(new SimpleMeterRegistry(), directory, SEGMENT_SIZE);
+        store.open();
+        return store;
+    }
+
+    private void writeRecords(AuditSegmentStore store, int from, int count) throws Exception {
+        for (int i = from; i < from + count; i++) {
+            AuditRecord record = new AuditRecord()
+                    .begin(i, "TRANSACTION", 1_700_000_000_000L + i, null, null)
+                    .indexedBy((long) i, "corr-" + i);
+            store.write(record, "{\"audit_type\":\"TRANSACTION\",\"n\":" + i + ",\"details\":\"" + "x".repeat(100) + "\"}");
+            store.flush();
+        }
+    }
+
+    private List<AuditStoredRecord> readAll(List<Path> segments) throws Exception {
+        List<AuditStoredRecord> records = new ArrayList<>();
+        for (Path segment : segments) {
+            AuditSegmentReader.scan(AuditSegmentReader.load(segment), null, (record, offset) -> records.add(record));
+        }
+        return records;
+    }
+}
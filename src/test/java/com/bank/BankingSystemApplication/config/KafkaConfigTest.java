@@ -0,0 +1,72 @@
+package com.bank.BankingSystemApplication.application.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.retrytopic.DestinationTopic;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaConfigTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final KafkaConfig kafkaConfig = new KafkaConfig();
+
+    @Test
+    void testWorkerRetryTopicsUseExponentialBackoff() {
+        // Act
+        RetryTopicConfiguration configuration = defaultRetryConfiguration();
+
+        // Assert
+        List<DestinationTopic.Properties> properties = configuration.getDestinationTopicProperties();
+        assertEquals(List.of("", "-retry-1000", "-retry-10000", "-retry-60000", "-dlt"),
+                properties.stream().map(DestinationTopic.Properties::suffix).collect(Collectors.toList()));
+        assertEquals(List.of(0L, 1000L, 10000L, 60000L, 0L),
+                properties.stream().map(DestinationTopic.Properties::delay).collect(Collectors.toList()));
+        assertTrue(properties.get(properties.size() - 1).isDltTopic());
+        properties.stream().filter(p -> !p.isMainEndpoint()).forEach(p -> assertEquals(3, p.numPartitions()));
+    }
+
+    @Test
+    void testWorkerRetryTopicsOnlyCoverWorkerTopics() {
+        // Act
+        RetryTopicConfiguration configuration = defaultRetryConfiguration();
+
+        // Assert
+        assertTrue(configuration.hasConfigurationForTopics(new String[]{KafkaConfig.ACCOUNT_CREATE_TOPIC}));
+        assertTrue(configuration.hasConfigurationForTopics(new String[]{KafkaConfig.TRANSACTION_CREDIT_TOPIC}));
+        assertTrue(configuration.hasConfigurationForTopics(new String[]{KafkaConfig.TRANSACTION_DEBIT_TOPIC}));
+        assertFalse(configuration.hasConfigurationForTopics(new String[]{KafkaConfig.TRANSACTION_TOPIC}));
+        assertEquals(KafkaConfig.WORKER_DLT_HANDLER, configuration.getDltHandlerMethod().getMethodName());
+    }
+
+    @Test
+    void testWorkerRetryTopicsDoNotRetryValidationErrors() {
+        RetryTopicConfiguration configuration = defaultRetryConfiguration();
+        DestinationTopic main = new DestinationTopic(KafkaConfig.ACCOUNT_CREATE_TOPIC,
+                configuration.getDestinationTopicProperties().get(0));
+
+        // Act & Assert: o container embrulha a exceção do listener
+        assertTrue(main.shouldRetryOn(1, listenerFailure(new QueryTimeoutException("timeout"))));
+        assertFalse(main.shouldRetryOn(1, listenerFailure(new IllegalArgumentException("CPF já cadastrado"))));
+    }
+
+    private ListenerExecutionFailedException listenerFailure(Exception cause) {
+        return new ListenerExecutionFailedException("listener failed", cause);
+    }
+
+    private RetryTopicConfiguration defaultRetryConfiguration() {
+        return kafkaConfig.workerRetryTopicConfiguration(kafkaTemplate, 4, 1000, 10, 60000, 3);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.BankingSystemApplication.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverloadSheddingAsyncAppenderTest {
+
+    @Test
+    void testSamplesOnlyLowSeverityAboveThreshold() {
+        OverloadSheddingAsyncAppender appender = new OverloadSheddingAsyncAppender();
+        appender.setRingBufferSize(1024);
+        appender.setSheddingThreshold(0.5);
+        appender.setSampleRate(4);
+
+        // Abaixo do limiar nada é descartado
+        for (int i = 0; i < 100; i++) {
+            assertFalse(appender.shouldShed(Level.INFO, 511));
+        }
+
+        // Acima do limiar INFO e DEBUG passam 1 a cada 4; WARN e ERROR sempre passam
+        int kept = 0;
+        for (int i = 0; i < 100; i++) {
+            if (!appender.shouldShed(i % 2 == 0 ? Level.INFO : Level.DEBUG, 512)) {
+                kept++;
+            }
+            assertFalse(appender.shouldShed(Level.WARN, 1024));
+            assertFalse(appender.shouldShed(Level.ERROR, 1024));
+        }
+        assertEquals(25, kept);
+    }
+
+    @Test
+    void testDeliversEventsToDelegateAndRegistersWhileStarted() {
+        LoggerContext context = new LoggerContext();
+        ListAppender<ILoggingEvent> delegate = new ListAppender<>();
+        delegate.setContext(context);
+        delegate.start();
+
+        OverloadSheddingAsyncAppender appender = new OverloadSheddingAsyncAppender();
+        appender.setContext(context);
+        appender.setName("TEST_ASYNC");
+        appender.addAppender(delegate);
+        appender.start();
+        assertTrue(OverloadSheddingAsyncAppender.startedAppenders().contains(appender));
+
+        Logger logger = context.getLogger("test");
+        logger.addAppender(appender);
+        for (int i = 0; i < 50; i++) {
+            logger.info("event {}", i);
+        }
+
+        // stop() espera a fila esvaziar
+        appender.stop();
+        assertEquals(50, delegate.list.size());
+        assertEquals("event 49", delegate.list.get(49).getFormattedMessage());
+        assertEquals(50, appender.getAppendedCount());
+        assertEquals(0, appender.getShedCount() + appender.getRejectedCount());
+        assertFalse(OverloadSheddingAsyncAppender.startedAppenders().contains(appender));
+    }
+}
@@ -0,0 +1,192 @@
+package com.bank.BankingSystemApplication.adapter.in.messaging;
+
+import com.bank.BankingSystemApplication.application.config.KafkaConfig;
+import com.bank.BankingSystemApplication.domain.model.DeadLetterEvent;
+import com.bank.BankingSystemApplication.domain.model.EventIds;
+import com.bank.BankingSystemApplication.domain.model.Status;
+import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
+import com.bank.BankingSystemApplication.domain.model.TransactionResponse;
+import com.bank.BankingSystemApplication.domain.port.in.BankingUseCase;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.retrytopic.DestinationTopic;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncBankingWorkerTest {
+
+    private static final String CREDIT_DLT = KafkaConfig.TRANSACTION_CREDIT_TOPIC + KafkaConfig.DLT_TOPIC_SUFFIX;
+
+    @Mock
+    private BankingUseCase bankingUseCase;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @InjectMocks
+    private AsyncBankingWorker worker;
+
+    @Test
+    void testCreditInfrastructureFailureGoesToRetryTopic() {
+        TransactionRequest request = creditRequest();
+        CannotAcquireLockException failure = new CannotAcquireLockException("lock wait timeout");
+        when(bankingUseCase.credit(request)).thenThrow(failure);
+
+        // Act
+        CannotAcquireLockException thrown = assertThrows(CannotAcquireLockException.class,
+                () -> worker.processCreditTransaction(request));
+
+        // Assert: nada é publicado como processado e o registro segue para o primeiro tópico de retry
+        verify(kafkaTemplate, never()).send(anyString(), any());
+        List<DestinationTopic.Properties> topics = workerRetryTopics().getDestinationTopicProperties();
+        DestinationTopic main = new DestinationTopic(KafkaConfig.TRANSACTION_CREDIT_TOPIC, topics.get(0));
+        assertTrue(main.shouldRetryOn(1, new ListenerExecutionFailedException("listener failed", thrown)));
+        assertEquals("-retry-1000", topics.get(1).suffix());
+    }
+
+    @Test
+    void testDebitRejectionIsPublishedWithoutRetry() {
+        TransactionRequest request = creditRequest();
+        TransactionResponse rejected = new TransactionResponse(Status.RECUSADO, "Saldo insuficiente");
+        when(bankingUseCase.debit(request)).thenReturn(rejected);
+
+        // Act
+        worker.processDebitTransaction(request);
+
+        // Assert
+        verify(kafkaTemplate).send(KafkaConfig.TRANSACTION_PROCESSED_TOPIC, rejected);
+    }
+
+    @Test
+    void testDeadLetterEventUsesOriginalPositionFromMainTopic() {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>(CREDIT_DLT, 0, 7L, "42", creditRequest());
+        Headers headers = record.headers();
+        // Um salto por tópico de retry: o primeiro valor é o do tópico principal
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, utf8(KafkaConfig.TRANSACTION_CREDIT_TOPIC));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_PARTITION, intBytes(2));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_OFFSET, longBytes(1234L));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, utf8("java.lang.IllegalStateException"));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, utf8("first failure"));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, utf8(KafkaConfig.TRANSACTION_CREDIT_TOPIC + "-retry-1000"));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_PARTITION, intBytes(1));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_OFFSET, longBytes(55L));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, utf8("org.springframework.dao.QueryTimeoutException"));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, utf8("last failure"));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_STACKTRACE, utf8("trace"));
+        headers.add(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS, intBytes(4));
+
+        // Act
+        DeadLetterEvent event = worker.toDeadLetterEvent(record);
+
+        // Assert: reentregar o mesmo registro do DLT gera o mesmo id
+        assertEquals(EventIds.deadLetter(KafkaConfig.TRANSACTION_CREDIT_TOPIC, 2, 1234L), event.getEventId());
+        assertEquals(event.getEventId(), worker.toDeadLetterEvent(record).getEventId());
+        assertEquals(KafkaConfig.TRANSACTION_CREDIT_TOPIC, event.getOriginalTopic());
+        assertEquals(2, event.getOriginalPartition());
+        assertEquals(1234L, event.getOriginalOffset());
+        assertEquals("42", event.getOriginalKey());
+        assertEquals(TransactionRequest.class.getName(), event.getPayloadType());
+        assertSame(record.value(), event.getPayload());
+        assertEquals("org.springframework.dao.QueryTimeoutException", event.getExceptionClass());
+        assertEquals("last failure", event.getExceptionMessage());
+        assertEquals("trace", event.getStackTrace());
+        assertEquals(4, event.getAttempts());
+        assertNotNull(event.getDeadLetteredAt());
+    }
+
+    @Test
+    void testDeadLetterEventWithoutHeadersFallsBackToRecord() {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>(CREDIT_DLT, 1, 9L, null, null);
+
+        // Act
+        DeadLetterEvent event = worker.toDeadLetterEvent(record);
+
+        // Assert
+        assertEquals(KafkaConfig.TRANSACTION_CREDIT_TOPIC, event.getOriginalTopic());
+        assertEquals(1, event.getOriginalPartition());
+        assertEquals(9L, event.getOriginalOffset());
+        assertNull(event.getPayloadType());
+        assertNull(event.getExceptionClass());
+        assertEquals(1, event.getAttempts());
+    }
+
+    @Test
+    void testDeadLetterEventTruncatesStackTrace() {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>(CREDIT_DLT, 0, 0L, "1", creditRequest());
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_STACKTRACE, utf8("x".repeat(10_000)));
+
+        // Act
+        DeadLetterEvent event = worker.toDeadLetterEvent(record);
+
+        // Assert
+        assertEquals(4000, event.getStackTrace().length());
+    }
+
+    @Test
+    void testHandleDeadLetterRoutesToFailedTopicOfOrigin() {
+        ConsumerRecord<String, Object> transaction = new ConsumerRecord<>(CREDIT_DLT, 0, 0L, "1", creditRequest());
+        ConsumerRecord<String, Object> account = new ConsumerRecord<>(
+                KafkaConfig.ACCOUNT_CREATE_TOPIC + KafkaConfig.DLT_TOPIC_SUFFIX, 0, 0L, "2", "payload");
+
+        // Act
+        worker.handleDeadLetter(transaction);
+        worker.handleDeadLetter(account);
+
+        // Assert
+        ArgumentCaptor<Object> transactionEvent = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(KafkaConfig.TRANSACTION_FAILED_TOPIC), eq("1"), transactionEvent.capture());
+        assertEquals(KafkaConfig.TRANSACTION_CREDIT_TOPIC,
+                ((DeadLetterEvent) transactionEvent.getValue()).getOriginalTopic());
+
+        ArgumentCaptor<Object> accountEvent = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(KafkaConfig.ACCOUNT_FAILED_TOPIC), eq("2"), accountEvent.capture());
+        assertEquals(KafkaConfig.ACCOUNT_CREATE_TOPIC, ((DeadLetterEvent) accountEvent.getValue()).getOriginalTopic());
+    }
+
+    private RetryTopicConfiguration workerRetryTopics() {
+        return new KafkaConfig().workerRetryTopicConfiguration(kafkaTemplate, 4, 1000, 10, 60000, 3);
+    }
+
+    private TransactionRequest creditRequest() {
+        TransactionRequest request = new TransactionRequest();
+        request.setAccountId(1L);
+        request.setAmount(new BigDecimal("100.00"));
+        return request;
+    }
+
+    private byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] intBytes(int value) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+    }
+
+    private byte[] longBytes(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import com.bank.BankingSystemApplication.infrastructure.monitoring.ComponentLatencyModel.Bottleneck;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.ComponentLatencyModel.Component;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.ComponentLatencyModel.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentLatencyModelTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final long start = System.currentTimeMillis();
+    private int ticks;
+
+    private ComponentLatencyModel newModel() {
+        ComponentLatencyModel model = new ComponentLatencyModel(new SimpleMeterRegistry());
+        // Meias-vidas de 10s e 300s, CUSUM k=0.5 h=5, 5 amostras, confiança 0.7, lento acima de 1000ms
+        model.configure(10, 300, 0.5, 5, 5, 0.7, 1000);
+        return model;
+    }
+
+    // Um intervalo de 1s com as amostras dadas
+    private void tick(ComponentLatencyModel model, Component component, int samples, long millis) {
+        for (int i = 0; i < samples; i++) {
+            model.record(component, millis * MS);
+        }
+        model.tick(start + ++ticks * 1000L);
+    }
+
+    @Test
+    void testIsolatedSlowSampleDecays() {
+        ComponentLatencyModel model = newModel();
+        for (int i = 0; i < 30; i++) {
+            tick(model, Component.DATABASE, 10, 5);
+        }
+        // Uma consulta lenta isolada não é mudança de patamar e some da média
+        tick(model, Component.DATABASE, 1, 3_000);
+        assertTrue(model.getCurrentMs(Component.DATABASE) > 100);
+        for (int i = 0; i < 60; i++) {
+            tick(model, Component.DATABASE, 10, 5);
+        }
+
+        // Seis meias-vidas depois restam ~1,5% do excesso
+        assertEquals(5.0, model.getCurrentMs(Component.DATABASE), 5.0);
+        assertNull(model.getCurrentBottleneck());
+        assertNull(model.getRankedBottlenecks().get(0).lastChange);
+    }
+
+    @Test
+    void testDetectsLevelShiftAndRecovery() {
+        ComponentLatencyModel model = newModel();
+        for (int i = 0; i < 30; i++) {
+            tick(model, Component.DATABASE, 10, 5);
+            tick(model, Component.KAFKA, 10, 8);
+        }
+        assertNull(model.getCurrentBottleneck());
+
+        // Database passa de 5ms para 40ms: detectado em poucos intervalos
+        for (int i = 0; i < 4; i++) {
+            tick(model, Component.DATABASE, 10, 40);
+        }
+        Bottleneck current = model.getCurrentBottleneck();
+        assertNotNull(current);
+        assertEquals("database", current.component);
+        assertEquals(Status.DEGRADED, current.status);
+        assertEquals("up", current.lastChange.direction);
+        assertEquals(40.0, current.currentMs, 1.0);
+        assertTrue(current.confidence >= 0.7);
+        assertTrue(model.isBottleneck(Component.DATABASE));
+
+        // Volta ao patamar anterior: mudança para baixo e nenhum gargalo
+        for (int i = 0; i < 4; i++) {
+            tick(model, Component.DATABASE, 10, 5);
+        }
+        assertNull(model.getCurrentBottleneck());
+        Bottleneck database = model.getRankedBottlenecks().stream()
+                .filter(bottleneck -> bottleneck.component.equals("database")).findFirst().orElseThrow();
+        assertEquals("down", database.lastChange.direction);
+    }
+
+    @Test
+    void testRanksSlowComponentsFirstWithConfidence() {
+        ComponentLatencyModel model = newModel();
+        for (int i = 0; i < 20; i++) {
+            model.record(Component.BUSINESS, 50 * MS);
+            tick(model, Component.KAFKA, 10, 1_500);
+        }
+
+        List<Bottleneck> ranking = model.getRankedBottlenecks();
+        assertEquals("kafka", ranking.get(0).component);
+        assertEquals(Status.SLOW, ranking.get(0).status);
+        assertEquals("business-logic", ranking.get(1).component);
+        assertEquals(Status.NORMAL, ranking.get(1).status);
+        // Menos amostras, menos confiança; componentes sem amostras ficam com zero
+        assertTrue(ranking.get(0).confidence > ranking.get(1).confidence);
+        assertEquals(0.0, ranking.get(3).confidence);
+        assertEquals("kafka", model.getCurrentBottleneck().component);
+    }
+}
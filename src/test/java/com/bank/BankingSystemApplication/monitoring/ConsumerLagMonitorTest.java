@@ -0,0 +1,90 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsumerLagMonitorTest {
+
+    @Test
+    void testFirstSampleHasNoRate() {
+        ConsumerLagMonitor.GroupLag lag = ConsumerLagMonitor.GroupLag.next(null, 500, 1000, 1500, 10_000);
+
+        assertEquals(500, lag.getLag());
+        assertEquals(0.0, lag.getConsumeRate());
+        // Taxa desconhecida não é taxa zero: o tempo de drenagem fica indefinido, não infinito
+        assertTrue(Double.isNaN(lag.getDrainSeconds()));
+    }
+
+    @Test
+    void testIdleIntervalKeepsConsumeRate() {
+        ConsumerLagMonitor.GroupLag first = ConsumerLagMonitor.GroupLag.next(null, 1000, 0, 1000, 10_000);
+        ConsumerLagMonitor.GroupLag drained = ConsumerLagMonitor.GroupLag.next(first, 0, 1000, 1000, 20_000);
+        // Workers ociosos por vários intervalos, até chegar uma rajada
+        ConsumerLagMonitor.GroupLag idle = ConsumerLagMonitor.GroupLag.next(drained, 0, 1000, 1000, 30_000);
+        idle = ConsumerLagMonitor.GroupLag.next(idle, 0, 1000, 1000, 40_000);
+        ConsumerLagMonitor.GroupLag burst = ConsumerLagMonitor.GroupLag.next(idle, 500, 1000, 1500, 50_000);
+
+        assertEquals(100.0, burst.getConsumeRate(), 0.001);
+        assertEquals(5.0, burst.getDrainSeconds(), 0.001);
+    }
+
+    @Test
+    void testLightTrafficDoesNotLowerConsumeRate() {
+        ConsumerLagMonitor.GroupLag first = ConsumerLagMonitor.GroupLag.next(null, 1000, 0, 1000, 10_000);
+        ConsumerLagMonitor.GroupLag drained = ConsumerLagMonitor.GroupLag.next(first, 0, 1000, 1000, 20_000);
+        // 1 msg/s produzida e consumida sem backlog: mede a produção, não a capacidade
+        ConsumerLagMonitor.GroupLag light = ConsumerLagMonitor.GroupLag.next(drained, 0, 1010, 1010, 30_000);
+
+        assertEquals(100.0, light.getConsumeRate(), 0.001);
+    }
+
+    @Test
+    void testPartitionsWithoutCommittedOffsetCountFromStart() {
+        TopicPartition committed = new TopicPartition("banking.transaction.credit", 0);
+        TopicPartition fresh = new TopicPartition("banking.transaction.credit", 1);
+
+        ConsumerLagMonitor.GroupLag lag = ConsumerLagMonitor.measure(null, Set.of(committed, fresh),
+                Map.of(committed, new OffsetAndMetadata(90)),
+                Map.of(committed, 100L, fresh, 250L),
+                Map.of(fresh, 50L), 10_000);
+
+        assertEquals(10 + 200, lag.getLag());
+    }
+
+    @Test
+    void testDrainTimeFromCommittedOffsetRate() {
+        ConsumerLagMonitor.GroupLag first = ConsumerLagMonitor.GroupLag.next(null, 1000, 0, 1000, 10_000);
+        // 500 mensagens confirmadas em 5 segundos, nenhuma nova produzida
+        ConsumerLagMonitor.GroupLag second = ConsumerLagMonitor.GroupLag.next(first, 500, 500, 1000, 15_000);
+
+        assertEquals(100.0, second.getConsumeRate(), 0.001);
+        assertEquals(0.0, second.getProduceRate(), 0.001);
+        assertEquals(5.0, second.getDrainSeconds(), 0.001);
+    }
+
+    @Test
+    void testRatesAreSmoothed() {
+        ConsumerLagMonitor.GroupLag first = ConsumerLagMonitor.GroupLag.next(null, 1000, 0, 1000, 1_000);
+        ConsumerLagMonitor.GroupLag second = ConsumerLagMonitor.GroupLag.next(first, 900, 100, 1000, 2_000);
+        ConsumerLagMonitor.GroupLag third = ConsumerLagMonitor.GroupLag.next(second, 700, 300, 1000, 3_000);
+
+        assertEquals(100.0, second.getConsumeRate(), 0.001);
+        assertEquals(0.3 * 200 + 0.7 * 100, third.getConsumeRate(), 0.001);
+        assertEquals(700 / 130.0, third.getDrainSeconds(), 0.001);
+    }
+
+    @Test
+    void testOffsetRewindDoesNotProduceNegativeRate() {
+        ConsumerLagMonitor.GroupLag first = ConsumerLagMonitor.GroupLag.next(null, 10, 1000, 1010, 1_000);
+        ConsumerLagMonitor.GroupLag second = ConsumerLagMonitor.GroupLag.next(first, 10, 400, 410, 2_000);
+
+        assertEquals(0.0, second.getConsumeRate());
+        assertEquals(0.0, second.getProduceRate());
+    }
+}
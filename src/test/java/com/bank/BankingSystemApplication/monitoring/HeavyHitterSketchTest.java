@@ -0,0 +1,65 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHitterSketchTest {
+
+    @Test
+    void testFindsHeavyHittersAmongUniformNoise() {
+        HeavyHitterSketch<Long> sketch = new HeavyHitterSketch<>(1024, 4, 10);
+        Random random = new Random(42);
+        // 3 contas quentes (5%, 3% e 2%) entre 100 mil contas frias
+        for (int i = 0; i < 100_000; i++) {
+            int roll = random.nextInt(100);
+            long account = roll < 5 ? 1L : roll < 8 ? 2L : roll < 10 ? 3L : 1_000 + random.nextInt(100_000);
+            sketch.add(account);
+        }
+
+        List<Map.Entry<Long, Long>> top = sketch.top(3);
+        assertEquals(List.of(1L, 2L, 3L), top.stream().map(Map.Entry::getKey).toList());
+        // Estimativa nunca subestima e o erro fica dentro de e/width do total
+        long bound = (long) Math.ceil(Math.E / 1024 * sketch.total());
+        assertTrue(top.get(0).getValue() >= 4_500 && top.get(0).getValue() <= 5_500 + bound);
+        assertEquals(100_000, sketch.total());
+    }
+
+    @Test
+    void testConcurrentUpdatesAreNotLost() throws Exception {
+        HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(256, 4, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    sketch.add("/api/accounts/{id}");
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(40_000, sketch.estimate("/api/accounts/{id}"));
+        assertEquals(40_000L, sketch.top(1).get(0).getValue());
+    }
+
+    @Test
+    void testClearResetsCountsAndCandidates() {
+        HeavyHitterSketch<Long> sketch = new HeavyHitterSketch<>(64, 2, 2);
+        for (int i = 0; i < 100; i++) {
+            sketch.add(7L);
+        }
+        sketch.clear();
+
+        assertEquals(0, sketch.total());
+        assertEquals(0, sketch.estimate(7L));
+        assertTrue(sketch.top(5).isEmpty());
+    }
+}
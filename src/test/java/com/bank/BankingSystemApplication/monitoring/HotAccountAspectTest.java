@@ -0,0 +1,64 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import com.bank.BankingSystemApplication.adapter.in.web.BankingController;
+import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
+import com.bank.BankingSystemApplication.domain.port.in.BankingUseCase;
+import com.bank.BankingSystemApplication.domain.service.BankingDomainService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotAccountAspectTest {
+
+    @Mock
+    private HotKeyTracker hotKeyTracker;
+
+    @Mock
+    private BankingUseCase bankingUseCase;
+
+    @Mock
+    private SystemLoadMonitor loadMonitor;
+
+    @InjectMocks
+    private HotAccountAspect aspect;
+
+    @InjectMocks
+    private BankingController controller;
+
+    @Test
+    void testQueryIsCountedAtTheController() {
+        // Act
+        proxy(controller).getAccount(7L);
+
+        // Assert
+        verify(hotKeyTracker, times(1)).recordAccount(7L);
+    }
+
+    @Test
+    void testWriteFollowedByLookupIsCountedOnce() {
+        BankingDomainService service = proxy(mock(BankingDomainService.class));
+        TransactionRequest request = new TransactionRequest();
+        request.setAccountId(9L);
+
+        // Act: como o AsyncAccountService, que relê a conta após cada escrita
+        service.credit(request);
+        service.getAccountById(9L);
+
+        // Assert
+        verify(hotKeyTracker, times(1)).recordAccount(9L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
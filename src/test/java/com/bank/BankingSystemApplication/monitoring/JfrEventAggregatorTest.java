@@ -0,0 +1,96 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEventAggregatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSummarizesRecordingFromDisk() throws Exception {
+        Path file = tempDir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(JfrEventAggregator.EXECUTION_SAMPLE).withPeriod(Duration.ofMillis(10));
+            recording.enable(JfrEventAggregator.ALLOCATION_SAMPLE).withStackTrace();
+            recording.start();
+            busyWork(600);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        JfrEventAggregator aggregator = new JfrEventAggregator();
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                aggregator.accept(recordingFile.readEvent());
+            }
+        }
+        JfrEventAggregator.Summary summary = aggregator.summarize(5, 0.6);
+
+        assertTrue(summary.executionSamples > 0);
+        assertFalse(summary.topMethods.isEmpty());
+        assertTrue(summary.topMethods.size() <= 5);
+        // Ordenado por amostras, com percentual sobre o total
+        for (int i = 1; i < summary.topMethods.size(); i++) {
+            assertTrue(summary.topMethods.get(i - 1).samples >= summary.topMethods.get(i).samples);
+        }
+        assertTrue(summary.topMethods.get(0).percent > 0 && summary.topMethods.get(0).percent <= 100);
+        assertTrue(summary.sampledAllocationBytes > 0);
+        assertFalse(summary.topAllocationSites.isEmpty());
+        assertEquals(summary.sampledAllocationBytes / 0.6, summary.allocationBytesPerSecond, 1e-6);
+    }
+
+    @Test
+    void testResetClearsWindow() throws Exception {
+        Path file = tempDir.resolve("reset.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(JfrEventAggregator.EXECUTION_SAMPLE).withPeriod(Duration.ofMillis(10));
+            recording.start();
+            busyWork(300);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        JfrEventAggregator aggregator = new JfrEventAggregator();
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                aggregator.accept(recordingFile.readEvent());
+            }
+        }
+        aggregator.reset();
+        JfrEventAggregator.Summary summary = aggregator.summarize(5, 60);
+
+        assertEquals(0, summary.executionSamples);
+        assertTrue(summary.topMethods.isEmpty());
+        assertTrue(summary.gcPauses.isEmpty());
+        assertEquals(0.0, summary.maxGcPauseMs());
+    }
+
+    private static long busyWork(long millis) {
+        long deadline = System.currentTimeMillis() + millis;
+        long checksum = 0;
+        List<byte[]> retained = new ArrayList<>();
+        while (System.currentTimeMillis() < deadline) {
+            byte[] chunk = new byte[4096];
+            chunk[0] = (byte) checksum;
+            retained.add(chunk);
+            if (retained.size() > 1000) {
+                retained.clear();
+            }
+            for (int i = 0; i < 10_000; i++) {
+                checksum += i * 31L ^ checksum;
+            }
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,93 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.kafka.listener.KafkaBackoffException;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaLatencyRecordInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final KafkaLatencyRecordInterceptor interceptor =
+            new KafkaLatencyRecordInterceptor(registry, new MeterHandleCache(registry, 500));
+    private final MockConsumer<Object, Object> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    // Registro produzido pela aplicação, com os headers do interceptor do produtor
+    private ConsumerRecord<Object, Object> consumed(String topic, long timestamp, TimestampType type) {
+        MDC.put(KafkaLatencyHeaders.MDC_REQUEST_ID, "req-42");
+        ProducerRecord<Object, Object> produced = new KafkaLatencyProducerInterceptor()
+                .onSend(new ProducerRecord<>(topic, "1", "payload"));
+        MDC.clear();
+        return new ConsumerRecord<>(topic, 0, 0L, timestamp, type, 1, 7, "1", "payload",
+                new RecordHeaders(produced.headers().toArray()), Optional.empty());
+    }
+
+    @Test
+    void testSplitsLatencyAtBrokerAppendTimeWhenClocksDisagree() {
+        // Mesmo relógio: envio em 1000, append em 1010, consumo em 1050
+        assertEquals(50, KafkaLatencyRecordInterceptor.endToEndMillis(1000, 1010, 1050));
+        assertFalse(KafkaLatencyRecordInterceptor.isClockSkewed(1000, 1010, 1050));
+
+        // Produtor 200ms adiantado: o trecho até o broker é limitado a zero
+        assertEquals(40, KafkaLatencyRecordInterceptor.endToEndMillis(1210, 1010, 1050));
+        assertTrue(KafkaLatencyRecordInterceptor.isClockSkewed(1210, 1010, 1050));
+
+        // Consumidor atrasado em relação ao broker: só o trecho até o broker conta
+        assertEquals(10, KafkaLatencyRecordInterceptor.endToEndMillis(1000, 1010, 990));
+        assertTrue(KafkaLatencyRecordInterceptor.isClockSkewed(1000, 1010, 990));
+
+        // Sem LogAppendTime: diferença direta entre os relógios, nunca negativa
+        assertEquals(0, KafkaLatencyRecordInterceptor.endToEndMillis(2000, -1, 1900));
+        assertEquals(-1, KafkaLatencyRecordInterceptor.endToEndMillis(-1, -1, 1900));
+    }
+
+    @Test
+    void testRecordsLatencyAndProcessingTimePerTopicAndGroup() {
+        ConsumerRecord<Object, Object> record = consumed("banking.transaction.credit",
+                System.currentTimeMillis(), TimestampType.LOG_APPEND_TIME);
+        assertNotNull(record.headers().lastHeader(KafkaLatencyHeaders.PRODUCED_AT));
+
+        interceptor.intercept(record, consumer);
+        // Id da requisição de origem disponível nos logs do listener
+        assertEquals("req-42", MDC.get(KafkaLatencyHeaders.MDC_REQUEST_ID));
+        interceptor.success(record, consumer);
+        interceptor.afterRecord(record, consumer);
+        assertNull(MDC.get(KafkaLatencyHeaders.MDC_REQUEST_ID));
+
+        String group = consumer.groupMetadata().groupId();
+        assertEquals(1, registry.get("banking.kafka.e2e.latency")
+                .tags("topic", "banking.transaction.credit", "group", group).timer().count());
+        assertTrue(registry.get("banking.kafka.e2e.latency").timer().totalTime(TimeUnit.SECONDS) < 5);
+        assertEquals(1, registry.get("banking.kafka.processing.time")
+                .tags("topic", "banking.transaction.credit", "outcome", "success").timer().count());
+
+        // Registro de retry ainda no prazo de espera não é contado
+        ConsumerRecord<Object, Object> early = consumed("banking.transaction.credit-retry-1000",
+                System.currentTimeMillis(), TimestampType.CREATE_TIME);
+        interceptor.intercept(early, consumer);
+        interceptor.failure(early, new KafkaBackoffException("not yet", new TopicPartition(early.topic(), 0),
+                "listener", System.currentTimeMillis() + 1000), consumer);
+        interceptor.afterRecord(early, consumer);
+        assertTrue(registry.find("banking.kafka.processing.time").tags("outcome", "error").timers().isEmpty());
+        assertTrue(registry.find("banking.kafka.e2e.latency")
+                .tags("topic", "banking.transaction.credit-retry-1000").timers().isEmpty());
+    }
+}
@@ -0,0 +1,95 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    private static final long[] SLO_MS = {50, 100, 250};
+
+    @Test
+    void testPercentilesFromCompleteIntervals() {
+        LatencyRecorder recorder = new LatencyRecorder(6, 2);
+        for (int i = 1; i <= 1_000; i++) {
+            recorder.recordNanos(TimeUnit.MILLISECONDS.toNanos(i % 100 + 1));
+        }
+        // Intervalo em andamento ainda não aparece
+        assertEquals(0, recorder.snapshot(SLO_MS, false).count);
+
+        recorder.rotate();
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot(SLO_MS, false);
+
+        assertEquals(1_000, snapshot.count);
+        assertEquals(50.5, snapshot.mean, 1.0);
+        assertEquals(95.0, snapshot.p95, 1.0);
+        assertEquals(99.0, snapshot.p99, 1.0);
+        assertEquals(100.0, snapshot.max, 1.0);
+        assertTrue(snapshot.p50 > 0 && snapshot.p50 <= snapshot.p90);
+    }
+
+    @Test
+    void testWindowDropsOldIntervalsAndRecyclesHistograms() {
+        LatencyRecorder recorder = new LatencyRecorder(3, 2);
+        recorder.recordNanos(TimeUnit.MILLISECONDS.toNanos(500));
+        recorder.rotate();
+        for (int interval = 0; interval < 3; interval++) {
+            for (int i = 0; i < 10; i++) {
+                recorder.recordNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+            recorder.rotate();
+        }
+
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot(SLO_MS, false);
+        assertEquals(30, snapshot.count);
+        assertEquals(10.0, snapshot.max, 0.1);
+        assertEquals(31, recorder.totalCount());
+    }
+
+    @Test
+    void testSloFractionsAndClamping() {
+        LatencyRecorder recorder = new LatencyRecorder(1, 2);
+        for (int i = 0; i < 8; i++) {
+            recorder.recordNanos(TimeUnit.MILLISECONDS.toNanos(40));
+        }
+        recorder.recordNanos(TimeUnit.MILLISECONDS.toNanos(200));
+        // Acima do limite rastreável: gravado como o máximo, sem exceção
+        recorder.recordNanos(TimeUnit.MINUTES.toNanos(5));
+        recorder.rotate();
+
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot(SLO_MS, false);
+        assertEquals(0.8, snapshot.slo.get("50ms"), 0.001);
+        assertEquals(0.8, snapshot.slo.get("100ms"), 0.001);
+        assertEquals(0.9, snapshot.slo.get("250ms"), 0.001);
+        assertEquals(60_000.0, snapshot.max, 60_000.0 * 0.01);
+    }
+
+    @Test
+    void testEncodedHistogramsMergeAcrossNodes() {
+        LatencyRecorder fastNode = new LatencyRecorder(6, 2);
+        LatencyRecorder slowNode = new LatencyRecorder(6, 2);
+        for (int i = 0; i < 900; i++) {
+            fastNode.recordNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        for (int i = 0; i < 100; i++) {
+            slowNode.recordNanos(TimeUnit.MILLISECONDS.toNanos(800));
+        }
+        fastNode.rotate();
+        slowNode.rotate();
+
+        String fast = fastNode.snapshot(SLO_MS, true).histogram;
+        String slow = slowNode.snapshot(SLO_MS, true).histogram;
+        Histogram merged = LatencyHistogramService.merge(List.of(fast, slow));
+
+        assertEquals(1_000, merged.getTotalCount());
+        // p95 global cai no nó lento, embora o p95 de 90% do tráfego seja 5 ms
+        LatencyRecorder.Snapshot global = LatencyRecorder.Snapshot.of(merged, SLO_MS, false);
+        assertEquals(800.0, global.p95, 800.0 * 0.01);
+        assertEquals(5.0, global.p50, 0.1);
+        assertEquals(0.9, global.slo.get("50ms"), 0.001);
+    }
+}
@@ -0,0 +1,108 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockContentionMonitorTest {
+
+    private SimpleMeterRegistry registry;
+    private LockContentionMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        monitor = new LockContentionMonitor(registry);
+        monitor.configure(4, 1, 100, 0.1);
+    }
+
+    @Test
+    void testWaitIsSplitFromUncontendedExecution() {
+        long fast = TimeUnit.MILLISECONDS.toNanos(1);
+        long contended = TimeUnit.MILLISECONDS.toNanos(50);
+        // 1 em cada 5 leituras espera pelo lock
+        for (int i = 0; i < 1_000; i++) {
+            monitor.recordLockingRead(7L, i % 5 == 0 ? contended : fast);
+        }
+
+        assertEquals(1.0, monitor.getExecutionBaselineMs(), 0.2);
+        long wait = monitor.recordLockingRead(7L, contended);
+        assertEquals(49.0, wait / 1_000_000.0, 0.5);
+        assertTrue(monitor.recordLockingRead(7L, fast) < TimeUnit.MICROSECONDS.toNanos(200));
+        assertEquals(1_002, registry.get("banking.db.lock.query.time").timer().count());
+    }
+
+    @Test
+    void testPrimaryKeyReadsCalibrateBaselineForHotAccount() {
+        long fast = TimeUnit.MILLISECONDS.toNanos(1);
+        long contended = TimeUnit.MILLISECONDS.toNanos(21);
+        // Conta quente: toda leitura com lock espera, e o quantil inferior absorve a espera
+        for (int i = 0; i < 200; i++) {
+            monitor.recordLockingRead(7L, contended);
+        }
+        assertEquals("locking-reads", monitor.getExecutionBaselineSource());
+        assertTrue(monitor.recordLockingRead(7L, contended) < TimeUnit.MILLISECONDS.toNanos(1));
+
+        for (int i = 0; i < LockContentionMonitor.REFERENCE_MIN_SAMPLES; i++) {
+            monitor.recordPrimaryKeyRead(fast);
+        }
+
+        assertEquals("findById", monitor.getExecutionBaselineSource());
+        assertEquals(1.0, monitor.getExecutionBaselineMs(), 0.01);
+        assertEquals(20.0, monitor.recordLockingRead(7L, contended) / 1_000_000.0, 0.01);
+    }
+
+    @Test
+    void testMostContendedAccountsAndBuckets() {
+        long wait = TimeUnit.MILLISECONDS.toNanos(20);
+        monitor.recordLockingRead(1L, TimeUnit.MICROSECONDS.toNanos(500));
+        for (int i = 0; i < 10; i++) {
+            monitor.recordLockingRead(42L, wait);
+        }
+        monitor.recordLockingRead(5L, wait);
+
+        List<LockContentionMonitor.AccountLockStats> accounts = monitor.getMostContendedAccounts(10);
+        assertEquals(42L, accounts.get(0).accountId);
+        assertEquals(10, accounts.get(0).waits);
+        assertEquals(2, accounts.get(0).bucket);
+        assertEquals(5L, accounts.get(1).accountId);
+        // Leitura sem espera acima de min-wait-ms não entra na lista
+        assertEquals(2, accounts.size());
+
+        // Janela anterior continua visível após uma rotação, some após duas
+        monitor.rotate();
+        assertEquals(2, monitor.getMostContendedAccounts(10).size());
+        monitor.rotate();
+        assertTrue(monitor.getMostContendedAccounts(10).isEmpty());
+        assertEquals(12, monitor.getBucketStats().stream().mapToLong(bucket -> bucket.count).sum());
+    }
+
+    @Test
+    void testLockChainsFromPgLocksSample() {
+        // 3 espera 2, que espera 1; 4 espera 1; 6 espera 5
+        List<PgLockSampler.LockWaitEdge> edges = List.of(
+                edge(3, 2, 100), edge(2, 1, 400), edge(4, 1, 250), edge(6, 5, 30));
+
+        PgLockSampler.LockSample sample = PgLockSampler.analyze(edges, 0);
+
+        assertEquals(4, sample.waiters);
+        assertEquals(2, sample.maxChainDepth);
+        assertEquals(400.0, sample.oldestWaitMs);
+        assertEquals(2, sample.chains.size());
+        PgLockSampler.LockChain root = sample.chains.get(0);
+        assertEquals(1, root.rootPid);
+        assertEquals(3, root.waiters);
+        assertEquals("UPDATE accounts 1", root.rootQuery);
+        assertEquals(5, sample.chains.get(1).rootPid);
+    }
+
+    private static PgLockSampler.LockWaitEdge edge(int waiter, int blocker, double waitMs) {
+        return new PgLockSampler.LockWaitEdge(waiter, blocker, waitMs, "transactionid", "ShareLock", null,
+                "SELECT ... FOR UPDATE", "UPDATE accounts " + blocker, "idle in transaction", 1_000);
+    }
+}
@@ -0,0 +1,95 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeterHandleCacheTest {
+
+    @Test
+    void testResolvesEachCombinationOnce() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeterHandleCache cache = new MeterHandleCache(registry, 100);
+        MeterHandleCache.MeterFamily<Timer> timers = cache.timers("test.operation.time", "teste", "operation", "status");
+
+        Timer first = timers.get("credit", "success");
+        assertSame(first, timers.get("credit", "success"));
+        assertNotSame(first, timers.get("credit", "error"));
+        assertSame(first, registry.get("test.operation.time").tag("operation", "credit").tag("status", "success").timer());
+        assertEquals(2, timers.seriesCount());
+
+        // Valores nulos viram "unknown" em vez de falhar no registry
+        assertSame(timers.get(null, "success"), timers.get("unknown", "success"));
+    }
+
+    @Test
+    void testCardinalityGuardAggregatesOverflow() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeterHandleCache cache = new MeterHandleCache(registry, 3);
+        MeterHandleCache.MeterFamily<Counter> counters = cache.counters("test.requests", "teste", "endpoint");
+
+        for (int i = 0; i < 10; i++) {
+            counters.get("/api/accounts/" + i).increment();
+        }
+
+        assertEquals(3, counters.seriesCount());
+        assertEquals(7.0, registry.get("test.requests").tag("endpoint", MeterHandleCache.OVERFLOW_TAG_VALUE).counter().count());
+        assertEquals(7.0, registry.get("banking.meters.cardinality.overflow").tag("name", "test.requests").counter().count());
+        assertEquals(4, registry.find("test.requests").counters().size());
+    }
+
+    @Test
+    void testFullFamilyResolvesNewCombinationsWithoutCreationLock() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeterHandleCache cache = new MeterHandleCache(registry, 1);
+        MeterHandleCache.MeterFamily<Counter> counters = cache.counters("test.requests", "teste", "endpoint");
+        counters.get("/api/accounts/1");
+        Counter overflow = counters.get("/api/accounts/2");
+
+        // Outra thread segura o lock de criação da família
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            executor.execute(() -> {
+                synchronized (counters) {
+                    locked.countDown();
+                    awaitQuietly(release);
+                }
+            });
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            Future<Counter> lookup = executor.submit(() -> counters.get("/api/accounts/3"));
+            assertSame(overflow, lookup.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(2.0, registry.get("banking.meters.cardinality.overflow").tag("name", "test.requests").counter().count());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testRejectsWrongArity() {
+        MeterHandleCache cache = new MeterHandleCache(new SimpleMeterRegistry(), 10);
+        MeterHandleCache.MeterFamily<Counter> counters = cache.counters("test.errors", "teste", "operation", "error_type");
+
+        assertThrows(IllegalArgumentException.class, () -> counters.get("credit"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsSnapshotServiceTest {
+
+    private MetricsSnapshotService newService() {
+        MetricsSnapshotService service = new MetricsSnapshotService(new ObjectMapper());
+        service.configure(60_000, 60);
+        return service;
+    }
+
+    @Test
+    void testServesSameBytesUntilRefreshAndHonorsEtag() {
+        MetricsSnapshotService service = newService();
+        AtomicInteger builds = new AtomicInteger();
+        service.register("view", () -> Map.of("value", builds.incrementAndGet()));
+
+        // Primeira requisição monta o snapshot; as seguintes reutilizam
+        JsonSnapshot first = service.get("view");
+        assertSame(first, service.get("view"));
+        assertEquals(1, builds.get());
+
+        ResponseEntity<byte[]> response = first.toResponse(null, 2000);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"value\":1}", new String(response.getBody(), StandardCharsets.UTF_8));
+        assertEquals(first.getEtag(), response.getHeaders().getETag());
+
+        ResponseEntity<byte[]> notModified = first.toResponse("W/" + first.getEtag() + ", \"other\"", 2000);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+
+        // Atualização em background troca o snapshot e o ETag
+        service.refreshActive(System.currentTimeMillis());
+        JsonSnapshot second = service.get("view");
+        assertEquals(2, builds.get());
+        assertNotEquals(first.getEtag(), second.getEtag());
+        assertEquals(HttpStatus.OK, second.toResponse(first.getEtag(), 2000).getStatusCode());
+    }
+
+    @Test
+    void testSkipsIdleViewsAndKeepsLastSnapshotOnFailure() {
+        MetricsSnapshotService service = newService();
+        AtomicInteger builds = new AtomicInteger();
+        service.register("idle", () -> Map.of("value", builds.incrementAndGet()));
+        service.register("failing", () -> {
+            if (builds.get() > 0) {
+                throw new IllegalStateException("registry unavailable");
+            }
+            return Map.of("ok", true);
+        });
+
+        // Visão nunca requisitada não é montada em background
+        service.refreshActive(System.currentTimeMillis());
+        assertEquals(0, builds.get());
+
+        JsonSnapshot failing = service.get("failing");
+        service.get("idle");
+        service.refreshActive(System.currentTimeMillis());
+        assertSame(failing, service.get("failing"));
+
+        // Sem requisições dentro de idle-seconds a visão para de ser atualizada
+        int before = builds.get();
+        service.refreshActive(System.currentTimeMillis() + 61_000);
+        assertEquals(before, builds.get());
+
+        assertThrows(IllegalStateException.class, () -> service.register("idle", Map::of));
+        assertThrows(IllegalArgumentException.class, () -> service.get("unknown"));
+    }
+
+    @Test
+    void testServesStaleSnapshotWithAgeWhileBuildsFail() {
+        MetricsSnapshotService service = new MetricsSnapshotService(new ObjectMapper());
+        service.configure(2_000, 60);
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean failing = new AtomicBoolean();
+        service.register("view", () -> {
+            attempts.incrementAndGet();
+            if (failing.get()) {
+                throw new IllegalStateException("registry unavailable");
+            }
+            return Map.of("ok", true);
+        });
+
+        long start = 1_000_000;
+        JsonSnapshot first = service.get("view", start);
+        failing.set(true);
+
+        // Background falhando há mais de dois intervalos: a requisição não monta de novo
+        for (long t = start + 2_000; t <= start + 10_000; t += 2_000) {
+            service.refreshActive(t);
+        }
+        int backgroundAttempts = attempts.get();
+        JsonSnapshot stale = service.get("view", start + 10_500);
+        assertSame(first, stale);
+        assertEquals(backgroundAttempts, attempts.get());
+        assertEquals("10", stale.toResponse(null, 2_000, start + 10_500).getHeaders().getFirst(HttpHeaders.AGE));
+
+        // Visão ociosa sem background recente: tenta na requisição e, se falhar, serve o antigo
+        JsonSnapshot afterIdle = service.get("view", start + 120_000);
+        assertSame(first, afterIdle);
+        assertEquals(backgroundAttempts + 1, attempts.get());
+        assertSame(first, service.get("view", start + 120_100));
+        assertEquals(backgroundAttempts + 1, attempts.get());
+
+        // Recuperado: o próximo refresh substitui o snapshot antigo
+        failing.set(false);
+        service.refreshActive(start + 122_000);
+        JsonSnapshot recovered = service.get("view", start + 122_100);
+        assertNotSame(first, recovered);
+        assertEquals("0", recovered.toResponse(null, 2_000, start + 122_100).getHeaders().getFirst(HttpHeaders.AGE));
+    }
+}
@@ -0,0 +1,198 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsStreamServiceTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<Runnable> pendingSends = new ArrayList<>();
+
+    // Envio síncrono, ou adiado até runPendingSends() para simular um cliente lento
+    private MetricsStreamService newService(boolean deferSends, int queueCapacity, int maxDrops) {
+        MetricsStreamService service = new MetricsStreamService(objectMapper, new SimpleMeterRegistry());
+        service.configure(queueCapacity, maxDrops, 2, 30, 1000, 5000,
+                deferSends ? pendingSends::add : Runnable::run);
+        return service;
+    }
+
+    private void runPendingSends() {
+        List<Runnable> tasks = new ArrayList<>(pendingSends);
+        pendingSends.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static Map<String, Object> metrics(Object... keyValues) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            metrics.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return metrics;
+    }
+
+    @Test
+    void testSendsFullFrameThenOnlyChangedFields() throws Exception {
+        MetricsStreamService service = newService(false, 4, 30);
+        CapturingEmitter client = new CapturingEmitter();
+        service.subscribe(client);
+
+        service.publish(metrics("tps", 120.5, "p99Ms", 40.0, "consumerLag", 10L), 1000);
+        service.publish(metrics("tps", 120.5, "p99Ms", 55.0), 2000);
+
+        assertEquals(List.of("full", "delta"), client.events);
+        JsonNode full = objectMapper.readTree(client.frames.get(0));
+        assertEquals(1, full.get("seq").asLong());
+        assertEquals(3, full.get("metrics").size());
+
+        // Só o que mudou; campo que sumiu vai como null
+        JsonNode delta = objectMapper.readTree(client.frames.get(1)).get("metrics");
+        assertEquals(2, delta.size());
+        assertEquals(55.0, delta.get("p99Ms").asDouble());
+        assertTrue(delta.get("consumerLag").isNull());
+        assertFalse(delta.has("tps"));
+
+        // Novo assinante começa com quadro completo
+        CapturingEmitter late = new CapturingEmitter();
+        service.subscribe(late);
+        service.publish(metrics("tps", 130.0, "p99Ms", 55.0), 3000);
+        assertEquals(List.of("full"), late.events);
+        assertEquals("delta", client.events.get(2));
+
+        assertThrows(IllegalStateException.class, () -> service.subscribe(new CapturingEmitter()));
+    }
+
+    @Test
+    void testSlowClientDropsFramesResyncsAndIsEvicted() {
+        MetricsStreamService service = newService(true, 2, 3);
+        CapturingEmitter client = new CapturingEmitter();
+        service.subscribe(client);
+
+        // Fila de 2 quadros: o terceiro é descartado enquanto o cliente não consome
+        service.publish(metrics("tps", 1.0), 1000);
+        service.publish(metrics("tps", 2.0), 2000);
+        service.publish(metrics("tps", 3.0), 3000);
+        runPendingSends();
+        assertEquals(List.of("full", "delta"), client.events);
+
+        // Depois do descarte o delta não se aplicaria: vem um quadro completo
+        service.publish(metrics("tps", 4.0), 4000);
+        runPendingSends();
+        assertEquals("full", client.events.get(2));
+
+        // Descartes consecutivos desconectam o cliente sem afetar o produtor
+        for (int i = 0; i < 5; i++) {
+            service.publish(metrics("tps", 10.0 + i), 5000 + i * 1000);
+        }
+        assertEquals(0, service.getSubscriberCount());
+        assertTrue(client.completed);
+    }
+
+    @Test
+    void testBlockedSendIsEvictedWithoutStarvingOtherClients() throws Exception {
+        MetricsStreamService service = new MetricsStreamService(objectMapper, new SimpleMeterRegistry());
+        // Uma thread fixa: sem o crescimento do pool o cliente preso a ocuparia
+        ExecutorService senders = MetricsStreamService.newSenderPool(1, 2);
+        service.configure(4, 30, 2, 30, 1000, 3000, senders);
+        BlockingEmitter stuck = new BlockingEmitter();
+        CapturingEmitter client = new CapturingEmitter();
+        try {
+            service.subscribe(stuck);
+            service.publish(metrics("tps", 1.0), 1000);
+            assertTrue(stuck.sending.await(5, TimeUnit.SECONDS));
+            service.subscribe(client);
+
+            // O envio preso é anotado em 2000 e passa do limite de 3s em 6000
+            for (int i = 2; i <= 6; i++) {
+                service.publish(metrics("tps", (double) i), i * 1000L);
+                awaitEvents(client, i - 1);
+            }
+
+            assertEquals(List.of("full", "delta", "delta", "delta", "delta"), client.events);
+            assertEquals(1, service.getSubscriberCount());
+            assertInstanceOf(TimeoutException.class, stuck.failure);
+        } finally {
+            stuck.release.countDown();
+            senders.shutdownNow();
+        }
+    }
+
+    private static void awaitEvents(CapturingEmitter client, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (client.eventCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, client.eventCount());
+    }
+
+    // Cliente que não lê: o send fica bloqueado como numa escrita com o socket cheio
+    static class BlockingEmitter extends SseEmitter {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile Throwable failure;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Broken pipe");
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+    }
+
+    static class CapturingEmitter extends SseEmitter {
+        final List<String> events = new ArrayList<>();
+        final List<String> frames = new ArrayList<>();
+        boolean completed;
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) {
+            for (DataWithMediaType part : builder.build()) {
+                if (MediaType.APPLICATION_JSON.equals(part.getMediaType())) {
+                    frames.add((String) part.getData());
+                } else {
+                    String text = part.getData().toString();
+                    int start = text.indexOf("event:");
+                    if (start >= 0) {
+                        events.add(text.substring(start + 6, text.indexOf('\n', start)));
+                    }
+                }
+            }
+        }
+
+        synchronized int eventCount() {
+            return events.size();
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+    }
+}
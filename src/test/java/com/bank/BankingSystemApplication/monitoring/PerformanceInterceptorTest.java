@@ -0,0 +1,140 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.bank.BankingSystemApplication.application.service.AccountService;
+import com.bank.BankingSystemApplication.application.service.AsyncAccountService;
+import com.bank.BankingSystemApplication.application.service.kafka.TransactionEventProducer;
+import com.bank.BankingSystemApplication.domain.model.Account;
+import com.bank.BankingSystemApplication.domain.model.Status;
+import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
+import com.bank.BankingSystemApplication.infrastructure.audit.BankingAuditService;
+import com.bank.BankingSystemApplication.infrastructure.persistence.AccountRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerformanceInterceptorTest {
+
+    @Mock
+    private PerformanceMetricsService performanceMetricsService;
+
+    @Mock
+    private HotKeyTracker hotKeyTracker;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private BankingMetricsService metricsService;
+
+    @Mock
+    private BankingAuditService auditService;
+
+    @Mock
+    private TransactionEventProducer eventProducer;
+
+    @InjectMocks
+    private AccountService accountService;
+
+    @InjectMocks
+    private AsyncAccountService asyncAccountService;
+
+    @InjectMocks
+    private PerformanceInterceptor interceptor;
+
+    private final Logger interceptorLogger = (Logger) LoggerFactory.getLogger(PerformanceInterceptor.class);
+    private final ListAppender<ILoggingEvent> logs = new ListAppender<>();
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        // Serviço real por baixo do assíncrono: é o finally dele que limpava o MDC
+        ReflectionTestUtils.setField(asyncAccountService, "accountService", accountService);
+        previousLevel = interceptorLogger.getLevel();
+        interceptorLogger.setLevel(Level.INFO);
+        logs.start();
+        interceptorLogger.addAppender(logs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        interceptorLogger.detachAppender(logs);
+        interceptorLogger.setLevel(previousLevel);
+        MDC.clear();
+    }
+
+    @Test
+    void testAsyncCreditKeepsRequestIdForEventsAndCompletionLog() {
+        Account account = new Account();
+        account.setId(1L);
+        account.setEmail("joao@email.com");
+        account.setBalance(new BigDecimal("50.00"));
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(performanceMetricsService.startResponseTimer()).thenReturn(Timer.start(new SimpleMeterRegistry()));
+        List<String> originIds = new ArrayList<>();
+        Answer<Object> recordOrigin = invocation -> {
+            originIds.add(originRequestId());
+            return null;
+        };
+        doAnswer(recordOrigin).when(eventProducer).publishTransactionEvent(any());
+        doAnswer(recordOrigin).when(eventProducer).publishAuditEvent(any());
+        doAnswer(recordOrigin).when(eventProducer).publishNotificationEvent(any());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/accounts/async/credit");
+        request.addHeader("X-Request-Id", "req-77");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        TransactionRequest credit = new TransactionRequest();
+        credit.setAccountId(1L);
+        credit.setAmount(new BigDecimal("10.00"));
+
+        // Act
+        interceptor.preHandle(request, response, null);
+        assertEquals(Status.EFETUADO, asyncAccountService.creditAsync(credit).getStatus());
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Assert: transação, auditoria e notificação saem com o id da requisição
+        assertEquals(List.of("req-77", "req-77", "req-77"), originIds);
+        ILoggingEvent completed = logs.list.stream()
+                .filter(event -> event.getFormattedMessage().startsWith("Request completed"))
+                .findFirst().orElseThrow();
+        assertEquals("req-77", completed.getMDCPropertyMap().get(KafkaLatencyHeaders.MDC_REQUEST_ID));
+        assertNull(MDC.get(KafkaLatencyHeaders.MDC_REQUEST_ID));
+    }
+
+    // Header que o interceptor do produtor gravaria no envio feito agora
+    private String originRequestId() {
+        ProducerRecord<Object, Object> record = new KafkaLatencyProducerInterceptor()
+                .onSend(new ProducerRecord<>("topic", "1", "payload"));
+        Header header = record.headers().lastHeader(KafkaLatencyHeaders.ORIGIN_REQUEST_ID);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import com.bank.BankingSystemApplication.infrastructure.monitoring.RequestStageTimer.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestStageTimerTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestStageTimer.end();
+    }
+
+    @Test
+    void testContributionsOutsideARequestAreIgnored() {
+        RequestStageTimer.record(Stage.DB, 1_000);
+        assertNull(RequestStageTimer.current());
+
+        RequestStageTimer.begin();
+        RequestStageTimer.Breakdown breakdown = RequestStageTimer.current();
+        assertNotNull(breakdown);
+        assertEquals(0, breakdown.count(Stage.DB));
+        assertEquals(0, breakdown.nanos(Stage.DB));
+    }
+
+    @Test
+    void testNestedEntriesOfTheSameStageCountOnce() throws Exception {
+        RequestStageTimer.begin();
+        long outer = RequestStageTimer.enter(Stage.KAFKA);
+        long inner = RequestStageTimer.enter(Stage.KAFKA);
+        Thread.sleep(5);
+        RequestStageTimer.exit(Stage.KAFKA, inner);
+        RequestStageTimer.exit(Stage.KAFKA, outer);
+
+        RequestStageTimer.Breakdown breakdown = RequestStageTimer.current();
+        assertEquals(1, breakdown.count(Stage.KAFKA));
+        assertTrue(breakdown.nanos(Stage.KAFKA) >= TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    void testServerTimingListsUsedStagesAndRemainder() {
+        RequestStageTimer.begin();
+        RequestStageTimer.record(Stage.LOCK_WAIT, TimeUnit.MILLISECONDS.toNanos(800));
+        RequestStageTimer.record(Stage.DB, TimeUnit.MICROSECONDS.toNanos(3_100));
+        RequestStageTimer.record(Stage.DB, TimeUnit.MICROSECONDS.toNanos(900));
+
+        RequestStageTimer.Breakdown breakdown = RequestStageTimer.current();
+        long total = TimeUnit.MILLISECONDS.toNanos(1_000);
+        assertEquals(2, breakdown.count(Stage.DB));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(196), breakdown.otherNanos(total));
+        assertEquals("lock_wait;dur=800.0, db;dur=4.0, other;dur=196.0, total;dur=1000.0",
+                breakdown.toServerTiming(total));
+
+        // Nova requisição na mesma thread começa zerada
+        RequestStageTimer.begin();
+        assertEquals(0, RequestStageTimer.current().count(Stage.LOCK_WAIT));
+    }
+}
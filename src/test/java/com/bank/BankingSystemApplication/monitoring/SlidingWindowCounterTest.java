@@ -0,0 +1,78 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    private static final long NOW = 1_700_000_000L;
+
+    @Test
+    void testRatesUseCompleteSecondsOnly() {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        for (long second = NOW - 60; second < NOW; second++) {
+            counter.add(second, second >= NOW - 10 ? 50 : 10);
+        }
+        // Segundo em andamento não entra nas taxas
+        counter.add(NOW, 1_000);
+
+        assertEquals(50.0, counter.rate(1, NOW), 0.001);
+        assertEquals(50.0, counter.rate(10, NOW), 0.001);
+        assertEquals((50 * 10 + 10 * 50) / 60.0, counter.rate(60, NOW), 0.001);
+    }
+
+    @Test
+    void testRateDoesNotDropAfterAMinute() {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        for (long second = NOW; second < NOW + 300; second++) {
+            counter.add(second, 20);
+            if (second > NOW + 60) {
+                assertEquals(20.0, counter.rate(60, second), 0.001, "segundo " + (second - NOW));
+            }
+        }
+    }
+
+    @Test
+    void testRotationDiscardsExpiredSecondsAndKeepsPeak() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(120);
+        counter.add(NOW, 500);
+        counter.add(NOW + 1, 5);
+
+        assertEquals(500, counter.peakPerSecond(NOW + 2));
+
+        // 120 segundos depois o mesmo slot é reutilizado
+        counter.add(NOW + 120, 7);
+        assertEquals(0.0, counter.rate(1, NOW + 1), 0.001);
+        assertEquals(7.0, counter.rate(1, NOW + 121), 0.001);
+        assertEquals(500, counter.peakPerSecond(NOW + 300));
+        assertEquals(512, counter.total());
+    }
+
+    @Test
+    void testConcurrentIncrementsAreNotLost() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter();
+        int threads = 4;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    counter.add(NOW + (i % 3), 1);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(threads * perThread, counter.total());
+        assertEquals(threads * perThread / 3.0, counter.rate(3, NOW + 3), 1.0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import com.bank.BankingSystemApplication.infrastructure.monitoring.ComponentLatencyModel.Bottleneck;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.ComponentLatencyModel.ChangePoint;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.ComponentLatencyModel.Component;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.ComponentLatencyModel.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SystemLoadMonitorTest {
+
+    // Limites que a carga do processo de teste não atinge
+    private static final double CPU_THRESHOLD = 1_000.0;
+    private static final int CONNECTION_THRESHOLD = 1_000;
+
+    @Mock
+    private ComponentLatencyModel componentModel;
+
+    @Mock
+    private HotKeyTracker hotKeyTracker;
+
+    @Mock
+    private ConsumerLagMonitor lagMonitor;
+
+    @InjectMocks
+    private SystemLoadMonitor monitor;
+
+    @Test
+    void testSmallDatabaseLevelShiftKeepsWritesSync() {
+        monitor.configure(CPU_THRESHOLD, CONNECTION_THRESHOLD, false, true, 200);
+        // Degrau de 2ms para 3ms com carga normal: detectado, mas irrelevante para o roteamento
+        when(componentModel.getCurrentBottleneck()).thenReturn(bottleneck(Component.DATABASE, Status.DEGRADED, 3, 2));
+
+        // Act & Assert
+        assertEquals(RoutingDecision.Mode.SYNC, monitor.decideRouting().getMode());
+    }
+
+    @Test
+    void testLargeDatabaseLevelShiftGoesAsyncWhenEnabled() {
+        monitor.configure(CPU_THRESHOLD, CONNECTION_THRESHOLD, false, true, 200);
+        when(componentModel.getCurrentBottleneck()).thenReturn(bottleneck(Component.LOCK_WAIT, Status.DEGRADED, 350, 20));
+
+        // Act & Assert
+        assertEquals(RoutingDecision.Mode.ASYNC, monitor.decideRouting().getMode());
+    }
+
+    @Test
+    void testSlowDatabaseGoesAsyncWhenEnabled() {
+        monitor.configure(CPU_THRESHOLD, CONNECTION_THRESHOLD, false, true, 5_000);
+        when(componentModel.getCurrentBottleneck()).thenReturn(bottleneck(Component.DATABASE, Status.SLOW, 1_200, 40));
+
+        // Act & Assert
+        assertEquals(RoutingDecision.Mode.ASYNC, monitor.decideRouting().getMode());
+    }
+
+    @Test
+    void testDatabaseBottleneckIsIgnoredWhenDisabled() {
+        monitor.configure(CPU_THRESHOLD, CONNECTION_THRESHOLD, false, false, 200);
+
+        // Act & Assert
+        assertEquals(RoutingDecision.Mode.SYNC, monitor.decideRouting().getMode());
+    }
+
+    @Test
+    void testHotAccountStaysSyncWhenDisabled() {
+        monitor.configure(CPU_THRESHOLD, CONNECTION_THRESHOLD, false, false, 200);
+
+        // Act & Assert
+        assertFalse(monitor.isHotAccount(7L));
+        assertEquals(RoutingDecision.Mode.SYNC, monitor.decideRouting(7L).getMode());
+    }
+
+    @Test
+    void testHotAccountGoesAsyncWhenEnabled() {
+        monitor.configure(CPU_THRESHOLD, CONNECTION_THRESHOLD, true, false, 200);
+        when(hotKeyTracker.isHot(7L)).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(RoutingDecision.Mode.ASYNC, monitor.decideRouting(7L).getMode());
+    }
+
+    @Test
+    void testUnknownConsumeRateQueuesWithDefaultEstimate() {
+        monitor.configure(CPU_THRESHOLD, CONNECTION_THRESHOLD, false, true, 200);
+        ReflectionTestUtils.setField(monitor, "maxConsumerLag", 50_000L);
+        ReflectionTestUtils.setField(monitor, "maxAsyncCompletionSeconds", 120.0);
+        ReflectionTestUtils.setField(monitor, "defaultAsyncCompletionSeconds", 45.0);
+        when(componentModel.getCurrentBottleneck()).thenReturn(bottleneck(Component.DATABASE, Status.SLOW, 1_200, 40));
+        // Backlog recém-chegado a workers que estavam ociosos: taxa ainda desconhecida
+        when(lagMonitor.isAvailable()).thenReturn(true);
+        when(lagMonitor.getTotalLag()).thenReturn(500L);
+        when(lagMonitor.getEstimatedCompletionSeconds()).thenReturn(Double.NaN);
+
+        // Act
+        RoutingDecision decision = monitor.decideRouting();
+
+        // Assert
+        assertEquals(RoutingDecision.Mode.ASYNC, decision.getMode());
+        assertEquals(45.0, decision.getEstimatedCompletionSeconds());
+    }
+
+    private Bottleneck bottleneck(Component component, Status status, double currentMs, double fromMs) {
+        long now = System.currentTimeMillis();
+        return new Bottleneck(component.label(), status, currentMs, currentMs, 0.1, 0.9, 50, now,
+                new ChangePoint("up", now, fromMs));
+    }
+}
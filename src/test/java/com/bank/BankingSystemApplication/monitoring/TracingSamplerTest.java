@@ -0,0 +1,74 @@
+package com.bank.BankingSystemApplication.infrastructure.monitoring;
+
+import com.bank.BankingSystemApplication.infrastructure.monitoring.TracingSampler.Operation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingSamplerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private TracingSampler sampler(boolean enabled, double defaultRate, List<String> rates) {
+        TracingSampler sampler = new TracingSampler(registry);
+        sampler.configure(enabled, defaultRate, rates, 500);
+        return sampler;
+    }
+
+    @Test
+    void testFullModeSamplesEverything() {
+        TracingSampler sampler = sampler(false, 0.0, List.of("transaction.credit=0.0"));
+
+        for (Operation operation : Operation.values()) {
+            assertEquals(1.0, sampler.getRate(operation));
+        }
+        byte scope = sampler.enter(Operation.CREDIT);
+        assertTrue(TracingSampler.isSampled(scope));
+        sampler.exit(scope);
+    }
+
+    @Test
+    void testPerOperationRatesOverrideDefault() {
+        TracingSampler sampler = sampler(true, 0.1, List.of("transaction.credit=1.0", "database=0", "bogus"));
+
+        assertEquals(1.0, sampler.getRate(Operation.CREDIT));
+        assertEquals(0.0, sampler.getRate(Operation.DATABASE));
+        assertEquals(0.1, sampler.getRate(Operation.DEBIT));
+    }
+
+    @Test
+    void testNestedOperationsInheritTheRootDecision() {
+        TracingSampler sampler = sampler(true, 0.0, List.of("transaction.credit=1.0"));
+
+        byte root = sampler.enter(Operation.CREDIT);
+        byte child = sampler.enter(Operation.DATABASE);
+        // Taxa 0 para DATABASE, mas a raiz foi amostrada
+        assertTrue(TracingSampler.isSampled(child));
+        sampler.exit(child);
+        sampler.exit(root);
+
+        // Fora da requisição a operação decide pela própria taxa
+        byte standalone = sampler.enter(Operation.DATABASE);
+        assertFalse(TracingSampler.isSampled(standalone));
+        byte nested = sampler.enter(Operation.CREDIT);
+        assertFalse(TracingSampler.isSampled(nested));
+        sampler.exit(nested);
+        sampler.exit(standalone);
+    }
+
+    @Test
+    void testErrorsAndSlowCallsAreAlwaysReported() {
+        TracingSampler sampler = sampler(true, 0.0, List.of());
+
+        assertTrue(sampler.isOutlier(TimeUnit.MILLISECONDS.toNanos(1), true));
+        assertTrue(sampler.isOutlier(TimeUnit.MILLISECONDS.toNanos(501), false));
+        assertFalse(sampler.isOutlier(TimeUnit.MILLISECONDS.toNanos(5), false));
+
+        assertEquals(2.0, registry.get("banking.tracing.spans").tag("outcome", "outlier").counter().count());
+        assertEquals(1.0, registry.get("banking.tracing.spans").tag("outcome", "dropped").counter().count());
+    }
+}
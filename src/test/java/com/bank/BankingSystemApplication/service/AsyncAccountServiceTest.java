@@ -3,11 +3,15 @@ package com.bank.BankingSystemApplication.application.service;
 import com.bank.BankingSystemApplication.domain.model.*;
 import com.bank.BankingSystemApplication.domain.model.Account;
 import com.bank.BankingSystemApplication.application.service.kafka.TransactionEventProducer;
+import com.bank.BankingSystemApplication.application.service.kafka.dedup.BoundedLruSet;
+import com.bank.BankingSystemApplication.application.service.kafka.dedup.EventDeduplicator;
+import com.bank.BankingSystemApplication.application.service.kafka.dedup.TimeBucketedBloomFilter;
 import com.bank.BankingSystemApplication.application.service.AccountService;
 import com.bank.BankingSystemApplication.application.service.AsyncAccountService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -219,6 +223,34 @@ class AsyncAccountServiceTest {
         verify(eventProducer, never()).publishNotificationEvent(any(NotificationEvent.class));
     }
 
+    @Test
+    void testRepublishedCreditEventIsDroppedByDeduplicator() {
+        // Arrange: a mesma transação (conta 1, versão 4) publicada duas vezes
+        String transactionId = EventIds.transaction(1L, 4L, TransactionType.CREDIT);
+        when(accountService.credit(transactionRequest)).thenAnswer(invocation ->
+                new TransactionResponse(Status.EFETUADO, "Crédito efetuado com sucesso").withTransactionId(transactionId));
+        when(accountService.getAccountById(1L)).thenReturn(mockAccount);
+        EventDeduplicator deduplicator = new EventDeduplicator(
+                new TimeBucketedBloomFilter(3, 60_000L, 1_000, 0.01), new BoundedLruSet(100));
+
+        // Act
+        asyncAccountService.creditAsync(transactionRequest);
+        asyncAccountService.creditAsync(transactionRequest);
+
+        // Assert
+        ArgumentCaptor<TransactionEvent> events = ArgumentCaptor.forClass(TransactionEvent.class);
+        verify(eventProducer, times(2)).publishTransactionEvent(events.capture());
+        TransactionEvent first = events.getAllValues().get(0);
+        TransactionEvent republished = events.getAllValues().get(1);
+        assertEquals(transactionId, first.getEventId());
+
+        assertEquals(EventDeduplicator.Result.NEW,
+                deduplicator.check(first.getEventId(), "banking-transactions", 0, 10, 1_000));
+        deduplicator.markProcessed(first.getEventId(), "banking-transactions", 0, 10, 1_000);
+        assertEquals(EventDeduplicator.Result.DUPLICATE_ID,
+                deduplicator.check(republished.getEventId(), "banking-transactions", 0, 11, 2_000));
+    }
+
     @Test
     void testAsyncOperationWithEventPublisherException() {
         // Arrange
@@ -0,0 +1,140 @@
+package com.bank.BankingSystemApplication.domain.service;
+
+import com.bank.BankingSystemApplication.domain.model.Account;
+import com.bank.BankingSystemApplication.domain.model.Status;
+import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import com.bank.BankingSystemApplication.domain.model.TransactionRequest;
+import com.bank.BankingSystemApplication.domain.model.TransactionResponse;
+import com.bank.BankingSystemApplication.domain.port.out.AccountPersistencePort;
+import com.bank.BankingSystemApplication.domain.port.out.EventPublishingPort;
+import com.bank.BankingSystemApplication.infrastructure.async.AsyncNotificationService;
+import com.bank.BankingSystemApplication.infrastructure.audit.BankingAuditService;
+import com.bank.BankingSystemApplication.infrastructure.monitoring.BankingMetricsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BankingDomainServiceTest {
+
+    @Mock
+    private AccountPersistencePort persistencePort;
+
+    @Mock
+    private EventPublishingPort eventPort;
+
+    @Mock
+    private BankingMetricsService metricsService;
+
+    @Mock
+    private BankingAuditService auditService;
+
+    @Mock
+    private AsyncNotificationService asyncNotificationService;
+
+    @InjectMocks
+    private BankingDomainService domainService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testCreditEventIsPublishedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(persistencePort.findByIdForUpdate(1L)).thenReturn(Optional.of(account(1L, "50.00")));
+
+        // Act
+        TransactionResponse response = domainService.credit(request(1L, "10.00"));
+
+        // Assert: nada sai antes do commit
+        assertEquals(Status.EFETUADO, response.getStatus());
+        verifyNoInteractions(eventPort);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        ArgumentCaptor<TransactionEvent> event = ArgumentCaptor.forClass(TransactionEvent.class);
+        verify(eventPort).publishTransactionEvent(event.capture());
+        assertEquals(4L, event.getValue().getAccountVersion());
+        assertEquals(new BigDecimal("60.00"), event.getValue().getBalance());
+        assertNotNull(event.getValue().getEventId());
+    }
+
+    @Test
+    void testCreditEventIsDroppedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(persistencePort.findByIdForUpdate(1L)).thenReturn(Optional.of(account(1L, "50.00")));
+
+        // Act
+        domainService.credit(request(1L, "10.00"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        verifyNoInteractions(eventPort);
+    }
+
+    @Test
+    void testCreditRethrowsInfrastructureFailure() {
+        when(persistencePort.findByIdForUpdate(1L)).thenThrow(new QueryTimeoutException("lock wait timeout"));
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> domainService.credit(request(1L, "10.00")));
+        verify(metricsService).incrementTransactionFailure();
+        verifyNoInteractions(eventPort);
+    }
+
+    @Test
+    void testDebitRethrowsInfrastructureFailure() {
+        when(persistencePort.findByIdForUpdate(1L)).thenReturn(Optional.of(account(1L, "50.00")));
+        when(persistencePort.save(any(Account.class))).thenThrow(new QueryTimeoutException("statement timeout"));
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> domainService.debit(request(1L, "10.00")));
+        verifyNoInteractions(eventPort);
+    }
+
+    @Test
+    void testCreditOnMissingAccountIsRejected() {
+        when(persistencePort.findByIdForUpdate(99L)).thenReturn(Optional.empty());
+
+        // Act
+        TransactionResponse response = domainService.credit(request(99L, "10.00"));
+
+        // Assert
+        assertEquals(Status.RECUSADO, response.getStatus());
+        assertEquals("Conta não encontrada", response.getMessage());
+    }
+
+    private TransactionRequest request(Long accountId, String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAccountId(accountId);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private Account account(Long id, String balance) {
+        Account account = new Account();
+        account.setId(id);
+        account.setBalance(new BigDecimal(balance));
+        account.setVersion(3L);
+        return account;
+    }
+}
@@ -0,0 +1,124 @@
+package com.bank.BankingSystemApplication.application.service.kafka;
+
+import com.bank.BankingSystemApplication.domain.model.Status;
+import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import com.bank.BankingSystemApplication.domain.model.TransactionType;
+import com.bank.BankingSystemApplication.infrastructure.audit.KafkaAuditSink;
+import com.bank.BankingSystemApplication.infrastructure.persistence.AuditEventRepository;
+import com.bank.BankingSystemApplication.infrastructure.persistence.AuditEventRepository.AuditEventRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditEventConsumerTest {
+
+    @Mock
+    private AuditEventRepository auditEventRepository;
+
+    @Mock
+    private TransactionEventConsumer transactionEventConsumer;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @InjectMocks
+    private AuditEventConsumer auditEventConsumer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPersistsBatchFromBothFormats() throws Exception {
+        when(transactionEventConsumer.handleAuditEvent(any())).thenReturn(true);
+        TransactionEvent event = new TransactionEvent("event-1", 7L, new BigDecimal("10.00"),
+                TransactionType.CREDIT, Status.EFETUADO, "ok");
+
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(KafkaAuditSink.HEADER_AUDIT_ID, bytes("run-1"));
+        headers.add(KafkaAuditSink.HEADER_AUDIT_TYPE, bytes("TRANSACTION"));
+        headers.add(KafkaAuditSink.HEADER_CORRELATION_ID, bytes("saga-9"));
+
+        List<ConsumerRecord<String, String>> batch = List.of(
+                record(0, "42", "{\"audit_id\":\"run-1\"}", headers),
+                record(1, "event-1", objectMapper.writeValueAsString(event), new RecordHeaders()),
+                record(2, "x", "not json", new RecordHeaders()));
+
+        auditEventConsumer.onAuditBatch(batch);
+
+        ArgumentCaptor<List<AuditEventRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditEventRepository).saveAll(captor.capture());
+        List<AuditEventRow> rows = captor.getValue();
+        assertEquals(2, rows.size());
+
+        AuditEventRow auditRow = rows.get(0);
+        assertEquals("run-1", auditRow.auditId());
+        assertEquals("TRANSACTION", auditRow.auditType());
+        assertEquals(42L, auditRow.accountId());
+        assertEquals("saga-9", auditRow.correlationId());
+        assertEquals(1_700_000_000_000L, auditRow.eventTimeMillis());
+
+        AuditEventRow eventRow = rows.get(1);
+        assertEquals("event-event-1", eventRow.auditId());
+        assertEquals(AuditEventConsumer.TRANSACTION_EVENT_TYPE, eventRow.auditType());
+        assertEquals(7L, eventRow.accountId());
+        assertEquals(1L, eventRow.offset());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEventsWithoutIdAreKeyedByTopicPosition() throws Exception {
+        when(transactionEventConsumer.handleAuditEvent(any())).thenReturn(true);
+        TransactionEvent first = new TransactionEvent(null, 7L, new BigDecimal("10.00"),
+                TransactionType.CREDIT, Status.EFETUADO, "ok");
+        TransactionEvent second = new TransactionEvent(" ", 8L, new BigDecimal("20.00"),
+                TransactionType.DEBIT, Status.EFETUADO, "ok");
+        TransactionEvent identified = new TransactionEvent("event-3", 9L, new BigDecimal("30.00"),
+                TransactionType.CREDIT, Status.EFETUADO, "ok");
+
+        auditEventConsumer.onAuditBatch(List.of(
+                record(5, "7", objectMapper.writeValueAsString(first), new RecordHeaders()),
+                record(6, "8", objectMapper.writeValueAsString(second), new RecordHeaders()),
+                record(7, "9", objectMapper.writeValueAsString(identified), new RecordHeaders())));
+
+        ArgumentCaptor<List<AuditEventRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditEventRepository).saveAll(captor.capture());
+        List<AuditEventRow> rows = captor.getValue();
+        assertEquals(3, rows.size());
+        // Sem eventId: chaves distintas e estáveis entre reentregas do mesmo offset
+        assertEquals("offset-banking-audit-0-5", rows.get(0).auditId());
+        assertEquals("offset-banking-audit-0-6", rows.get(1).auditId());
+        assertEquals("event-event-3", rows.get(2).auditId());
+    }
+
+    @Test
+    void testSkipsRepositoryForEmptyBatch() {
+        auditEventConsumer.onAuditBatch(List.of(record(0, null, null, new RecordHeaders())));
+        verifyNoInteractions(auditEventRepository);
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String key, String value, RecordHeaders headers) {
+        return new ConsumerRecord<>("banking-audit", 0, offset, 1_700_000_000_000L, TimestampType.CREATE_TIME,
+                -1, -1, key, value, headers, Optional.empty());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,132 @@
+package com.bank.BankingSystemApplication.application.service.kafka;
+
+import com.bank.BankingSystemApplication.application.config.KafkaConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayServiceTest {
+
+    private static final String CREDIT_DLT = KafkaConfig.TRANSACTION_CREDIT_TOPIC + KafkaConfig.DLT_TOPIC_SUFFIX;
+    private static final TopicPartition PARTITION = new TopicPartition(CREDIT_DLT, 0);
+
+    @Mock
+    private ObjectProvider<ConsumerFactory<Object, Object>> consumerFactoryProvider;
+
+    @Mock
+    private ConsumerFactory<Object, Object> consumerFactory;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @InjectMocks
+    private DeadLetterReplayService replayService;
+
+    private MockConsumer<Object, Object> consumer;
+
+    @BeforeEach
+    void setUp() {
+        // O serviço fecha o consumer ao final; mantém aberto para conferir os offsets confirmados
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+            @Override
+            public synchronized void close() {
+            }
+        };
+        consumer.updatePartitions(CREDIT_DLT, List.of(new PartitionInfo(CREDIT_DLT, 0, Node.noNode(), null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+    }
+
+    @Test
+    void testReplayRejectsTopicWithoutDeadLetterReplay() {
+        when(consumerFactoryProvider.getIfAvailable()).thenReturn(consumerFactory);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> replayService.replay(List.of(KafkaConfig.TRANSACTION_TOPIC), 10));
+        verifyNoInteractions(consumerFactory, kafkaTemplate);
+    }
+
+    @Test
+    void testReplayRepublishesRecordsAndSkipsUndeserializable() {
+        givenDeadLetters(
+                new ConsumerRecord<>(CREDIT_DLT, 0, 0L, "1", "credit-1"),
+                new ConsumerRecord<>(CREDIT_DLT, 0, 1L, "2", null),
+                new ConsumerRecord<>(CREDIT_DLT, 0, 2L, "3", "credit-3"));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        Map<String, DeadLetterReplayService.ReplayResult> results =
+                replayService.replay(List.of(KafkaConfig.TRANSACTION_CREDIT_TOPIC), 10);
+
+        // Assert
+        DeadLetterReplayService.ReplayResult result = results.get(KafkaConfig.TRANSACTION_CREDIT_TOPIC);
+        assertEquals(CREDIT_DLT, result.deadLetterTopic);
+        assertEquals(2, result.replayed);
+        assertEquals(1, result.skipped);
+        assertEquals(0, result.remaining);
+        verify(kafkaTemplate).send(KafkaConfig.TRANSACTION_CREDIT_TOPIC, "1", "credit-1");
+        verify(kafkaTemplate).send(KafkaConfig.TRANSACTION_CREDIT_TOPIC, "3", "credit-3");
+        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), any());
+        assertEquals(3L, consumer.committed(Set.of(PARTITION)).get(PARTITION).offset());
+    }
+
+    @Test
+    void testReplayStopsAtLimitAndResumesFromCommittedOffset() {
+        givenDeadLetters(
+                new ConsumerRecord<>(CREDIT_DLT, 0, 0L, "1", "credit-1"),
+                new ConsumerRecord<>(CREDIT_DLT, 0, 1L, "2", "credit-2"),
+                new ConsumerRecord<>(CREDIT_DLT, 0, 2L, "3", "credit-3"));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        DeadLetterReplayService.ReplayResult result =
+                replayService.replay(List.of(KafkaConfig.TRANSACTION_CREDIT_TOPIC), 2)
+                        .get(KafkaConfig.TRANSACTION_CREDIT_TOPIC);
+
+        // Assert
+        assertEquals(2, result.replayed);
+        assertEquals(1, result.remaining);
+        verify(kafkaTemplate, never()).send(KafkaConfig.TRANSACTION_CREDIT_TOPIC, "3", "credit-3");
+        assertEquals(2L, consumer.committed(Set.of(PARTITION)).get(PARTITION).offset());
+    }
+
+    @SafeVarargs
+    private void givenDeadLetters(ConsumerRecord<Object, Object>... records) {
+        when(consumerFactoryProvider.getIfAvailable()).thenReturn(consumerFactory);
+        when(consumerFactory.createConsumer(eq(DeadLetterReplayService.REPLAY_GROUP), isNull(),
+                eq("-" + KafkaConfig.TRANSACTION_CREDIT_TOPIC), any(Properties.class))).thenReturn(consumer);
+        consumer.updateEndOffsets(Map.of(PARTITION, (long) records.length));
+        // Os registros só podem ser entregues depois do assign feito pelo serviço
+        consumer.schedulePollTask(() -> {
+            for (ConsumerRecord<Object, Object> record : records) {
+                consumer.addRecord(record);
+            }
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package com.bank.BankingSystemApplication.application.service.kafka.dedup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDeduplicatorTest {
+
+    private static final String TOPIC = "banking-transactions";
+    private static final long MINUTE = 60_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testBloomFilterForgetsExpiredBuckets() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(3, MINUTE, 1000, 0.01);
+        long now = 10 * MINUTE;
+
+        filter.put("evt-1", now);
+
+        assertTrue(filter.mightContain("evt-1", now));
+        assertTrue(filter.mightContain("evt-1", now + 2 * MINUTE));
+        assertFalse(filter.mightContain("evt-1", now + 3 * MINUTE));
+    }
+
+    @Test
+    void testBloomFilterFalsePositiveRateIsBounded() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(1, MINUTE, 10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("evt-" + i, 0L);
+        }
+
+        int falsePositives = 0;
+        for (int i = 10_000; i < 20_000; i++) {
+            if (filter.mightContain("evt-" + i, 0L)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    void testLruSetEvictsLeastRecentlyUsed() {
+        BoundedLruSet set = new BoundedLruSet(2);
+        set.add("a");
+        set.add("b");
+        assertTrue(set.contains("a"));
+
+        set.add("c");
+
+        assertTrue(set.contains("a"));
+        assertFalse(set.contains("b"));
+        assertTrue(set.contains("c"));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void testDetectsRetriedEventById() {
+        EventDeduplicator deduplicator = newDeduplicator(100);
+
+        assertEquals(EventDeduplicator.Result.NEW, deduplicator.check("evt-1", TOPIC, 0, 10, 0L));
+        deduplicator.markProcessed("evt-1", TOPIC, 0, 10, 0L);
+
+        // Retry do produtor: mesmo id em outro offset
+        assertEquals(EventDeduplicator.Result.DUPLICATE_ID, deduplicator.check("evt-1", TOPIC, 0, 11, 0L));
+        assertEquals(EventDeduplicator.Result.NEW, deduplicator.check("evt-2", TOPIC, 0, 12, 0L));
+    }
+
+    @Test
+    void testDetectsRedeliveryByOffsetAfterLruEviction() {
+        EventDeduplicator deduplicator = newDeduplicator(1);
+        deduplicator.markProcessed("evt-1", TOPIC, 0, 10, 0L);
+        deduplicator.markProcessed("evt-2", TOPIC, 0, 11, 0L);
+
+        assertEquals(EventDeduplicator.Result.DUPLICATE_OFFSET, deduplicator.check("evt-1", TOPIC, 0, 10, 0L));
+        // Outra partição não tem offset processado
+        assertEquals(EventDeduplicator.Result.NEW, deduplicator.check("evt-1", TOPIC, 1, 10, 0L));
+    }
+
+    @Test
+    void testCheckpointRoundTrip() throws Exception {
+        EventDeduplicator deduplicator = newDeduplicator(100);
+        for (int i = 0; i < 50; i++) {
+            deduplicator.markProcessed("evt-" + i, TOPIC, i % 2, i, 0L);
+        }
+        Path file = directory.resolve("banking-transaction-group.dedup.gz");
+
+        deduplicator.writeCheckpoint(file);
+        EventDeduplicator restored = newDeduplicator(100);
+        restored.loadCheckpoint(file, MINUTE);
+
+        assertEquals(50, restored.trackedIds());
+        assertEquals(48L, restored.processedOffsets().get(TOPIC + "-0"));
+        assertEquals(49L, restored.processedOffsets().get(TOPIC + "-1"));
+        assertEquals(EventDeduplicator.Result.DUPLICATE_ID, restored.check("evt-7", TOPIC, 1, 7, MINUTE));
+        assertEquals(EventDeduplicator.Result.NEW, restored.check("evt-50", TOPIC, 0, 50, MINUTE));
+    }
+
+    private EventDeduplicator newDeduplicator(int lruCapacity) {
+        return new EventDeduplicator(new TimeBucketedBloomFilter(6, 10 * MINUTE, 1000, 0.01),
+                new BoundedLruSet(lruCapacity));
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.BankingSystemApplication.application.service.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testApplyKeepsHighestVersion() {
+        BalanceSnapshot snapshot = new BalanceSnapshot("banking-transactions", 16);
+
+        assertTrue(snapshot.apply(1L, 10_000L, 3L));
+        assertFalse(snapshot.apply(1L, 5_000L, 2L));
+        assertTrue(snapshot.apply(1L, 12_500L, 4L));
+
+        assertEquals(new BigDecimal("125.00"), snapshot.balance(1L));
+        assertNull(snapshot.balance(2L));
+        assertEquals(3, snapshot.getEventsApplied());
+    }
+
+    @Test
+    void testWriteAndReadRoundTrip() {
+        BalanceSnapshotStore store = new BalanceSnapshotStore(directory, 3);
+        BalanceSnapshot snapshot = new BalanceSnapshot("banking-transactions", 16);
+        for (long accountId = 1; accountId <= 1000; accountId++) {
+            snapshot.apply(accountId, accountId * 100, accountId % 7);
+        }
+        snapshot.setOffset(0, 420L);
+        snapshot.setOffset(1, 580L);
+
+        store.write(snapshot);
+        BalanceSnapshot restored = store.readLatest().orElseThrow();
+
+        assertEquals("banking-transactions", restored.getTopic());
+        assertEquals(1000, restored.accountCount());
+        assertEquals(1000, restored.getEventsApplied());
+        assertEquals(420L, restored.getOffsets().get(0));
+        assertEquals(580L, restored.getOffsets().get(1));
+        assertEquals(new BigDecimal("5.00"), restored.balance(5L));
+        // A versão restaurada continua rejeitando eventos antigos
+        assertFalse(restored.apply(13L, 0L, 5L));
+        assertTrue(restored.apply(13L, 0L, 6L));
+    }
+
+    @Test
+    void testRetainsOnlyLatestSnapshots() throws Exception {
+        BalanceSnapshotStore store = new BalanceSnapshotStore(directory, 2);
+        BalanceSnapshot snapshot = new BalanceSnapshot("banking-transactions", 16);
+
+        for (int i = 0; i < 4; i++) {
+            snapshot.apply(1L, i, i);
+            store.write(snapshot);
+            Thread.sleep(2);
+        }
+
+        assertEquals(2, store.list().size());
+        assertEquals(4, store.readLatest().orElseThrow().getEventsApplied());
+    }
+
+    @Test
+    void testDecoderExtractsBalanceFields() throws Exception {
+        TransactionEventDecoder decoder = new TransactionEventDecoder();
+        String json = "{\"eventId\":\"e-1\",\"accountId\":42,\"amount\":10.00,\"type\":\"CREDIT\","
+                + "\"timestamp\":[2024,1,1,10,0],\"success\":true,\"balance\":1234.56,\"accountVersion\":9}";
+
+        assertTrue(decoder.decode(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(42L, decoder.accountId());
+        assertEquals(123_456L, decoder.balanceCents());
+        assertEquals(9L, decoder.accountVersion());
+
+        assertFalse(decoder.decode("{\"accountId\":42}".getBytes(StandardCharsets.UTF_8)));
+    }
+}
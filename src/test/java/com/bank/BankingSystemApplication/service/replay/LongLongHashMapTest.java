@@ -0,0 +1,87 @@
+package com.bank.BankingSystemApplication.application.service.replay;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLongHashMapTest {
+
+    @Test
+    void testPutAndGet() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        map.put(1L, 100L);
+        map.put(2L, 200L);
+        map.put(1L, 150L);
+
+        assertEquals(150L, map.get(1L, -1L));
+        assertEquals(200L, map.get(2L, -1L));
+        assertEquals(-1L, map.get(3L, -1L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testZeroAndNegativeKeys() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        assertFalse(map.containsKey(0L));
+        map.put(0L, 7L);
+        map.put(-5L, -50L);
+
+        assertTrue(map.containsKey(0L));
+        assertEquals(7L, map.get(0L, -1L));
+        assertEquals(-50L, map.get(-5L, -1L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(50_000) + 1L;
+            long value = random.nextLong();
+            map.put(key, value);
+            expected.put(key, value);
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value.longValue(), map.get(key, Long.MIN_VALUE)));
+    }
+
+    @Test
+    void testForEachVisitsAllEntries() {
+        LongLongHashMap map = new LongLongHashMap();
+        for (long i = 0; i < 1000; i++) {
+            map.put(i, i * 10);
+        }
+
+        long[] sums = new long[2];
+        map.forEach((key, value) -> {
+            sums[0] += key;
+            sums[1] += value;
+        });
+
+        assertEquals(499_500L, sums[0]);
+        assertEquals(4_995_000L, sums[1]);
+    }
+
+    @Test
+    void testClear() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(0L, 1L);
+        map.put(10L, 1L);
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0L));
+        assertFalse(map.containsKey(10L));
+    }
+}
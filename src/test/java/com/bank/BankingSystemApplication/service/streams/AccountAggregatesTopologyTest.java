@@ -0,0 +1,117 @@
+package com.bank.BankingSystemApplication.application.streams;
+
+import com.bank.BankingSystemApplication.application.config.KafkaConfig;
+import com.bank.BankingSystemApplication.domain.model.TransactionEvent;
+import com.bank.BankingSystemApplication.domain.model.TransactionType;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.WindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountAggregatesTopologyTest {
+
+    private static final Instant DAY = Instant.parse("2024-03-10T00:00:00Z");
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, TransactionEvent> transactions;
+
+    @BeforeEach
+    void setUp() {
+        StreamsBuilder builder = new StreamsBuilder();
+        AccountAggregatesTopology.build(builder, Duration.ofMinutes(5));
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "aggregates-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(builder.build(), props);
+
+        transactions = driver.createInputTopic(KafkaConfig.TRANSACTION_TOPIC,
+                Serdes.String().serializer(), new JsonSerde<>(TransactionEvent.class).noTypeInfo().serializer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void testDailyTotalsOnlyCountSuccessfulOperations() {
+        send(1L, TransactionType.DEBIT, "100.00", true, DAY.plusSeconds(3600));
+        send(1L, TransactionType.DEBIT, "50.25", true, DAY.plusSeconds(7200));
+        send(1L, TransactionType.CREDIT, "300.00", true, DAY.plusSeconds(7300));
+        send(1L, TransactionType.DEBIT, "999.00", false, DAY.plusSeconds(7400));
+        send(2L, TransactionType.DEBIT, "10.00", true, DAY.plusSeconds(7500));
+
+        WindowStore<Long, AccountActivity> daily = driver.getWindowStore(AccountAggregatesTopology.DAILY_STORE);
+        AccountActivity activity = daily.fetch(1L, DAY.toEpochMilli());
+
+        assertEquals(new BigDecimal("150.25"), activity.getDebitTotal());
+        assertEquals(new BigDecimal("300.00"), activity.getCreditTotal());
+        assertEquals(2, activity.getDebitCount());
+        assertEquals(3, activity.getTransactionCount());
+    }
+
+    @Test
+    void testMinuteWindowsSupportRollingVolume() {
+        Instant now = DAY.plus(Duration.ofHours(10));
+        send(1L, TransactionType.DEBIT, "10.00", true, now.minus(Duration.ofMinutes(90)));
+        send(1L, TransactionType.DEBIT, "20.00", true, now.minus(Duration.ofMinutes(30)));
+        send(1L, TransactionType.CREDIT, "5.00", true, now.minus(Duration.ofMinutes(1)));
+
+        WindowStore<Long, AccountActivity> minutes = driver.getWindowStore(AccountAggregatesTopology.MINUTE_STORE);
+
+        assertEquals(new BigDecimal("25.00"), sum(minutes, now.minus(Duration.ofHours(1)), now).getVolume());
+        assertEquals(new BigDecimal("35.00"), sum(minutes, now.minus(Duration.ofHours(24)), now).getVolume());
+    }
+
+    @Test
+    void testRepublishedEventIsAggregatedOnce() {
+        TransactionEvent event = send(1L, TransactionType.DEBIT, "100.00", true, DAY.plusSeconds(3600));
+        // Mesma transação republicada minutos depois, e uma nova operação com id próprio
+        transactions.pipeInput(event.getEventId(), event, DAY.plusSeconds(3900));
+        send(1L, TransactionType.DEBIT, "40.00", true, DAY.plusSeconds(4000));
+
+        AccountActivity daily = driver.<Long, AccountActivity>getWindowStore(AccountAggregatesTopology.DAILY_STORE)
+                .fetch(1L, DAY.toEpochMilli());
+        assertEquals(new BigDecimal("140.00"), daily.getDebitTotal());
+        assertEquals(2, daily.getDebitCount());
+
+        WindowStore<Long, AccountActivity> minutes = driver.getWindowStore(AccountAggregatesTopology.MINUTE_STORE);
+        assertNull(minutes.fetch(1L, DAY.plusSeconds(3900).toEpochMilli()));
+        assertEquals(new BigDecimal("140.00"),
+                sum(minutes, DAY, DAY.plus(Duration.ofHours(2))).getVolume());
+    }
+
+    private AccountActivity sum(WindowStore<Long, AccountActivity> store, Instant from, Instant to) {
+        AccountActivity total = new AccountActivity();
+        try (WindowStoreIterator<AccountActivity> windows = store.fetch(1L, from, to)) {
+            windows.forEachRemaining(window -> total.merge(window.value));
+        }
+        return total;
+    }
+
+    private TransactionEvent send(Long accountId, TransactionType type, String amount, boolean success, Instant timestamp) {
+        TransactionEvent event = new TransactionEvent();
+        event.setEventId(accountId + "-" + timestamp.toEpochMilli());
+        event.setAccountId(accountId);
+        event.setType(type);
+        event.setAmount(new BigDecimal(amount));
+        event.setSuccess(success);
+        transactions.pipeInput(event.getEventId(), event, timestamp);
+        return event;
+    }
+}